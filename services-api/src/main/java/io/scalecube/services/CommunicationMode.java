@@ -11,5 +11,11 @@ public enum CommunicationMode {
   REQUEST_STREAM,
 
   /** Corresponds to {@code Flux<OutputData> action(Flux<InputData>)}. */
-  REQUEST_CHANNEL;
+  REQUEST_CHANNEL,
+
+  /**
+   * Corresponds to {@code Mono<Void> action(Request)} annotated with {@link
+   * io.scalecube.services.annotations.FireAndForget}.
+   */
+  FIRE_AND_FORGET;
 }
@@ -0,0 +1,168 @@
+package io.scalecube.services;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.DeadlineExceededException;
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Point in time after which result of the request is of no use for the caller. Deadline travels
+ * between hops as remaining time budget in {@link ServiceMessage#HEADER_TIMEOUT}, and is available
+ * to nested calls made from the service method via reactor context (under {@code Deadline.class}
+ * key), so {@link ServiceCall} propagates it further.
+ *
+ * <p>Expirations are scheduled on single shared {@link HashedWheelTimer}, which makes cost of
+ * deadline independent of number of requests in flight.
+ */
+public final class Deadline {
+
+  private static final HashedWheelTimer TIMER =
+      new HashedWheelTimer(
+          new DefaultThreadFactory("deadline-timer", true), 10, TimeUnit.MILLISECONDS, 512);
+
+  private final long expiresAt; // System.nanoTime() based
+
+  private Deadline(long expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Returns deadline which expires after the given timeout from now.
+   *
+   * @param timeout timeout
+   * @return deadline
+   */
+  public static Deadline after(Duration timeout) {
+    return new Deadline(System.nanoTime() + timeout.toNanos());
+  }
+
+  /**
+   * Returns deadline of the given request, which expires after remaining time budget from {@link
+   * ServiceMessage#HEADER_TIMEOUT} elapses from now.
+   *
+   * @param message request message
+   * @return deadline, or null if header is absent or malformed
+   */
+  public static Deadline of(ServiceMessage message) {
+    final var timeout = message.header(ServiceMessage.HEADER_TIMEOUT);
+    if (timeout == null) {
+      return null;
+    }
+    try {
+      return after(Duration.ofMillis(Math.max(0, Long.parseLong(timeout))));
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the earliest of given deadlines.
+   *
+   * @param d1 deadline (optional)
+   * @param d2 deadline (optional)
+   * @return the earliest deadline, or null if both are null
+   */
+  public static Deadline min(Deadline d1, Deadline d2) {
+    if (d1 == null) {
+      return d2;
+    }
+    if (d2 == null) {
+      return d1;
+    }
+    return d1.expiresAt - d2.expiresAt <= 0 ? d1 : d2;
+  }
+
+  /**
+   * Returns remaining time budget.
+   *
+   * @return remaining time, or {@link Duration#ZERO} if deadline is expired
+   */
+  public Duration remaining() {
+    return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+  }
+
+  public boolean isExpired() {
+    return expiresAt - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Returns copy of the given message with remaining time budget in {@link
+   * ServiceMessage#HEADER_TIMEOUT}.
+   *
+   * @param message message
+   * @return message with timeout header
+   */
+  public ServiceMessage toMessage(ServiceMessage message) {
+    return ServiceMessage.from(message)
+        .header(ServiceMessage.HEADER_TIMEOUT, remaining().toMillis())
+        .build();
+  }
+
+  /**
+   * Applies deadline to the given mono: it fails with {@link DeadlineExceededException} without
+   * subscription if deadline is already expired, or gets cancelled (and fails) when deadline
+   * expires.
+   *
+   * @param source source
+   * @param <T> type of result
+   * @return mono of result
+   */
+  public <T> Mono<T> apply(Mono<T> source) {
+    return Mono.defer(
+        () ->
+            isExpired()
+                ? Mono.error(exceeded())
+                : source.timeout(expiry(), Mono.error(Deadline::exceeded)));
+  }
+
+  /**
+   * Applies deadline to the given flux: it fails with {@link DeadlineExceededException} without
+   * subscription if deadline is already expired, or gets cancelled (and fails) when deadline
+   * expires.
+   *
+   * @param source source
+   * @param <T> type of results
+   * @return flux of results
+   */
+  public <T> Flux<T> apply(Flux<T> source) {
+    return Flux.defer(
+        () -> {
+          if (isExpired()) {
+            return Flux.error(exceeded());
+          }
+          final var expired = new AtomicBoolean();
+          return source
+              .takeUntilOther(expiry().doOnNext(tick -> expired.set(true)))
+              .concatWith(Mono.defer(() -> expired.get() ? Mono.error(exceeded()) : Mono.empty()));
+        });
+  }
+
+  private Mono<Long> expiry() {
+    return Mono.create(
+        sink -> {
+          final var timeout =
+              TIMER.newTimeout(
+                  t -> sink.success(0L),
+                  Math.max(0, expiresAt - System.nanoTime()),
+                  TimeUnit.NANOSECONDS);
+          sink.onCancel(timeout::cancel);
+        });
+  }
+
+  private static DeadlineExceededException exceeded() {
+    return new DeadlineExceededException("Deadline exceeded");
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", Deadline.class.getSimpleName() + "[", "]")
+        .add("remaining=" + remaining())
+        .toString();
+  }
+}
@@ -0,0 +1,63 @@
+package io.scalecube.services;
+
+import io.scalecube.services.api.DynamicQualifier;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Canonicalising pool of immutable values shared by {@link ServiceReference} objects (strings, tag
+ * maps, content types, {@link DynamicQualifier} instances, method definitions), so that identical
+ * service deployments on many nodes don't hold their own copies. Values are held weakly and leave
+ * the pool once no longer referenced.
+ */
+final class Interner {
+
+  private static final Map<Object, WeakReference<Object>> VALUES = new WeakHashMap<>();
+  private static final Map<String, WeakReference<DynamicQualifier>> DYNAMIC_QUALIFIERS =
+      new WeakHashMap<>();
+
+  private Interner() {
+    // Do not instantiate
+  }
+
+  /**
+   * Returns canonical instance equal to the given value.
+   *
+   * @param value immutable value (nullable)
+   * @param <T> type of value
+   * @return canonical instance, or null if value is null
+   */
+  @SuppressWarnings("unchecked")
+  static synchronized <T> T intern(T value) {
+    if (value == null) {
+      return null;
+    }
+    final var reference = VALUES.get(value);
+    final var canonical = reference != null ? reference.get() : null;
+    if (canonical != null) {
+      return (T) canonical;
+    }
+    VALUES.put(value, new WeakReference<>(value));
+    return value;
+  }
+
+  /**
+   * Returns canonical {@link DynamicQualifier} of the given qualifier, which is created only if
+   * there is no such one in the pool.
+   *
+   * @param qualifier canonical qualifier (see {@link #intern(Object)})
+   * @return canonical {@link DynamicQualifier}
+   */
+  static synchronized DynamicQualifier internDynamicQualifier(String qualifier) {
+    // key is strongly reachable through DynamicQualifier.qualifier() while it's in use
+    final var reference = DYNAMIC_QUALIFIERS.get(qualifier);
+    final var canonical = reference != null ? reference.get() : null;
+    if (canonical != null) {
+      return canonical;
+    }
+    final var dynamicQualifier = DynamicQualifier.from(qualifier);
+    DYNAMIC_QUALIFIERS.put(dynamicQualifier.qualifier(), new WeakReference<>(dynamicQualifier));
+    return dynamicQualifier;
+  }
+}
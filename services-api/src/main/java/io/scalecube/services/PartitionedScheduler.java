@@ -0,0 +1,218 @@
+package io.scalecube.services;
+
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.methods.Bulkhead;
+import io.scalecube.services.methods.ConcurrencyLimit;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduler of N single-threaded partitions. Invocations of service method which defines partition
+ * key (see {@link io.scalecube.services.annotations.ExecuteOn#key()}) are hashed by the key to one
+ * of partitions, so invocations with the same key run one after another in arrival order (next
+ * invocation starts only when mono of the previous one has terminated, see {@link #execute(Object,
+ * Mono)}), and invocations of different partitions run in parallel. Requests without key are
+ * rejected by the invoker, otherwise they all would be hashed to one partition. Plain tasks
+ * scheduled through {@link Scheduler} API have no key and are spread over partitions in round-robin
+ * fashion.
+ *
+ * <p>Only request-response (and fire-and-forget) invocations can be partitioned: stream would hold
+ * its partition until it has terminated. Every partition keeps at most {@code queueSize} waiting
+ * invocations, further ones are rejected with {@link
+ * io.scalecube.services.exceptions.ServiceUnavailableException}.
+ *
+ * <p>Queue depth of every partition is exposed to detect hot keys, see {@link #queueDepths()}.
+ */
+public final class PartitionedScheduler implements Scheduler {
+
+  public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+  private final String name;
+  private final ScheduledThreadPoolExecutor[] executors;
+  private final Scheduler[] partitions;
+  private final Bulkhead[] turns; // one invocation at a time per partition
+  private final AtomicInteger counter = new AtomicInteger();
+
+  /**
+   * Constructor, see {@link #DEFAULT_QUEUE_SIZE}.
+   *
+   * @param name scheduler name, prefix of thread names
+   * @param partitions number of partitions
+   */
+  public PartitionedScheduler(String name, int partitions) {
+    this(name, partitions, DEFAULT_QUEUE_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param name scheduler name, prefix of thread names
+   * @param partitions number of partitions
+   * @param queueSize max number of invocations waiting for their turn in every partition
+   */
+  public PartitionedScheduler(String name, int partitions, int queueSize) {
+    if (partitions < 1) {
+      throw new IllegalArgumentException("partitions must be positive: " + partitions);
+    }
+    this.name = Objects.requireNonNull(name, "name");
+    this.executors = new ScheduledThreadPoolExecutor[partitions];
+    this.partitions = new Scheduler[partitions];
+    this.turns = new Bulkhead[partitions];
+    for (int i = 0; i < partitions; i++) {
+      final var threadName = name + "-" + i;
+      final var executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                final var thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      this.executors[i] = executor;
+      this.partitions[i] = Schedulers.fromExecutorService(executor, threadName);
+      this.turns[i] =
+          Bulkhead.create(threadName, new ConcurrencyLimit(1, queueSize), this.partitions[i]);
+    }
+  }
+
+  /**
+   * Returns function which extracts partition key from the request message by the given definition:
+   * {@code header:<name>} - value of the header. Message data is not supported, since it's decoded
+   * only after partition has been chosen, and same request would be hashed differently when it
+   * comes locally (as object) and remotely (as encoded bytes). If the header is missing key is
+   * {@code null}, and such request is rejected with {@link
+   * io.scalecube.services.exceptions.BadRequestException}.
+   *
+   * @param key key definition
+   * @return key extractor
+   * @throws IllegalArgumentException if key definition is wrong
+   */
+  public static Function<ServiceMessage, Object> keyExtractor(String key) {
+    if (key.startsWith("header:") && key.length() > "header:".length()) {
+      final var header = key.substring("header:".length());
+      return message -> message.header(header);
+    }
+    throw new IllegalArgumentException("Wrong partition key: " + key);
+  }
+
+  /**
+   * Returns partition of the given key.
+   *
+   * @param key key (optional)
+   * @return partition index
+   */
+  public int partitionOf(Object key) {
+    final var hash = Objects.hashCode(key);
+    return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+  }
+
+  /**
+   * Returns single-threaded scheduler of the partition of the given key.
+   *
+   * @param key key (optional)
+   * @return scheduler of partition
+   */
+  public Scheduler partition(Object key) {
+    return partitions[partitionOf(key)];
+  }
+
+  /**
+   * Executes given mono in the partition of the given key: it's subscribed on the partition thread
+   * once all previous invocations of the partition have terminated (or have been cancelled).
+   *
+   * @param key key (optional)
+   * @param source source
+   * @param <T> type of result
+   * @return mono of result
+   */
+  public <T> Mono<T> execute(Object key, Mono<T> source) {
+    final var partition = partitionOf(key);
+    return turns[partition].execute(source).subscribeOn(partitions[partition]);
+  }
+
+  /**
+   * Returns number of partitions.
+   *
+   * @return number of partitions
+   */
+  public int partitions() {
+    return partitions.length;
+  }
+
+  /**
+   * Returns number of tasks and invocations waiting for execution in the given partition.
+   *
+   * @param partition partition index
+   * @return queue depth
+   */
+  public int queueDepth(int partition) {
+    return executors[partition].getQueue().size() + turns[partition].queued();
+  }
+
+  /**
+   * Returns number of tasks waiting for execution in every partition.
+   *
+   * @return queue depths, indexed by partition
+   */
+  public int[] queueDepths() {
+    final var queueDepths = new int[executors.length];
+    for (int i = 0; i < executors.length; i++) {
+      queueDepths[i] = queueDepth(i);
+    }
+    return queueDepths;
+  }
+
+  private Scheduler nextPartition() {
+    return partitions[Math.floorMod(counter.getAndIncrement(), partitions.length)];
+  }
+
+  @Override
+  public Disposable schedule(Runnable task) {
+    return nextPartition().schedule(task);
+  }
+
+  @Override
+  public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    return nextPartition().schedule(task, delay, unit);
+  }
+
+  @Override
+  public Disposable schedulePeriodically(
+      Runnable task, long initialDelay, long period, TimeUnit unit) {
+    return nextPartition().schedulePeriodically(task, initialDelay, period, unit);
+  }
+
+  @Override
+  public Worker createWorker() {
+    return nextPartition().createWorker();
+  }
+
+  @Override
+  public void dispose() {
+    for (var partition : partitions) {
+      partition.dispose();
+    }
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return partitions[0].isDisposed();
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", PartitionedScheduler.class.getSimpleName() + "[", "]")
+        .add("name='" + name + "'")
+        .add("partitions=" + partitions.length)
+        .toString();
+  }
+}
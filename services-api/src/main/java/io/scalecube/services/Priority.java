@@ -0,0 +1,35 @@
+package io.scalecube.services;
+
+import java.util.Locale;
+
+/**
+ * Priority of request, carried in {@link io.scalecube.services.api.ServiceMessage#HEADER_PRIORITY}.
+ */
+public enum Priority {
+
+  /** Control-plane and user-facing requests, always served first. */
+  HIGH,
+
+  /** Default priority. */
+  NORMAL,
+
+  /** Bulk and batch traffic, served last but never starved, see {@link PriorityScheduler}. */
+  BULK;
+
+  /**
+   * Returns priority by its name (case-insensitive).
+   *
+   * @param value priority name (optional)
+   * @return priority, or null if value is null or unknown
+   */
+  public static Priority of(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,454 @@
+package io.scalecube.services;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Scheduler which puts priority lanes (see {@link Priority}) in front of the delegate scheduler.
+ * Not more than {@code parallelism} tasks are handed over to the delegate at once, the rest wait in
+ * their lanes. When task completes, the next one is taken from the highest-priority non-empty lane,
+ * except every {@code bulkShare}-th task is taken from {@link Priority#BULK} lane (if it's not
+ * empty), so bulk traffic is guaranteed its minimum share and never starves.
+ *
+ * <p>Service methods executed on this scheduler are dispatched to lanes by priority of the request
+ * (see {@link io.scalecube.services.api.ServiceMessage#HEADER_PRIORITY}), or of the method (see
+ * {@link io.scalecube.services.annotations.RequestPriority}). Time spent by tasks in every lane is
+ * recorded, see {@link #queueTime(Priority)}. Delayed and periodic tasks bypass the lanes.
+ *
+ * <p>Slot is held only while the task runs. For plain (blocking) service methods it's the whole
+ * invocation, but for methods returning {@link org.reactivestreams.Publisher} it's only the task
+ * which subscribes to the publisher: asynchronous work of the publisher after that doesn't hold
+ * the slot, so priority orders the start of such invocations, not their execution.
+ */
+public final class PriorityScheduler implements Scheduler {
+
+  private static final Priority[] PRIORITIES = Priority.values();
+
+  private final String name;
+  private final Scheduler delegate;
+  private final int parallelism;
+  private final int bulkShare;
+  private final Lane[] lanes = new Lane[PRIORITIES.length];
+
+  // guarded by this
+  private int running;
+  private long dispatched;
+
+  /**
+   * Constructor.
+   *
+   * @param name scheduler name
+   * @param delegate scheduler which executes tasks
+   * @param parallelism max number of tasks handed over to delegate scheduler at once
+   * @param bulkShare every {@code bulkShare}-th task is taken from bulk lane, if it's not empty
+   */
+  public PriorityScheduler(String name, Scheduler delegate, int parallelism, int bulkShare) {
+    if (parallelism < 1 || bulkShare < 1) {
+      throw new IllegalArgumentException("parallelism and bulkShare must be positive");
+    }
+    this.name = Objects.requireNonNull(name, "name");
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.parallelism = parallelism;
+    this.bulkShare = bulkShare;
+    for (var priority : PRIORITIES) {
+      lanes[priority.ordinal()] = new Lane(priority);
+    }
+  }
+
+  /**
+   * Returns scheduler which puts tasks into the lane of the given priority.
+   *
+   * @param priority priority
+   * @return scheduler of the lane
+   */
+  public Scheduler lane(Priority priority) {
+    return lanes[priority.ordinal()];
+  }
+
+  /**
+   * Returns number of tasks waiting in the lane of the given priority.
+   *
+   * @param priority priority
+   * @return number of waiting tasks
+   */
+  public synchronized int queued(Priority priority) {
+    return lanes[priority.ordinal()].queue.size();
+  }
+
+  /**
+   * Returns histogram of time spent by tasks in the lane of the given priority.
+   *
+   * @param priority priority
+   * @return queue time histogram
+   */
+  public Histogram queueTime(Priority priority) {
+    return lanes[priority.ordinal()].queueTime;
+  }
+
+  private void submit(Task task) {
+    synchronized (this) {
+      if (running >= parallelism) {
+        task.lane.queue.add(task);
+        return;
+      }
+      running++;
+    }
+    try {
+      dispatch(task);
+    } catch (RejectedExecutionException ex) {
+      complete();
+      throw ex;
+    }
+  }
+
+  private void dispatch(Task task) {
+    task.lane.queueTime.record(System.nanoTime() - task.submittedAt);
+    final var disposable =
+        task.worker != null ? task.worker.schedule(task) : delegate.schedule(task);
+    task.scheduled(disposable);
+  }
+
+  private void complete() {
+    while (true) {
+      final Task next;
+      synchronized (this) {
+        next = poll();
+        if (next == null) {
+          running--;
+          return;
+        }
+      }
+      try {
+        dispatch(next);
+        return;
+      } catch (RejectedExecutionException ex) {
+        next.state.set(Task.DONE); // delegate is disposed, slot goes to the next one
+        next.released.set(true);
+      }
+    }
+  }
+
+  // guarded by this
+  private Task poll() {
+    final var bulk = lanes[Priority.BULK.ordinal()].queue;
+    if (++dispatched % bulkShare == 0 && !bulk.isEmpty()) {
+      return bulk.poll();
+    }
+    for (var lane : lanes) {
+      final var task = lane.queue.poll();
+      if (task != null) {
+        return task;
+      }
+    }
+    return null;
+  }
+
+  private synchronized boolean remove(Task task) {
+    return task.lane.queue.remove(task);
+  }
+
+  @Override
+  public Disposable schedule(Runnable task) {
+    return lane(Priority.NORMAL).schedule(task);
+  }
+
+  @Override
+  public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    return delegate.schedule(task, delay, unit);
+  }
+
+  @Override
+  public Disposable schedulePeriodically(
+      Runnable task, long initialDelay, long period, TimeUnit unit) {
+    return delegate.schedulePeriodically(task, initialDelay, period, unit);
+  }
+
+  @Override
+  public Worker createWorker() {
+    return lane(Priority.NORMAL).createWorker();
+  }
+
+  @Override
+  public void dispose() {
+    delegate.dispose();
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return delegate.isDisposed();
+  }
+
+  @Override
+  public void start() {
+    delegate.start();
+  }
+
+  @Override
+  public String toString() {
+    final var joiner =
+        new StringJoiner(", ", PriorityScheduler.class.getSimpleName() + "[", "]")
+            .add("name='" + name + "'")
+            .add("delegate=" + delegate)
+            .add("parallelism=" + parallelism)
+            .add("bulkShare=" + bulkShare);
+    for (var priority : PRIORITIES) {
+      joiner.add(priority + "=" + queued(priority));
+    }
+    return joiner.toString();
+  }
+
+  private final class Lane implements Scheduler {
+
+    private final Priority priority;
+    private final ArrayDeque<Task> queue = new ArrayDeque<>(); // guarded by scheduler
+    private final Histogram queueTime = new Histogram();
+
+    private Lane(Priority priority) {
+      this.priority = priority;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+      final var laneTask = new Task(this, task, null, null);
+      submit(laneTask);
+      return laneTask;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+      return delegate.schedule(task, delay, unit);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(
+        Runnable task, long initialDelay, long period, TimeUnit unit) {
+      return delegate.schedulePeriodically(task, initialDelay, period, unit);
+    }
+
+    @Override
+    public Worker createWorker() {
+      return new LaneWorker(this, delegate.createWorker());
+    }
+
+    @Override
+    public void dispose() {
+      // lane is disposed along with priority scheduler
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return delegate.isDisposed();
+    }
+
+    @Override
+    public String toString() {
+      return name + "-" + priority;
+    }
+  }
+
+  private final class LaneWorker implements Worker {
+
+    private final Lane lane;
+    private final Worker worker;
+    private final Disposable.Composite tasks = Disposables.composite();
+
+    private LaneWorker(Lane lane, Worker worker) {
+      this.lane = lane;
+      this.worker = worker;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+      if (tasks.isDisposed()) {
+        throw Exceptions.failWithRejected();
+      }
+      final var laneTask = new Task(lane, task, worker, tasks);
+      tasks.add(laneTask);
+      submit(laneTask);
+      return laneTask;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+      return worker.schedule(task, delay, unit);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(
+        Runnable task, long initialDelay, long period, TimeUnit unit) {
+      return worker.schedulePeriodically(task, initialDelay, period, unit);
+    }
+
+    @Override
+    public void dispose() {
+      tasks.dispose();
+      worker.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return tasks.isDisposed();
+    }
+  }
+
+  private final class Task implements Runnable, Disposable {
+
+    private static final int QUEUED = 0;
+    private static final int DISPATCHED = 1;
+    private static final int RUNNING = 2;
+    private static final int DONE = 3;
+
+    private final Lane lane;
+    private final Runnable task;
+    private final Worker worker; // nullable
+    private final Disposable.Composite parent; // nullable
+    private final long submittedAt = System.nanoTime();
+    private final AtomicInteger state = new AtomicInteger(QUEUED);
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile Disposable scheduled;
+
+    private Task(Lane lane, Runnable task, Worker worker, Disposable.Composite parent) {
+      this.lane = lane;
+      this.task = task;
+      this.worker = worker;
+      this.parent = parent;
+    }
+
+    private void scheduled(Disposable disposable) {
+      scheduled = disposable;
+      if (!state.compareAndSet(QUEUED, DISPATCHED) && state.get() == DONE) {
+        // disposed while being dispatched (or already completed)
+        disposable.dispose();
+        release();
+      }
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        if (parent != null) {
+          parent.remove(this);
+        }
+        complete();
+      }
+    }
+
+    @Override
+    public void run() {
+      if (!state.compareAndSet(DISPATCHED, RUNNING) && !state.compareAndSet(QUEUED, RUNNING)) {
+        return;
+      }
+      try {
+        task.run();
+      } finally {
+        state.set(DONE);
+        release();
+      }
+    }
+
+    @Override
+    public void dispose() {
+      if (state.compareAndSet(QUEUED, DONE)) {
+        if (remove(this)) {
+          released.set(true); // was not dispatched, so holds no slot
+          if (parent != null) {
+            parent.remove(this);
+          }
+        }
+        return; // otherwise it's being dispatched right now
+      }
+      if (state.compareAndSet(DISPATCHED, DONE)) {
+        scheduled.dispose();
+        release();
+      }
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return state.get() == DONE;
+    }
+  }
+
+  /**
+   * Histogram of durations with power-of-two buckets (in microseconds), lock-free to record.
+   * Percentiles are approximated by the upper bound of the bucket.
+   */
+  public static final class Histogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    private void record(long nanos) {
+      final var micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+      final var bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+      buckets.incrementAndGet(bucket);
+      count.increment();
+      sum.add(nanos);
+    }
+
+    /**
+     * Returns number of recorded durations.
+     *
+     * @return count
+     */
+    public long count() {
+      return count.sum();
+    }
+
+    /**
+     * Returns mean of recorded durations.
+     *
+     * @param unit time unit
+     * @return mean duration, or 0 if nothing was recorded
+     */
+    public long mean(TimeUnit unit) {
+      final var count = count();
+      return count > 0 ? unit.convert(sum.sum() / count, TimeUnit.NANOSECONDS) : 0;
+    }
+
+    /**
+     * Returns percentile of recorded durations, e.g. {@code 0.99}.
+     *
+     * @param percentile percentile, from 0 to 1
+     * @param unit time unit
+     * @return upper bound of the bucket which contains percentile, or 0 if nothing was recorded
+     */
+    public long percentile(double percentile, TimeUnit unit) {
+      final var count = count();
+      if (count == 0) {
+        return 0;
+      }
+      final var rank = Math.max(1, (long) Math.ceil(percentile * count));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += buckets.get(i);
+        if (seen >= rank) {
+          return unit.convert(i == 0 ? 0 : 1L << i, TimeUnit.MICROSECONDS);
+        }
+      }
+      return unit.convert(1L << (BUCKETS - 1), TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public String toString() {
+      return new StringJoiner(", ", Histogram.class.getSimpleName() + "[", "]")
+          .add("count=" + count())
+          .add("meanMicros=" + mean(TimeUnit.MICROSECONDS))
+          .add("p99Micros=" + percentile(0.99, TimeUnit.MICROSECONDS))
+          .toString();
+    }
+  }
+}
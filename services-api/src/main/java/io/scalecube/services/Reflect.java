@@ -1,10 +1,12 @@
 package io.scalecube.services;
 
+import static io.scalecube.services.CommunicationMode.FIRE_AND_FORGET;
 import static io.scalecube.services.CommunicationMode.REQUEST_CHANNEL;
 import static io.scalecube.services.CommunicationMode.REQUEST_RESPONSE;
 import static io.scalecube.services.CommunicationMode.REQUEST_STREAM;
 
 import io.scalecube.services.annotations.ExecuteOn;
+import io.scalecube.services.annotations.FireAndForget;
 import io.scalecube.services.annotations.RequestType;
 import io.scalecube.services.annotations.ResponseType;
 import io.scalecube.services.annotations.RestMethod;
@@ -14,12 +16,15 @@
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.auth.Secured;
 import io.scalecube.services.methods.MethodInfo;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -48,15 +53,42 @@ public static Type parameterizedReturnType(Method method) {
       return method.getAnnotation(ResponseType.class).value();
     }
 
-    Type type = method.getGenericReturnType();
-    if (type instanceof ParameterizedType) {
-      Type actualReturnType = ((ParameterizedType) type).getActualTypeArguments()[0];
+    Type actualReturnType = returnValueType(method);
+    if (ServiceMessage.class.equals(actualReturnType)) {
+      return Object.class;
+    }
+    return actualReturnType;
+  }
 
-      if (ServiceMessage.class.equals(actualReturnType)) {
-        return Object.class;
-      }
+  /**
+   * Util function to check if return type of method is plain, i.e. neither {@link Publisher}, nor
+   * void. Such methods are blocking, and their results are adapted: {@code List<T>} to {@link
+   * Flux}, any other {@code T} to {@link Mono}.
+   *
+   * @param method method to inspect
+   * @return true if return type of method is plain, otherwise false
+   */
+  public static boolean isReturnTypePlain(Method method) {
+    final var returnType = method.getReturnType();
+    return returnType != Void.TYPE && !Publisher.class.isAssignableFrom(returnType);
+  }
 
-      return actualReturnType;
+  /**
+   * Returns type of values returned by method: type argument of publisher (or of list, if return
+   * type is plain list), return type itself if it's plain, or Object.class if it's unknown.
+   */
+  private static Type returnValueType(Method method) {
+    final var returnType = method.getReturnType();
+    final var type = method.getGenericReturnType();
+
+    if (isReturnTypePlain(method) && returnType != List.class) {
+      return returnType.isPrimitive()
+          ? MethodType.methodType(returnType).wrap().returnType()
+          : type;
+    }
+
+    if (type instanceof ParameterizedType) {
+      return ((ParameterizedType) type).getActualTypeArguments()[0];
     } else {
       return Object.class;
     }
@@ -69,15 +101,7 @@ public static Type parameterizedReturnType(Method method) {
    * @return true if return type of method is ServiceMessage, otherwise false
    */
   public static boolean isReturnTypeServiceMessage(Method method) {
-    Type type = method.getGenericReturnType();
-
-    if (type instanceof ParameterizedType) {
-      Type actualReturnType = ((ParameterizedType) type).getActualTypeArguments()[0];
-
-      return ServiceMessage.class.equals(actualReturnType);
-    }
-
-    return false;
+    return ServiceMessage.class.equals(returnValueType(method));
   }
 
   /**
@@ -291,8 +315,13 @@ public static void validateMethodOrThrow(Method method) {
     Class<?> returnType = method.getReturnType();
     if (returnType.equals(Void.TYPE)) {
       return;
-    } else if (!Publisher.class.isAssignableFrom(returnType)) {
-      throw new UnsupportedOperationException("Service method return type can be Publisher only");
+    } else if (isReturnTypePlain(method) && isRequestChannel(method)) {
+      throw new UnsupportedOperationException(
+          "Service method with plain return type cannot accept Publisher");
+    } else if (method.isAnnotationPresent(FireAndForget.class)
+        && (!isFireAndForget(method) || isRequestChannel(method))) {
+      throw new UnsupportedOperationException(
+          "Service method annotated with @FireAndForget must return Mono<Void>");
     }
 
     validateResponseType(method);
@@ -338,10 +367,15 @@ private static void validateRequestType(Method method) {
    *       first parameter is either of {@link Flux} or {@link Publisher}.
    *   <li>{@link CommunicationMode#REQUEST_STREAM} - service return type is {@link Flux}, and
    *       parameter is not {@link Flux}.
+   *   <li>{@link CommunicationMode#FIRE_AND_FORGET} - service return type is {@code Mono<Void>},
+   *       and service method is annotated with {@link FireAndForget}.
    *   <li>{@link CommunicationMode#REQUEST_RESPONSE} - service return type is either {@code
    *       Mono<Pojo>} or {@code Mono<Void>}.
    * </ul>
    *
+   * <p>Plain return types (see {@link #isReturnTypePlain(Method)}) are mapped the same way: {@code
+   * List<Pojo>} as {@code Flux<Pojo>}, and {@code Pojo} as {@code Mono<Pojo>}.
+   *
    * @param method service method
    * @return {@link CommunicationMode} of service method, or throws {@link IllegalArgumentException}
    */
@@ -349,16 +383,24 @@ public static CommunicationMode communicationMode(Method method) {
     Class<?> returnType = method.getReturnType();
     if (isRequestChannel(method)) {
       return REQUEST_CHANNEL;
+    } else if (isReturnTypePlain(method)) {
+      return returnType == List.class ? REQUEST_STREAM : REQUEST_RESPONSE;
     } else if (returnType.isAssignableFrom(Flux.class)) {
       return REQUEST_STREAM;
     } else if (returnType.isAssignableFrom(Mono.class) || returnType.isAssignableFrom(Void.TYPE)) {
-      return REQUEST_RESPONSE;
+      return isFireAndForget(method) ? FIRE_AND_FORGET : REQUEST_RESPONSE;
     } else {
       throw new IllegalArgumentException(
           "Service method is not supported (check return type or parameter type): " + method);
     }
   }
 
+  private static boolean isFireAndForget(Method method) {
+    return method.isAnnotationPresent(FireAndForget.class)
+        && method.getReturnType() == Mono.class
+        && returnValueType(method) == Void.class;
+  }
+
   private static boolean isRequestChannel(Method method) {
     Class<?>[] reqTypes = method.getParameterTypes();
     return reqTypes.length > 0
@@ -380,35 +422,7 @@ public static Scheduler executeOnScheduler(Method method, Map<String, Scheduler>
       return Schedulers.immediate();
     }
 
-    final var declaringClass = method.getDeclaringClass();
-
-    if (method.isAnnotationPresent(ExecuteOn.class)) {
-      final var executeOn = method.getAnnotation(ExecuteOn.class);
-      final var name = executeOn.value();
-      final var scheduler = schedulers.get(name);
-      if (scheduler == null) {
-        throw new IllegalArgumentException(
-            "Wrong @ExecuteOn definition on "
-                + declaringClass.getName()
-                + "."
-                + method.getName()
-                + ": scheduler(name="
-                + name
-                + ") cannot be found");
-      }
-      return scheduler;
-    }
-
-    // If @ExecuteOn annotation is not present on service method, then find it on service class
-
-    ExecuteOn executeOn = null;
-    for (var clazz = declaringClass; clazz != null; clazz = clazz.getSuperclass()) {
-      executeOn = clazz.getAnnotation(ExecuteOn.class);
-      if (executeOn != null) {
-        break;
-      }
-    }
-
+    final var executeOn = executeOn(method);
     if (executeOn == null) {
       return Schedulers.immediate();
     }
@@ -418,7 +432,7 @@ public static Scheduler executeOnScheduler(Method method, Map<String, Scheduler>
     if (scheduler == null) {
       throw new IllegalArgumentException(
           "Wrong @ExecuteOn definition on "
-              + declaringClass.getName()
+              + method.getDeclaringClass().getName()
               + "."
               + method.getName()
               + ": scheduler(name="
@@ -428,4 +442,53 @@ public static Scheduler executeOnScheduler(Method method, Map<String, Scheduler>
 
     return scheduler;
   }
+
+  /**
+   * Returns {@link ExecuteOn} of service method, if present on the method, or on its class (or
+   * superclasses).
+   *
+   * @param method service method
+   * @return annotation, or null
+   */
+  public static ExecuteOn executeOn(Method method) {
+    if (method.isAnnotationPresent(ExecuteOn.class)) {
+      return method.getAnnotation(ExecuteOn.class);
+    }
+
+    // If @ExecuteOn annotation is not present on service method, then find it on service class
+
+    for (var clazz = method.getDeclaringClass(); clazz != null; clazz = clazz.getSuperclass()) {
+      final var executeOn = clazz.getAnnotation(ExecuteOn.class);
+      if (executeOn != null) {
+        return executeOn;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Looks up annotation on the given method, then on the method of service class.
+   *
+   * @param method service method
+   * @param service service instance
+   * @param annotationType annotation type
+   * @param <A> annotation type
+   * @return annotation, or null if not found
+   */
+  public static <A extends Annotation> A findAnnotation(
+      Method method, Object service, Class<A> annotationType) {
+    final var annotation = method.getAnnotation(annotationType);
+    if (annotation != null) {
+      return annotation;
+    }
+    try {
+      return service
+          .getClass()
+          .getMethod(method.getName(), method.getParameterTypes())
+          .getAnnotation(annotationType);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
 }
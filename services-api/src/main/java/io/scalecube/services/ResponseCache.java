@@ -0,0 +1,377 @@
+package io.scalecube.services;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.scalecube.services.annotations.Cacheable;
+import io.scalecube.services.api.ErrorData;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.MessageCodecException;
+import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.transport.api.DataCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side cache of responses of {@link Cacheable} service methods, used by service proxies of
+ * {@link ServiceCall}. Every qualifier has its own LRU region bounded by number of entries and by
+ * their size, as defined by {@link Cacheable} of the method. Responses are kept encoded, so every
+ * hit decodes its own copy of response data.
+ */
+public final class ResponseCache {
+
+  private final LongSupplier ticker;
+  private final Map<String, Region> regions = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /** Constructor. */
+  public ResponseCache() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param ticker source of time in nanoseconds (such as {@link System#nanoTime()}), used to expire
+   *     cached responses
+   */
+  public ResponseCache(LongSupplier ticker) {
+    this.ticker = Objects.requireNonNull(ticker, "ticker");
+  }
+
+  /**
+   * Returns {@link Cacheable} of service method, if any.
+   *
+   * @param method service method
+   * @param methodInfo method info
+   * @return cacheable, or null if service method is not cacheable
+   * @throws IllegalArgumentException if {@link Cacheable} definition is wrong
+   */
+  static Cacheable cacheable(Method method, MethodInfo methodInfo) {
+    final var cacheable = method.getAnnotation(Cacheable.class);
+    if (cacheable == null) {
+      return null;
+    }
+    if (methodInfo.communicationMode() != CommunicationMode.REQUEST_RESPONSE
+        || methodInfo.isReturnTypeServiceMessage()) {
+      throw wrongDefinition(
+          methodInfo.qualifier(), "only request-response method returning data can be cached");
+    }
+    if (cacheable.ttl() <= 0 || cacheable.maxEntries() <= 0 || cacheable.maxBytes() <= 0) {
+      throw wrongDefinition(methodInfo.qualifier(), "ttl, maxEntries, maxBytes must be positive");
+    }
+    return cacheable;
+  }
+
+  private static IllegalArgumentException wrongDefinition(String qualifier, String reason) {
+    return new IllegalArgumentException(
+        "Wrong @Cacheable definition on " + qualifier + ": " + reason);
+  }
+
+  /**
+   * Returns key of the request.
+   *
+   * @param request request message
+   * @return key
+   */
+  static Key key(ServiceMessage request) {
+    return new Key(request.qualifier(), request.headers(), encode(request));
+  }
+
+  /**
+   * Returns cached response, if any.
+   *
+   * @param key request key
+   * @param responseType response type
+   * @return response, or null if there is no cached response
+   */
+  ServiceMessage get(Key key, Type responseType) {
+    final var region = regions.get(key.qualifier);
+    final var entry = region != null ? region.get(key, ticker.getAsLong()) : null;
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return entry.toResponse(responseType);
+  }
+
+  /**
+   * Returns generation of the given qualifier, which is advanced by every invalidation. Captured
+   * on cache miss and passed to {@link #put(Cacheable, Key, long, ServiceMessage, Type)}, so
+   * response requested before invalidation is not cached.
+   *
+   * @param qualifier qualifier
+   * @return generation
+   */
+  long generation(String qualifier) {
+    return generations.computeIfAbsent(qualifier, q -> new AtomicLong()).get();
+  }
+
+  /**
+   * Caches response, unless qualifier has been invalidated since the given generation.
+   * Reference-counted data of the response is released.
+   *
+   * @param cacheable cache definition of service method
+   * @param key request key
+   * @param generation generation of qualifier captured on cache miss, see {@link
+   *     #generation(String)}
+   * @param response response message
+   * @param responseType response type
+   * @return response with data decoded to response type
+   */
+  ServiceMessage put(
+      Cacheable cacheable, Key key, long generation, ServiceMessage response, Type responseType) {
+    final var entry = new Entry(response, ticker.getAsLong());
+    final var region = regions.computeIfAbsent(key.qualifier, qualifier -> new Region(cacheable));
+    // region is removed after generation is advanced, so entry put after this check into
+    // invalidated region is unreachable
+    if (generation(key.qualifier) == generation) {
+      evictions.add(region.put(key, entry));
+    }
+    return entry.toResponse(responseType);
+  }
+
+  /**
+   * Invalidates cached responses of the given qualifier. Responses of requests which are in flight
+   * are not cached.
+   *
+   * @param qualifier qualifier
+   */
+  public void invalidate(String qualifier) {
+    generations.computeIfAbsent(qualifier, q -> new AtomicLong()).incrementAndGet();
+    regions.remove(qualifier);
+  }
+
+  /**
+   * Invalidates all cached responses. Responses of requests which are in flight are not cached.
+   */
+  public void invalidateAll() {
+    generations.values().forEach(AtomicLong::incrementAndGet);
+    regions.clear();
+  }
+
+  /**
+   * Returns number of cached responses.
+   *
+   * @return number of cached responses
+   */
+  public int size() {
+    return regions.values().stream().mapToInt(Region::size).sum();
+  }
+
+  /**
+   * Returns number of requests served from the cache.
+   *
+   * @return number of hits
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns number of requests which were not found in the cache.
+   *
+   * @return number of misses
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns number of responses evicted from the cache to free space (expired and invalidated
+   * responses are not counted).
+   *
+   * @return number of evictions
+   */
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * Decodes {@link ErrorData} of error response (responses are requested without decoding, to be
+   * cached encoded). Reference-counted data of the response is released.
+   *
+   * @param response error response
+   * @return error response with decoded data
+   */
+  static ServiceMessage decodeError(ServiceMessage response) {
+    return new Entry(response, 0).toResponse(ErrorData.class);
+  }
+
+  private static byte[] encode(ServiceMessage message) {
+    final Object data = message.data();
+    if (data == null) {
+      return null;
+    }
+    if (data instanceof ByteBuf byteBuf) {
+      return ByteBufUtil.getBytes(byteBuf);
+    }
+    try {
+      final var stream = new ByteArrayOutputStream();
+      DataCodec.getInstance(message.dataFormatOrDefault()).encode(stream, data);
+      return stream.toByteArray();
+    } catch (Throwable ex) {
+      throw new MessageCodecException("Failed to encode service message data", ex);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", ResponseCache.class.getSimpleName() + "[", "]")
+        .add("size=" + size())
+        .add("hits=" + hits)
+        .add("misses=" + misses)
+        .add("evictions=" + evictions)
+        .toString();
+  }
+
+  static final class Key {
+
+    private final String qualifier;
+    private final Map<String, String> headers;
+    private final byte[] data;
+    private final int hash;
+
+    private Key(String qualifier, Map<String, String> headers, byte[] data) {
+      this.qualifier = qualifier;
+      this.headers = headers;
+      this.data = data;
+      this.hash = 31 * Objects.hash(qualifier, headers) + Arrays.hashCode(data);
+    }
+
+    private int weight() {
+      return data != null ? data.length : 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final var that = (Key) o;
+      return hash == that.hash
+          && qualifier.equals(that.qualifier)
+          && headers.equals(that.headers)
+          && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class Entry {
+
+    private final ServiceMessage response; // without data
+    private final byte[] data;
+    private final long timestamp;
+
+    private Entry(ServiceMessage response, long timestamp) {
+      try {
+        this.data = encode(response);
+      } finally {
+        if (response.data() instanceof ByteBuf byteBuf) {
+          byteBuf.release();
+        }
+      }
+      this.response = ServiceMessage.from(response).data(null).build();
+      this.timestamp = timestamp;
+    }
+
+    private int weight() {
+      return data != null ? data.length : 0;
+    }
+
+    private ServiceMessage toResponse(Type responseType) {
+      if (data == null || data.length == 0) {
+        return response;
+      }
+      final Object value;
+      try {
+        value =
+            DataCodec.getInstance(response.dataFormatOrDefault())
+                .decode(new ByteArrayInputStream(data), responseType);
+      } catch (Throwable ex) {
+        throw new MessageCodecException("Failed to decode service message data", ex);
+      }
+      return ServiceMessage.from(response).data(value).build();
+    }
+  }
+
+  private static final class Region {
+
+    private final long ttl;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private Region(Cacheable cacheable) {
+      this.ttl = TimeUnit.MILLISECONDS.toNanos(cacheable.ttl());
+      this.maxEntries = cacheable.maxEntries();
+      this.maxBytes = cacheable.maxBytes();
+    }
+
+    private synchronized Entry get(Key key, long now) {
+      final var entry = entries.get(key);
+      if (entry != null && now - entry.timestamp >= ttl) {
+        entries.remove(key);
+        bytes -= weight(key, entry);
+        return null;
+      }
+      return entry;
+    }
+
+    private synchronized int put(Key key, Entry entry) {
+      final var weight = weight(key, entry);
+      if (weight > maxBytes) {
+        return 0; // doesn't fit at all
+      }
+      final var previous = entries.put(key, entry);
+      if (previous != null) {
+        bytes -= weight(key, previous);
+      }
+      bytes += weight;
+
+      int evicted = 0;
+      final Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+      while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+        final var eldest = iterator.next();
+        bytes -= weight(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        evicted++;
+      }
+      return evicted;
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+
+    private static long weight(Key key, Entry entry) {
+      return (long) key.weight() + entry.weight();
+    }
+  }
+}
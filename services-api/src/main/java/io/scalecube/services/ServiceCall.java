@@ -1,18 +1,28 @@
 package io.scalecube.services;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.annotations.Cacheable;
+import io.scalecube.services.annotations.RequestPriority;
 import io.scalecube.services.api.ErrorData;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.DefaultErrorMapper;
 import io.scalecube.services.exceptions.ServiceClientErrorMapper;
 import io.scalecube.services.exceptions.ServiceUnavailableException;
 import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.methods.RequestCoalescer;
 import io.scalecube.services.methods.ServiceMethodInvoker;
+import io.scalecube.services.registry.api.RouteMatch;
 import io.scalecube.services.registry.api.ServiceRegistry;
 import io.scalecube.services.routing.Router;
 import io.scalecube.services.routing.Routers;
 import io.scalecube.services.transport.api.ClientTransport;
+import io.scalecube.services.transport.api.DataCodec;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +35,7 @@
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 public class ServiceCall implements AutoCloseable {
 
@@ -33,8 +44,12 @@ public class ServiceCall implements AutoCloseable {
   private Router router;
   private ServiceClientErrorMapper errorMapper = DefaultErrorMapper.INSTANCE;
   private Map<String, String> credentials = Collections.emptyMap();
+  private Priority priority;
+  private Duration timeout;
   private String contentType = ServiceMessage.DEFAULT_DATA_FORMAT;
   private Logger logger;
+  private RequestCoalescer coalescer;
+  private ResponseCache responseCache = new ResponseCache();
 
   public ServiceCall() {}
 
@@ -45,7 +60,11 @@ private ServiceCall(ServiceCall other) {
     this.errorMapper = other.errorMapper;
     this.contentType = other.contentType;
     this.credentials = Collections.unmodifiableMap(new HashMap<>(other.credentials));
+    this.priority = other.priority;
+    this.timeout = other.timeout;
     this.logger = other.logger;
+    this.coalescer = other.coalescer;
+    this.responseCache = other.responseCache;
   }
 
   /**
@@ -120,6 +139,35 @@ public ServiceCall credentials(Map<String, String> credentials) {
     return target;
   }
 
+  /**
+   * Setter for {@code priority} of requests of service proxies. Overrides {@link RequestPriority}
+   * of service methods.
+   *
+   * @param priority priority (optional)
+   * @return new {@link ServiceCall} instance.
+   */
+  public ServiceCall priority(Priority priority) {
+    ServiceCall target = new ServiceCall(this);
+    target.priority = priority;
+    return target;
+  }
+
+  /**
+   * Setter for {@code timeout} of requests. Request fails with {@link
+   * io.scalecube.services.exceptions.DeadlineExceededException} (and is cancelled) when timeout
+   * elapses. Remaining time budget is sent along with the request (see {@link Deadline}), so
+   * service rejects or cancels work which the caller doesn't wait for anymore. Requests made from
+   * within service method are bound by deadline of the incoming request as well.
+   *
+   * @param timeout timeout (optional)
+   * @return new {@link ServiceCall} instance.
+   */
+  public ServiceCall timeout(Duration timeout) {
+    ServiceCall target = new ServiceCall(this);
+    target.timeout = timeout;
+    return target;
+  }
+
   /**
    * Setter for {@code contentType}.
    *
@@ -169,7 +217,48 @@ public ServiceCall logger(Logger logger) {
   }
 
   /**
-   * Invokes fire-and-forget request.
+   * Setter for {@code coalesce}. When enabled, concurrent identical request-response requests (same
+   * qualifier, data format, headers, data and response type) share one invocation, see {@link
+   * RequestCoalescer}. Instances derived from this one share its in-flight invocations.
+   *
+   * @param coalesce whether to coalesce identical in-flight requests
+   * @return new {@link ServiceCall} instance.
+   */
+  public ServiceCall coalesce(boolean coalesce) {
+    ServiceCall target = new ServiceCall(this);
+    if (!coalesce) {
+      target.coalescer = null;
+    } else if (target.coalescer == null) {
+      target.coalescer = new RequestCoalescer();
+    }
+    return target;
+  }
+
+  /**
+   * Setter for {@code responseCache}. By default every {@link ServiceCall} created with public
+   * constructor has its own cache, which is shared by instances derived from it.
+   *
+   * @param responseCache cache of responses of {@link Cacheable} methods.
+   * @return new {@link ServiceCall} instance.
+   */
+  public ServiceCall responseCache(ResponseCache responseCache) {
+    ServiceCall target = new ServiceCall(this);
+    target.responseCache = Objects.requireNonNull(responseCache, "responseCache");
+    return target;
+  }
+
+  /**
+   * Returns cache of responses of {@link Cacheable} methods, which are invoked via service proxies.
+   *
+   * @return response cache
+   */
+  public ResponseCache responseCache() {
+    return responseCache;
+  }
+
+  /**
+   * Invokes one-way request. Unlike {@link #fireAndForget(ServiceMessage)}, waits for completion of
+   * the request on the service side.
    *
    * @param request request message to send.
    * @return mono publisher completing normally or with error.
@@ -178,6 +267,54 @@ public Mono<Void> oneWay(ServiceMessage request) {
     return requestOne(request, Void.class).then();
   }
 
+  /**
+   * Invokes fire-and-forget request. Remote service doesn't send any response, so errors of the
+   * service are not propagated to the caller (see {@link
+   * io.scalecube.services.annotations.FireAndForget}).
+   *
+   * @param request request message to send.
+   * @return mono publisher completing when request was sent (or handled by local service).
+   */
+  public Mono<Void> fireAndForget(ServiceMessage request) {
+    return Mono.deferContextual(
+            context -> {
+              final var deadline = deadline(request, context);
+              final var message = deadline != null ? deadline.toMessage(request) : request;
+              RouteMatch<ServiceMethodInvoker> match;
+              if (serviceRegistry != null
+                  && (match = serviceRegistry.matchInvoker(request)) != null) {
+                // local service
+                return match
+                    .value()
+                    .invokeOne(message, match.pathVars())
+                    .doOnNext(
+                        response -> {
+                          if (response.isError() && logger != null) {
+                            logger.error(
+                                "[{}][error] request: {}, response: {}",
+                                request.qualifier(),
+                                request,
+                                response);
+                          }
+                        })
+                    .then();
+              } else {
+                // remote service
+                Objects.requireNonNull(transport, "[fireAndForget] transport");
+                return Mono.fromCallable(() -> serviceLookup(message))
+                    .flatMap(
+                        serviceReference ->
+                            transport.create(serviceReference).fireAndForget(message));
+              }
+            })
+        .doOnError(
+            ex -> {
+              if (logger != null) {
+                logger.error("[{}][error] request: {}", request.qualifier(), request, ex);
+              }
+            });
+  }
+
   /**
    * Invokes request-and-reply request.
    *
@@ -198,22 +335,15 @@ public Mono<ServiceMessage> requestOne(ServiceMessage request) {
   public Mono<ServiceMessage> requestOne(ServiceMessage request, Type responseType) {
     return Mono.defer(
             () -> {
-              ServiceMethodInvoker methodInvoker;
-              if (serviceRegistry != null
-                  && (methodInvoker = serviceRegistry.lookupInvoker(request)) != null) {
-                // local service
-                return methodInvoker.invokeOne(request).map(this::throwIfError);
-              } else {
-                // remote service
-                Objects.requireNonNull(transport, "[requestOne] transport");
-                return Mono.fromCallable(() -> serviceLookup(request))
-                    .flatMap(
-                        serviceReference ->
-                            transport
-                                .create(serviceReference)
-                                .requestResponse(request, responseType)
-                                .map(this::throwIfError));
+              if (coalescer == null) {
+                return invokeOne(request, responseType);
               }
+              return coalescer
+                  .coalesce(
+                      request,
+                      new CallIdentity(request.headers(), responseType),
+                      message -> invokeOne(message, responseType).map(ServiceCall::detachData))
+                  .map(ServiceCall::attachData);
             })
         .doOnSuccess(
             response -> {
@@ -230,6 +360,78 @@ public Mono<ServiceMessage> requestOne(ServiceMessage request, Type responseType
             });
   }
 
+  private Mono<ServiceMessage> invokeOne(ServiceMessage request, Type responseType) {
+    return Mono.deferContextual(
+        context -> {
+          final var deadline = deadline(request, context);
+          final var message = deadline != null ? deadline.toMessage(request) : request;
+          RouteMatch<ServiceMethodInvoker> match;
+          if (serviceRegistry != null && (match = serviceRegistry.matchInvoker(message)) != null) {
+            // local service (deadline is applied by invoker)
+            return match.value().invokeOne(message, match.pathVars()).map(this::throwIfError);
+          } else {
+            // remote service
+            Objects.requireNonNull(transport, "[requestOne] transport");
+            final var response =
+                Mono.fromCallable(() -> serviceLookup(message))
+                    .flatMap(
+                        serviceReference ->
+                            transport
+                                .create(serviceReference)
+                                .requestResponse(message, responseType)
+                                .map(this::throwIfError));
+            return deadline != null ? deadline.apply(response) : response;
+          }
+        });
+  }
+
+  private Mono<ServiceMessage> requestOne(
+      ServiceMessage request, Type responseType, Cacheable cacheable) {
+    return Mono.defer(
+        () -> {
+          final var key = ResponseCache.key(request);
+          final var cached = responseCache.get(key, responseType);
+          if (cached != null) {
+            return Mono.just(cached);
+          }
+          final var generation = responseCache.generation(request.qualifier());
+          // response is cached encoded, so don't decode it here
+          return requestOne(request, null)
+              .map(
+                  response ->
+                      response.isError()
+                          ? throwIfError(ResponseCache.decodeError(response))
+                          : responseCache.put(cacheable, key, generation, response, responseType));
+        });
+  }
+
+  /**
+   * Response shared by coalesced requests must not hold reference-counted buffer, so its content is
+   * copied out (and buffer is released), and every waiter gets its own buffer.
+   */
+  private static ServiceMessage detachData(ServiceMessage response) {
+    if (!response.hasData(ByteBuf.class)) {
+      return response;
+    }
+    final ByteBuf byteBuf = response.data();
+    try {
+      return ServiceMessage.from(response)
+          .data(new DetachedData(ByteBufUtil.getBytes(byteBuf)))
+          .build();
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  private static ServiceMessage attachData(ServiceMessage response) {
+    if (response.data() instanceof DetachedData detachedData) {
+      return ServiceMessage.from(response)
+          .data(Unpooled.wrappedBuffer(detachedData.bytes()))
+          .build();
+    }
+    return response;
+  }
+
   /**
    * Issues request to service which returns stream of service messages back.
    *
@@ -248,23 +450,27 @@ public Flux<ServiceMessage> requestMany(ServiceMessage request) {
    * @return flux publisher of service responses.
    */
   public Flux<ServiceMessage> requestMany(ServiceMessage request, Type responseType) {
-    return Flux.defer(
-            () -> {
-              ServiceMethodInvoker methodInvoker;
+    return Flux.deferContextual(
+            context -> {
+              final var deadline = deadline(request, context);
+              final var message = deadline != null ? deadline.toMessage(request) : request;
+              RouteMatch<ServiceMethodInvoker> match;
               if (serviceRegistry != null
-                  && (methodInvoker = serviceRegistry.lookupInvoker(request)) != null) {
-                // local service
-                return methodInvoker.invokeMany(request).map(this::throwIfError);
+                  && (match = serviceRegistry.matchInvoker(message)) != null) {
+                // local service (deadline is applied by invoker)
+                return match.value().invokeMany(message, match.pathVars()).map(this::throwIfError);
               } else {
                 // remote service
                 Objects.requireNonNull(transport, "[requestMany] transport");
-                return Mono.fromCallable(() -> serviceLookup(request))
-                    .flatMapMany(
-                        serviceReference ->
-                            transport
-                                .create(serviceReference)
-                                .requestStream(request, responseType)
-                                .map(this::throwIfError));
+                final var responses =
+                    Mono.fromCallable(() -> serviceLookup(message))
+                        .flatMapMany(
+                            serviceReference ->
+                                transport
+                                    .create(serviceReference)
+                                    .requestStream(message, responseType)
+                                    .map(this::throwIfError));
+                return deadline != null ? deadline.apply(responses) : responses;
               }
             })
         .doOnSubscribe(
@@ -306,40 +512,74 @@ public Flux<ServiceMessage> requestBidirectional(Publisher<ServiceMessage> publi
    */
   public Flux<ServiceMessage> requestBidirectional(
       Publisher<ServiceMessage> publisher, Type responseType) {
-    return Flux.from(publisher)
-        .switchOnFirst(
-            (first, messages) -> {
-              if (first.hasValue()) {
-                ServiceMessage request = first.get();
-                ServiceMethodInvoker methodInvoker;
-                if (serviceRegistry != null
-                    && (methodInvoker = serviceRegistry.lookupInvoker(request)) != null) {
-                  // local service
-                  return methodInvoker.invokeBidirectional(messages).map(this::throwIfError);
-                } else {
-                  // remote service
-                  Objects.requireNonNull(transport, "[requestBidirectional] transport");
-                  return Mono.fromCallable(() -> serviceLookup(request))
-                      .flatMapMany(
-                          serviceReference ->
-                              transport
-                                  .create(serviceReference)
-                                  .requestChannel(messages, responseType)
-                                  .map(this::throwIfError));
-                }
-              }
-              return messages;
-            });
+    return Flux.deferContextual(
+        context ->
+            Flux.from(publisher)
+                .switchOnFirst(
+                    (first, messages) -> {
+                      if (first.hasValue()) {
+                        ServiceMessage request = first.get();
+                        final var deadline = deadline(request, context);
+                        // deadline is carried by the first message only
+                        final var requests =
+                            deadline != null
+                                ? messages.skip(1).startWith(deadline.toMessage(request))
+                                : messages;
+                        ServiceMethodInvoker methodInvoker;
+                        if (serviceRegistry != null
+                            && (methodInvoker = serviceRegistry.lookupInvoker(request)) != null) {
+                          // local service (deadline is applied by invoker)
+                          return methodInvoker
+                              .invokeBidirectional(requests)
+                              .map(this::throwIfError);
+                        } else {
+                          // remote service
+                          Objects.requireNonNull(transport, "[requestBidirectional] transport");
+                          final var responses =
+                              Mono.fromCallable(() -> serviceLookup(request))
+                                  .flatMapMany(
+                                      serviceReference ->
+                                          transport
+                                              .create(serviceReference)
+                                              .requestChannel(requests, responseType)
+                                              .map(this::throwIfError));
+                          return deadline != null ? deadline.apply(responses) : responses;
+                        }
+                      }
+                      return messages;
+                    }));
   }
 
   /**
-   * Create proxy creates a java generic proxy instance by a given service interface.
+   * Create proxy creates a java generic proxy instance by a given service interface. Methods with
+   * plain return types (see {@link Reflect#isReturnTypePlain(Method)}) block until response is
+   * received. Namespace of the service interface is declared as consumed by this node (see {@link
+   * ServiceRegistry#consume(String)}).
    *
    * @param serviceInterface Service Interface type.
    * @return newly created service proxy object.
    */
   @SuppressWarnings("unchecked")
   public <T> T api(Class<T> serviceInterface) {
+    if (serviceRegistry != null) {
+      serviceRegistry.consume(Reflect.serviceName(serviceInterface));
+    }
+    final var methodInfos = Reflect.methodsInfo(serviceInterface);
+    methodInfos.values().forEach(DataCodec::prewarmAll);
+    final var cacheables = new HashMap<Method, Cacheable>();
+    final var priorities = new HashMap<Method, Priority>();
+    methodInfos.forEach(
+        (method, methodInfo) -> {
+          final var cacheable = ResponseCache.cacheable(method, methodInfo);
+          if (cacheable != null) {
+            cacheables.put(method, cacheable);
+          }
+          final var requestPriority = method.getAnnotation(RequestPriority.class);
+          if (requestPriority != null) {
+            priorities.put(method, requestPriority.value());
+          }
+        });
+
     return (T)
         Proxy.newProxyInstance(
             getClass().getClassLoader(),
@@ -352,23 +592,42 @@ public <T> T api(Class<T> serviceInterface) {
               }
 
               final var serviceCall = ServiceCall.this;
-              final var genericReturnTypes = Reflect.methodsInfo(serviceInterface);
-              final var methodInfo = genericReturnTypes.get(method);
+              final var methodInfo = methodInfos.get(method);
               final var returnType = methodInfo.parameterizedReturnType();
               final var isServiceMessage = methodInfo.isReturnTypeServiceMessage();
               final var request = methodInfo.requestType() == Void.TYPE ? null : params[0];
+              final var isPlain = Reflect.isReturnTypePlain(method);
+              // void methods have nobody to subscribe the result, so wait for completion here
+              final var isVoid = method.getReturnType() == Void.TYPE;
+              final var priority =
+                  serviceCall.priority != null ? serviceCall.priority : priorities.get(method);
 
               //noinspection EnhancedSwitchMigration
               switch (methodInfo.communicationMode()) {
                 case REQUEST_RESPONSE:
-                  return serviceCall
-                      .requestOne(toServiceMessage(methodInfo, request), returnType)
-                      .transform(asMono(isServiceMessage));
+                  final var cacheable = cacheables.get(method);
+                  final var message = toServiceMessage(methodInfo, priority, request);
+                  final var mono =
+                      (cacheable != null
+                              ? serviceCall.requestOne(message, returnType, cacheable)
+                              : serviceCall.requestOne(message, returnType))
+                          .transform(asMono(isServiceMessage));
+                  if (isVoid) {
+                    return mono.then().block();
+                  }
+                  return isPlain ? mono.block() : mono;
+
+                case FIRE_AND_FORGET:
+                  final var fireAndForget =
+                      serviceCall.fireAndForget(toServiceMessage(methodInfo, priority, request));
+                  return isVoid ? fireAndForget.block() : fireAndForget;
 
                 case REQUEST_STREAM:
-                  return serviceCall
-                      .requestMany(toServiceMessage(methodInfo, request), returnType)
-                      .transform(asFlux(isServiceMessage));
+                  final var flux =
+                      serviceCall
+                          .requestMany(toServiceMessage(methodInfo, priority, request), returnType)
+                          .transform(asFlux(isServiceMessage));
+                  return isPlain ? flux.collectList().block() : flux;
 
                 case REQUEST_CHANNEL:
                   // this is REQUEST_CHANNEL so it means params[0] must
@@ -377,7 +636,7 @@ public <T> T api(Class<T> serviceInterface) {
                   return serviceCall
                       .requestBidirectional(
                           Flux.from((Publisher) request)
-                              .map(data -> toServiceMessage(methodInfo, data)),
+                              .map(data -> toServiceMessage(methodInfo, priority, data)),
                           returnType)
                       .transform(asFlux(isServiceMessage));
 
@@ -388,27 +647,47 @@ public <T> T api(Class<T> serviceInterface) {
             });
   }
 
+  /**
+   * Returns the earliest of: deadline carried by the request itself, deadline by {@link #timeout},
+   * and deadline of the incoming request if this call is made from within service method.
+   */
+  private Deadline deadline(ServiceMessage request, ContextView context) {
+    var deadline = Deadline.of(request);
+    if (timeout != null) {
+      deadline = Deadline.min(deadline, Deadline.after(timeout));
+    }
+    return Deadline.min(deadline, context.getOrDefault(Deadline.class, null));
+  }
+
   private ServiceReference serviceLookup(ServiceMessage request) {
     return router
         .route(serviceRegistry, request)
         .orElseThrow(() -> noReachableMemberException(request));
   }
 
-  private ServiceMessage toServiceMessage(MethodInfo methodInfo, Object request) {
+  private ServiceMessage toServiceMessage(
+      MethodInfo methodInfo, Priority priority, Object request) {
+    final ServiceMessage.Builder builder;
     if (request instanceof ServiceMessage) {
-      return ServiceMessage.from((ServiceMessage) request)
-          .qualifier(methodInfo.serviceName(), methodInfo.methodName())
-          .headers(credentials)
-          .dataFormatIfAbsent(contentType)
-          .build();
+      builder =
+          ServiceMessage.from((ServiceMessage) request)
+              .qualifier(methodInfo.serviceName(), methodInfo.methodName())
+              .headers(credentials)
+              .dataFormatIfAbsent(contentType);
+    } else {
+      builder =
+          ServiceMessage.builder()
+              .qualifier(methodInfo.serviceName(), methodInfo.methodName())
+              .headers(credentials)
+              .data(request)
+              .dataFormatIfAbsent(contentType);
+    }
+
+    if (priority != null) {
+      builder.header(ServiceMessage.HEADER_PRIORITY, priority.name());
     }
 
-    return ServiceMessage.builder()
-        .qualifier(methodInfo.serviceName(), methodInfo.methodName())
-        .headers(credentials)
-        .data(request)
-        .dataFormatIfAbsent(contentType)
-        .build();
+    return builder.build();
   }
 
   private static ServiceUnavailableException noReachableMemberException(ServiceMessage request) {
@@ -458,6 +737,10 @@ private ServiceMessage throwIfError(ServiceMessage message) {
     return message;
   }
 
+  private record CallIdentity(Map<String, String> headers, Type responseType) {}
+
+  private record DetachedData(byte[] bytes) {}
+
   @Override
   public void close() {
     if (transport != null) {
@@ -1,14 +1,17 @@
 package io.scalecube.services;
 
+import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.auth.Authenticator;
 import io.scalecube.services.auth.PrincipalMapper;
 import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
+import io.scalecube.services.methods.ConcurrencyLimit;
 import io.scalecube.services.transport.api.ServiceMessageDataDecoder;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +24,8 @@ public class ServiceInfo {
   private final Authenticator<Object> authenticator;
   private final PrincipalMapper<Object, Object> principalMapper;
   private final Logger logger;
+  private final Map<String, ConcurrencyLimit> concurrencyLimits;
+  private final Map<String, Function<ServiceMessage, Object>> partitionKeys;
 
   private ServiceInfo(Builder builder) {
     this.serviceInstance = builder.serviceInstance;
@@ -30,6 +35,8 @@ private ServiceInfo(Builder builder) {
     this.authenticator = builder.authenticator;
     this.principalMapper = builder.principalMapper;
     this.logger = builder.logger;
+    this.concurrencyLimits = Collections.unmodifiableMap(new HashMap<>(builder.concurrencyLimits));
+    this.partitionKeys = Collections.unmodifiableMap(new HashMap<>(builder.partitionKeys));
   }
 
   public static Builder from(ServiceInfo serviceInfo) {
@@ -68,6 +75,14 @@ public Logger logger() {
     return logger;
   }
 
+  public Map<String, ConcurrencyLimit> concurrencyLimits() {
+    return concurrencyLimits;
+  }
+
+  public Map<String, Function<ServiceMessage, Object>> partitionKeys() {
+    return partitionKeys;
+  }
+
   @Override
   public String toString() {
     return new StringJoiner(", ", ServiceInfo.class.getSimpleName() + "[", "]")
@@ -78,6 +93,8 @@ public String toString() {
         .add("authenticator=" + authenticator)
         .add("principalMapper=" + principalMapper)
         .add("logger=" + logger)
+        .add("concurrencyLimits=" + concurrencyLimits)
+        .add("partitionKeys=" + partitionKeys)
         .toString();
   }
 
@@ -90,6 +107,8 @@ public static class Builder {
     private Authenticator<Object> authenticator;
     private PrincipalMapper<Object, Object> principalMapper;
     private Logger logger;
+    private final Map<String, ConcurrencyLimit> concurrencyLimits = new HashMap<>();
+    private final Map<String, Function<ServiceMessage, Object>> partitionKeys = new HashMap<>();
 
     private Builder(ServiceInfo serviceInfo) {
       this.serviceInstance = serviceInfo.serviceInstance;
@@ -99,6 +118,8 @@ private Builder(ServiceInfo serviceInfo) {
       this.authenticator = serviceInfo.authenticator;
       this.principalMapper = serviceInfo.principalMapper;
       this.logger = serviceInfo.logger;
+      this.concurrencyLimits.putAll(serviceInfo.concurrencyLimits);
+      this.partitionKeys.putAll(serviceInfo.partitionKeys);
     }
 
     private Builder(Object serviceInstance) {
@@ -202,6 +223,37 @@ public <T, R> Builder principalMapper(PrincipalMapper<? super T, ? extends R> pr
       return this;
     }
 
+    /**
+     * Limits number of concurrent invocations of service method. Overrides {@link
+     * io.scalecube.services.annotations.MaxConcurrency}.
+     *
+     * @param methodName service method name
+     * @param limit max number of concurrent invocations
+     * @param queue max number of invocations waiting for their turn
+     * @return this
+     */
+    public Builder maxConcurrency(String methodName, int limit, int queue) {
+      Objects.requireNonNull(methodName, "methodName");
+      concurrencyLimits.put(methodName, new ConcurrencyLimit(limit, queue));
+      return this;
+    }
+
+    /**
+     * Setter for partition key extractor of service method. Overrides {@link
+     * io.scalecube.services.annotations.ExecuteOn#key()}, requires {@link PartitionedScheduler}.
+     * Extractor is applied to the request message before its data is decoded (remote request
+     * carries encoded data), so key should rather be taken from headers.
+     *
+     * @param methodName service method name
+     * @param partitionKey partition key extractor
+     * @return this
+     */
+    public Builder partitionKey(String methodName, Function<ServiceMessage, Object> partitionKey) {
+      Objects.requireNonNull(methodName, "methodName");
+      partitionKeys.put(methodName, Objects.requireNonNull(partitionKey, "partitionKey"));
+      return this;
+    }
+
     Builder errorMapperIfAbsent(ServiceProviderErrorMapper errorMapper) {
       if (this.errorMapper == null) {
         return errorMapper(errorMapper);
@@ -12,20 +12,15 @@
 
 /**
  * Service reference. This is merge of service method information together with service registration
- * and with service endpoint.
+ * and with service endpoint. Only endpoint specific fields are held by service reference itself,
+ * the rest is held by definition, which is shared by service references of identical deployments
+ * (see {@link Interner}).
  */
 public class ServiceReference {
 
   private final String endpointId;
-  private final String namespace;
-  private final String action;
-  private final String qualifier;
-  private final DynamicQualifier dynamicQualifier;
-  private final Set<String> contentTypes;
-  private final Map<String, String> tags;
   private final Address address;
-  private final boolean isSecured;
-  private final String restMethod;
+  private final Definition definition;
 
   /**
    * Constructor for service reference.
@@ -38,16 +33,23 @@ public ServiceReference(
       ServiceMethodDefinition serviceMethodDefinition,
       ServiceRegistration serviceRegistration,
       ServiceEndpoint serviceEndpoint) {
+    final var namespace = Interner.intern(serviceRegistration.namespace());
+    final var action = Interner.intern(serviceMethodDefinition.action());
+    final var qualifier = Interner.intern(Qualifier.asString(namespace, action));
     this.endpointId = serviceEndpoint.id();
-    this.namespace = serviceRegistration.namespace();
-    this.action = serviceMethodDefinition.action();
-    this.qualifier = Qualifier.asString(namespace, action);
-    this.dynamicQualifier = isDynamicQualifier(qualifier) ? DynamicQualifier.from(qualifier) : null;
-    this.contentTypes = Collections.unmodifiableSet(serviceEndpoint.contentTypes());
-    this.tags = mergeTags(serviceMethodDefinition, serviceRegistration, serviceEndpoint);
     this.address = serviceEndpoint.address();
-    this.isSecured = serviceMethodDefinition.isSecured();
-    this.restMethod = serviceMethodDefinition.restMethod();
+    this.definition =
+        Interner.intern(
+            new Definition(
+                namespace,
+                action,
+                qualifier,
+                isDynamicQualifier(qualifier) ? Interner.internDynamicQualifier(qualifier) : null,
+                Interner.intern(Set.copyOf(serviceEndpoint.contentTypes())),
+                Interner.intern(
+                    mergeTags(serviceMethodDefinition, serviceRegistration, serviceEndpoint)),
+                serviceMethodDefinition.isSecured(),
+                Interner.intern(serviceMethodDefinition.restMethod())));
   }
 
   public String endpointId() {
@@ -55,27 +57,27 @@ public String endpointId() {
   }
 
   public String namespace() {
-    return namespace;
+    return definition.namespace;
   }
 
   public String action() {
-    return action;
+    return definition.action;
   }
 
   public String qualifier() {
-    return qualifier;
+    return definition.qualifier;
   }
 
   public DynamicQualifier dynamicQualifier() {
-    return dynamicQualifier;
+    return definition.dynamicQualifier;
   }
 
   public Set<String> contentTypes() {
-    return contentTypes;
+    return definition.contentTypes;
   }
 
   public Map<String, String> tags() {
-    return tags;
+    return definition.tags;
   }
 
   public Address address() {
@@ -83,14 +85,14 @@ public Address address() {
   }
 
   public boolean isSecured() {
-    return isSecured;
+    return definition.isSecured;
   }
 
   public String restMethod() {
-    return restMethod;
+    return definition.restMethod;
   }
 
-  private Map<String, String> mergeTags(
+  private static Map<String, String> mergeTags(
       ServiceMethodDefinition serviceMethodDefinition,
       ServiceRegistration serviceRegistration,
       ServiceEndpoint serviceEndpoint) {
@@ -98,22 +100,32 @@ private Map<String, String> mergeTags(
     tags.putAll(serviceEndpoint.tags());
     tags.putAll(serviceRegistration.tags());
     tags.putAll(serviceMethodDefinition.tags());
-    return tags;
+    return Collections.unmodifiableMap(tags);
   }
 
   @Override
   public String toString() {
     return new StringJoiner(", ", ServiceReference.class.getSimpleName() + "[", "]")
         .add("endpointId='" + endpointId + "'")
-        .add("namespace='" + namespace + "'")
-        .add("action='" + action + "'")
-        .add("qualifier='" + qualifier + "'")
-        .add("dynamicQualifier=" + dynamicQualifier)
-        .add("contentTypes=" + contentTypes)
-        .add("tags=" + tags)
+        .add("namespace='" + namespace() + "'")
+        .add("action='" + action() + "'")
+        .add("qualifier='" + qualifier() + "'")
+        .add("dynamicQualifier=" + dynamicQualifier())
+        .add("contentTypes=" + contentTypes())
+        .add("tags=" + tags())
         .add("address=" + address)
-        .add("isSecured=" + isSecured)
-        .add("restMethod='" + restMethod + "'")
+        .add("isSecured=" + isSecured())
+        .add("restMethod='" + restMethod() + "'")
         .toString();
   }
+
+  private record Definition(
+      String namespace,
+      String action,
+      String qualifier,
+      DynamicQualifier dynamicQualifier,
+      Set<String> contentTypes,
+      Map<String, String> tags,
+      boolean isSecured,
+      String restMethod) {}
 }
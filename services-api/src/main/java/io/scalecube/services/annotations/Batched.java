@@ -0,0 +1,51 @@
+package io.scalecube.services.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks request-response service method (with single parameter) whose concurrent requests are
+ * served in bulk: requests arriving within {@link #maxDelay()} (but not more than {@link
+ * #maxSize()}) are collected, batch method of the service is invoked once with all of them, and its
+ * results are dispatched back to the callers by position.
+ *
+ * <p>Batch method is a public method of service class named {@link #method()}, it accepts either
+ * {@code List<Req>} or {@code Flux<Req>}, and returns either {@code Mono<List<Resp>>} or {@code
+ * Flux<Resp>}, with one result per request, in the same order. To report per-request errors (or
+ * empty results) batch method may return {@link reactor.core.publisher.Signal} per request instead
+ * ({@code Mono<List<Signal<Resp>>>} or {@code Flux<Signal<Resp>>}). Error of the batch method
+ * itself is propagated to all requests of the batch.
+ *
+ * <p>Batch method is invoked outside of reactor context of any particular request, so {@link
+ * io.scalecube.services.methods.RequestContext} is not available there.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Batched {
+
+  /**
+   * Returns name of batch method.
+   *
+   * @return method name
+   */
+  String method();
+
+  /**
+   * Returns max number of requests in the batch.
+   *
+   * @return max size
+   */
+  int maxSize() default 100;
+
+  /**
+   * Returns max time (in milliseconds) the first request of the batch waits for other requests.
+   *
+   * @return max delay
+   */
+  long maxDelay() default 5;
+}
@@ -0,0 +1,44 @@
+package io.scalecube.services.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks idempotent request-response service method whose responses are cached on the client side by
+ * service proxies ({@link io.scalecube.services.ServiceCall#api(Class)}). Responses are cached per
+ * qualifier, headers and encoded request data, in encoded form, and expire after {@link #ttl()}.
+ * Least recently used responses are evicted when there are more than {@link #maxEntries()} of them,
+ * or when they take more than {@link #maxBytes()}. Error responses are not cached.
+ *
+ * <p>Cache can be invalidated explicitly, see {@link io.scalecube.services.ResponseCache}.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Cacheable {
+
+  /**
+   * Returns time to live (in milliseconds) of cached response.
+   *
+   * @return ttl
+   */
+  long ttl();
+
+  /**
+   * Returns max number of cached responses of the method.
+   *
+   * @return max entries
+   */
+  int maxEntries() default 1000;
+
+  /**
+   * Returns max size (in bytes) of encoded requests and responses cached for the method.
+   *
+   * @return max bytes
+   */
+  long maxBytes() default 16 * 1024 * 1024;
+}
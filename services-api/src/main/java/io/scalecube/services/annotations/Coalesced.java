@@ -0,0 +1,24 @@
+package io.scalecube.services.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks request-response service method whose concurrent identical requests are coalesced: while
+ * invocation is in flight, requests with the same qualifier, data format, data and principal don't
+ * invoke service method again, but wait for result of the in-flight invocation. Result (or error)
+ * is delivered to all waiters and forgotten right after, so nothing is cached between invocations.
+ *
+ * <p>Requests are compared by encoded data when it's available (request came from the transport),
+ * otherwise by {@link Object#equals(Object)} of request data. Invocation is cancelled only when all
+ * its waiters have cancelled. Service method observes {@link
+ * io.scalecube.services.methods.RequestContext} of the request which started invocation.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Coalesced {}
@@ -11,6 +11,14 @@
 /**
  * This annotation is used to mark that particular service method or all service methods will be
  * executed in the specified scheduler.
+ *
+ * <p>Besides custom schedulers, built-in ones are available: {@code parallel}, {@code single},
+ * {@code boundedElastic}, {@code immediate}, and {@code virtual} (runs every invocation on its own
+ * virtual thread, suitable for blocking service methods with plain return types) and {@code
+ * partitioned} (see {@link #key()}).
+ *
+ * <p>Virtual threads are available only on JDK 21+. On older JDKs {@code virtual} scheduler is
+ * bounded-elastic one, so the number of concurrently blocked invocations is capped by its threads.
  */
 @Documented
 @Target({METHOD, TYPE})
@@ -23,4 +31,15 @@
    * @return scheduler name
    */
   String value();
+
+  /**
+   * Returns partition key of the request: {@code header:<name>} (value of the header). Requests
+   * with the same key are executed one after another in arrival order, requests with different keys
+   * in parallel. Requires {@link io.scalecube.services.PartitionedScheduler}, such as built-in
+   * {@code partitioned} one, and request-response (or fire-and-forget) service method. Requests
+   * without key are rejected with {@link io.scalecube.services.exceptions.BadRequestException}.
+   *
+   * @return partition key, or empty string if requests are not partitioned
+   */
+  String key() default "";
 }
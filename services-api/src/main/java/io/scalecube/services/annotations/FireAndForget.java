@@ -0,0 +1,20 @@
+package io.scalecube.services.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks service method returning {@code Mono<Void>} as fire-and-forget one (see {@link
+ * io.scalecube.services.CommunicationMode#FIRE_AND_FORGET}). Service proxies send its requests
+ * without waiting for any response: over RSocket transport request costs a single outbound frame,
+ * and the service doesn't send anything back. Hence caller is not notified about errors of the
+ * service method, they are only logged by the service side.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface FireAndForget {}
@@ -0,0 +1,38 @@
+package io.scalecube.services.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Limits number of concurrent invocations of service method (or of every method of the service, if
+ * put on service class). Invocations past the {@link #limit()} wait in the queue (not more than
+ * {@link #queue()} of them), the rest are rejected with {@link
+ * io.scalecube.services.exceptions.ServiceUnavailableException} right away.
+ *
+ * <p>Limit can also be defined programmatically, see {@link
+ * io.scalecube.services.ServiceInfo.Builder#maxConcurrency(String, int, int)}.
+ */
+@Documented
+@Target({METHOD, TYPE})
+@Retention(RUNTIME)
+public @interface MaxConcurrency {
+
+  /**
+   * Returns max number of concurrent invocations.
+   *
+   * @return limit
+   */
+  int limit();
+
+  /**
+   * Returns max number of invocations waiting for their turn.
+   *
+   * @return queue size
+   */
+  int queue() default 0;
+}
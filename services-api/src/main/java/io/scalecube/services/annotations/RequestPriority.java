@@ -0,0 +1,28 @@
+package io.scalecube.services.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import io.scalecube.services.Priority;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Defines priority of requests of service method. On the client side, service proxies put it into
+ * request header (unless {@link io.scalecube.services.ServiceCall#priority(Priority)} is set). On
+ * the service side, it applies to requests without priority header. Priorities take effect when
+ * service method is executed on {@link io.scalecube.services.PriorityScheduler}.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface RequestPriority {
+
+  /**
+   * Returns priority of requests.
+   *
+   * @return priority
+   */
+  Priority value();
+}
@@ -0,0 +1,144 @@
+package io.scalecube.services.api;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable {@link Map} of message headers backed by flat array of keys and values: {@code [k0, v0,
+ * k1, v1, ...]}. Lookups are linear scans, which for typical (small) number of headers is cheaper
+ * than hashing, and the whole map costs two objects. Backing array is never modified once instance
+ * is created, so it is safely shared between messages built out of each other (see {@link
+ * ServiceMessage#from(ServiceMessage)}).
+ */
+public final class ImmutableHeaders extends AbstractMap<String, String> {
+
+  static final String[] EMPTY_ARRAY = new String[0];
+
+  public static final ImmutableHeaders EMPTY = new ImmutableHeaders(EMPTY_ARRAY, 0);
+
+  private final String[] keyValues;
+  private final int size;
+
+  private Set<Entry<String, String>> entrySet;
+
+  /**
+   * Constructor. Array is taken as is, caller must not modify it afterwards.
+   *
+   * @param keyValues keys and values
+   * @param size number of headers (first {@code size * 2} elements of array are used)
+   */
+  ImmutableHeaders(String[] keyValues, int size) {
+    this.keyValues = keyValues;
+    this.size = size;
+  }
+
+  /**
+   * Returns immutable headers with the same mappings as given map. If given map is already {@code
+   * ImmutableHeaders} then it is returned as is.
+   *
+   * @param headers headers
+   * @return immutable headers
+   */
+  public static ImmutableHeaders copyOf(Map<String, String> headers) {
+    if (headers instanceof ImmutableHeaders immutableHeaders) {
+      return immutableHeaders;
+    }
+    final int size = headers.size();
+    if (size == 0) {
+      return EMPTY;
+    }
+    final var keyValues = new String[size << 1];
+    int i = 0;
+    for (Entry<String, String> entry : headers.entrySet()) {
+      keyValues[i++] = Objects.requireNonNull(entry.getKey(), "header name");
+      keyValues[i++] = entry.getValue();
+    }
+    return new ImmutableHeaders(keyValues, size);
+  }
+
+  String[] keyValues() {
+    return keyValues;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public String get(Object key) {
+    final int i = indexOf(keyValues, size, key);
+    return i >= 0 ? keyValues[i + 1] : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(keyValues, size, key) >= 0;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super String> action) {
+    for (int i = 0, n = size << 1; i < n; i += 2) {
+      action.accept(keyValues[i], keyValues[i + 1]);
+    }
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    Set<Entry<String, String>> entrySet = this.entrySet;
+    if (entrySet == null) {
+      this.entrySet = entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  static int indexOf(String[] keyValues, int size, Object key) {
+    for (int i = 0, n = size << 1; i < n; i += 2) {
+      if (keyValues[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public Iterator<Entry<String, String>> iterator() {
+      return new Iterator<>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return index < size << 1;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          final var entry = new SimpleImmutableEntry<>(keyValues[index], keyValues[index + 1]);
+          index += 2;
+          return entry;
+        }
+      };
+    }
+  }
+}
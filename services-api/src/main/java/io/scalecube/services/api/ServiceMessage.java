@@ -1,7 +1,6 @@
 package io.scalecube.services.api;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
@@ -30,6 +29,15 @@ public final class ServiceMessage {
   /** Request method header. */
   public static final String HEADER_REQUEST_METHOD = "requestMethod";
 
+  /** Request priority header, see {@link io.scalecube.services.Priority}. */
+  public static final String HEADER_PRIORITY = "priority";
+
+  /**
+   * Request timeout header: remaining time budget of the request in milliseconds, see {@link
+   * io.scalecube.services.Deadline}.
+   */
+  public static final String HEADER_TIMEOUT = "timeout";
+
   /** Null value for error type. */
   public static final int NULL_ERROR_TYPE = -1;
 
@@ -38,16 +46,17 @@ public final class ServiceMessage {
 
   /** Instantiates empty message for deserialization purpose. */
   ServiceMessage() {
-    headers = new HashMap<>(2);
+    headers = ImmutableHeaders.EMPTY;
   }
 
   private ServiceMessage(Builder builder) {
     this.data = builder.data;
-    this.headers = Collections.unmodifiableMap(new HashMap<>(builder.headers));
+    this.headers = builder.buildHeaders();
   }
 
   /**
-   * Instantiates new message with the same data and headers as at given message.
+   * Instantiates new message with the same data and headers as at given message. Headers are not
+   * copied, new message shares them with given one until headers are modified on the builder.
    *
    * @param message the message to be copied
    * @return a new message, with the same data and headers
@@ -85,7 +94,7 @@ public static Builder builder() {
   }
 
   /**
-   * Returns the message headers.
+   * Returns the message headers (immutable).
    *
    * @return message headers
    */
@@ -209,7 +218,13 @@ public String toString() {
 
   public static class Builder {
 
-    private final Map<String, String> headers = new HashMap<>(2);
+    private static final int MIN_CAPACITY = 8;
+
+    // flat array of header keys and values, see ImmutableHeaders
+    private String[] keyValues = ImmutableHeaders.EMPTY_ARRAY;
+    private int size;
+    // headers instance which owns keyValues, if not null keyValues must be copied before write
+    private ImmutableHeaders sharedHeaders = ImmutableHeaders.EMPTY;
     private Object data;
 
     private Builder() {}
@@ -235,7 +250,7 @@ public Builder data(Object data) {
     @Deprecated
     public Builder dataType(Class<?> dataType) {
       Objects.requireNonNull(dataType, "dataType");
-      headers.put(HEADER_DATA_TYPE, dataType.getName());
+      put(HEADER_DATA_TYPE, dataType.getName());
       return this;
     }
 
@@ -246,7 +261,7 @@ public Builder dataType(Class<?> dataType) {
      * @return this
      */
     public Builder dataFormat(String dataFormat) {
-      headers.put(HEADER_DATA_FORMAT, dataFormat);
+      put(HEADER_DATA_FORMAT, dataFormat);
       return this;
     }
 
@@ -261,19 +276,12 @@ public Builder dataFormatIfAbsent(String dataFormat) {
       if (dataFormat == null) {
         return this;
       }
-      headers.putIfAbsent(HEADER_DATA_FORMAT, dataFormat);
+      if (ImmutableHeaders.indexOf(keyValues, size, HEADER_DATA_FORMAT) < 0) {
+        put(HEADER_DATA_FORMAT, dataFormat);
+      }
       return this;
     }
 
-    /**
-     * Returns {@code headers}.
-     *
-     * @return headers
-     */
-    private Map<String, String> headers() {
-      return headers;
-    }
-
     /**
      * Setter for {@code headers}.
      *
@@ -281,7 +289,14 @@ private Map<String, String> headers() {
      * @return this
      */
     public Builder headers(Map<String, String> headers) {
-      Objects.requireNonNull(headers, "headers").forEach(this::header);
+      Objects.requireNonNull(headers, "headers");
+      if (size == 0 && headers instanceof ImmutableHeaders immutableHeaders) {
+        keyValues = immutableHeaders.keyValues();
+        size = immutableHeaders.size();
+        sharedHeaders = immutableHeaders;
+        return this;
+      }
+      headers.forEach(this::header);
       return this;
     }
 
@@ -295,7 +310,7 @@ public Builder headers(Map<String, String> headers) {
     public Builder header(String key, String value) {
       Objects.requireNonNull(key, "header name");
       Objects.requireNonNull(value, "header value");
-      headers.put(key, value);
+      put(key, value);
       return this;
     }
 
@@ -309,7 +324,7 @@ public Builder header(String key, String value) {
     public Builder header(String key, Object value) {
       Objects.requireNonNull(key, "header name");
       Objects.requireNonNull(value, "header value");
-      headers.put(key, value.toString());
+      put(key, value.toString());
       return this;
     }
 
@@ -340,5 +355,38 @@ public Builder qualifier(String namespace, String action) {
     public ServiceMessage build() {
       return new ServiceMessage(this);
     }
+
+    private void put(String key, String value) {
+      final int i = ImmutableHeaders.indexOf(keyValues, size, key);
+      if (i >= 0) {
+        if (!Objects.equals(keyValues[i + 1], value)) {
+          ensureWritable(0)[i + 1] = value;
+        }
+      } else {
+        final var keyValues = ensureWritable(1);
+        keyValues[size << 1] = key;
+        keyValues[(size << 1) + 1] = value;
+        size++;
+      }
+    }
+
+    private String[] ensureWritable(int extraSize) {
+      final int required = (size + extraSize) << 1;
+      if (sharedHeaders == null && keyValues.length >= required) {
+        return keyValues;
+      }
+      final int capacity = sharedHeaders != null ? keyValues.length : keyValues.length << 1;
+      keyValues = Arrays.copyOf(keyValues, Math.max(MIN_CAPACITY, Math.max(required, capacity)));
+      sharedHeaders = null;
+      return keyValues;
+    }
+
+    private ImmutableHeaders buildHeaders() {
+      if (sharedHeaders == null) {
+        // hand over keyValues to headers, next write on this builder will copy them
+        sharedHeaders = size == 0 ? ImmutableHeaders.EMPTY : new ImmutableHeaders(keyValues, size);
+      }
+      return sharedHeaders;
+    }
   }
 }
@@ -34,6 +34,8 @@ public Throwable toError(ServiceMessage message) {
         return new ServiceUnavailableException(errorCode, errorMessage);
       case InternalServiceException.ERROR_TYPE:
         return new InternalServiceException(errorCode, errorMessage);
+      case DeadlineExceededException.ERROR_TYPE:
+        return new DeadlineExceededException(errorCode, errorMessage);
       // Handle other types of Service Exceptions here
       default:
         return new InternalServiceException(errorCode, errorMessage);
@@ -57,6 +59,8 @@ public ServiceMessage toMessage(String qualifier, Throwable throwable) {
         errorType = ServiceUnavailableException.ERROR_TYPE;
       } else if (throwable instanceof InternalServiceException) {
         errorType = InternalServiceException.ERROR_TYPE;
+      } else if (throwable instanceof DeadlineExceededException) {
+        errorType = DeadlineExceededException.ERROR_TYPE;
       }
     }
 
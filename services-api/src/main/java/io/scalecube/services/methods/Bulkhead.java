@@ -0,0 +1,241 @@
+package io.scalecube.services.methods;
+
+import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.MaxConcurrency;
+import io.scalecube.services.exceptions.ServiceUnavailableException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Limits number of concurrent invocations of service method, see {@link MaxConcurrency}. Permit is
+ * held from subscription to invocation result till its termination (or cancellation), and is handed
+ * over to the first waiting invocation, if any.
+ */
+public final class Bulkhead {
+
+  private final String qualifier;
+  private final int limit;
+  private final int queueSize;
+  private final Scheduler scheduler; // nullable
+  private final LongAdder rejected = new LongAdder();
+
+  // guarded by this
+  private final ArrayDeque<Permit> queue = new ArrayDeque<>();
+  private int inFlight;
+
+  private Bulkhead(String qualifier, ConcurrencyLimit concurrencyLimit, Scheduler scheduler) {
+    this.qualifier = qualifier;
+    this.limit = concurrencyLimit.limit();
+    this.queueSize = concurrencyLimit.queue();
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Creates bulkhead if concurrency of service method is limited: either programmatically, or by
+   * {@link MaxConcurrency} (annotation is looked up on the given method, then on the method of
+   * service class, then on service class).
+   *
+   * @param method service method
+   * @param service service instance
+   * @param methodInfo method info
+   * @param concurrencyLimit programmatic concurrency limit (optional)
+   * @param scheduler scheduler to resume waiting invocations on (optional)
+   * @return bulkhead, or null if concurrency of service method is not limited
+   * @throws IllegalArgumentException if {@link MaxConcurrency} definition is wrong
+   */
+  static Bulkhead create(
+      Method method,
+      Object service,
+      MethodInfo methodInfo,
+      ConcurrencyLimit concurrencyLimit,
+      Scheduler scheduler) {
+    if (concurrencyLimit == null) {
+      var maxConcurrency = Reflect.findAnnotation(method, service, MaxConcurrency.class);
+      for (var clazz = service.getClass();
+          maxConcurrency == null && clazz != null;
+          clazz = clazz.getSuperclass()) {
+        maxConcurrency = clazz.getAnnotation(MaxConcurrency.class);
+      }
+      if (maxConcurrency == null) {
+        return null;
+      }
+      try {
+        concurrencyLimit = new ConcurrencyLimit(maxConcurrency.limit(), maxConcurrency.queue());
+      } catch (IllegalArgumentException ex) {
+        throw new IllegalArgumentException(
+            "Wrong @MaxConcurrency definition on "
+                + methodInfo.qualifier()
+                + ": "
+                + ex.getMessage());
+      }
+    }
+    return new Bulkhead(methodInfo.qualifier(), concurrencyLimit, scheduler);
+  }
+
+  /**
+   * Creates bulkhead with the given limit.
+   *
+   * @param name name of limited resource (used in error message)
+   * @param concurrencyLimit concurrency limit
+   * @param scheduler scheduler to resume waiting invocations on (optional)
+   * @return bulkhead
+   */
+  public static Bulkhead create(
+      String name, ConcurrencyLimit concurrencyLimit, Scheduler scheduler) {
+    return new Bulkhead(name, concurrencyLimit, scheduler);
+  }
+
+  /**
+   * Executes given mono within the limit.
+   *
+   * @param source source
+   * @param <T> type of result
+   * @return mono of result
+   */
+  public <T> Mono<T> execute(Mono<T> source) {
+    return Mono.defer(
+        () -> {
+          final var permit = new Permit();
+          return acquire(permit)
+              .then(source)
+              .doOnSuccess(result -> release(permit))
+              .doOnError(ex -> release(permit))
+              .doOnCancel(() -> release(permit));
+        });
+  }
+
+  /**
+   * Executes given flux within the limit.
+   *
+   * @param source source
+   * @param <T> type of results
+   * @return flux of results
+   */
+  public <T> Flux<T> execute(Flux<T> source) {
+    return Flux.defer(
+        () -> {
+          final var permit = new Permit();
+          return acquire(permit)
+              .thenMany(source)
+              .doOnTerminate(() -> release(permit))
+              .doOnCancel(() -> release(permit));
+        });
+  }
+
+  private Mono<Void> acquire(Permit permit) {
+    synchronized (this) {
+      if (inFlight < limit) {
+        inFlight++;
+        permit.granted = true;
+        return Mono.empty();
+      }
+      if (queue.size() < queueSize) {
+        queue.add(permit);
+        permit.queued = true;
+        final Mono<Void> granted = Mono.create(sink -> await(permit, sink));
+        return scheduler != null ? granted.publishOn(scheduler) : granted;
+      }
+    }
+    rejected.increment();
+    return Mono.error(
+        new ServiceUnavailableException("Too many concurrent invocations of " + qualifier));
+  }
+
+  private void await(Permit permit, MonoSink<Void> sink) {
+    synchronized (this) {
+      if (!permit.granted) {
+        permit.sink = sink;
+        return;
+      }
+    }
+    sink.success();
+  }
+
+  private void release(Permit permit) {
+    final MonoSink<Void> sink;
+    synchronized (this) {
+      if (permit.released) {
+        return;
+      }
+      permit.released = true;
+      if (!permit.granted) {
+        if (permit.queued) {
+          queue.remove(permit); // cancelled while waiting
+        }
+        return;
+      }
+      final var next = queue.poll();
+      if (next == null) {
+        inFlight--;
+        return;
+      }
+      next.granted = true; // permit is handed over
+      sink = next.sink; // null if waiting invocation is not subscribed yet
+    }
+    if (sink != null) {
+      sink.success();
+    }
+  }
+
+  /**
+   * Returns number of invocations in flight.
+   *
+   * @return number of invocations in flight
+   */
+  public synchronized int inFlight() {
+    return inFlight;
+  }
+
+  /**
+   * Returns number of invocations waiting for their turn.
+   *
+   * @return number of waiting invocations
+   */
+  public synchronized int queued() {
+    return queue.size();
+  }
+
+  /**
+   * Returns number of rejected invocations.
+   *
+   * @return number of rejected invocations
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  public int limit() {
+    return limit;
+  }
+
+  public int queueSize() {
+    return queueSize;
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", Bulkhead.class.getSimpleName() + "[", "]")
+        .add("qualifier='" + qualifier + "'")
+        .add("limit=" + limit)
+        .add("queueSize=" + queueSize)
+        .add("inFlight=" + inFlight())
+        .add("queued=" + queued())
+        .add("rejected=" + rejected())
+        .toString();
+  }
+
+  private static final class Permit {
+
+    // guarded by bulkhead
+    private boolean granted;
+    private boolean queued;
+    private boolean released;
+    private MonoSink<Void> sink;
+  }
+}
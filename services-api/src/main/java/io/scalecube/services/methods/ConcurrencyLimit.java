@@ -0,0 +1,25 @@
+package io.scalecube.services.methods;
+
+/**
+ * Programmatic equivalent of {@link io.scalecube.services.annotations.MaxConcurrency}.
+ *
+ * @param limit max number of concurrent invocations
+ * @param queue max number of invocations waiting for their turn
+ */
+public record ConcurrencyLimit(int limit, int queue) {
+
+  /**
+   * Constructor.
+   *
+   * @param limit max number of concurrent invocations
+   * @param queue max number of invocations waiting for their turn
+   */
+  public ConcurrencyLimit {
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be positive: " + limit);
+    }
+    if (queue < 0) {
+      throw new IllegalArgumentException("queue must not be negative: " + queue);
+    }
+  }
+}
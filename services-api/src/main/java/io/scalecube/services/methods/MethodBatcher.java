@@ -0,0 +1,302 @@
+package io.scalecube.services.methods;
+
+import io.scalecube.services.CommunicationMode;
+import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.Batched;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Collects requests of {@link Batched} service method and invokes batch method of the service once
+ * per batch. Batch is flushed when it reaches max size, or when max delay since its first request
+ * elapses. Batch method runs either on the caller thread which filled the batch, or (when max delay
+ * elapses) on the scheduler of service method, see {@link
+ * io.scalecube.services.annotations.ExecuteOn} (delay itself is timed by {@link
+ * Schedulers#parallel()}). Requests cancelled while waiting for their batch are dropped from it.
+ */
+final class MethodBatcher {
+
+  private final String qualifier;
+  private final MethodDispatcher dispatcher;
+  private final boolean fluxParameter;
+  private final boolean monoResult;
+  private final boolean signals;
+  private final int maxSize;
+  private final Duration maxDelay;
+  private final Scheduler scheduler;
+  private final Scheduler timer = Schedulers.parallel();
+
+  // guarded by this
+  private List<Item> items = new ArrayList<>();
+  private Disposable flushTask;
+
+  private MethodBatcher(
+      String qualifier,
+      MethodDispatcher dispatcher,
+      boolean fluxParameter,
+      boolean monoResult,
+      boolean signals,
+      int maxSize,
+      Duration maxDelay,
+      Scheduler scheduler) {
+    this.qualifier = qualifier;
+    this.dispatcher = dispatcher;
+    this.fluxParameter = fluxParameter;
+    this.monoResult = monoResult;
+    this.signals = signals;
+    this.maxSize = maxSize;
+    this.maxDelay = maxDelay;
+    this.scheduler = scheduler != null ? scheduler : Schedulers.immediate();
+  }
+
+  /**
+   * Creates batcher if service method is {@link Batched} (annotation is looked up on the given
+   * method, then on the method of service class).
+   *
+   * @param method service method
+   * @param service service instance
+   * @param methodInfo method info
+   * @return batcher, or null if service method is not batched
+   * @throws IllegalArgumentException if {@link Batched} definition is wrong
+   */
+  static MethodBatcher create(Method method, Object service, MethodInfo methodInfo) {
+    final var batched = Reflect.findAnnotation(method, service, Batched.class);
+    if (batched == null) {
+      return null;
+    }
+
+    final var qualifier = methodInfo.qualifier();
+    if (methodInfo.communicationMode() != CommunicationMode.REQUEST_RESPONSE
+        || methodInfo.parameterCount() != 1) {
+      throw wrongDefinition(
+          qualifier, "only request-response method with single parameter can be batched");
+    }
+    if (batched.maxSize() < 1 || batched.maxDelay() < 0) {
+      throw wrongDefinition(qualifier, "maxSize must be positive, maxDelay must not be negative");
+    }
+
+    final var batchMethod = findBatchMethod(batched.method(), service, qualifier);
+    final var parameterType = batchMethod.getParameterTypes()[0];
+    final var returnType = batchMethod.getReturnType();
+
+    final boolean fluxParameter;
+    if (parameterType.isAssignableFrom(List.class)) {
+      fluxParameter = false;
+    } else if (parameterType.isAssignableFrom(Flux.class)) {
+      fluxParameter = true;
+    } else {
+      throw wrongDefinition(qualifier, "batch method must accept List or Flux");
+    }
+
+    final boolean monoResult;
+    if (Mono.class.isAssignableFrom(returnType)) {
+      monoResult = true;
+    } else if (Flux.class.isAssignableFrom(returnType)) {
+      monoResult = false;
+    } else {
+      throw wrongDefinition(qualifier, "batch method must return Mono<List> or Flux");
+    }
+
+    return new MethodBatcher(
+        qualifier,
+        MethodDispatcher.create(batchMethod, service),
+        fluxParameter,
+        monoResult,
+        isSignals(batchMethod.getGenericReturnType(), monoResult),
+        batched.maxSize(),
+        Duration.ofMillis(batched.maxDelay()),
+        methodInfo.scheduler());
+  }
+
+  private static Method findBatchMethod(String name, Object service, String qualifier) {
+    final var methods =
+        Arrays.stream(service.getClass().getMethods())
+            .filter(m -> m.getName().equals(name) && m.getParameterCount() == 1)
+            .toList();
+    if (methods.size() != 1) {
+      throw wrongDefinition(
+          qualifier,
+          "expected exactly one public method "
+              + name
+              + "(..) with single parameter, found: "
+              + methods.size());
+    }
+    return methods.get(0);
+  }
+
+  private static boolean isSignals(Type returnType, boolean monoResult) {
+    var itemType = typeArgument(returnType);
+    if (monoResult) {
+      itemType = typeArgument(itemType);
+    }
+    final var rawType =
+        itemType instanceof ParameterizedType parameterizedType
+            ? parameterizedType.getRawType()
+            : itemType;
+    return rawType == Signal.class;
+  }
+
+  private static Type typeArgument(Type type) {
+    return type instanceof ParameterizedType parameterizedType
+        ? parameterizedType.getActualTypeArguments()[0]
+        : Object.class;
+  }
+
+  private static IllegalArgumentException wrongDefinition(String qualifier, String reason) {
+    return new IllegalArgumentException(
+        "Wrong @Batched definition on " + qualifier + ": " + reason);
+  }
+
+  /**
+   * Submits request to the current batch.
+   *
+   * @param request request
+   * @return mono of result of the request
+   */
+  Mono<Object> submit(Object request) {
+    return Mono.create(
+        sink -> {
+          final var item = new Item(request, sink);
+          sink.onCancel(() -> remove(item));
+          add(item);
+        });
+  }
+
+  private void add(Item item) {
+    List<Item> batch = null;
+    synchronized (this) {
+      items.add(item);
+      if (items.size() >= maxSize) {
+        batch = takeItems();
+      } else if (items.size() == 1) {
+        flushTask =
+            timer.schedule(
+                () -> scheduler.schedule(this::flush), maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    }
+    if (batch != null) {
+      execute(batch);
+    }
+  }
+
+  private synchronized void remove(Item item) {
+    // no-op if item is already flushed
+    if (items.remove(item) && items.isEmpty() && flushTask != null) {
+      flushTask.dispose();
+      flushTask = null;
+    }
+  }
+
+  private void flush() {
+    final List<Item> batch;
+    synchronized (this) {
+      if (items.isEmpty()) {
+        return;
+      }
+      batch = takeItems();
+    }
+    execute(batch);
+  }
+
+  private List<Item> takeItems() {
+    final var batch = items;
+    items = new ArrayList<>();
+    if (flushTask != null) {
+      flushTask.dispose();
+      flushTask = null;
+    }
+    return batch;
+  }
+
+  private void execute(List<Item> batch) {
+    final var requests = new ArrayList<>(batch.size());
+    for (Item item : batch) {
+      requests.add(item.request);
+    }
+
+    final Flux<?> results;
+    try {
+      final var result =
+          (Publisher<?>) dispatcher.invoke(fluxParameter ? Flux.fromIterable(requests) : requests);
+      if (result == null) {
+        results = Flux.empty();
+      } else if (monoResult) {
+        results = Mono.from(result).flatMapIterable(list -> (Iterable<?>) list);
+      } else {
+        results = Flux.from(result);
+      }
+    } catch (Throwable ex) {
+      batch.forEach(item -> item.sink.error(ex));
+      return;
+    }
+
+    results.subscribe(new Demultiplexer(batch));
+  }
+
+  private record Item(Object request, MonoSink<Object> sink) {}
+
+  private class Demultiplexer extends BaseSubscriber<Object> {
+
+    private final List<Item> batch;
+    private int index;
+
+    private Demultiplexer(List<Item> batch) {
+      this.batch = batch;
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+      subscription.request(batch.size());
+    }
+
+    @Override
+    protected void hookOnNext(Object value) {
+      final var sink = batch.get(index++).sink;
+      if (!signals) {
+        sink.success(value);
+      } else {
+        final var signal = (Signal<?>) value;
+        if (signal.isOnNext()) {
+          sink.success(signal.get());
+        } else if (signal.isOnError()) {
+          sink.error(signal.getThrowable());
+        } else {
+          sink.success();
+        }
+      }
+      if (index == batch.size()) {
+        cancel(); // all requests got their results
+      }
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      while (index < batch.size()) {
+        batch.get(index++).sink.error(throwable);
+      }
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      hookOnError(
+          new IllegalStateException(
+              "Batch method of " + qualifier + " returned less results than requests"));
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package io.scalecube.services.methods;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * Invoker of service method bound to service instance. Created once per service method, when {@link
+ * ServiceMethodInvoker} is created (i.e. on service registration).
+ */
+@FunctionalInterface
+public interface MethodDispatcher {
+
+  /**
+   * Invokes service method.
+   *
+   * @param request request argument (ignored by methods without parameters)
+   * @return result of service method
+   * @throws Throwable exception thrown by service method (as is, not wrapped)
+   */
+  Object invoke(Object request) throws Throwable;
+
+  /**
+   * Creates direct dispatcher. Implementation is spun by {@link LambdaMetafactory}, specialized for
+   * methods with zero and one parameter, so invocation is a plain interface call which JIT can
+   * inline down to service implementation (no arguments array, no reflective access checks). If
+   * service types are not accessible from this class, then falls back to bound {@link
+   * MethodHandle}, and then to reflection.
+   *
+   * @param method service method
+   * @param service service instance
+   * @return dispatcher
+   */
+  static MethodDispatcher create(Method method, Object service) {
+    return MethodDispatchers.create(method, service);
+  }
+
+  /**
+   * Creates dispatcher which calls {@link Method#invoke(Object, Object...)}.
+   *
+   * @param method service method
+   * @param service service instance
+   * @return dispatcher
+   */
+  static MethodDispatcher reflective(Method method, Object service) {
+    return MethodDispatchers.reflective(method, service);
+  }
+}
@@ -0,0 +1,135 @@
+package io.scalecube.services.methods;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+final class MethodDispatchers {
+
+  private static final Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final String METHOD_NAME = "invoke";
+  private static final MethodType NO_ARG_TYPE = methodType(Object.class);
+  private static final MethodType ONE_ARG_TYPE = methodType(Object.class, Object.class);
+
+  private MethodDispatchers() {
+    // Do not instantiate
+  }
+
+  static MethodDispatcher create(Method method, Object service) {
+    Objects.requireNonNull(method, "method");
+    Objects.requireNonNull(service, "service");
+    if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() > 1) {
+      return reflective(method, service);
+    }
+    try {
+      if (isVisible(method)) {
+        return spin(method, service);
+      }
+    } catch (Throwable ex) {
+      // fall through
+    }
+    try {
+      return bound(method, service);
+    } catch (Throwable ex) {
+      // reflection reports the same problem on invocation, if any
+      return reflective(method, service);
+    }
+  }
+
+  static MethodDispatcher reflective(Method method, Object service) {
+    if (method.getParameterCount() == 0) {
+      return request -> invoke(method, service);
+    }
+    return request -> invoke(method, service, request);
+  }
+
+  private static Object invoke(Method method, Object service, Object... arguments)
+      throws Throwable {
+    try {
+      return method.invoke(service, arguments);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause() != null ? ex.getCause() : ex;
+    }
+  }
+
+  private static MethodDispatcher spin(Method method, Object service) throws Throwable {
+    final var implMethod = LOOKUP.unreflect(method);
+    final var declaringClass = method.getDeclaringClass();
+    // receiver is captured, primitives (if any) are boxed by the spun class
+    final var instantiatedType = implMethod.type().dropParameterTypes(0, 1).wrap();
+
+    if (method.getParameterCount() == 0) {
+      final var noArg =
+          (NoArg)
+              LambdaMetafactory.metafactory(
+                      LOOKUP,
+                      METHOD_NAME,
+                      methodType(NoArg.class, declaringClass),
+                      NO_ARG_TYPE,
+                      implMethod,
+                      instantiatedType)
+                  .getTarget()
+                  .invoke(service);
+      return request -> noArg.invoke();
+    }
+
+    return (MethodDispatcher)
+        LambdaMetafactory.metafactory(
+                LOOKUP,
+                METHOD_NAME,
+                methodType(MethodDispatcher.class, declaringClass),
+                ONE_ARG_TYPE,
+                implMethod,
+                instantiatedType)
+            .getTarget()
+            .invoke(service);
+  }
+
+  private static MethodDispatcher bound(Method method, Object service) throws Throwable {
+    final var handle = LOOKUP.unreflect(method).bindTo(service);
+
+    if (method.getParameterCount() == 0) {
+      final var noArg = handle.asType(NO_ARG_TYPE);
+      return request -> (Object) noArg.invokeExact();
+    }
+
+    final var oneArg = handle.asType(ONE_ARG_TYPE);
+    return request -> (Object) oneArg.invokeExact(request);
+  }
+
+  /**
+   * Spun class is defined in class loader of this class, and refers to service types by name, so
+   * they must resolve to the same classes from there.
+   */
+  private static boolean isVisible(Method method) {
+    final var classLoader = LOOKUP.lookupClass().getClassLoader();
+    return Stream.concat(
+            Stream.of(method.getDeclaringClass(), method.getReturnType()),
+            Stream.of(method.getParameterTypes()))
+        .filter(type -> !type.isPrimitive())
+        .allMatch(type -> isVisible(type, classLoader));
+  }
+
+  private static boolean isVisible(Class<?> type, ClassLoader classLoader) {
+    try {
+      return Class.forName(type.getName(), false, classLoader) == type;
+    } catch (ClassNotFoundException | LinkageError ex) {
+      return false;
+    }
+  }
+
+  @FunctionalInterface
+  interface NoArg {
+
+    Object invoke() throws Throwable;
+  }
+}
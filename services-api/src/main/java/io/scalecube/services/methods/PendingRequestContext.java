@@ -0,0 +1,49 @@
+package io.scalecube.services.methods;
+
+import io.scalecube.services.api.DynamicQualifier;
+import io.scalecube.services.api.ServiceMessage;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request context put into reactor context by {@link ServiceMethodInvoker} (under {@code
+ * RequestContext.class} key, as any request context) when path variables were not matched by the
+ * router yet. Path variables are matched against dynamic qualifier of the method only if service
+ * asks for them.
+ */
+final class PendingRequestContext extends RequestContext {
+
+  // distinct instance, tells apart "not matched yet" from any result of matching
+  private static final Map<String, String> NOT_MATCHED =
+      Collections.unmodifiableMap(new HashMap<>());
+
+  private final DynamicQualifier dynamicQualifier;
+  private final String qualifier;
+
+  // not volatile, at worst path variables are matched more than once
+  private Map<String, String> pathVars = NOT_MATCHED;
+
+  PendingRequestContext(ServiceMessage message, Object principal, MethodInfo methodInfo) {
+    super(message.headers(), principal, null);
+    this.dynamicQualifier = methodInfo.dynamicQualifier();
+    this.qualifier = message.qualifier();
+  }
+
+  @Override
+  public Map<String, String> pathVars() {
+    var pathVars = this.pathVars;
+    if (pathVars == NOT_MATCHED) {
+      final var matched = dynamicQualifier.matchQualifier(qualifier);
+      pathVars = matched != null ? Map.copyOf(matched) : null;
+      this.pathVars = pathVars;
+    }
+    return pathVars;
+  }
+
+  @Override
+  public String pathVar(String name) {
+    final var pathVars = pathVars();
+    return pathVars != null ? pathVars.get(name) : null;
+  }
+}
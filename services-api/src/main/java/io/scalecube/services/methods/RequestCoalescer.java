@@ -0,0 +1,239 @@
+package io.scalecube.services.methods;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCounted;
+import io.scalecube.services.CommunicationMode;
+import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.Coalesced;
+import io.scalecube.services.api.ServiceMessage;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent identical requests (so called single-flight): first request starts
+ * invocation, requests which arrive while it's in flight subscribe to the same invocation, and
+ * result is multicast to all of them. Invocation is forgotten as soon as it terminates (or all its
+ * waiters cancel), so requests arriving after that start new one.
+ *
+ * <p>Requests are identical if they have the same qualifier, data format, identity (e.g. principal
+ * or headers, supplied by the caller) and data. {@link ByteBuf} data is compared by content, in
+ * place (data of the first request is retained while invocation is in flight), other data by
+ * {@link Object#equals(Object)}. Data of the request which joined in-flight invocation is released,
+ * as the request is not processed further.
+ *
+ * <p>Every waiter gets its own reference to reference counted result ({@link ByteBuf}, or {@link
+ * ServiceMessage} with {@code ByteBuf} data is given as retained duplicate), so that each of them
+ * releases it independently. Result itself is released once all waiters got it (or cancelled).
+ */
+public final class RequestCoalescer {
+
+  private final Map<Key, Flight<?>> flights = new ConcurrentHashMap<>();
+
+  /**
+   * Creates coalescer if service method is {@link Coalesced} (annotation is looked up on the given
+   * method, then on the method of service class).
+   *
+   * @param method service method
+   * @param service service instance
+   * @param methodInfo method info
+   * @return coalescer, or null if service method is not coalesced
+   * @throws IllegalArgumentException if {@link Coalesced} definition is wrong
+   */
+  static RequestCoalescer create(Method method, Object service, MethodInfo methodInfo) {
+    if (Reflect.findAnnotation(method, service, Coalesced.class) == null) {
+      return null;
+    }
+    if (methodInfo.communicationMode() != CommunicationMode.REQUEST_RESPONSE) {
+      throw new IllegalArgumentException(
+          "Wrong @Coalesced definition on "
+              + methodInfo.qualifier()
+              + ": only request-response method can be coalesced");
+    }
+    return new RequestCoalescer();
+  }
+
+  /**
+   * Invokes request, or joins in-flight invocation of identical request.
+   *
+   * @param request request message
+   * @param identity identity of the caller (optional)
+   * @param invocation function which invokes request
+   * @param <T> result type
+   * @return mono of result
+   */
+  public <T> Mono<T> coalesce(
+      ServiceMessage request, Object identity, Function<ServiceMessage, Mono<T>> invocation) {
+    return Mono.defer(
+        () -> {
+          final var started = new Flight<?>[1];
+          // joins are counted under the same lock of the map bin as removal of the flight
+          final var flight =
+              flights.compute(
+                  Key.of(request, identity),
+                  (key, existing) -> {
+                    if (existing != null) {
+                      existing.join();
+                      return existing;
+                    }
+                    key.retain();
+                    return started[0] = new Flight<>(key, invocation.apply(request));
+                  });
+          if (flight != started[0]) {
+            release(request.data());
+          }
+          //noinspection unchecked
+          return (Mono<T>) flight.waiter();
+        });
+  }
+
+  /**
+   * Returns number of in-flight invocations.
+   *
+   * @return number of in-flight invocations
+   */
+  public int inFlight() {
+    return flights.size();
+  }
+
+  private static void release(Object data) {
+    if (data instanceof ServiceMessage message) {
+      data = message.data();
+    }
+    if (data instanceof ReferenceCounted referenceCounted && referenceCounted.refCnt() > 0) {
+      referenceCounted.release();
+    }
+  }
+
+  private static Object retain(Object value) {
+    if (value instanceof ByteBuf byteBuf) {
+      return byteBuf.retainedDuplicate();
+    }
+    if (value instanceof ServiceMessage message && message.data() instanceof ByteBuf byteBuf) {
+      return ServiceMessage.from(message).data(byteBuf.retainedDuplicate()).build();
+    }
+    if (value instanceof ReferenceCounted referenceCounted) {
+      return referenceCounted.retain();
+    }
+    return value;
+  }
+
+  private final class Flight<T> {
+
+    private final Key key;
+    private final Mono<T> result;
+    private final AtomicInteger waiters = new AtomicInteger(1);
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile T value;
+
+    private Flight(Key key, Mono<T> invocation) {
+      this.key = key;
+      // forget before result is delivered, so that waiters which come after don't get it
+      this.result =
+          invocation
+              .doOnSuccess(
+                  value -> {
+                    forget();
+                    this.value = value;
+                    if (waiters.get() == 0) {
+                      releaseValue();
+                    }
+                  })
+              .doOnError(ex -> forget())
+              .doOnCancel(this::forget)
+              .share();
+    }
+
+    private void join() {
+      waiters.incrementAndGet();
+    }
+
+    private Mono<T> waiter() {
+      final var left = new AtomicBoolean();
+      return result
+          .map(
+              value -> {
+                //noinspection unchecked
+                final var retained = (T) retain(value);
+                leave(left);
+                return retained;
+              })
+          .doFinally(signal -> leave(left));
+    }
+
+    private void leave(AtomicBoolean left) {
+      if (left.compareAndSet(false, true) && waiters.decrementAndGet() == 0) {
+        releaseValue();
+      }
+    }
+
+    private void releaseValue() {
+      final var value = this.value;
+      if (value != null && released.compareAndSet(false, true)) {
+        release(value);
+      }
+    }
+
+    private void forget() {
+      if (flights.remove(key, this)) {
+        key.release();
+      }
+    }
+  }
+
+  private record Key(String qualifier, String dataFormat, Object identity, Object data) {
+
+    private static Key of(ServiceMessage request, Object identity) {
+      final Object data =
+          request.data() instanceof ByteBuf byteBuf ? new Content(byteBuf) : request.data();
+      return new Key(request.qualifier(), request.dataFormat(), identity, data);
+    }
+
+    private void retain() {
+      if (data instanceof Content content) {
+        content.byteBuf.retain();
+      }
+    }
+
+    private void release() {
+      if (data instanceof Content content) {
+        content.byteBuf.release();
+      }
+    }
+  }
+
+  /** Readable bytes of request data, compared in place. */
+  private static final class Content {
+
+    private final ByteBuf byteBuf;
+    private final int hash;
+
+    private Content(ByteBuf byteBuf) {
+      // own indexes, so that reading request data doesn't change the key
+      this.byteBuf = byteBuf.slice();
+      this.hash = ByteBufUtil.hashCode(this.byteBuf);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final var that = (Content) o;
+      return hash == that.hash && ByteBufUtil.equals(byteBuf, that.byteBuf);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -2,13 +2,13 @@
 
 import static io.scalecube.services.api.ServiceMessage.HEADER_REQUEST_METHOD;
 
+import io.scalecube.services.api.ImmutableHeaders;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.StringJoiner;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 public class RequestContext {
 
@@ -25,7 +25,7 @@ public class RequestContext {
    */
   public RequestContext(
       Map<String, String> headers, Object principal, Map<String, String> pathVars) {
-    this.headers = Collections.unmodifiableMap(new HashMap<>(headers));
+    this.headers = ImmutableHeaders.copyOf(headers);
     this.principal = principal;
     this.pathVars = pathVars != null ? Map.copyOf(pathVars) : null;
   }
@@ -86,7 +86,19 @@ public <T> T pathVar(String name, Class<T> clazz) {
   }
 
   public static Mono<RequestContext> deferContextual() {
-    return Mono.deferContextual(context -> Mono.just(context.get(RequestContext.class)));
+    return Mono.deferContextual(context -> Mono.just(from(context)));
+  }
+
+  /**
+   * Returns request context of service method invocation from given reactor context, same as
+   * {@code context.get(RequestContext.class)}.
+   *
+   * @param context reactor context
+   * @return request context
+   * @throws java.util.NoSuchElementException if there is no request context
+   */
+  public static RequestContext from(ContextView context) {
+    return context.get(RequestContext.class);
   }
 
   @Override
@@ -94,7 +106,7 @@ public String toString() {
     return new StringJoiner(", ", RequestContext.class.getSimpleName() + "[", "]")
         .add("headers(" + headers.size() + ")")
         .add("principal=" + principal)
-        .add("pathVars=" + pathVars)
+        .add("pathVars=" + pathVars())
         .toString();
   }
 }
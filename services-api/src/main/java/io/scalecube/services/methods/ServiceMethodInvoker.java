@@ -4,6 +4,13 @@
 import static io.scalecube.services.auth.Authenticator.NULL_AUTH_CONTEXT;
 
 import io.scalecube.services.CommunicationMode;
+import io.scalecube.services.Deadline;
+import io.scalecube.services.PartitionedScheduler;
+import io.scalecube.services.Priority;
+import io.scalecube.services.PriorityScheduler;
+import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.ExecuteOn;
+import io.scalecube.services.annotations.RequestPriority;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.auth.Authenticator;
 import io.scalecube.services.auth.PrincipalMapper;
@@ -12,28 +19,38 @@
 import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
 import io.scalecube.services.exceptions.UnauthorizedException;
 import io.scalecube.services.transport.api.ServiceMessageDataDecoder;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.function.Function;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.context.Context;
 
 public final class ServiceMethodInvoker {
 
   private final Method method;
   private final Object service;
+  private final MethodDispatcher dispatcher;
+  private final boolean plainResult; // method returns plain value, not publisher
+  private final MethodBatcher batcher; // null if method is not batched
+  private final RequestCoalescer coalescer; // null if method is not coalesced
+  private final Bulkhead bulkhead; // null if concurrency is not limited
   private final MethodInfo methodInfo;
   private final ServiceProviderErrorMapper errorMapper;
   private final ServiceMessageDataDecoder dataDecoder;
   private final Authenticator<Object> authenticator;
   private final PrincipalMapper<Object, Object> principalMapper;
   private final Logger logger;
+  private final Scheduler scheduler; // null if there is no need to subscribeOn
+  private final Function<ServiceMessage, Object> partitionKey; // null if not partitioned
+  private final Priority priority; // default priority of requests
 
   public ServiceMethodInvoker(
       Method method,
@@ -44,104 +61,254 @@ public ServiceMethodInvoker(
       Authenticator<Object> authenticator,
       PrincipalMapper<Object, Object> principalMapper,
       Logger logger) {
+    this(
+        method,
+        service,
+        methodInfo,
+        errorMapper,
+        dataDecoder,
+        authenticator,
+        principalMapper,
+        logger,
+        null,
+        null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param method service method
+   * @param service service instance
+   * @param methodInfo method info
+   * @param errorMapper error mapper
+   * @param dataDecoder data decoder
+   * @param authenticator authenticator (optional)
+   * @param principalMapper principal mapper (optional)
+   * @param logger logger (optional)
+   * @param concurrencyLimit concurrency limit, overrides {@link
+   *     io.scalecube.services.annotations.MaxConcurrency} (optional)
+   * @param partitionKey partition key extractor, overrides {@link
+   *     io.scalecube.services.annotations.ExecuteOn#key()} (optional)
+   */
+  public ServiceMethodInvoker(
+      Method method,
+      Object service,
+      MethodInfo methodInfo,
+      ServiceProviderErrorMapper errorMapper,
+      ServiceMessageDataDecoder dataDecoder,
+      Authenticator<Object> authenticator,
+      PrincipalMapper<Object, Object> principalMapper,
+      Logger logger,
+      ConcurrencyLimit concurrencyLimit,
+      Function<ServiceMessage, Object> partitionKey) {
     this.method = Objects.requireNonNull(method, "method");
     this.service = Objects.requireNonNull(service, "service");
+    this.dispatcher = MethodDispatcher.create(method, service);
+    this.plainResult = Reflect.isReturnTypePlain(method);
+    this.batcher = MethodBatcher.create(method, service, methodInfo);
+    this.coalescer = RequestCoalescer.create(method, service, methodInfo);
     this.methodInfo = Objects.requireNonNull(methodInfo, "methodInfo");
     this.errorMapper = Objects.requireNonNull(errorMapper, "errorMapper");
     this.dataDecoder = Objects.requireNonNull(dataDecoder, "dataDecoder");
     this.authenticator = authenticator;
     this.principalMapper = principalMapper;
     this.logger = logger;
+    this.scheduler =
+        methodInfo.scheduler() != Schedulers.immediate() ? methodInfo.scheduler() : null;
+    this.bulkhead = Bulkhead.create(method, service, methodInfo, concurrencyLimit, scheduler);
+    this.partitionKey = partitionKey(method, service, methodInfo, partitionKey);
+    final var requestPriority =
+        Reflect.findAnnotation(method, service, RequestPriority.class);
+    this.priority = requestPriority != null ? requestPriority.value() : Priority.NORMAL;
+  }
+
+  private static Function<ServiceMessage, Object> partitionKey(
+      Method method,
+      Object service,
+      MethodInfo methodInfo,
+      Function<ServiceMessage, Object> partitionKey) {
+    if (partitionKey == null) {
+      final ExecuteOn executeOn;
+      try {
+        executeOn =
+            Reflect.executeOn(
+                service.getClass().getMethod(method.getName(), method.getParameterTypes()));
+      } catch (NoSuchMethodException e) {
+        throw new RuntimeException(e);
+      }
+      if (executeOn == null || executeOn.key().isEmpty()) {
+        return null;
+      }
+      try {
+        partitionKey = PartitionedScheduler.keyExtractor(executeOn.key());
+      } catch (IllegalArgumentException ex) {
+        throw wrongExecuteOn(methodInfo, ex.getMessage());
+      }
+    }
+    final var scheduler = methodInfo.scheduler();
+    if (scheduler instanceof PartitionedScheduler) {
+      final var communicationMode = methodInfo.communicationMode();
+      if (communicationMode == CommunicationMode.REQUEST_STREAM
+          || communicationMode == CommunicationMode.REQUEST_CHANNEL) {
+        // stream would hold its partition until it has terminated
+        throw wrongExecuteOn(methodInfo, "partition key is not supported by " + communicationMode);
+      }
+      return partitionKey;
+    }
+    if (scheduler == Schedulers.immediate()) {
+      return null; // schedulers are not applied
+    }
+    throw wrongExecuteOn(methodInfo, "partition key requires partitioned scheduler");
+  }
+
+  private static IllegalArgumentException wrongExecuteOn(MethodInfo methodInfo, String reason) {
+    return new IllegalArgumentException(
+        "Wrong @ExecuteOn definition on " + methodInfo.qualifier() + ": " + reason);
   }
 
   /**
-   * Invokes service method with single response.
+   * Invokes service method with single response. Request which carries deadline (see {@link
+   * Deadline}) is rejected without invocation if deadline is expired, and invocation is cancelled
+   * when deadline expires.
    *
    * @param message request service message
    * @return mono of service message
    */
   public Mono<ServiceMessage> invokeOne(ServiceMessage message) {
-    return Mono.deferContextual(context -> authenticate(message, (Context) context))
-        .flatMap(authData -> invokeOne(message, authData))
-        .map(response -> toResponse(response, message.qualifier(), message.dataFormat()))
-        .onErrorResume(
-            throwable -> Mono.just(errorMapper.toMessage(message.qualifier(), throwable)))
-        .subscribeOn(methodInfo.scheduler());
+    return invokeOne(message, null);
+  }
+
+  /**
+   * Invokes service method with single response, see {@link #invokeOne(ServiceMessage)}.
+   *
+   * @param message request service message
+   * @param pathVars path variables already matched from qualifier, see {@link
+   *     io.scalecube.services.registry.api.ServiceRegistry#matchInvoker(ServiceMessage)} (optional)
+   * @return mono of service message
+   */
+  public Mono<ServiceMessage> invokeOne(ServiceMessage message, Map<String, String> pathVars) {
+    final var deadline = Deadline.of(message);
+    final Mono<?> result =
+        methodInfo.isSecured()
+            ? Mono.deferContextual(context -> authenticate(message, (Context) context))
+                .flatMap(authData -> invokeOne(message, authData, deadline, pathVars))
+            : invokeOne(message, NULL_AUTH_CONTEXT, deadline, pathVars);
+    return subscribeOn(
+        message,
+        (deadline != null ? deadline.apply(result) : result)
+            .map(response -> toResponse(response, message.qualifier(), message.dataFormat()))
+            .onErrorResume(
+                throwable -> Mono.just(errorMapper.toMessage(message.qualifier(), throwable))));
+  }
+
+  private Mono<?> invokeOne(
+      ServiceMessage message, Object authData, Deadline deadline, Map<String, String> pathVars) {
+    if (coalescer != null) {
+      return coalescer.coalesce(
+          message,
+          toPrincipal(authData),
+          request -> doInvokeOne(request, authData, deadline, pathVars));
+    }
+    return doInvokeOne(message, authData, deadline, pathVars);
   }
 
-  private Mono<?> invokeOne(ServiceMessage message, Object authData) {
-    return Mono.deferContextual(
-            context -> {
+  private Mono<Object> doInvokeOne(
+      ServiceMessage message, Object authData, Deadline deadline, Map<String, String> pathVars) {
+    final Mono<Object> invocation =
+        Mono.defer(
+            () -> {
               final var request = toRequest(message);
+              final Mono<Object> result =
+                  batcher != null ? batcher.submit(request) : Mono.from(invokeRequest(request));
+              if (logger == null) {
+                return result;
+              }
               final var qualifier = message.qualifier();
-              return Mono.from(invokeRequest(request))
+              return result
                   .doOnSuccess(
                       response -> {
-                        if (logger != null && logger.isDebugEnabled()) {
+                        if (logger.isDebugEnabled()) {
                           logger.debug(
                               "[{}] request: {}, response: {}", qualifier, request, response);
                         }
                       })
-                  .doOnError(
-                      ex -> {
-                        if (logger != null) {
-                          logger.error("[{}][error] request: {}", qualifier, request, ex);
-                        }
-                      });
-            })
-        .contextWrite(context -> enhanceWithRequestContext(context, message))
-        .contextWrite(context -> enhanceWithAuthContext(context, authData));
+                  .doOnError(ex -> logger.error("[{}][error] request: {}", qualifier, request, ex));
+            });
+    return (bulkhead != null ? bulkhead.execute(invocation) : invocation)
+        .contextWrite(context -> enhanceContext(context, message, authData, deadline, pathVars));
   }
 
   /**
-   * Invokes service method with message stream response.
+   * Invokes service method with message stream response. Deadline of request is handled the same
+   * way as by {@link #invokeOne(ServiceMessage)}.
    *
    * @param message request service message
    * @return flux of service messages
    */
   public Flux<ServiceMessage> invokeMany(ServiceMessage message) {
-    if (methodInfo.communicationMode() == CommunicationMode.REQUEST_RESPONSE) {
-      return Flux.from(invokeOne(message));
+    return invokeMany(message, null);
+  }
+
+  /**
+   * Invokes service method with message stream response, see {@link #invokeMany(ServiceMessage)}.
+   *
+   * @param message request service message
+   * @param pathVars path variables already matched from qualifier, see {@link
+   *     io.scalecube.services.registry.api.ServiceRegistry#matchInvoker(ServiceMessage)} (optional)
+   * @return flux of service messages
+   */
+  public Flux<ServiceMessage> invokeMany(ServiceMessage message, Map<String, String> pathVars) {
+    if (methodInfo.communicationMode() == CommunicationMode.REQUEST_RESPONSE
+        || methodInfo.communicationMode() == CommunicationMode.FIRE_AND_FORGET) {
+      return Flux.from(invokeOne(message, pathVars));
     }
-    return Mono.deferContextual(context -> authenticate(message, (Context) context))
-        .flatMapMany(authData -> invokeMany(message, authData))
-        .map(response -> toResponse(response, message.qualifier(), message.dataFormat()))
-        .onErrorResume(
-            throwable -> Flux.just(errorMapper.toMessage(message.qualifier(), throwable)))
-        .subscribeOn(methodInfo.scheduler());
+    final var deadline = Deadline.of(message);
+    final Flux<?> result =
+        methodInfo.isSecured()
+            ? Mono.deferContextual(context -> authenticate(message, (Context) context))
+                .flatMapMany(authData -> invokeMany(message, authData, deadline, pathVars))
+            : invokeMany(message, NULL_AUTH_CONTEXT, deadline, pathVars);
+    return subscribeOn(
+        message,
+        (deadline != null ? deadline.apply(result) : result)
+            .map(response -> toResponse(response, message.qualifier(), message.dataFormat()))
+            .onErrorResume(
+                throwable -> Flux.just(errorMapper.toMessage(message.qualifier(), throwable))));
   }
 
-  private Flux<?> invokeMany(ServiceMessage message, Object authData) {
-    return Flux.deferContextual(
-            context -> {
+  private Flux<?> invokeMany(
+      ServiceMessage message, Object authData, Deadline deadline, Map<String, String> pathVars) {
+    final Flux<Object> invocation =
+        Flux.defer(
+            () -> {
               final var request = toRequest(message);
+              final Flux<Object> result = Flux.from(invokeRequest(request));
+              if (logger == null) {
+                return result;
+              }
               final var qualifier = message.qualifier();
-              return Flux.from(invokeRequest(request))
+              return result
                   .doOnSubscribe(
                       s -> {
-                        if (logger != null && logger.isDebugEnabled()) {
+                        if (logger.isDebugEnabled()) {
                           logger.debug("[{}][subscribe] request: {}", qualifier, request);
                         }
                       })
                   .doOnComplete(
                       () -> {
-                        if (logger != null && logger.isDebugEnabled()) {
+                        if (logger.isDebugEnabled()) {
                           logger.debug("[{}][complete] request: {}", qualifier, request);
                         }
                       })
-                  .doOnError(
-                      ex -> {
-                        if (logger != null) {
-                          logger.error("[{}][error] request: {}", qualifier, request, ex);
-                        }
-                      });
-            })
-        .contextWrite(context -> enhanceWithRequestContext(context, message))
-        .contextWrite(context -> enhanceWithAuthContext(context, authData));
+                  .doOnError(ex -> logger.error("[{}][error] request: {}", qualifier, request, ex));
+            });
+    return (bulkhead != null ? bulkhead.execute(invocation) : invocation)
+        .contextWrite(context -> enhanceContext(context, message, authData, deadline, pathVars));
   }
 
   /**
-   * Invokes service method with bidirectional communication.
+   * Invokes service method with bidirectional communication. Deadline is taken from the first
+   * request message.
    *
    * @param publisher request service message
    * @return flux of service messages
@@ -149,51 +316,77 @@ private Flux<?> invokeMany(ServiceMessage message, Object authData) {
   public Flux<ServiceMessage> invokeBidirectional(Publisher<ServiceMessage> publisher) {
     return Flux.from(publisher)
         .switchOnFirst(
-            (first, messages) ->
-                Mono.deferContextual(context -> authenticate(first.get(), (Context) context))
-                    .flatMapMany(authData -> invokeBidirectional(messages, authData))
-                    .map(
-                        response ->
-                            toResponse(response, first.get().qualifier(), first.get().dataFormat()))
-                    .onErrorResume(
-                        throwable ->
-                            Flux.just(errorMapper.toMessage(first.get().qualifier(), throwable)))
-                    .subscribeOn(methodInfo.scheduler()));
+            (first, messages) -> {
+              final var message = first.get();
+              final var deadline = Deadline.of(message);
+              final Flux<?> result =
+                  methodInfo.isSecured()
+                      ? Mono.deferContextual(context -> authenticate(message, (Context) context))
+                          .flatMapMany(
+                              authData -> invokeBidirectional(messages, authData, deadline))
+                      : invokeBidirectional(messages, NULL_AUTH_CONTEXT, deadline);
+              return subscribeOn(
+                  message,
+                  (deadline != null ? deadline.apply(result) : result)
+                      .map(
+                          response ->
+                              toResponse(response, message.qualifier(), message.dataFormat()))
+                      .onErrorResume(
+                          throwable ->
+                              Flux.just(errorMapper.toMessage(message.qualifier(), throwable))));
+            });
   }
 
-  private Flux<?> invokeBidirectional(Flux<ServiceMessage> messages, Object authData) {
-    return Flux.deferContextual(
-            context -> messages.map(this::toRequest).transform(this::invokeRequest))
-        .contextWrite(context -> enhanceWithAuthContext(context, authData));
+  private Flux<?> invokeBidirectional(
+      Flux<ServiceMessage> messages, Object authData, Deadline deadline) {
+    final Flux<?> invocation =
+        Flux.defer(() -> messages.map(this::toRequest).transform(this::invokeRequest));
+    return (bulkhead != null ? bulkhead.execute(invocation) : invocation)
+        .contextWrite(context -> enhanceWithAuthContext(context, authData, deadline));
+  }
+
+  private Mono<ServiceMessage> subscribeOn(ServiceMessage message, Mono<ServiceMessage> mono) {
+    if (partitionKey != null) {
+      final var key = partitionKey.apply(message);
+      if (key == null) {
+        // otherwise all keyless requests would pile up in the partition of null key
+        return Mono.just(
+            errorMapper.toMessage(
+                message.qualifier(),
+                new BadRequestException("Partition key is missing in request")));
+      }
+      return ((PartitionedScheduler) scheduler).execute(key, mono);
+    }
+    return scheduler != null ? mono.subscribeOn(scheduler(message)) : mono;
+  }
+
+  private <T> Flux<T> subscribeOn(ServiceMessage message, Flux<T> flux) {
+    return scheduler != null ? flux.subscribeOn(scheduler(message)) : flux;
+  }
+
+  private Scheduler scheduler(ServiceMessage message) {
+    if (scheduler instanceof PriorityScheduler priorityScheduler) {
+      final var requestPriority = Priority.of(message.header(ServiceMessage.HEADER_PRIORITY));
+      return priorityScheduler.lane(requestPriority != null ? requestPriority : priority);
+    }
+    return scheduler;
   }
 
   private Publisher<?> invokeRequest(Object request) {
-    Publisher<?> result = null;
-    Throwable throwable = null;
     try {
-      if (methodInfo.parameterCount() == 0) {
-        result = (Publisher<?>) method.invoke(service);
-      } else {
-        Object[] arguments = prepareArguments(request);
-        result = (Publisher<?>) method.invoke(service, arguments);
-      }
+      final var result = dispatcher.invoke(methodInfo.requestType() != Void.TYPE ? request : null);
       if (result == null) {
-        result = Mono.empty();
+        return Mono.empty();
+      }
+      if (!plainResult) {
+        return (Publisher<?>) result;
       }
-    } catch (InvocationTargetException ex) {
-      throwable = Optional.ofNullable(ex.getCause()).orElse(ex);
+      return methodInfo.communicationMode() == CommunicationMode.REQUEST_STREAM
+          ? Flux.fromIterable((Iterable<?>) result)
+          : Mono.just(result);
     } catch (Throwable ex) {
-      throwable = ex;
-    }
-    return throwable != null ? Mono.error(throwable) : result;
-  }
-
-  private Object[] prepareArguments(Object request) {
-    Object[] arguments = new Object[methodInfo.parameterCount()];
-    if (methodInfo.requestType() != Void.TYPE) {
-      arguments[0] = request;
+      return Mono.error(ex);
     }
-    return arguments;
   }
 
   private Mono<Object> authenticate(ServiceMessage message, Context context) {
@@ -223,26 +416,39 @@ private static UnauthorizedException toUnauthorizedException(Throwable th) {
     }
   }
 
-  private Context enhanceWithAuthContext(Context context, Object authData) {
-    if (authData == NULL_AUTH_CONTEXT || principalMapper == null) {
-      return context.put(AUTH_CONTEXT_KEY, authData);
-    } else {
-      final var principal = principalMapper.apply(authData);
-      return context.put(AUTH_CONTEXT_KEY, principal != null ? principal : NULL_AUTH_CONTEXT);
-    }
+  private Context enhanceWithAuthContext(Context context, Object authData, Deadline deadline) {
+    return enhanceWithPrincipal(context, toPrincipal(authData), deadline);
+  }
+
+  private static Context enhanceWithPrincipal(
+      Context context, Object principal, Deadline deadline) {
+    final var enhanced = context.put(AUTH_CONTEXT_KEY, principal);
+    // deadline is propagated by nested service calls
+    return deadline != null ? enhanced.put(Deadline.class, deadline) : enhanced;
   }
 
-  private Context enhanceWithRequestContext(Context context, ServiceMessage message) {
-    final var headers = message.headers();
-    final var principal = context.get(AUTH_CONTEXT_KEY);
-    final var dynamicQualifier = methodInfo.dynamicQualifier();
+  private Context enhanceContext(
+      Context context,
+      ServiceMessage message,
+      Object authData,
+      Deadline deadline,
+      Map<String, String> pathVars) {
+    final var principal = toPrincipal(authData);
+    // path variables (if not matched by router) are matched on demand, see PendingRequestContext
+    final var requestContext =
+        pathVars != null || methodInfo.dynamicQualifier() == null
+            ? new RequestContext(message.headers(), principal, pathVars)
+            : new PendingRequestContext(message, principal, methodInfo);
+    return enhanceWithPrincipal(context, principal, deadline)
+        .put(RequestContext.class, requestContext);
+  }
 
-    Map<String, String> pathVars = null;
-    if (dynamicQualifier != null) {
-      pathVars = dynamicQualifier.matchQualifier(message.qualifier());
+  private Object toPrincipal(Object authData) {
+    if (authData == NULL_AUTH_CONTEXT || principalMapper == null) {
+      return authData;
     }
-
-    return context.put(RequestContext.class, new RequestContext(headers, principal, pathVars));
+    final var principal = principalMapper.apply(authData);
+    return principal != null ? principal : NULL_AUTH_CONTEXT;
   }
 
   private Object toRequest(ServiceMessage message) {
@@ -281,6 +487,15 @@ public Object service() {
     return service;
   }
 
+  /**
+   * Returns bulkhead of service method.
+   *
+   * @return bulkhead, or null if concurrency of service method is not limited
+   */
+  public Bulkhead bulkhead() {
+    return bulkhead;
+  }
+
   public MethodInfo methodInfo() {
     return methodInfo;
   }
@@ -296,6 +511,7 @@ public String toString() {
         .add("authenticator=" + authenticator)
         .add("principalMapper=" + principalMapper)
         .add("logger=" + logger)
+        .add("bulkhead=" + bulkhead)
         .toString();
   }
 }
@@ -0,0 +1,14 @@
+package io.scalecube.services.registry.api;
+
+import java.util.Map;
+
+/**
+ * Result of lookup by qualifier: matched value along with path variables extracted from qualifier
+ * by {@link io.scalecube.services.api.DynamicQualifier}, so they don't need to be matched again.
+ *
+ * @param value matched value
+ * @param pathVars path variables, or null if value was matched by static qualifier (or path
+ *     variables were not extracted)
+ * @param <T> type of value
+ */
+public record RouteMatch<T>(T value, Map<String, String> pathVars) {}
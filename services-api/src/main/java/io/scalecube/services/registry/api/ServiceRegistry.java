@@ -41,6 +41,40 @@ public interface ServiceRegistry {
    */
   List<ServiceReference> lookupService(ServiceMessage request);
 
+  /**
+   * Looking up list of {@link ServiceReference} objects, along with path variables of request
+   * qualifier.
+   *
+   * @param request request
+   * @return list of {@link ServiceReference} objects along with path variables
+   */
+  default RouteMatch<List<ServiceReference>> matchService(ServiceMessage request) {
+    return new RouteMatch<>(lookupService(request), null);
+  }
+
+  /**
+   * Returns version of remote service references, which is incremented every time {@link
+   * ServiceEndpoint} is registered or unregistered. Lets routers and caches detect topology changes
+   * without comparing results of {@link #lookupService(ServiceMessage)}. Default implementation
+   * doesn't track changes and always returns 0.
+   *
+   * @return version of remote service references
+   */
+  default long version() {
+    return 0;
+  }
+
+  /**
+   * Declares that this node consumes services of the given namespace. Service registry which
+   * materialises {@link ServiceReference} objects only for consumed namespaces indexes this
+   * namespace on the spot, otherwise it's no-op.
+   *
+   * @param namespace service namespace
+   */
+  default void consume(String namespace) {
+    // no-op
+  }
+
   /**
    * Registering {@link ServiceEndpoint} object that was received by discovery mechanism.
    *
@@ -92,4 +126,16 @@ void registerService(
    * @return {@link ServiceMethodInvoker} instance, or null
    */
   ServiceMethodInvoker lookupInvoker(ServiceMessage request);
+
+  /**
+   * Looking up {@link ServiceMethodInvoker} by request, along with path variables of request
+   * qualifier, which can be passed further to {@link ServiceMethodInvoker}.
+   *
+   * @param request request
+   * @return {@link ServiceMethodInvoker} instance along with path variables, or null
+   */
+  default RouteMatch<ServiceMethodInvoker> matchInvoker(ServiceMessage request) {
+    final var methodInvoker = lookupInvoker(request);
+    return methodInvoker != null ? new RouteMatch<>(methodInvoker, null) : null;
+  }
 }
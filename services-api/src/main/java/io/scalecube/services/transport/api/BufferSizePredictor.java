@@ -0,0 +1,236 @@
+package io.scalecube.services.transport.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Predicts initial capacity of encode buffers, similar in spirit to netty's {@code
+ * AdaptiveRecvByteBufAllocator}. Recently encoded sizes are tracked per key (usually qualifier),
+ * prediction grows as soon as encoded size doesn't fit into predicted capacity, and shrinks
+ * gradually after encoded sizes stay below the next smaller step twice in a row.
+ *
+ * <p>Instance is thread-safe and is meant to be shared between codecs (and connections) of the same
+ * kind. Number of tracked keys is bounded, keys beyond the limit share one common slot.
+ */
+public final class BufferSizePredictor {
+
+  public static final int DEFAULT_MINIMUM = 64;
+  public static final int DEFAULT_INITIAL = 256;
+  public static final int DEFAULT_MAXIMUM = 65536;
+  public static final int DEFAULT_MAX_KEYS = 1024;
+
+  private static final int INDEX_INCREMENT = 4;
+  private static final int INDEX_DECREMENT = 1;
+
+  private static final int[] SIZE_TABLE;
+
+  static {
+    List<Integer> sizeTable = new ArrayList<>();
+    for (int i = 16; i < 512; i += 16) {
+      sizeTable.add(i);
+    }
+    // doubling stops once i overflows to negative
+    for (int i = 512; i > 0; i <<= 1) {
+      sizeTable.add(i);
+    }
+    SIZE_TABLE = sizeTable.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private final int minIndex;
+  private final int maxIndex;
+  private final int initialIndex;
+  private final int maxKeys;
+
+  private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+  private final Slot commonSlot;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder grows = new LongAdder();
+
+  /** Constructor with default parameters. */
+  public BufferSizePredictor() {
+    this(DEFAULT_MINIMUM, DEFAULT_INITIAL, DEFAULT_MAXIMUM);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param minimum inclusive lower bound of predicted size
+   * @param initial initial predicted size for unknown key
+   * @param maximum inclusive upper bound of predicted size, must not be less than 16
+   */
+  public BufferSizePredictor(int minimum, int initial, int maximum) {
+    this(minimum, initial, maximum, DEFAULT_MAX_KEYS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param minimum inclusive lower bound of predicted size
+   * @param initial initial predicted size for unknown key
+   * @param maximum inclusive upper bound of predicted size, must not be less than 16
+   * @param maxKeys max number of keys tracked separately
+   */
+  public BufferSizePredictor(int minimum, int initial, int maximum, int maxKeys) {
+    if (minimum <= 0) {
+      throw new IllegalArgumentException("minimum: " + minimum);
+    }
+    if (initial < minimum) {
+      throw new IllegalArgumentException("initial: " + initial);
+    }
+    if (maximum < initial || maximum < SIZE_TABLE[0]) {
+      throw new IllegalArgumentException("maximum: " + maximum);
+    }
+    if (maxKeys < 0) {
+      throw new IllegalArgumentException("maxKeys: " + maxKeys);
+    }
+
+    int minIndex = sizeTableIndex(minimum);
+    int maxIndex = sizeTableIndex(maximum);
+    if (SIZE_TABLE[maxIndex] > maximum) {
+      maxIndex--;
+    }
+    // no table step between minimum and maximum, maximum wins
+    minIndex = Math.min(minIndex, maxIndex);
+
+    this.minIndex = minIndex;
+    this.maxIndex = maxIndex;
+    this.initialIndex = Math.max(minIndex, Math.min(maxIndex, sizeTableIndex(initial)));
+    this.maxKeys = maxKeys;
+    this.commonSlot = new Slot(initialIndex);
+  }
+
+  /**
+   * Returns predicted size of the buffer for given key.
+   *
+   * @param key key (optional)
+   * @return predicted size
+   */
+  public int nextSize(String key) {
+    return SIZE_TABLE[slot(key).index];
+  }
+
+  /**
+   * Records actual encoded size for given key and adjusts further predictions.
+   *
+   * @param key key (optional)
+   * @param predicted size returned by {@link #nextSize(String)} before encoding
+   * @param actual actual encoded size
+   */
+  public void record(String key, int predicted, int actual) {
+    if (actual > predicted) {
+      misses.increment();
+      grows.increment();
+    } else if (predicted > SIZE_TABLE[minIndex] && actual <= predicted >>> 1) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    slot(key).record(actual);
+  }
+
+  /**
+   * Returns number of predictions which fitted encoded size without wasting more than half of the
+   * buffer.
+   *
+   * @return number of hits
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns number of predictions which were either too small or more than twice bigger than
+   * encoded size.
+   *
+   * @return number of misses
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns number of encodings that overflowed predicted size, so buffer had to be grown.
+   *
+   * @return number of grows
+   */
+  public long grows() {
+    return grows.sum();
+  }
+
+  private Slot slot(String key) {
+    if (key == null) {
+      return commonSlot;
+    }
+    Slot slot = slots.get(key);
+    if (slot != null) {
+      return slot;
+    }
+    if (slots.size() >= maxKeys) {
+      return commonSlot;
+    }
+    return slots.computeIfAbsent(key, k -> new Slot(initialIndex));
+  }
+
+  /** Returns index of the smallest size in the table which is not less than given size. */
+  private static int sizeTableIndex(int size) {
+    int low = 0;
+    int high = SIZE_TABLE.length - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (SIZE_TABLE[mid] < size) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", BufferSizePredictor.class.getSimpleName() + "[", "]")
+        .add("minimum=" + SIZE_TABLE[minIndex])
+        .add("initial=" + SIZE_TABLE[initialIndex])
+        .add("maximum=" + SIZE_TABLE[maxIndex])
+        .add("keys=" + slots.size())
+        .add("hits=" + hits())
+        .add("misses=" + misses())
+        .add("grows=" + grows())
+        .toString();
+  }
+
+  /**
+   * Prediction state of one key. Updates are not synchronized, concurrent updates may be lost which
+   * only affects precision of prediction.
+   */
+  private final class Slot {
+
+    private volatile int index;
+    private boolean decreaseNow;
+
+    private Slot(int index) {
+      this.index = index;
+    }
+
+    private void record(int actual) {
+      final int index = this.index;
+      if (actual <= SIZE_TABLE[Math.max(0, index - INDEX_DECREMENT)]) {
+        if (decreaseNow) {
+          this.index = Math.max(index - INDEX_DECREMENT, minIndex);
+          decreaseNow = false;
+        } else {
+          decreaseNow = true;
+        }
+      } else if (actual > SIZE_TABLE[index]) {
+        this.index = Math.min(Math.max(index + INDEX_INCREMENT, sizeTableIndex(actual)), maxIndex);
+        decreaseNow = false;
+      }
+    }
+  }
+}
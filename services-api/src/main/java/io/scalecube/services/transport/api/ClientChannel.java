@@ -10,6 +10,17 @@ public interface ClientChannel {
 
   Mono<ServiceMessage> requestResponse(ServiceMessage message, Type responseType);
 
+  /**
+   * Sends request without waiting for response. By default falls back to request-response, and
+   * ignores the response.
+   *
+   * @param message request message
+   * @return mono completing when request was sent
+   */
+  default Mono<Void> fireAndForget(ServiceMessage message) {
+    return requestResponse(message, Void.class).then();
+  }
+
   Flux<ServiceMessage> requestStream(ServiceMessage message, Type responseType);
 
   Flux<ServiceMessage> requestChannel(Publisher<ServiceMessage> publisher, Type responseType);
@@ -1,5 +1,9 @@
 package io.scalecube.services.transport.api;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.scalecube.services.methods.MethodInfo;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -27,6 +31,15 @@ static Set<String> getAllContentTypes() {
     return getAllInstances().stream().map(DataCodec::contentType).collect(Collectors.toSet());
   }
 
+  /**
+   * Invokes {@link #prewarm(MethodInfo)} of all registered codecs.
+   *
+   * @param methodInfo service method info
+   */
+  static void prewarmAll(MethodInfo methodInfo) {
+    getAllInstances().forEach(dataCodec -> dataCodec.prewarm(methodInfo));
+  }
+
   /**
    * Returns {@link DataCodec} by given {@code contentType}.
    *
@@ -47,4 +60,40 @@ static DataCodec getInstance(String contentType) {
   void encode(OutputStream stream, Object value) throws IOException;
 
   Object decode(InputStream stream, Type type) throws IOException;
+
+  /**
+   * Encodes {@code value} directly into given buffer. Default implementation falls back to {@link
+   * #encode(OutputStream, Object)}.
+   *
+   * @param byteBuf target buffer
+   * @param value value
+   * @throws IOException in case of encoding errors
+   */
+  default void encode(ByteBuf byteBuf, Object value) throws IOException {
+    encode(new ByteBufOutputStream(byteBuf), value);
+  }
+
+  /**
+   * Decodes object of given {@code type} directly from given buffer. Readable bytes of the buffer
+   * are consumed, buffer is not released. Default implementation falls back to {@link
+   * #decode(InputStream, Type)}.
+   *
+   * @param byteBuf source buffer
+   * @param type type of the object
+   * @return decoded object
+   * @throws IOException in case of decoding errors
+   */
+  default Object decode(ByteBuf byteBuf, Type type) throws IOException {
+    return decode(new ByteBufInputStream(byteBuf), type);
+  }
+
+  /**
+   * Prepares codec for given service method ahead of its first invocation, for example resolves
+   * per-type parsers for {@link MethodInfo#requestType()} and {@link
+   * MethodInfo#parameterizedReturnType()}. Invoked when service methods are registered or proxied.
+   * Default implementation does nothing.
+   *
+   * @param methodInfo service method info
+   */
+  default void prewarm(MethodInfo methodInfo) {}
 }
@@ -1,5 +1,8 @@
 package io.scalecube.services.transport.api;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -40,4 +43,28 @@ static HeadersCodec loadInstance(String contentType) {
   void encode(OutputStream stream, Map<String, String> headers) throws IOException;
 
   Map<String, String> decode(InputStream stream) throws IOException;
+
+  /**
+   * Encodes headers directly into given buffer. Default implementation falls back to {@link
+   * #encode(OutputStream, Map)}.
+   *
+   * @param byteBuf target buffer
+   * @param headers headers
+   * @throws IOException in case of encoding errors
+   */
+  default void encode(ByteBuf byteBuf, Map<String, String> headers) throws IOException {
+    encode(new ByteBufOutputStream(byteBuf), headers);
+  }
+
+  /**
+   * Decodes headers directly from given buffer. Readable bytes of the buffer are consumed, buffer
+   * is not released. Default implementation falls back to {@link #decode(InputStream)}.
+   *
+   * @param byteBuf source buffer
+   * @return headers
+   * @throws IOException in case of decoding errors
+   */
+  default Map<String, String> decode(ByteBuf byteBuf) throws IOException {
+    return decode(new ByteBufInputStream(byteBuf));
+  }
 }
@@ -0,0 +1,254 @@
+package io.scalecube.services.transport.api;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ByteBufAllocator} which delegates to another allocator and counts allocations done through
+ * it. Meant to be set on transport and gateways (each one gets its own instance wrapping shared
+ * allocator), so that allocation rate and memory usage can be attributed per component.
+ *
+ * <p>Counters are: number of allocations, requested bytes (initial capacities), memory used by
+ * buffers allocated through this instance and not released yet (capacities at allocation, buffers
+ * growing later are not accounted), and peak of used memory (updated on each allocation). Buffers
+ * are returned as views of the delegate's buffers which report their deallocation back to this
+ * instance.
+ */
+public final class InstrumentedByteBufAllocator implements ByteBufAllocator {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+  private final String name;
+  private final ByteBufAllocator delegate;
+
+  private final LongAdder allocations = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final AtomicLong usedMemory = new AtomicLong();
+  private final AtomicLong peakUsedMemory = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param name name of the component which uses this allocator
+   * @param delegate allocator which actually allocates buffers
+   */
+  public InstrumentedByteBufAllocator(String name, ByteBufAllocator delegate) {
+    this.name = Objects.requireNonNull(name, "name");
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public ByteBufAllocator delegate() {
+    return delegate;
+  }
+
+  /**
+   * Returns number of allocations done through this allocator.
+   *
+   * @return number of allocations
+   */
+  public long allocations() {
+    return allocations.sum();
+  }
+
+  /**
+   * Returns number of bytes requested (as initial capacity) through this allocator.
+   *
+   * @return allocated bytes
+   */
+  public long allocatedBytes() {
+    return allocatedBytes.sum();
+  }
+
+  /**
+   * Returns memory currently used by buffers allocated through this allocator (heap and direct).
+   *
+   * @return used memory
+   */
+  public long usedMemory() {
+    return usedMemory.get();
+  }
+
+  /**
+   * Returns peak of used memory observed so far.
+   *
+   * @return peak used memory
+   */
+  public long peakUsedMemory() {
+    return peakUsedMemory.get();
+  }
+
+  /**
+   * Returns snapshot of counters. Allocation rate can be calculated out of two snapshots (see
+   * {@link Snapshot#allocationRate(Snapshot)}).
+   *
+   * @return snapshot
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(
+        System.nanoTime(), allocations(), allocatedBytes(), usedMemory(), peakUsedMemory());
+  }
+
+  private ByteBuf record(ByteBuf byteBuf, int initialCapacity) {
+    allocations.increment();
+    allocatedBytes.add(initialCapacity);
+    final int capacity = byteBuf.capacity();
+    peakUsedMemory.accumulateAndGet(usedMemory.addAndGet(capacity), Math::max);
+    return new TrackedByteBuf(byteBuf, this, capacity);
+  }
+
+  void deallocated(int capacity) {
+    usedMemory.addAndGet(-capacity);
+  }
+
+  @Override
+  public ByteBuf buffer() {
+    return record(delegate.buffer(), DEFAULT_INITIAL_CAPACITY);
+  }
+
+  @Override
+  public ByteBuf buffer(int initialCapacity) {
+    return record(delegate.buffer(initialCapacity), initialCapacity);
+  }
+
+  @Override
+  public ByteBuf buffer(int initialCapacity, int maxCapacity) {
+    return record(delegate.buffer(initialCapacity, maxCapacity), initialCapacity);
+  }
+
+  @Override
+  public ByteBuf ioBuffer() {
+    return record(delegate.ioBuffer(), DEFAULT_INITIAL_CAPACITY);
+  }
+
+  @Override
+  public ByteBuf ioBuffer(int initialCapacity) {
+    return record(delegate.ioBuffer(initialCapacity), initialCapacity);
+  }
+
+  @Override
+  public ByteBuf ioBuffer(int initialCapacity, int maxCapacity) {
+    return record(delegate.ioBuffer(initialCapacity, maxCapacity), initialCapacity);
+  }
+
+  @Override
+  public ByteBuf heapBuffer() {
+    return record(delegate.heapBuffer(), DEFAULT_INITIAL_CAPACITY);
+  }
+
+  @Override
+  public ByteBuf heapBuffer(int initialCapacity) {
+    return record(delegate.heapBuffer(initialCapacity), initialCapacity);
+  }
+
+  @Override
+  public ByteBuf heapBuffer(int initialCapacity, int maxCapacity) {
+    return record(delegate.heapBuffer(initialCapacity, maxCapacity), initialCapacity);
+  }
+
+  @Override
+  public ByteBuf directBuffer() {
+    return record(delegate.directBuffer(), DEFAULT_INITIAL_CAPACITY);
+  }
+
+  @Override
+  public ByteBuf directBuffer(int initialCapacity) {
+    return record(delegate.directBuffer(initialCapacity), initialCapacity);
+  }
+
+  @Override
+  public ByteBuf directBuffer(int initialCapacity, int maxCapacity) {
+    return record(delegate.directBuffer(initialCapacity, maxCapacity), initialCapacity);
+  }
+
+  // composite buffers don't allocate memory themselves, their components are counted
+
+  @Override
+  public CompositeByteBuf compositeBuffer() {
+    return delegate.compositeBuffer();
+  }
+
+  @Override
+  public CompositeByteBuf compositeBuffer(int maxNumComponents) {
+    return delegate.compositeBuffer(maxNumComponents);
+  }
+
+  @Override
+  public CompositeByteBuf compositeHeapBuffer() {
+    return delegate.compositeHeapBuffer();
+  }
+
+  @Override
+  public CompositeByteBuf compositeHeapBuffer(int maxNumComponents) {
+    return delegate.compositeHeapBuffer(maxNumComponents);
+  }
+
+  @Override
+  public CompositeByteBuf compositeDirectBuffer() {
+    return delegate.compositeDirectBuffer();
+  }
+
+  @Override
+  public CompositeByteBuf compositeDirectBuffer(int maxNumComponents) {
+    return delegate.compositeDirectBuffer(maxNumComponents);
+  }
+
+  @Override
+  public boolean isDirectBufferPooled() {
+    return delegate.isDirectBufferPooled();
+  }
+
+  @Override
+  public int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+    return delegate.calculateNewCapacity(minNewCapacity, maxCapacity);
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", InstrumentedByteBufAllocator.class.getSimpleName() + "[", "]")
+        .add("name='" + name + "'")
+        .add("allocations=" + allocations())
+        .add("allocatedBytes=" + allocatedBytes())
+        .add("usedMemory=" + usedMemory())
+        .add("peakUsedMemory=" + peakUsedMemory())
+        .toString();
+  }
+
+  /**
+   * Snapshot of counters.
+   *
+   * @param timestamp {@link System#nanoTime()} when snapshot was taken
+   * @param allocations number of allocations
+   * @param allocatedBytes requested bytes
+   * @param usedMemory memory used by buffers allocated through this allocator
+   * @param peakUsedMemory peak of used memory
+   */
+  public record Snapshot(
+      long timestamp, long allocations, long allocatedBytes, long usedMemory, long peakUsedMemory) {
+
+    /**
+     * Returns allocation rate in bytes per second since {@code previous} snapshot.
+     *
+     * @param previous previous snapshot
+     * @return bytes per second
+     */
+    public double allocationRate(Snapshot previous) {
+      final long elapsed = timestamp - previous.timestamp;
+      if (elapsed <= 0) {
+        return 0;
+      }
+      return (allocatedBytes - previous.allocatedBytes)
+          * (double) TimeUnit.SECONDS.toNanos(1)
+          / elapsed;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package io.scalecube.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ServiceReferenceTest {
+
+  @Test
+  void testIdenticalDeploymentsShareDefinition() {
+    final var sr1 = serviceReference("endpoint1", Map.of("zone", "a"));
+    final var sr2 = serviceReference("endpoint2", Map.of("zone", "a"));
+
+    assertEquals("endpoint1", sr1.endpointId());
+    assertEquals("endpoint2", sr2.endpointId());
+    assertNotEquals(sr1.address(), sr2.address());
+
+    assertEquals("v1/api/users/:userId", sr1.qualifier());
+    assertSame(sr1.qualifier(), sr2.qualifier());
+    assertSame(sr1.dynamicQualifier(), sr2.dynamicQualifier());
+    assertSame(sr1.contentTypes(), sr2.contentTypes());
+    assertSame(sr1.tags(), sr2.tags());
+    assertEquals(Map.of("zone", "a", "service", "users", "method", "get"), sr1.tags());
+    assertThrows(UnsupportedOperationException.class, () -> sr1.tags().put("zone", "b"));
+  }
+
+  @Test
+  void testDifferentTagsAreNotShared() {
+    final var sr1 = serviceReference("endpoint1", Map.of("zone", "a"));
+    final var sr2 = serviceReference("endpoint2", Map.of("zone", "b"));
+
+    assertEquals("a", sr1.tags().get("zone"));
+    assertEquals("b", sr2.tags().get("zone"));
+    assertSame(sr1.qualifier(), sr2.qualifier());
+    assertSame(sr1.dynamicQualifier(), sr2.dynamicQualifier());
+    assertSame(sr1.contentTypes(), sr2.contentTypes());
+  }
+
+  // every endpoint is built from its own (equal) instances, as if received from discovery
+  private static ServiceReference serviceReference(String id, Map<String, String> tags) {
+    final var methodDefinition =
+        new ServiceMethodDefinition(
+            new String("users/:userId"), new HashMap<>(Map.of("method", "get")), false, "GET");
+    final var serviceRegistration =
+        new ServiceRegistration(
+            new String("v1/api"),
+            new HashMap<>(Map.of("service", "users")),
+            List.of(methodDefinition));
+    final var serviceEndpoint =
+        ServiceEndpoint.builder()
+            .id(id)
+            .address(Address.create(id, 4848))
+            .contentTypes(new HashSet<>(Set.of("application/json")))
+            .tags(new HashMap<>(tags))
+            .serviceRegistrations(List.of(serviceRegistration))
+            .build();
+    return new ServiceReference(methodDefinition, serviceRegistration, serviceEndpoint);
+  }
+}
@@ -0,0 +1,119 @@
+package io.scalecube.services.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ServiceMessageTest {
+
+  @Test
+  void testHeaders() {
+    final var message =
+        ServiceMessage.builder()
+            .qualifier("greeting/one")
+            .dataFormat("application/json")
+            .header("sid", 42)
+            .header("userId", "u-1")
+            .header("userId", "u-2")
+            .build();
+
+    final var expected = new HashMap<String, String>();
+    expected.put(ServiceMessage.HEADER_QUALIFIER, "greeting/one");
+    expected.put(ServiceMessage.HEADER_DATA_FORMAT, "application/json");
+    expected.put("sid", "42");
+    expected.put("userId", "u-2");
+
+    assertEquals(expected, message.headers());
+    assertEquals(message.headers(), expected);
+    assertEquals(expected.hashCode(), message.headers().hashCode());
+    assertEquals("greeting/one", message.qualifier());
+    assertNull(message.header("unknown"));
+    assertThrows(UnsupportedOperationException.class, () -> message.headers().put("a", "b"));
+  }
+
+  @Test
+  void testFromSharesHeaders() {
+    final var message =
+        ServiceMessage.builder().qualifier("greeting/one").header("sid", "1").data("a").build();
+
+    final var copy = ServiceMessage.from(message).data("b").build();
+    assertSame(message.headers(), copy.headers());
+
+    final var sameQualifier = ServiceMessage.from(message).qualifier("greeting/one").build();
+    assertSame(message.headers(), sameQualifier.headers());
+  }
+
+  @Test
+  void testFromCopiesOnWrite() {
+    final var message =
+        ServiceMessage.builder().qualifier("greeting/one").header("sid", "1").build();
+
+    final var modified =
+        ServiceMessage.from(message).qualifier("greeting/two").header("userId", "u-1").build();
+
+    assertNotSame(message.headers(), modified.headers());
+    assertEquals(
+        Map.of(ServiceMessage.HEADER_QUALIFIER, "greeting/one", "sid", "1"), message.headers());
+    assertEquals(
+        Map.of(ServiceMessage.HEADER_QUALIFIER, "greeting/two", "sid", "1", "userId", "u-1"),
+        modified.headers());
+  }
+
+  @Test
+  void testBuilderReuse() {
+    final var builder = ServiceMessage.builder().qualifier("greeting/one");
+    final var first = builder.build();
+    final var second = builder.header("sid", "1").build();
+
+    assertEquals(Map.of(ServiceMessage.HEADER_QUALIFIER, "greeting/one"), first.headers());
+    assertEquals(
+        Map.of(ServiceMessage.HEADER_QUALIFIER, "greeting/one", "sid", "1"), second.headers());
+  }
+
+  @Test
+  void testManyHeaders() {
+    final var builder = ServiceMessage.builder();
+    final var expected = new HashMap<String, String>();
+    for (int i = 0; i < 100; i++) {
+      builder.header("key" + i, "value" + i);
+      expected.put("key" + i, "value" + i);
+    }
+    final var message = builder.build();
+
+    assertEquals(expected, message.headers());
+    assertEquals(expected, ServiceMessage.from(message).build().headers());
+    expected.forEach((key, value) -> assertEquals(value, message.header(key)));
+  }
+
+  @Test
+  void testDataFormatIfAbsent() {
+    final var message =
+        ServiceMessage.builder()
+            .dataFormat("application/octet-stream")
+            .dataFormatIfAbsent("application/json")
+            .build();
+    assertEquals("application/octet-stream", message.dataFormat());
+
+    final var other = ServiceMessage.builder().dataFormatIfAbsent("application/json").build();
+    assertEquals("application/json", other.dataFormat());
+  }
+
+  @Test
+  void testImmutableHeadersCopyOf() {
+    final var headers = Map.of("a", "1", "b", "2");
+    final var copy = ImmutableHeaders.copyOf(headers);
+
+    assertEquals(headers, copy);
+    assertSame(copy, ImmutableHeaders.copyOf(copy));
+    assertSame(ImmutableHeaders.EMPTY, ImmutableHeaders.copyOf(Map.of()));
+    assertTrue(copy.containsKey("a"));
+    assertEquals(2, copy.entrySet().size());
+  }
+}
@@ -0,0 +1,251 @@
+package io.scalecube.services.methods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.MaxConcurrency;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.DefaultErrorMapper;
+import io.scalecube.services.exceptions.ServiceUnavailableException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class BulkheadTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+  private static final Duration DELAY = Duration.ofMillis(100);
+
+  @Test
+  void testInvocationsPastQueueAreRejected() throws Exception {
+    final var service = new QuoteServiceImpl();
+    final var invoker = invoker("quote", service, null);
+
+    final var responses =
+        Flux.range(0, 3)
+            .flatMap(i -> invoker.invokeOne(request("quotes/quote", "EURUSD")))
+            .collectList()
+            .block(TIMEOUT);
+
+    assertEquals(3, responses.size());
+    assertEquals(2, responses.stream().filter(response -> !response.isError()).count());
+    final var rejected = responses.stream().filter(ServiceMessage::isError).findFirst().get();
+    assertEquals(ServiceUnavailableException.ERROR_TYPE, rejected.errorType());
+    assertEquals(2, service.invocations.get());
+    assertEquals(1, service.maxConcurrency.get());
+
+    final var bulkhead = invoker.bulkhead();
+    assertEquals(1, bulkhead.rejected());
+    assertEquals(0, bulkhead.inFlight());
+    assertEquals(0, bulkhead.queued());
+  }
+
+  @Test
+  void testPermitIsHandedOver() {
+    final var bulkhead = bulkhead("quote", new ConcurrencyLimit(1, 1));
+
+    StepVerifier.create(
+            Flux.merge(
+                    bulkhead.execute(Mono.delay(DELAY).thenReturn("first")),
+                    bulkhead.execute(Mono.just("second")))
+                .collectSortedList())
+        .expectNext(List.of("first", "second"))
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertEquals(0, bulkhead.inFlight());
+    assertEquals(0, bulkhead.rejected());
+  }
+
+  @Test
+  void testCounters() {
+    final var bulkhead = bulkhead("quote", new ConcurrencyLimit(1, 1));
+
+    final var first = bulkhead.execute(Mono.never()).subscribe();
+    final var second = bulkhead.execute(Mono.never()).subscribe();
+    final var third = bulkhead.execute(Mono.never()).subscribe(null, ex -> {});
+    assertEquals(1, bulkhead.inFlight());
+    assertEquals(1, bulkhead.queued());
+    assertEquals(1, bulkhead.rejected());
+    assertTrue(third.isDisposed());
+
+    second.dispose(); // cancelled while waiting
+    assertEquals(1, bulkhead.inFlight());
+    assertEquals(0, bulkhead.queued());
+
+    first.dispose();
+    assertEquals(0, bulkhead.inFlight());
+  }
+
+  @Test
+  void testCancelledInvocationReleasesPermit() {
+    final var bulkhead = bulkhead("quote", new ConcurrencyLimit(1, 1));
+    final var cancelled = new AtomicBoolean();
+
+    final var first =
+        bulkhead.execute(Mono.never().doOnCancel(() -> cancelled.set(true))).subscribe();
+    final var second = bulkhead.execute(Mono.just("second")).toFuture();
+    assertEquals(1, bulkhead.queued());
+
+    first.dispose();
+    assertTrue(cancelled.get());
+    assertEquals("second", second.join());
+    assertEquals(0, bulkhead.inFlight());
+  }
+
+  @Test
+  void testStreamHoldsPermitTillCompletion() {
+    final var bulkhead = bulkhead("quotes", new ConcurrencyLimit(1, 0));
+
+    StepVerifier.create(bulkhead.execute(Flux.just("a", "b")), 0)
+        .then(() -> assertEquals(1, bulkhead.inFlight()))
+        .thenRequest(2)
+        .expectNext("a", "b")
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertEquals(0, bulkhead.inFlight());
+  }
+
+  @Test
+  void testServiceLevelAnnotation() {
+    final var bulkhead = bulkhead("quotes", null);
+
+    assertNotNull(bulkhead);
+    assertEquals(2, bulkhead.limit());
+    assertEquals(0, bulkhead.queueSize());
+  }
+
+  @Test
+  void testProgrammaticLimitOverridesAnnotation() throws Exception {
+    final var invoker = invoker("quote", new QuoteServiceImpl(), new ConcurrencyLimit(5, 10));
+
+    assertEquals(5, invoker.bulkhead().limit());
+    assertEquals(10, invoker.bulkhead().queueSize());
+  }
+
+  @Test
+  void testNotLimited() throws Exception {
+    final var method = PlainService.class.getMethod("hello", String.class);
+    final var methodInfo = Reflect.methodsInfo(PlainService.class).get(method);
+
+    assertNull(Bulkhead.create(method, new PlainServiceImpl(), methodInfo, null, null));
+  }
+
+  @Test
+  void testWrongDefinition() throws Exception {
+    final var method = WrongService.class.getMethod("hello", String.class);
+    final var methodInfo = Reflect.methodsInfo(WrongService.class).get(method);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Bulkhead.create(method, new WrongServiceImpl(), methodInfo, null, null));
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimit(1, -1));
+  }
+
+  private static Bulkhead bulkhead(String methodName, ConcurrencyLimit concurrencyLimit) {
+    try {
+      final var method = QuoteService.class.getMethod(methodName, String.class);
+      final var methodInfo = Reflect.methodsInfo(QuoteService.class).get(method);
+      return Bulkhead.create(method, new QuoteServiceImpl(), methodInfo, concurrencyLimit, null);
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static ServiceMessage request(String qualifier, Object data) {
+    return ServiceMessage.builder().qualifier(qualifier).data(data).build();
+  }
+
+  private static ServiceMethodInvoker invoker(
+      String methodName, Object service, ConcurrencyLimit concurrencyLimit) throws Exception {
+    final var method = QuoteService.class.getMethod(methodName, String.class);
+    final var methodInfo = Reflect.methodsInfo(QuoteService.class).get(method);
+    return new ServiceMethodInvoker(
+        method,
+        service,
+        methodInfo,
+        DefaultErrorMapper.INSTANCE,
+        (message, type) -> message,
+        null,
+        null,
+        null,
+        concurrencyLimit,
+        null);
+  }
+
+  @Service("quotes")
+  public interface QuoteService {
+
+    @ServiceMethod
+    @MaxConcurrency(limit = 1, queue = 1)
+    Mono<String> quote(String symbol);
+
+    @ServiceMethod
+    Flux<String> quotes(String symbol);
+  }
+
+  @MaxConcurrency(limit = 2)
+  public static class QuoteServiceImpl implements QuoteService {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicInteger concurrency = new AtomicInteger();
+    private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+    @Override
+    public Mono<String> quote(String symbol) {
+      invocations.incrementAndGet();
+      maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+      return Mono.delay(DELAY)
+          .thenReturn("quote:" + symbol)
+          .doOnTerminate(concurrency::decrementAndGet);
+    }
+
+    @Override
+    public Flux<String> quotes(String symbol) {
+      return Flux.just("quote:" + symbol);
+    }
+  }
+
+  @Service("plain")
+  public interface PlainService {
+
+    @ServiceMethod
+    Mono<String> hello(String name);
+  }
+
+  public static class PlainServiceImpl implements PlainService {
+
+    @Override
+    public Mono<String> hello(String name) {
+      return Mono.just(name);
+    }
+  }
+
+  @Service("wrong")
+  public interface WrongService {
+
+    @ServiceMethod
+    @MaxConcurrency(limit = 0)
+    Mono<String> hello(String name);
+  }
+
+  public static class WrongServiceImpl implements WrongService {
+
+    @Override
+    public Mono<String> hello(String name) {
+      return Mono.just(name);
+    }
+  }
+}
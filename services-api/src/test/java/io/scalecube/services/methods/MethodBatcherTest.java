@@ -0,0 +1,260 @@
+package io.scalecube.services.methods;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.Batched;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.DefaultErrorMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+class MethodBatcherTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  @Test
+  void testBatchByDelay() throws Exception {
+    final var service = new PriceServiceImpl();
+    final var invoker = invoker(PriceService.class, "price", service);
+
+    final var responses =
+        Flux.range(0, 2)
+            .flatMap(i -> invoker.invokeOne(request("prices/price", "p" + i)))
+            .collectMap(ServiceMessage::data, ServiceMessage::qualifier)
+            .block(TIMEOUT);
+
+    // max size is not reached, batch is flushed after max delay
+    assertEquals(2, responses.size());
+    IntStream.range(0, 2).forEach(i -> assertTrue(responses.containsKey("price:p" + i)));
+    assertEquals(List.of(List.of("p0", "p1")), service.batches);
+  }
+
+  @Test
+  void testBatchBySize() throws Exception {
+    final var service = new PriceServiceImpl();
+    final var invoker = invoker(PriceService.class, "price", service);
+
+    final var responses =
+        Flux.range(0, 7)
+            .flatMap(i -> invoker.invokeOne(request("prices/price", "p" + i)))
+            .collectList()
+            .block(TIMEOUT);
+
+    assertEquals(7, responses.size());
+    // max size is 3, so at least 3 batches
+    assertTrue(service.batches.size() >= 3, "batches: " + service.batches);
+    service.batches.forEach(batch -> assertTrue(batch.size() <= 3, "batch: " + batch));
+  }
+
+  @Test
+  void testBatchByDelayOnMethodScheduler() throws Exception {
+    final var scheduler = Schedulers.newSingle("prices");
+    try {
+      final var service = new PriceServiceImpl();
+      final var invoker = invoker(PriceService.class, "price", service, scheduler);
+
+      final var response = invoker.invokeOne(request("prices/price", "p0")).block(TIMEOUT);
+
+      assertEquals("price:p0", response.data());
+      assertThat(service.threadName.get(), startsWith("prices"));
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+  @Test
+  void testCancelledRequestIsDropped() throws Exception {
+    final var service = new PriceServiceImpl();
+    final var invoker = invoker(PriceService.class, "price", service);
+
+    invoker.invokeOne(request("prices/price", "cancelled")).subscribe().dispose();
+    final var response = invoker.invokeOne(request("prices/price", "p0")).block(TIMEOUT);
+
+    assertEquals("price:p0", response.data());
+    assertEquals(List.of(List.of("p0")), service.batches);
+  }
+
+  @Test
+  void testPerItemSignals() throws Exception {
+    final var service = new EntitlementServiceImpl();
+    final var invoker = invoker(EntitlementService.class, "check", service);
+
+    final Map<String, ServiceMessage> responses =
+        Flux.just("ok", "denied", "unknown")
+            .flatMap(
+                user ->
+                    invoker
+                        .invokeOne(request("entitlements/check", user))
+                        .map(response -> Map.entry(user, response)))
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block(TIMEOUT);
+
+    assertEquals(true, responses.get("ok").data());
+    assertTrue(responses.get("denied").isError(), "response: " + responses.get("denied"));
+    assertFalse(responses.containsKey("unknown"), "response: " + responses.get("unknown"));
+  }
+
+  @Test
+  void testBatchMethodError() throws Exception {
+    final var service = new PriceServiceImpl();
+    final var invoker = invoker(PriceService.class, "price", service);
+
+    final Map<String, ServiceMessage> responses =
+        Flux.just("p1", "fail", "p2")
+            .flatMap(
+                symbol ->
+                    invoker
+                        .invokeOne(request("prices/price", symbol))
+                        .map(response -> Map.entry(symbol, response)))
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block(TIMEOUT);
+
+    // results before the error are delivered, the rest of the batch gets the error
+    assertEquals("price:p1", responses.get("p1").data());
+    assertTrue(responses.get("fail").isError(), "response: " + responses.get("fail"));
+    assertTrue(responses.get("p2").isError(), "response: " + responses.get("p2"));
+  }
+
+  @Test
+  void testWrongDefinition() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> invoker(WrongService.class, "hello", new WrongServiceImpl()));
+  }
+
+  private static ServiceMessage request(String qualifier, String data) {
+    return ServiceMessage.builder().qualifier(qualifier).data(data).build();
+  }
+
+  private static ServiceMethodInvoker invoker(
+      Class<?> serviceInterface, String methodName, Object service) throws Exception {
+    return invoker(serviceInterface, methodName, service, null);
+  }
+
+  private static ServiceMethodInvoker invoker(
+      Class<?> serviceInterface, String methodName, Object service, Scheduler scheduler)
+      throws Exception {
+    final var method = serviceInterface.getMethod(methodName, String.class);
+    final var info = Reflect.methodsInfo(serviceInterface).get(method);
+    final var methodInfo =
+        new MethodInfo(
+            info.serviceName(),
+            info.methodName(),
+            info.parameterizedReturnType(),
+            info.isReturnTypeServiceMessage(),
+            info.communicationMode(),
+            info.parameterCount(),
+            info.requestType(),
+            info.isRequestTypeServiceMessage(),
+            info.isSecured(),
+            scheduler,
+            info.restMethod());
+    return new ServiceMethodInvoker(
+        method,
+        service,
+        methodInfo,
+        DefaultErrorMapper.INSTANCE,
+        (message, type) -> message,
+        null,
+        null,
+        null);
+  }
+
+  @Service("prices")
+  public interface PriceService {
+
+    @ServiceMethod
+    @Batched(method = "prices", maxSize = 3, maxDelay = 50)
+    Mono<String> price(String symbol);
+  }
+
+  public static class PriceServiceImpl implements PriceService {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicReference<String> threadName = new AtomicReference<>();
+
+    @Override
+    public Mono<String> price(String symbol) {
+      return Mono.just("price:" + symbol);
+    }
+
+    public Flux<String> prices(Flux<String> symbols) {
+      threadName.set(Thread.currentThread().getName());
+      return symbols
+          .collectList()
+          .doOnNext(batches::add)
+          .flatMapMany(Flux::fromIterable)
+          .map(
+              symbol -> {
+                if ("fail".equals(symbol)) {
+                  throw new IllegalStateException("fail");
+                }
+                return "price:" + symbol;
+              });
+    }
+  }
+
+  @Service("entitlements")
+  public interface EntitlementService {
+
+    @ServiceMethod
+    Mono<Boolean> check(String user);
+  }
+
+  public static class EntitlementServiceImpl implements EntitlementService {
+
+    @Override
+    @Batched(method = "checkAll", maxDelay = 50)
+    public Mono<Boolean> check(String user) {
+      return Mono.just(true);
+    }
+
+    public Mono<List<Signal<Boolean>>> checkAll(List<String> users) {
+      return Mono.just(
+          users.stream()
+              .map(
+                  user ->
+                      switch (user) {
+                        case "ok" -> Signal.next(true);
+                        case "denied" -> Signal.<Boolean>error(new IllegalStateException(user));
+                        default -> Signal.<Boolean>complete();
+                      })
+              .collect(Collectors.toList()));
+    }
+  }
+
+  @Service("wrong")
+  public interface WrongService {
+
+    @ServiceMethod
+    @Batched(method = "missing")
+    Mono<String> hello(String name);
+  }
+
+  public static class WrongServiceImpl implements WrongService {
+
+    @Override
+    public Mono<String> hello(String name) {
+      return Mono.just(name);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package io.scalecube.services.methods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import reactor.core.publisher.Mono;
+
+class MethodDispatcherTest {
+
+  private static final Service SERVICE = new ServiceImpl();
+
+  static Stream<Factory> dispatchers() {
+    return Stream.of(MethodDispatcher::create, MethodDispatcher::reflective);
+  }
+
+  @ParameterizedTest
+  @MethodSource("dispatchers")
+  void testNoArg(Factory factory) throws Throwable {
+    final var dispatcher = factory.create(method("noArg"), SERVICE);
+
+    assertEquals("noArg", ((Mono<?>) dispatcher.invoke(null)).block());
+    assertEquals("noArg", ((Mono<?>) dispatcher.invoke("ignored")).block());
+  }
+
+  @ParameterizedTest
+  @MethodSource("dispatchers")
+  void testOneArg(Factory factory) throws Throwable {
+    final var dispatcher = factory.create(method("oneArg", String.class), SERVICE);
+
+    assertEquals("echo:hello", ((Mono<?>) dispatcher.invoke("hello")).block());
+  }
+
+  @ParameterizedTest
+  @MethodSource("dispatchers")
+  void testPrimitiveArg(Factory factory) throws Throwable {
+    final var dispatcher = factory.create(method("primitiveArg", int.class), SERVICE);
+
+    assertEquals(43, ((Mono<?>) dispatcher.invoke(42)).block());
+  }
+
+  @ParameterizedTest
+  @MethodSource("dispatchers")
+  void testExceptionIsNotWrapped(Factory factory) throws Throwable {
+    final var dispatcher = factory.create(method("failure", String.class), SERVICE);
+
+    final var ex = assertThrows(IllegalStateException.class, () -> dispatcher.invoke("hello"));
+    assertEquals("hello", ex.getMessage());
+  }
+
+  @ParameterizedTest
+  @MethodSource("dispatchers")
+  void testNullResult(Factory factory) throws Throwable {
+    final var dispatcher = factory.create(method("nullResult"), SERVICE);
+
+    assertNull(dispatcher.invoke(null));
+  }
+
+  @ParameterizedTest
+  @MethodSource("dispatchers")
+  void testWrongArgumentType(Factory factory) throws Throwable {
+    final var dispatcher = factory.create(method("oneArg", String.class), SERVICE);
+
+    assertThrows(RuntimeException.class, () -> dispatcher.invoke(42));
+  }
+
+  @Test
+  void testSpunClass() {
+    assertTrue(
+        MethodDispatcher.create(method("oneArg", String.class), SERVICE).getClass().isHidden());
+  }
+
+  private static Method method(String name, Class<?>... parameterTypes) {
+    try {
+      return Service.class.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  @FunctionalInterface
+  interface Factory {
+
+    MethodDispatcher create(Method method, Object service);
+  }
+
+  public interface Service {
+
+    Mono<String> noArg();
+
+    Mono<String> oneArg(String request);
+
+    Mono<Integer> primitiveArg(int request);
+
+    Mono<String> failure(String request);
+
+    Mono<String> nullResult();
+  }
+
+  static class ServiceImpl implements Service {
+
+    @Override
+    public Mono<String> noArg() {
+      return Mono.just("noArg");
+    }
+
+    @Override
+    public Mono<String> oneArg(String request) {
+      return Mono.just("echo:" + request);
+    }
+
+    @Override
+    public Mono<Integer> primitiveArg(int request) {
+      return Mono.just(request + 1);
+    }
+
+    @Override
+    public Mono<String> failure(String request) {
+      throw new IllegalStateException(request);
+    }
+
+    @Override
+    public Mono<String> nullResult() {
+      return null;
+    }
+  }
+}
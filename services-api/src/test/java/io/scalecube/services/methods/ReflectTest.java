@@ -1,15 +1,19 @@
 package io.scalecube.services.methods;
 
+import static io.scalecube.services.CommunicationMode.FIRE_AND_FORGET;
 import static io.scalecube.services.CommunicationMode.REQUEST_CHANNEL;
 import static io.scalecube.services.CommunicationMode.REQUEST_RESPONSE;
 import static io.scalecube.services.CommunicationMode.REQUEST_STREAM;
 
 import io.scalecube.services.CommunicationMode;
 import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.FireAndForget;
 import io.scalecube.services.annotations.Service;
 import io.scalecube.services.api.ServiceMessage;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -53,7 +57,45 @@ static Stream<Arguments> argsCommunicationModeProvider() {
         Arguments.of("emptyResponseMessage", REQUEST_RESPONSE),
         Arguments.of("requestResponseMessage", REQUEST_RESPONSE),
         Arguments.of("requestStreamMessage", REQUEST_STREAM),
-        Arguments.of("requestChannelMessage", REQUEST_CHANNEL));
+        Arguments.of("requestChannelMessage", REQUEST_CHANNEL),
+        Arguments.of("plainResponse", REQUEST_RESPONSE),
+        Arguments.of("plainList", REQUEST_STREAM),
+        Arguments.of("fireAndForgetFrame", FIRE_AND_FORGET),
+        Arguments.of("fireAndForgetFrameMessage", FIRE_AND_FORGET));
+  }
+
+  @Test
+  public void testWrongFireAndForgetDefinition() throws NoSuchMethodException {
+    final var method = WrongFireAndForgetService.class.getMethod("hello", Integer.class);
+
+    Assertions.assertThrows(
+        UnsupportedOperationException.class, () -> Reflect.validateMethodOrThrow(method));
+  }
+
+  @ParameterizedTest
+  @MethodSource("argsParameterizedReturnType")
+  public void testParameterizedReturnType(String methodName, Type expectedType) {
+    // Given:
+    Method method =
+        Arrays.stream(TestService.class.getMethods())
+            .filter(meth -> meth.getName().equals(methodName))
+            .findFirst()
+            .get();
+    // Then:
+    Assertions.assertEquals(expectedType, Reflect.parameterizedReturnType(method));
+    Assertions.assertEquals(
+        methodName.startsWith("plain"), Reflect.isReturnTypePlain(method), methodName);
+  }
+
+  static Stream<Arguments> argsParameterizedReturnType() {
+    return Stream.of(
+        Arguments.of("fireAndForget", Object.class),
+        Arguments.of("requestResponse", Integer.class),
+        Arguments.of("requestStream", Integer.class),
+        Arguments.of("requestResponseMessage", Object.class),
+        Arguments.of("plainResponse", Integer.class),
+        Arguments.of("plainPrimitive", Integer.class),
+        Arguments.of("plainList", Integer.class));
   }
 
   @ParameterizedTest
@@ -108,6 +150,24 @@ private interface TestService {
     Flux<ServiceMessage> requestStreamMessage(ServiceMessage sm);
 
     Flux<ServiceMessage> requestChannelMessage(Flux<ServiceMessage> sm);
+
+    Integer plainResponse(Integer i);
+
+    int plainPrimitive(Integer i);
+
+    List<Integer> plainList(Integer i);
+
+    @FireAndForget
+    Mono<Void> fireAndForgetFrame(Integer i);
+
+    @FireAndForget
+    Mono<Void> fireAndForgetFrameMessage(ServiceMessage sm);
+  }
+
+  private interface WrongFireAndForgetService {
+
+    @FireAndForget
+    Mono<Integer> hello(Integer i);
   }
 
   @Service
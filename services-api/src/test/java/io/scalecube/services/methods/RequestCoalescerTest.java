@@ -0,0 +1,239 @@
+package io.scalecube.services.methods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.Reflect;
+import io.scalecube.services.annotations.Coalesced;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.DefaultErrorMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RequestCoalescerTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+  private static final Duration DELAY = Duration.ofMillis(100);
+
+  private final RequestCoalescer coalescer = new RequestCoalescer();
+  private final AtomicInteger invocations = new AtomicInteger();
+
+  @Test
+  void testCoalesceIdenticalRequests() {
+    final var results =
+        Flux.range(0, 5)
+            .flatMap(i -> coalescer.coalesce(request("hello"), "alice", this::invoke))
+            .collectList()
+            .block(TIMEOUT);
+
+    assertEquals(List.of("hello", "hello", "hello", "hello", "hello"), results);
+    assertEquals(1, invocations.get());
+    assertEquals(0, coalescer.inFlight());
+  }
+
+  @Test
+  void testDifferentRequestsAreNotCoalesced() {
+    Flux.merge(
+            coalescer.coalesce(request("hello"), "alice", this::invoke),
+            coalescer.coalesce(request("hello"), "bob", this::invoke),
+            coalescer.coalesce(request("world"), "alice", this::invoke),
+            coalescer.coalesce(request("qualifier", "hello"), "alice", this::invoke))
+        .blockLast(TIMEOUT);
+
+    assertEquals(4, invocations.get());
+  }
+
+  @Test
+  void testCompletedInvocationIsForgotten() {
+    coalescer.coalesce(request("hello"), null, this::invoke).block(TIMEOUT);
+    coalescer.coalesce(request("hello"), null, this::invoke).block(TIMEOUT);
+
+    assertEquals(2, invocations.get());
+    assertEquals(0, coalescer.inFlight());
+  }
+
+  @Test
+  void testCoalesceByEncodedData() {
+    final var first = request(Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8));
+    final var second = request(Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8));
+
+    final var results =
+        Flux.merge(
+                coalescer.coalesce(first, null, this::invoke),
+                coalescer.coalesce(second, null, this::invoke))
+            .cast(ByteBuf.class)
+            .collectList()
+            .block(TIMEOUT);
+
+    assertEquals(1, invocations.get());
+    // request which joined in-flight invocation is not processed further
+    assertEquals(0, second.<ByteBuf>data().refCnt());
+    // every waiter got its own reference to the result (which is data of the first request)
+    assertEquals(2, results.size());
+    results.forEach(
+        result -> {
+          assertEquals("hello", result.toString(StandardCharsets.UTF_8));
+          result.release();
+        });
+    assertEquals(0, first.<ByteBuf>data().refCnt());
+  }
+
+  @Test
+  void testReferenceCountedResultIsRetainedForEveryWaiter() {
+    final var result = Unpooled.copiedBuffer("result", StandardCharsets.UTF_8);
+    final Mono<ServiceMessage> invocation =
+        Mono.delay(DELAY).thenReturn(ServiceMessage.builder().data(result).build());
+
+    final var responses =
+        Flux.range(0, 3)
+            .flatMap(i -> coalescer.coalesce(request("hello"), null, message -> invocation))
+            .collectList()
+            .block(TIMEOUT);
+
+    assertEquals(3, responses.size());
+    responses.forEach(
+        response -> {
+          final ByteBuf data = response.data();
+          assertEquals("result", data.toString(StandardCharsets.UTF_8));
+          data.release();
+        });
+    assertEquals(0, result.refCnt());
+  }
+
+  @Test
+  void testErrorIsMulticast() {
+    final var error = new IllegalStateException("boom");
+    final Mono<Object> invocation =
+        Mono.delay(DELAY).doOnSubscribe(s -> invocations.incrementAndGet()).then(Mono.error(error));
+
+    StepVerifier.create(
+            Flux.merge(
+                coalescer
+                    .coalesce(request("hello"), null, message -> invocation)
+                    .onErrorResume(ex -> Mono.just(ex)),
+                coalescer
+                    .coalesce(request("hello"), null, message -> invocation)
+                    .onErrorResume(ex -> Mono.just(ex))))
+        .expectNext(error, error)
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertEquals(1, invocations.get());
+  }
+
+  @Test
+  void testInvocationIsCancelledWhenAllWaitersCancel() {
+    final var cancelled = new AtomicBoolean();
+    final Mono<Object> invocation = Mono.never().doOnCancel(() -> cancelled.set(true));
+
+    final var first = coalescer.coalesce(request("hello"), null, message -> invocation).subscribe();
+    final var second =
+        coalescer.coalesce(request("hello"), null, message -> invocation).subscribe();
+    assertEquals(1, coalescer.inFlight());
+
+    first.dispose();
+    assertEquals(false, cancelled.get());
+    second.dispose();
+    assertTrue(cancelled.get());
+    assertEquals(0, coalescer.inFlight());
+  }
+
+  @Test
+  void testCoalescedServiceMethod() throws Exception {
+    final var service = new QuoteServiceImpl();
+    final var invoker = invoker(QuoteService.class, "quote", service);
+
+    final var responses =
+        Flux.range(0, 5)
+            .flatMap(i -> invoker.invokeOne(request("quotes/quote", "EURUSD")))
+            .collectList()
+            .block(TIMEOUT);
+
+    assertEquals(5, responses.size());
+    responses.forEach(response -> assertEquals("quote:EURUSD", response.data()));
+    assertEquals(1, service.invocations.get());
+  }
+
+  @Test
+  void testWrongDefinition() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> invoker(WrongService.class, "hello", new WrongServiceImpl()));
+  }
+
+  private Mono<Object> invoke(ServiceMessage message) {
+    return Mono.delay(DELAY)
+        .doOnSubscribe(s -> invocations.incrementAndGet())
+        .thenReturn(message.data());
+  }
+
+  private static ServiceMessage request(Object data) {
+    return request("greeting/hello", data);
+  }
+
+  private static ServiceMessage request(String qualifier, Object data) {
+    return ServiceMessage.builder().qualifier(qualifier).data(data).build();
+  }
+
+  private static ServiceMethodInvoker invoker(
+      Class<?> serviceInterface, String methodName, Object service) throws Exception {
+    final var method = serviceInterface.getMethod(methodName, String.class);
+    final var methodInfo = Reflect.methodsInfo(serviceInterface).get(method);
+    return new ServiceMethodInvoker(
+        method,
+        service,
+        methodInfo,
+        DefaultErrorMapper.INSTANCE,
+        (message, type) -> message,
+        null,
+        null,
+        null);
+  }
+
+  @Service("quotes")
+  public interface QuoteService {
+
+    @ServiceMethod
+    @Coalesced
+    Mono<String> quote(String symbol);
+  }
+
+  public static class QuoteServiceImpl implements QuoteService {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @Override
+    public Mono<String> quote(String symbol) {
+      invocations.incrementAndGet();
+      return Mono.delay(DELAY).thenReturn("quote:" + symbol);
+    }
+  }
+
+  @Service("wrong")
+  public interface WrongService {
+
+    @ServiceMethod
+    @Coalesced
+    Flux<String> hello(String name);
+  }
+
+  public static class WrongServiceImpl implements WrongService {
+
+    @Override
+    public Flux<String> hello(String name) {
+      return Flux.just(name);
+    }
+  }
+}
@@ -18,8 +18,10 @@
 import org.mockito.Mockito;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
 
 class ServiceMethodInvokerTest {
 
@@ -472,4 +474,145 @@ void testRequestContextWithDynamicQualifier() throws Exception {
 
     StepVerifier.create(serviceMethodInvoker.invokeOne(message)).verifyComplete();
   }
+
+  @Test
+  @DisplayName("invocation of not secured method should contain RequestContext on demand")
+  void testRequestContextOfNotSecuredMethod() throws Exception {
+    final String methodName = "helloPathVar";
+    final Method method = stubService.getClass().getMethod(methodName);
+
+    final MethodInfo methodInfo =
+        new MethodInfo(
+            StubService.NAMESPACE,
+            "hello/:foo/pathVar",
+            method.getReturnType(),
+            IS_RETURN_TYPE_SERVICE_MESSAGE,
+            CommunicationMode.REQUEST_RESPONSE,
+            method.getParameterCount(),
+            Void.TYPE,
+            IS_REQUEST_TYPE_SERVICE_MESSAGE,
+            !AUTH,
+            Schedulers.immediate(),
+            null);
+
+    serviceMethodInvoker =
+        new ServiceMethodInvoker(
+            method,
+            stubService,
+            methodInfo,
+            DefaultErrorMapper.INSTANCE,
+            dataDecoder,
+            nullAuthenticator,
+            nullPrincipalMapper,
+            null);
+
+    ServiceMessage message =
+        ServiceMessage.builder()
+            .qualifier(QUALIFIER_PREFIX + "hello/foo123/pathVar")
+            .header("userId", "u-1")
+            .build();
+
+    StepVerifier.create(serviceMethodInvoker.invokeOne(message))
+        .assertNext(response -> Assertions.assertEquals("foo123:u-1:true", response.data()))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("RequestContext should be available under RequestContext.class key")
+  void testRequestContextUnderClassKey() throws Exception {
+    final String methodName = "helloRequestContextFromClassKey";
+    final Method method = stubService.getClass().getMethod(methodName);
+
+    final MethodInfo methodInfo =
+        new MethodInfo(
+            StubService.NAMESPACE,
+            "hello/:foo/classKey",
+            method.getReturnType(),
+            IS_RETURN_TYPE_SERVICE_MESSAGE,
+            CommunicationMode.REQUEST_RESPONSE,
+            method.getParameterCount(),
+            Void.TYPE,
+            IS_REQUEST_TYPE_SERVICE_MESSAGE,
+            !AUTH,
+            Schedulers.immediate(),
+            null);
+
+    serviceMethodInvoker =
+        new ServiceMethodInvoker(
+            method,
+            stubService,
+            methodInfo,
+            DefaultErrorMapper.INSTANCE,
+            dataDecoder,
+            nullAuthenticator,
+            nullPrincipalMapper,
+            null);
+
+    ServiceMessage message =
+        ServiceMessage.builder()
+            .qualifier(QUALIFIER_PREFIX + "hello/foo123/classKey")
+            .header("userId", "u-1")
+            .build();
+
+    StepVerifier.create(serviceMethodInvoker.invokeOne(message))
+        .assertNext(response -> Assertions.assertEquals("foo123:u-1", response.data()))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("RequestContext put explicitly into reactor context should be returned as is")
+  void testRequestContextFromExplicitKey() {
+    final var requestContext = new RequestContext(Map.of("userId", "u-1"), null, null);
+
+    Assertions.assertSame(
+        requestContext, RequestContext.from(Context.of(RequestContext.class, requestContext)));
+  }
+
+  @Test
+  @DisplayName("invocation should be subscribed on scheduler of the method")
+  void testInvokeOnScheduler() throws Exception {
+    final String methodName = "currentThread";
+    final Method method = stubService.getClass().getMethod(methodName);
+    final Scheduler scheduler = Schedulers.newSingle("stub-scheduler");
+
+    try {
+      final MethodInfo methodInfo =
+          new MethodInfo(
+              StubService.NAMESPACE,
+              methodName,
+              method.getReturnType(),
+              IS_RETURN_TYPE_SERVICE_MESSAGE,
+              CommunicationMode.REQUEST_RESPONSE,
+              method.getParameterCount(),
+              Void.TYPE,
+              IS_REQUEST_TYPE_SERVICE_MESSAGE,
+              !AUTH,
+              scheduler,
+              null);
+
+      serviceMethodInvoker =
+          new ServiceMethodInvoker(
+              method,
+              stubService,
+              methodInfo,
+              DefaultErrorMapper.INSTANCE,
+              dataDecoder,
+              nullAuthenticator,
+              nullPrincipalMapper,
+              null);
+
+      ServiceMessage message =
+          ServiceMessage.builder().qualifier(QUALIFIER_PREFIX + methodName).build();
+
+      StepVerifier.create(serviceMethodInvoker.invokeOne(message))
+          .assertNext(
+              response ->
+                  Assertions.assertTrue(
+                      ((String) response.data()).startsWith("stub-scheduler"),
+                      "thread: " + response.data()))
+          .verifyComplete();
+    } finally {
+      scheduler.dispose();
+    }
+  }
 }
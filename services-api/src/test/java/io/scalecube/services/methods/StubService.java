@@ -33,4 +33,13 @@ public interface StubService {
 
   @ServiceMethod("hello/:foo/dynamic/:bar")
   Mono<Void> helloRequestContextWithDynamicQualifier();
+
+  @ServiceMethod("hello/:foo/pathVar")
+  Mono<String> helloPathVar();
+
+  @ServiceMethod("hello/:foo/classKey")
+  Mono<String> helloRequestContextFromClassKey();
+
+  @ServiceMethod
+  Mono<String> currentThread();
 }
@@ -56,4 +56,30 @@ public Mono<Void> helloRequestContextWithDynamicQualifier() {
             })
         .then();
   }
+
+  @Override
+  public Mono<String> helloPathVar() {
+    return RequestContext.deferContextual()
+        .map(
+            requestContext ->
+                requestContext.pathVar("foo")
+                    + ":"
+                    + requestContext.header("userId")
+                    + ":"
+                    + (requestContext.principal() == Authenticator.NULL_AUTH_CONTEXT));
+  }
+
+  @Override
+  public Mono<String> helloRequestContextFromClassKey() {
+    return Mono.deferContextual(
+        context -> {
+          final var requestContext = context.get(RequestContext.class);
+          return Mono.just(requestContext.pathVar("foo") + ":" + requestContext.header("userId"));
+        });
+  }
+
+  @Override
+  public Mono<String> currentThread() {
+    return Mono.fromCallable(() -> Thread.currentThread().getName());
+  }
 }
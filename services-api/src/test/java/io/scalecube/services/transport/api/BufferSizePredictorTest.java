@@ -0,0 +1,101 @@
+package io.scalecube.services.transport.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BufferSizePredictorTest {
+
+  @Test
+  void testInitialSize() {
+    final var predictor = new BufferSizePredictor();
+
+    assertEquals(BufferSizePredictor.DEFAULT_INITIAL, predictor.nextSize("q"));
+    assertEquals(BufferSizePredictor.DEFAULT_INITIAL, predictor.nextSize(null));
+  }
+
+  @Test
+  void testGrowsImmediately() {
+    final var predictor = new BufferSizePredictor();
+
+    final int predicted = predictor.nextSize("q");
+    predictor.record("q", predicted, 5000);
+
+    assertTrue(predictor.nextSize("q") >= 5000, "nextSize: " + predictor.nextSize("q"));
+    assertEquals(1, predictor.grows());
+    assertEquals(1, predictor.misses());
+
+    predictor.record("q", predictor.nextSize("q"), 5000);
+    assertEquals(1, predictor.grows());
+    assertEquals(1, predictor.hits());
+  }
+
+  @Test
+  void testShrinksGradually() {
+    final var predictor = new BufferSizePredictor();
+    predictor.record("q", predictor.nextSize("q"), 5000);
+    final int grown = predictor.nextSize("q");
+
+    predictor.record("q", grown, 10);
+    assertEquals(grown, predictor.nextSize("q"));
+
+    predictor.record("q", grown, 10);
+    assertTrue(predictor.nextSize("q") < grown);
+
+    for (int i = 0; i < 100; i++) {
+      predictor.record("q", predictor.nextSize("q"), 10);
+    }
+    assertEquals(BufferSizePredictor.DEFAULT_MINIMUM, predictor.nextSize("q"));
+  }
+
+  @Test
+  void testKeysAreIndependent() {
+    final var predictor = new BufferSizePredictor();
+    predictor.record("big", predictor.nextSize("big"), 10000);
+
+    assertTrue(predictor.nextSize("big") >= 10000);
+    assertEquals(BufferSizePredictor.DEFAULT_INITIAL, predictor.nextSize("small"));
+  }
+
+  @Test
+  void testBounds() {
+    final var predictor = new BufferSizePredictor(64, 256, 1024);
+
+    predictor.record("q", predictor.nextSize("q"), 1_000_000);
+    assertEquals(1024, predictor.nextSize("q"));
+  }
+
+  @Test
+  void testMaxKeys() {
+    final var predictor = new BufferSizePredictor(64, 256, 65536, 1);
+    predictor.record("a", predictor.nextSize("a"), 10000);
+    predictor.record("b", predictor.nextSize("b"), 20000);
+
+    assertTrue(predictor.nextSize("a") >= 10000);
+    assertEquals(predictor.nextSize("c"), predictor.nextSize("b"));
+    assertEquals(predictor.nextSize(null), predictor.nextSize("b"));
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new BufferSizePredictor(0, 256, 1024));
+    assertThrows(IllegalArgumentException.class, () -> new BufferSizePredictor(64, 32, 1024));
+    assertThrows(IllegalArgumentException.class, () -> new BufferSizePredictor(64, 256, 128));
+    assertThrows(IllegalArgumentException.class, () -> new BufferSizePredictor(1, 8, 10));
+  }
+
+  @Test
+  void testBoundsBetweenSteps() {
+    final var predictor = new BufferSizePredictor(20, 20, 30);
+
+    assertEquals(16, predictor.nextSize("q"));
+    predictor.record("q", predictor.nextSize("q"), 1_000_000);
+    assertEquals(16, predictor.nextSize("q"));
+    for (int i = 0; i < 10; i++) {
+      predictor.record("q", predictor.nextSize("q"), 1);
+    }
+    assertEquals(16, predictor.nextSize("q"));
+  }
+}
@@ -0,0 +1,72 @@
+package io.scalecube.services.transport.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.scalecube.services.transport.api.InstrumentedByteBufAllocator.Snapshot;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedByteBufAllocatorTest {
+
+  @Test
+  void testCountsAllocations() {
+    final var allocator =
+        new InstrumentedByteBufAllocator("test", new UnpooledByteBufAllocator(false));
+
+    allocator.buffer(100).release();
+    allocator.heapBuffer(50, 1000).release();
+    allocator.directBuffer().release();
+    allocator.compositeBuffer().release();
+
+    assertEquals(3, allocator.allocations());
+    assertEquals(100 + 50 + 256, allocator.allocatedBytes());
+  }
+
+  @Test
+  void testUsedMemory() {
+    final var delegate = new PooledByteBufAllocator(false);
+    final var allocator = new InstrumentedByteBufAllocator("test", delegate);
+    final var other = new InstrumentedByteBufAllocator("other", delegate);
+
+    final var byteBuf = allocator.buffer(64 * 1024);
+    other.buffer(1024).release();
+
+    assertEquals(byteBuf.capacity(), allocator.usedMemory());
+    assertEquals(0, other.usedMemory());
+    assertEquals(1024, other.peakUsedMemory());
+
+    byteBuf.release();
+
+    assertEquals(0, allocator.usedMemory());
+    assertEquals(64 * 1024, allocator.peakUsedMemory());
+  }
+
+  @Test
+  void testUsedMemoryOfDerivedBuffers() {
+    final var allocator =
+        new InstrumentedByteBufAllocator("test", new UnpooledByteBufAllocator(false));
+
+    final var byteBuf = allocator.buffer(100).writeLong(42);
+    final var slice = byteBuf.retainedSlice();
+    final var duplicate = byteBuf.retainedDuplicate();
+    final var composite = allocator.compositeBuffer().addComponent(true, byteBuf);
+
+    composite.release();
+    duplicate.release();
+    assertEquals(100, allocator.usedMemory());
+    assertEquals(42, slice.readLong());
+
+    slice.release();
+    assertEquals(0, allocator.usedMemory());
+  }
+
+  @Test
+  void testAllocationRate() {
+    final var previous = new Snapshot(0, 0, 0, -1, 0);
+    final var current = new Snapshot(500_000_000L, 10, 1000, -1, 0);
+
+    assertEquals(2000, current.allocationRate(previous), 0.001);
+    assertEquals(0, current.allocationRate(current), 0.001);
+  }
+}
@@ -1,7 +1,10 @@
 package io.scalecube.services.transport.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -23,6 +26,19 @@ void test(Object body) throws IOException {
     assertEquals(body, decoded);
   }
 
+  @ParameterizedTest
+  @MethodSource("provider")
+  void testByteBuf(Object body) throws IOException {
+    ByteBuf byteBuf = Unpooled.directBuffer();
+    try {
+      codec.encode(byteBuf, body);
+      assertEquals(body, codec.decode(byteBuf, body.getClass()));
+      assertFalse(byteBuf.isReadable());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
   static Stream<Object> provider() {
     return Stream.of("hello", Arrays.<Object>asList(1, 2, 3), new Greeting("joe"));
   }
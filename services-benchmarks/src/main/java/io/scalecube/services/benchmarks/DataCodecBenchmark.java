@@ -0,0 +1,149 @@
+package io.scalecube.services.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.scalecube.services.transport.api.DataCodec;
+import io.scalecube.services.transport.jackson.JacksonCodec;
+import io.scalecube.services.transport.jackson.binary.CborCodec;
+import io.scalecube.services.transport.jackson.binary.SmileCodec;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link JacksonCodec} with {@link SmileCodec} and {@link CborCodec} on typical DTO:
+ * encoding into pooled {@link ByteBuf}, and decoding out of it. Encoded sizes are printed by {@link
+ * #main(String[])} before the run.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DataCodecBenchmark {
+
+  private static final Order ORDER = newOrder();
+
+  @Param({JacksonCodec.CONTENT_TYPE, SmileCodec.CONTENT_TYPE, CborCodec.CONTENT_TYPE})
+  private String contentType;
+
+  private DataCodec codec;
+  private ByteBuf encoded;
+
+  /**
+   * Main method.
+   *
+   * @param args args
+   * @throws Exception on error
+   */
+  public static void main(String[] args) throws Exception {
+    for (DataCodec codec : List.of(new JacksonCodec(), new SmileCodec(), new CborCodec())) {
+      final ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.buffer();
+      try {
+        codec.encode(byteBuf, ORDER);
+        System.out.printf("%s: %d bytes%n", codec.contentType(), byteBuf.readableBytes());
+      } finally {
+        byteBuf.release();
+      }
+    }
+    run();
+  }
+
+  private static void run() throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(DataCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /**
+   * Setup.
+   *
+   * @throws IOException on error
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    codec = DataCodec.getInstance(contentType);
+    encoded = PooledByteBufAllocator.DEFAULT.buffer();
+    codec.encode(encoded, ORDER);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    encoded.release();
+  }
+
+  /**
+   * Encodes DTO into pooled buffer.
+   *
+   * @return encoded size
+   * @throws IOException on error
+   */
+  @Benchmark
+  public int encode() throws IOException {
+    final ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.buffer();
+    try {
+      codec.encode(byteBuf, ORDER);
+      return byteBuf.readableBytes();
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  /**
+   * Decodes DTO out of buffer.
+   *
+   * @return decoded DTO
+   * @throws IOException on error
+   */
+  @Benchmark
+  public Object decode() throws IOException {
+    return codec.decode(encoded.duplicate(), Order.class);
+  }
+
+  private static Order newOrder() {
+    final List<OrderItem> items = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      items.add(new OrderItem("SKU-" + (100_000 + i), "Item number " + i, i + 1, 19.99 * (i + 1)));
+    }
+    return new Order(
+        "ord-7f9c0a7e-2b41-4c55-9a43-1e5d2f6b8c01",
+        "customer-42",
+        Instant.parse("2024-01-01T10:15:30Z"),
+        OrderStatus.CONFIRMED,
+        items);
+  }
+
+  public enum OrderStatus {
+    NEW,
+    CONFIRMED,
+    SHIPPED
+  }
+
+  public record OrderItem(String sku, String title, int quantity, double price) {}
+
+  public record Order(
+      String id, String customerId, Instant createdAt, OrderStatus status, List<OrderItem> items) {}
+}
@@ -0,0 +1,85 @@
+package io.scalecube.services.benchmarks;
+
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.examples.BenchmarkService;
+import io.scalecube.services.examples.BenchmarkServiceImpl;
+import io.scalecube.services.methods.MethodDispatcher;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares dispatch of {@link BenchmarkService#one(ServiceMessage)}: via reflection (how service
+ * methods were invoked before) and via {@link MethodDispatcher#create} (how they are invoked now).
+ * Baseline is plain java call. Run with {@link GCProfiler} to see bytes allocated per dispatch
+ * ({@code gc.alloc.rate.norm}).
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MethodDispatchBenchmark {
+
+  @Param({"reflective", "direct"})
+  private String dispatch;
+
+  private final BenchmarkService service = new BenchmarkServiceImpl();
+  private final ServiceMessage request =
+      ServiceMessage.builder().qualifier(BenchmarkService.NAMESPACE, "one").data("hello").build();
+
+  private MethodDispatcher dispatcher;
+
+  /**
+   * Main method.
+   *
+   * @param args args
+   * @throws RunnerException on error
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(MethodDispatchBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /**
+   * Setup.
+   *
+   * @throws Exception on error
+   */
+  @Setup
+  public void setUp() throws Exception {
+    final var method = BenchmarkService.class.getMethod("one", ServiceMessage.class);
+    dispatcher =
+        "direct".equals(dispatch)
+            ? MethodDispatcher.create(method, service)
+            : MethodDispatcher.reflective(method, service);
+  }
+
+  @Benchmark
+  public Object dispatch() throws Throwable {
+    return dispatcher.invoke(request);
+  }
+
+  @Benchmark
+  public Object baseline() {
+    return service.one(request);
+  }
+}
@@ -0,0 +1,110 @@
+package io.scalecube.services.benchmarks;
+
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.methods.RequestContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Replays lifecycle of {@link ServiceMessage} headers during one request-response: request is built
+ * by the client, its data is decoded on the server, request context is created, response is built
+ * out of service method result, and response data is decoded on the client. Run with {@link
+ * GCProfiler} to see bytes allocated per request-response ({@code gc.alloc.rate.norm}).
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ServiceMessageBenchmark {
+
+  private static final String QUALIFIER = "benchmarks/one";
+  private static final String DATA_FORMAT = "application/json";
+
+  private final Object requestData = new Object();
+  private final Object decodedRequestData = new Object();
+  private final Object responseData = new Object();
+  private final Object decodedResponseData = new Object();
+
+  /**
+   * Main method.
+   *
+   * @param args args
+   * @throws RunnerException on error
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ServiceMessageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /**
+   * Request-response without custom headers.
+   *
+   * @param blackhole blackhole
+   * @return response
+   */
+  @Benchmark
+  public ServiceMessage requestResponse(Blackhole blackhole) {
+    final var request =
+        ServiceMessage.builder()
+            .qualifier(QUALIFIER)
+            .dataFormat(DATA_FORMAT)
+            .data(requestData)
+            .build();
+    return serverAndBack(request, blackhole);
+  }
+
+  /**
+   * Request-response with few custom headers.
+   *
+   * @param blackhole blackhole
+   * @return response
+   */
+  @Benchmark
+  public ServiceMessage requestResponseWithHeaders(Blackhole blackhole) {
+    final var request =
+        ServiceMessage.builder()
+            .qualifier(QUALIFIER)
+            .dataFormat(DATA_FORMAT)
+            .header("sid", "42")
+            .header("userId", "user-1")
+            .header("traceId", "2f9c0a7e")
+            .data(requestData)
+            .build();
+    return serverAndBack(request, blackhole);
+  }
+
+  private ServiceMessage serverAndBack(ServiceMessage request, Blackhole blackhole) {
+    // server: decode request data
+    final var decodedRequest = ServiceMessage.from(request).data(decodedRequestData).build();
+
+    // server: request context
+    blackhole.consume(new RequestContext(decodedRequest.headers(), null, null));
+
+    // server: service method returns ServiceMessage response
+    final var serviceResponse = ServiceMessage.from(decodedRequest).data(responseData).build();
+    final var response =
+        ServiceMessage.from(serviceResponse).qualifier(decodedRequest.qualifier()).build();
+
+    // client: decode response data
+    return ServiceMessage.from(response).data(decodedResponseData).build();
+  }
+}
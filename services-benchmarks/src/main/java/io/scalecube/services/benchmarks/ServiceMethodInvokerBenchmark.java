@@ -0,0 +1,101 @@
+package io.scalecube.services.benchmarks;
+
+import io.scalecube.services.CommunicationMode;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.examples.BenchmarkService;
+import io.scalecube.services.examples.BenchmarkServiceImpl;
+import io.scalecube.services.exceptions.DefaultErrorMapper;
+import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.methods.ServiceMethodInvoker;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Invokes {@link BenchmarkService#one(ServiceMessage)} through {@link ServiceMethodInvoker} on the
+ * fast path: method is not secured, there is no logger, scheduler is immediate. Run with {@link
+ * GCProfiler} to see bytes allocated per invocation ({@code gc.alloc.rate.norm}).
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ServiceMethodInvokerBenchmark {
+
+  private final ServiceMessage request =
+      ServiceMessage.builder()
+          .qualifier(BenchmarkService.NAMESPACE, "one")
+          .dataFormat("application/json")
+          .data("hello")
+          .build();
+
+  private ServiceMethodInvoker invoker;
+
+  /**
+   * Main method.
+   *
+   * @param args args
+   * @throws RunnerException on error
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ServiceMethodInvokerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  /**
+   * Setup.
+   *
+   * @throws Exception on error
+   */
+  @Setup
+  public void setUp() throws Exception {
+    final var method = BenchmarkService.class.getMethod("one", ServiceMessage.class);
+    final var methodInfo =
+        new MethodInfo(
+            BenchmarkService.NAMESPACE,
+            "one",
+            ServiceMessage.class,
+            true,
+            CommunicationMode.REQUEST_RESPONSE,
+            1,
+            Object.class,
+            true,
+            false,
+            Schedulers.immediate(),
+            null);
+    invoker =
+        new ServiceMethodInvoker(
+            method,
+            new BenchmarkServiceImpl(),
+            methodInfo,
+            DefaultErrorMapper.INSTANCE,
+            (message, type) -> message,
+            null,
+            null,
+            null);
+  }
+
+  @Benchmark
+  public ServiceMessage invokeOne() {
+    return invoker.invokeOne(request).block();
+  }
+}
@@ -0,0 +1,140 @@
+package io.scalecube.services.benchmarks;
+
+import io.scalecube.services.Address;
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceMethodDefinition;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.registry.ServiceRegistryImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures membership changes of {@link ServiceRegistryImpl} with large cluster: {@code endpoints}
+ * endpoints, each of them exposes the same {@code methods} service methods (half of them with
+ * dynamic qualifiers). {@code registerThenUnregisterAll} measures full cluster join and leave,
+ * {@code restartEndpoint} measures one step of rolling restart (endpoint leaves and joins again),
+ * and {@code lookupService} is given for reference.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ServiceRegistryBenchmark {
+
+  @Param({"5000"})
+  private int endpoints;
+
+  @Param({"50"})
+  private int methods;
+
+  private List<ServiceEndpoint> serviceEndpoints;
+  private ServiceRegistryImpl serviceRegistry;
+  private ServiceMessage request;
+  private int index;
+
+  /**
+   * Main method.
+   *
+   * @param args args
+   * @throws RunnerException on error
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ServiceRegistryBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  /** Setup. */
+  @Setup
+  public void setUp() {
+    final var methodDefinitions = new ArrayList<ServiceMethodDefinition>();
+    for (int i = 0; i < methods; i++) {
+      methodDefinitions.add(
+          new ServiceMethodDefinition(
+              i % 2 == 0 ? "method" + i : "method" + i + "/:id", Map.of(), false, null));
+    }
+
+    serviceEndpoints = new ArrayList<>(endpoints);
+    for (int i = 0; i < endpoints; i++) {
+      serviceEndpoints.add(
+          ServiceEndpoint.builder()
+              .id("endpoint" + i)
+              .address(Address.create("host" + i, 4848))
+              .contentTypes(Set.of("application/json"))
+              .serviceRegistrations(
+                  List.of(new ServiceRegistration("benchmark", Map.of(), methodDefinitions)))
+              .build());
+    }
+
+    request = ServiceMessage.builder().qualifier("benchmark", "method0").build();
+  }
+
+  /** Registers all endpoints, before every iteration of benchmarks on populated registry. */
+  @Setup(Level.Iteration)
+  public void populate() {
+    serviceRegistry = new ServiceRegistryImpl();
+    serviceEndpoints.forEach(serviceRegistry::registerService);
+  }
+
+  /**
+   * Registers then unregisters all endpoints.
+   *
+   * @return number of service references left (zero)
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 1)
+  @Measurement(iterations = 3)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int registerThenUnregisterAll() {
+    final var serviceRegistry = new ServiceRegistryImpl();
+    serviceEndpoints.forEach(serviceRegistry::registerService);
+    serviceEndpoints.forEach(endpoint -> serviceRegistry.unregisterService(endpoint.id()));
+    return serviceRegistry.listServiceReferences().size();
+  }
+
+  /**
+   * Unregisters then registers again one endpoint of populated registry.
+   *
+   * @return registry version
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public long restartEndpoint() {
+    final var serviceEndpoint = serviceEndpoints.get(index++ % endpoints);
+    serviceRegistry.unregisterService(serviceEndpoint.id());
+    serviceRegistry.registerService(serviceEndpoint);
+    return serviceRegistry.version();
+  }
+
+  /**
+   * Looks up service references in populated registry.
+   *
+   * @return number of service references
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupService() {
+    return serviceRegistry.lookupService(request).size();
+  }
+}
@@ -0,0 +1,102 @@
+package io.scalecube.services.benchmarks;
+
+import io.scalecube.services.Address;
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceMethodDefinition;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.registry.ServiceRegistryImpl;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Measures heap retained by {@link ServiceRegistryImpl} with {@code endpoints} endpoints (1000 by
+ * default, first argument), each of them exposes the same 50 service methods (half of them with
+ * dynamic qualifiers, all of them with tags). Endpoints are built the way they are received from
+ * discovery: method definitions, tags and content types are distinct but equal instances per
+ * endpoint. Heap is measured (after full GC) before and after registration of all endpoints, so
+ * that only what registry itself retains is counted.
+ *
+ * <p>Run with single-threaded collector for stable figures: {@code java -XX:+UseSerialGC -cp
+ * <classpath> io.scalecube.services.benchmarks.ServiceRegistryHeapBenchmark [endpoints]}.
+ */
+public class ServiceRegistryHeapBenchmark {
+
+  private static final int METHODS = 50;
+
+  /**
+   * Main method.
+   *
+   * @param args args ({@code endpoints})
+   * @throws InterruptedException if interrupted
+   */
+  public static void main(String[] args) throws InterruptedException {
+    final int endpoints = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+    final var methodDefinitions = new ArrayList<ServiceMethodDefinition>();
+    for (int i = 0; i < METHODS; i++) {
+      methodDefinitions.add(
+          new ServiceMethodDefinition(
+              i % 2 == 0 ? "method" + i : "method" + i + "/:id",
+              Map.of("method", "m" + i),
+              false,
+              i % 5 == 0 ? "POST" : null));
+    }
+
+    final var serviceEndpoints = new ArrayList<ServiceEndpoint>(endpoints);
+    for (int i = 0; i < endpoints; i++) {
+      serviceEndpoints.add(
+          ServiceEndpoint.builder()
+              .id(UUID.randomUUID().toString())
+              .address(Address.create("10.0." + (i / 256) + "." + (i % 256), 4801))
+              .contentTypes(new HashSet<>(Set.of("application/json", "application/octet-stream")))
+              .tags(new HashMap<>(Map.of("zone", "zone-" + (i % 3), "cluster", "main")))
+              .serviceRegistrations(
+                  List.of(
+                      new ServiceRegistration(
+                          "v1/benchmark/service",
+                          new HashMap<>(Map.of("service", "benchmark", "version", "1.0")),
+                          copyOf(methodDefinitions))))
+              .build());
+    }
+
+    final var serviceRegistry = new ServiceRegistryImpl();
+    final long before = usedMemory();
+    serviceEndpoints.forEach(serviceRegistry::registerService);
+    final long after = usedMemory();
+
+    final long retained = after - before;
+    System.out.printf(
+        "endpoints: %d, service references: %d, retained: %d KB, per endpoint: %d bytes%n",
+        serviceRegistry.listServiceEndpoints().size(),
+        serviceRegistry.listServiceReferences().size(),
+        retained / 1024,
+        retained / endpoints);
+  }
+
+  private static List<ServiceMethodDefinition> copyOf(List<ServiceMethodDefinition> definitions) {
+    final var copy = new ArrayList<ServiceMethodDefinition>(definitions.size());
+    for (var definition : definitions) {
+      copy.add(
+          new ServiceMethodDefinition(
+              new String(definition.action()),
+              new HashMap<>(definition.tags()),
+              definition.isSecured(),
+              definition.restMethod()));
+    }
+    return copy;
+  }
+
+  private static long usedMemory() throws InterruptedException {
+    final var runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
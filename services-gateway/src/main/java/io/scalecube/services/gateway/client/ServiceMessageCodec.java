@@ -1,10 +1,10 @@
 package io.scalecube.services.gateway.client;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import io.scalecube.services.api.ErrorData;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.MessageCodecException;
+import io.scalecube.services.gateway.ReferenceCountUtil;
 import io.scalecube.services.transport.api.DataCodec;
 import java.lang.reflect.Type;
 
@@ -34,11 +34,13 @@ public static ServiceMessage decodeData(ServiceMessage message, Type dataType)
     Type targetType = message.isError() ? ErrorData.class : dataType;
 
     ByteBuf dataBuffer = message.data();
-    try (ByteBufInputStream inputStream = new ByteBufInputStream(dataBuffer, true)) {
+    try {
       DataCodec dataCodec = DataCodec.getInstance(message.dataFormatOrDefault());
-      data = dataCodec.decode(inputStream, targetType);
+      data = dataCodec.decode(dataBuffer, targetType);
     } catch (Throwable ex) {
       throw new MessageCodecException("Failed to decode service message data", ex);
+    } finally {
+      ReferenceCountUtil.safestRelease(dataBuffer);
     }
 
     return ServiceMessage.from(message).data(data).build();
@@ -2,16 +2,17 @@
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufOutputStream;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.MessageCodecException;
 import io.scalecube.services.gateway.ReferenceCountUtil;
 import io.scalecube.services.gateway.client.GatewayClientCodec;
 import io.scalecube.services.transport.api.DataCodec;
+import java.util.Objects;
 
 public final class HttpGatewayClientCodec implements GatewayClientCodec {
 
   private final DataCodec dataCodec;
+  private final ByteBufAllocator allocator;
 
   /**
    * Constructor for codec which encode/decode client message to/from {@link ByteBuf}.
@@ -19,7 +20,18 @@ public final class HttpGatewayClientCodec implements GatewayClientCodec {
    * @param dataCodec data message codec.
    */
   public HttpGatewayClientCodec(DataCodec dataCodec) {
+    this(dataCodec, ByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor for codec which encode/decode client message to/from {@link ByteBuf}.
+   *
+   * @param dataCodec data message codec.
+   * @param allocator allocator of encoded messages
+   */
+  public HttpGatewayClientCodec(DataCodec dataCodec, ByteBufAllocator allocator) {
     this.dataCodec = dataCodec;
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
   }
 
   @Override
@@ -29,9 +41,9 @@ public ByteBuf encode(ServiceMessage message) {
     if (message.hasData(ByteBuf.class)) {
       content = message.data();
     } else {
-      content = ByteBufAllocator.DEFAULT.buffer();
+      content = allocator.buffer();
       try {
-        dataCodec.encode(new ByteBufOutputStream(content), message.data());
+        dataCodec.encode(content, message.data());
       } catch (Throwable t) {
         ReferenceCountUtil.safestRelease(content);
         throw new MessageCodecException(
@@ -3,6 +3,7 @@
 import static io.scalecube.services.gateway.client.ServiceMessageCodec.decodeData;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -36,11 +37,10 @@ public final class HttpGatewayClientTransport implements ClientChannel, ClientTr
   private static final Logger LOGGER = LoggerFactory.getLogger(HttpGatewayClientTransport.class);
 
   private static final String CONTENT_TYPE = "application/json";
-  private static final HttpGatewayClientCodec CLIENT_CODEC =
-      new HttpGatewayClientCodec(DataCodec.getInstance(CONTENT_TYPE));
   private static final int CONNECT_TIMEOUT_MILLIS = (int) Duration.ofSeconds(5).toMillis();
 
   private final GatewayClientCodec clientCodec;
+  private final ByteBufAllocator allocator;
   private final LoopResources loopResources;
   private final Function<HttpClient, HttpClient> operator;
   private final boolean ownsLoopResources;
@@ -48,7 +48,11 @@ public final class HttpGatewayClientTransport implements ClientChannel, ClientTr
   private final AtomicReference<HttpClient> httpClientReference = new AtomicReference<>();
 
   private HttpGatewayClientTransport(Builder builder) {
-    this.clientCodec = builder.clientCodec;
+    this.allocator = builder.allocator;
+    this.clientCodec =
+        builder.clientCodec != null
+            ? builder.clientCodec
+            : new HttpGatewayClientCodec(DataCodec.getInstance(CONTENT_TYPE), allocator);
     this.operator = builder.operator;
     this.loopResources =
         builder.loopResources == null
@@ -70,6 +74,7 @@ public ClientChannel create(ServiceReference serviceReference) {
                   .runOn(loopResources)
                   .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
                   .option(ChannelOption.TCP_NODELAY, true)
+                  .option(ChannelOption.ALLOCATOR, allocator)
                   .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE)));
         });
     return this;
@@ -144,7 +149,8 @@ public void close() {
 
   public static class Builder {
 
-    private GatewayClientCodec clientCodec = CLIENT_CODEC;
+    private GatewayClientCodec clientCodec;
+    private ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
     private LoopResources loopResources;
     private Function<HttpClient, HttpClient> operator = client -> client;
 
@@ -155,6 +161,11 @@ public Builder clientCodec(GatewayClientCodec clientCodec) {
       return this;
     }
 
+    public Builder allocator(ByteBufAllocator allocator) {
+      this.allocator = allocator;
+      return this;
+    }
+
     public Builder loopResources(LoopResources loopResources) {
       this.loopResources = loopResources;
       return this;
@@ -25,6 +25,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 
 public final class WebsocketGatewayClientCodec implements GatewayClientCodec {
@@ -40,18 +41,30 @@ public final class WebsocketGatewayClientCodec implements GatewayClientCodec {
   private static final String DATA_FIELD = "d";
 
   private final boolean releaseDataOnEncode;
+  private final ByteBufAllocator allocator;
 
   public WebsocketGatewayClientCodec() {
     this(true /*always release by default*/);
   }
 
   public WebsocketGatewayClientCodec(boolean releaseDataOnEncode) {
+    this(releaseDataOnEncode, ByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param releaseDataOnEncode whether to release data buffer of the message once it's encoded
+   * @param allocator allocator of encoded messages
+   */
+  public WebsocketGatewayClientCodec(boolean releaseDataOnEncode, ByteBufAllocator allocator) {
     this.releaseDataOnEncode = releaseDataOnEncode;
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
   }
 
   @Override
   public ByteBuf encode(ServiceMessage message) {
-    ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
+    ByteBuf byteBuf = allocator.buffer();
 
     try (JsonGenerator generator =
         jsonFactory.createGenerator(
@@ -1,6 +1,7 @@
 package io.scalecube.services.gateway.client.websocket;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
@@ -35,10 +36,10 @@ public final class WebsocketGatewayClientTransport implements ClientChannel, Cli
 
   private static final String STREAM_ID = "sid";
   private static final String CONTENT_TYPE = "application/json";
-  private static final WebsocketGatewayClientCodec CLIENT_CODEC = new WebsocketGatewayClientCodec();
   private static final int CONNECT_TIMEOUT_MILLIS = (int) Duration.ofSeconds(5).toMillis();
 
   private final GatewayClientCodec clientCodec;
+  private final ByteBufAllocator allocator;
   private final LoopResources loopResources;
   private final Duration keepAliveInterval;
   private final Function<HttpClient, HttpClient> operator;
@@ -49,7 +50,11 @@ public final class WebsocketGatewayClientTransport implements ClientChannel, Cli
       new AtomicReference<>();
 
   private WebsocketGatewayClientTransport(Builder builder) {
-    this.clientCodec = builder.clientCodec;
+    this.allocator = builder.allocator;
+    this.clientCodec =
+        builder.clientCodec != null
+            ? builder.clientCodec
+            : new WebsocketGatewayClientCodec(true /*always release by default*/, allocator);
     this.keepAliveInterval = builder.keepAliveInterval;
     this.operator = builder.operator;
     this.loopResources =
@@ -73,6 +78,7 @@ public ClientChannel create(ServiceReference serviceReference) {
                       .runOn(loopResources)
                       .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
                       .option(ChannelOption.TCP_NODELAY, true)
+                      .option(ChannelOption.ALLOCATOR, allocator)
                       .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE)));
 
           return clientSession(httpClient);
@@ -199,7 +205,8 @@ public void close() {
 
   public static class Builder {
 
-    private GatewayClientCodec clientCodec = CLIENT_CODEC;
+    private GatewayClientCodec clientCodec;
+    private ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
     private LoopResources loopResources;
     private Duration keepAliveInterval = Duration.ZERO;
     private Function<HttpClient, HttpClient> operator = client -> client;
@@ -211,6 +218,11 @@ public Builder clientCodec(GatewayClientCodec clientCodec) {
       return this;
     }
 
+    public Builder allocator(ByteBufAllocator allocator) {
+      this.allocator = allocator;
+      return this;
+    }
+
     public Builder loopResources(LoopResources loopResources) {
       this.loopResources = loopResources;
       return this;
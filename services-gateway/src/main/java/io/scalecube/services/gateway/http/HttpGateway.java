@@ -9,6 +9,8 @@
 import static io.netty.handler.codec.http.HttpMethod.PUT;
 import static io.netty.handler.codec.http.HttpMethod.TRACE;
 
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelOption;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.cors.CorsConfigBuilder;
 import io.netty.handler.codec.http.cors.CorsHandler;
@@ -37,6 +39,7 @@ public class HttpGateway implements Gateway {
   private final ServiceProviderErrorMapper errorMapper;
   private final boolean corsEnabled;
   private final CorsConfigBuilder corsConfigBuilder;
+  private final ByteBufAllocator allocator;
 
   private DisposableServer server;
   private LoopResources loopResources;
@@ -48,6 +51,7 @@ private HttpGateway(Builder builder) {
     this.errorMapper = builder.errorMapper;
     this.corsEnabled = builder.corsEnabled;
     this.corsConfigBuilder = builder.corsConfigBuilder;
+    this.allocator = builder.allocator;
   }
 
   @Override
@@ -64,13 +68,16 @@ public Gateway start(ServiceCall call, ServiceRegistry serviceRegistry) {
       HttpServer.create()
           .runOn(loopResources)
           .bindAddress(() -> new InetSocketAddress(port))
+          .childOption(ChannelOption.ALLOCATOR, allocator)
           .doOnConnection(
               connection -> {
                 if (corsEnabled) {
                   connection.addHandlerLast(new CorsHandler(corsConfigBuilder.build()));
                 }
               })
-          .handle(new HttpGatewayAcceptor(callFactory.apply(call), serviceRegistry, errorMapper))
+          .handle(
+              new HttpGatewayAcceptor(
+                  callFactory.apply(call), serviceRegistry, errorMapper, allocator))
           .bind()
           .doOnSuccess(server -> this.server = server)
           .toFuture()
@@ -118,6 +125,7 @@ public static class Builder {
             .allowedRequestMethods(SUPPORTED_METHODS.toArray(HttpMethod[]::new))
             .allowNullOrigin()
             .maxAge(3600);
+    private ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
 
     public Builder() {}
 
@@ -176,6 +184,15 @@ public Builder corsConfigBuilder(Consumer<CorsConfigBuilder> consumer) {
       return this;
     }
 
+    public ByteBufAllocator allocator() {
+      return allocator;
+    }
+
+    public Builder allocator(ByteBufAllocator allocator) {
+      this.allocator = allocator;
+      return this;
+    }
+
     public HttpGateway build() {
       return new HttpGateway(this);
     }
@@ -4,12 +4,13 @@
 import static io.netty.handler.codec.http.HttpResponseStatus.METHOD_NOT_ALLOWED;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.scalecube.services.api.ServiceMessage.HEADER_PRIORITY;
 import static io.scalecube.services.api.ServiceMessage.HEADER_REQUEST_METHOD;
+import static io.scalecube.services.api.ServiceMessage.HEADER_TIMEOUT;
 import static io.scalecube.services.gateway.http.HttpGateway.SUPPORTED_METHODS;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -25,6 +26,8 @@
 import io.scalecube.services.routing.StaticAddressRouter;
 import io.scalecube.services.transport.api.DataCodec;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.BiFunction;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -42,17 +45,38 @@
 
   private static final String ERROR_NAMESPACE = "io.scalecube.services.error";
 
+  private static final DynamicQualifier FILE_QUALIFIER =
+      DynamicQualifier.from("v1/endpoints/:endpointId/files/:name");
+
   private final ServiceCall serviceCall;
   private final ServiceRegistry serviceRegistry;
   private final ServiceProviderErrorMapper errorMapper;
+  private final ByteBufAllocator allocator;
 
   public HttpGatewayAcceptor(
       ServiceCall serviceCall,
       ServiceRegistry serviceRegistry,
       ServiceProviderErrorMapper errorMapper) {
+    this(serviceCall, serviceRegistry, errorMapper, ByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param serviceCall service call
+   * @param serviceRegistry service registry
+   * @param errorMapper error mapper
+   * @param allocator allocator of encoded responses
+   */
+  public HttpGatewayAcceptor(
+      ServiceCall serviceCall,
+      ServiceRegistry serviceRegistry,
+      ServiceProviderErrorMapper errorMapper,
+      ByteBufAllocator allocator) {
     this.serviceCall = serviceCall;
     this.serviceRegistry = serviceRegistry;
     this.errorMapper = errorMapper;
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
   }
 
   @Override
@@ -84,9 +108,10 @@ private Mono<Void> handleRequest(
 
     // Match and handle file request
 
-    final var serviceReference = matchFileRequest(serviceRegistry.lookupService(message));
+    final var match = serviceRegistry.matchService(message);
+    final var serviceReference = matchFileRequest(match.value());
     if (serviceReference != null) {
-      return handleFileRequest(serviceReference, message, httpResponse);
+      return handleFileRequest(serviceReference, message, match.pathVars(), httpResponse);
     }
 
     // Handle normal service request
@@ -107,10 +132,19 @@ private Mono<Void> handleRequest(
   private static ServiceMessage toMessage(HttpServerRequest httpRequest, ByteBuf content) {
     final var builder = ServiceMessage.builder();
 
-    // Copy http headers to service message
+    // Copy http headers to service message, except of priority which clients must not raise
 
     for (var httpHeader : httpRequest.requestHeaders()) {
-      builder.header(httpHeader.getKey(), httpHeader.getValue());
+      if (!HEADER_PRIORITY.equalsIgnoreCase(httpHeader.getKey())) {
+        builder.header(httpHeader.getKey(), httpHeader.getValue());
+      }
+    }
+
+    // Client timeout (http header name is case-insensitive) becomes deadline of the request
+
+    final var timeout = httpRequest.requestHeaders().get(HEADER_TIMEOUT);
+    if (timeout != null) {
+      builder.header(HEADER_TIMEOUT, timeout);
     }
 
     // Add http method to service message (used by REST services)
@@ -136,7 +170,7 @@ private static Publisher<Void> methodNotAllowed(HttpServerResponse httpResponse)
         .send();
   }
 
-  private static Mono<Void> error(HttpServerResponse httpResponse, ServiceMessage response) {
+  private Mono<Void> error(HttpServerResponse httpResponse, ServiceMessage response) {
     int code = response.errorType();
     HttpResponseStatus status = HttpResponseStatus.valueOf(code);
 
@@ -153,7 +187,7 @@ private static Mono<Void> noContent(HttpServerResponse httpResponse) {
     return httpResponse.status(NO_CONTENT).send();
   }
 
-  private static Mono<Void> ok(HttpServerResponse httpResponse, ServiceMessage response) {
+  private Mono<Void> ok(HttpServerResponse httpResponse, ServiceMessage response) {
     ByteBuf content =
         response.hasData(ByteBuf.class)
             ? ((ByteBuf) response.data())
@@ -163,11 +197,11 @@ private static Mono<Void> ok(HttpServerResponse httpResponse, ServiceMessage res
     return httpResponse.status(OK).send(Mono.just(content)).then();
   }
 
-  private static ByteBuf encodeData(Object data, String dataFormat) {
-    ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
+  private ByteBuf encodeData(Object data, String dataFormat) {
+    ByteBuf byteBuf = allocator.buffer();
 
     try {
-      DataCodec.getInstance(dataFormat).encode(new ByteBufOutputStream(byteBuf), data);
+      DataCodec.getInstance(dataFormat).encode(byteBuf, data);
     } catch (Throwable t) {
       ReferenceCountUtil.safestRelease(byteBuf);
       LOGGER.error("Failed to encode data: {}", data, t);
@@ -194,7 +228,10 @@ private static ServiceReference matchFileRequest(List<ServiceReference> list) {
   }
 
   private Mono<Void> handleFileRequest(
-      ServiceReference service, ServiceMessage message, HttpServerResponse response) {
+      ServiceReference service,
+      ServiceMessage message,
+      Map<String, String> pathVars,
+      HttpServerResponse response) {
     return serviceCall
         .router(new StaticAddressRouter(service.address()))
         .requestMany(message)
@@ -202,8 +239,7 @@ private Mono<Void> handleFileRequest(
             (signal, flux) -> {
               final var qualifier = message.qualifier();
               final var map =
-                  DynamicQualifier.from("v1/endpoints/:endpointId/files/:name")
-                      .matchQualifier(qualifier);
+                  pathVars != null ? pathVars : FILE_QUALIFIER.matchQualifier(qualifier);
               if (map == null) {
                 throw new RuntimeException("Wrong qualifier: " + qualifier);
               }
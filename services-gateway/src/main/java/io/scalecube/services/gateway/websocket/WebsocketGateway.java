@@ -1,5 +1,7 @@
 package io.scalecube.services.gateway.websocket;
 
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelOption;
 import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
 import io.scalecube.services.Address;
 import io.scalecube.services.ServiceCall;
@@ -9,7 +11,9 @@
 import io.scalecube.services.gateway.Gateway;
 import io.scalecube.services.gateway.GatewaySessionHandler;
 import io.scalecube.services.registry.api.ServiceRegistry;
+import io.scalecube.services.transport.api.BufferSizePredictor;
 import io.scalecube.services.transport.api.ServiceMessageDataDecoder;
+import io.scalecube.services.transport.jackson.JacksonCodec;
 import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.function.Function;
@@ -27,6 +31,9 @@ public class WebsocketGateway implements Gateway {
   private final Duration keepAliveInterval;
   private final boolean heartbeatEnabled;
   private final ServiceProviderErrorMapper errorMapper;
+  private final BufferSizePredictor sizePredictor;
+  private final ByteBufAllocator allocator;
+  private final JacksonCodec jacksonCodec;
 
   private DisposableServer server;
   private LoopResources loopResources;
@@ -39,6 +46,9 @@ private WebsocketGateway(Builder builder) {
     this.keepAliveInterval = builder.keepAliveInterval;
     this.heartbeatEnabled = builder.heartbeatEnabled;
     this.errorMapper = builder.errorMapper;
+    this.sizePredictor = builder.sizePredictor;
+    this.allocator = builder.allocator;
+    this.jacksonCodec = builder.jacksonCodec;
   }
 
   @Override
@@ -63,9 +73,16 @@ public Gateway start(ServiceCall call, ServiceRegistry serviceRegistry) {
       HttpServer.create()
           .runOn(loopResources)
           .bindAddress(() -> new InetSocketAddress(port))
+          .childOption(ChannelOption.ALLOCATOR, allocator)
           .doOnConnection(this::setupKeepAlive)
           .handle(
-              new WebsocketGatewayAcceptor(callFactory.apply(call), gatewayHandler, errorMapper))
+              new WebsocketGatewayAcceptor(
+                  callFactory.apply(call),
+                  gatewayHandler,
+                  errorMapper,
+                  sizePredictor,
+                  allocator,
+                  jacksonCodec))
           .bind()
           .doOnSuccess(server -> this.server = server)
           .thenReturn(this)
@@ -143,6 +160,9 @@ public static class Builder {
     private Duration keepAliveInterval = Duration.ZERO;
     private boolean heartbeatEnabled = false;
     private ServiceProviderErrorMapper errorMapper = DefaultErrorMapper.INSTANCE;
+    private BufferSizePredictor sizePredictor = new BufferSizePredictor();
+    private ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+    private JacksonCodec jacksonCodec = WebsocketServiceMessageCodec.DEFAULT_JACKSON_CODEC;
 
     public Builder() {}
 
@@ -205,6 +225,33 @@ public Builder errorMapper(ServiceProviderErrorMapper errorMapper) {
       return this;
     }
 
+    public BufferSizePredictor sizePredictor() {
+      return sizePredictor;
+    }
+
+    public Builder sizePredictor(BufferSizePredictor sizePredictor) {
+      this.sizePredictor = sizePredictor;
+      return this;
+    }
+
+    public ByteBufAllocator allocator() {
+      return allocator;
+    }
+
+    public Builder allocator(ByteBufAllocator allocator) {
+      this.allocator = allocator;
+      return this;
+    }
+
+    public JacksonCodec jacksonCodec() {
+      return jacksonCodec;
+    }
+
+    public Builder jacksonCodec(JacksonCodec jacksonCodec) {
+      this.jacksonCodec = jacksonCodec;
+      return this;
+    }
+
     public WebsocketGateway build() {
       return new WebsocketGateway(this);
     }
@@ -10,6 +10,7 @@
 import static io.scalecube.services.gateway.websocket.GatewayMessages.validateSidOnSession;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.scalecube.services.ServiceCall;
@@ -23,6 +24,8 @@
 import io.scalecube.services.exceptions.UnauthorizedException;
 import io.scalecube.services.gateway.GatewaySessionHandler;
 import io.scalecube.services.gateway.ReferenceCountUtil;
+import io.scalecube.services.transport.api.BufferSizePredictor;
+import io.scalecube.services.transport.jackson.JacksonCodec;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -49,7 +52,7 @@
 
   private static final AtomicLong SESSION_ID_GENERATOR = new AtomicLong(System.currentTimeMillis());
 
-  private final WebsocketServiceMessageCodec messageCodec = new WebsocketServiceMessageCodec();
+  private final WebsocketServiceMessageCodec messageCodec;
   private final ServiceCall serviceCall;
   private final GatewaySessionHandler gatewayHandler;
   private final ServiceProviderErrorMapper errorMapper;
@@ -65,6 +68,68 @@ public WebsocketGatewayAcceptor(
       ServiceCall serviceCall,
       GatewaySessionHandler gatewayHandler,
       ServiceProviderErrorMapper errorMapper) {
+    this(serviceCall, gatewayHandler, errorMapper, new BufferSizePredictor());
+  }
+
+  /**
+   * Constructor for websocket acceptor.
+   *
+   * @param serviceCall service call
+   * @param gatewayHandler gateway handler
+   * @param errorMapper error mapper
+   * @param sizePredictor size predictor of encoded messages
+   */
+  public WebsocketGatewayAcceptor(
+      ServiceCall serviceCall,
+      GatewaySessionHandler gatewayHandler,
+      ServiceProviderErrorMapper errorMapper,
+      BufferSizePredictor sizePredictor) {
+    this(serviceCall, gatewayHandler, errorMapper, sizePredictor, ByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor for websocket acceptor.
+   *
+   * @param serviceCall service call
+   * @param gatewayHandler gateway handler
+   * @param errorMapper error mapper
+   * @param sizePredictor size predictor of encoded messages
+   * @param allocator allocator of encoded messages
+   */
+  public WebsocketGatewayAcceptor(
+      ServiceCall serviceCall,
+      GatewaySessionHandler gatewayHandler,
+      ServiceProviderErrorMapper errorMapper,
+      BufferSizePredictor sizePredictor,
+      ByteBufAllocator allocator) {
+    this(
+        serviceCall,
+        gatewayHandler,
+        errorMapper,
+        sizePredictor,
+        allocator,
+        WebsocketServiceMessageCodec.DEFAULT_JACKSON_CODEC);
+  }
+
+  /**
+   * Constructor for websocket acceptor.
+   *
+   * @param serviceCall service call
+   * @param gatewayHandler gateway handler
+   * @param errorMapper error mapper
+   * @param sizePredictor size predictor of encoded messages
+   * @param allocator allocator of encoded messages
+   * @param jacksonCodec JSON codec of message data
+   */
+  public WebsocketGatewayAcceptor(
+      ServiceCall serviceCall,
+      GatewaySessionHandler gatewayHandler,
+      ServiceProviderErrorMapper errorMapper,
+      BufferSizePredictor sizePredictor,
+      ByteBufAllocator allocator,
+      JacksonCodec jacksonCodec) {
+    this.messageCodec =
+        new WebsocketServiceMessageCodec(true, sizePredictor, allocator, jacksonCodec);
     this.serviceCall = Objects.requireNonNull(serviceCall, "serviceCall");
     this.gatewayHandler = Objects.requireNonNull(gatewayHandler, "gatewayHandler");
     this.errorMapper = Objects.requireNonNull(errorMapper, "errorMapper");
@@ -2,18 +2,12 @@
 
 import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
@@ -21,24 +15,84 @@
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.MessageCodecException;
 import io.scalecube.services.gateway.ReferenceCountUtil;
+import io.scalecube.services.transport.api.BufferSizePredictor;
+import io.scalecube.services.transport.api.DataCodec;
+import io.scalecube.services.transport.jackson.JacksonCodec;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 public final class WebsocketServiceMessageCodec {
 
-  private static final ObjectMapper objectMapper = objectMapper();
-
-  private static final MappingJsonFactory jsonFactory = new MappingJsonFactory(objectMapper);
+  // JSON data codec (shared with services and HTTP gateway), used by codecs created without
+  // explicit JacksonCodec
+  static final JacksonCodec DEFAULT_JACKSON_CODEC = defaultJacksonCodec();
 
   private final boolean releaseDataOnEncode;
+  private final BufferSizePredictor sizePredictor;
+  private final ByteBufAllocator allocator;
+  private final JacksonCodec jacksonCodec;
+  private final JsonFactory jsonFactory;
 
   public WebsocketServiceMessageCodec() {
     this(true /*always release by default*/);
   }
 
   public WebsocketServiceMessageCodec(boolean releaseDataOnEncode) {
+    this(releaseDataOnEncode, new BufferSizePredictor());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param releaseDataOnEncode whether to release {@link ByteBuf} data after it was encoded
+   * @param sizePredictor size predictor of encoded messages
+   */
+  public WebsocketServiceMessageCodec(
+      boolean releaseDataOnEncode, BufferSizePredictor sizePredictor) {
+    this(releaseDataOnEncode, sizePredictor, ByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param releaseDataOnEncode whether to release {@link ByteBuf} data after it was encoded
+   * @param sizePredictor size predictor of encoded messages
+   * @param allocator allocator of encoded messages
+   */
+  public WebsocketServiceMessageCodec(
+      boolean releaseDataOnEncode, BufferSizePredictor sizePredictor, ByteBufAllocator allocator) {
+    this(releaseDataOnEncode, sizePredictor, allocator, DEFAULT_JACKSON_CODEC);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param releaseDataOnEncode whether to release {@link ByteBuf} data after it was encoded
+   * @param sizePredictor size predictor of encoded messages
+   * @param allocator allocator of encoded messages
+   * @param jacksonCodec JSON codec, its mapper and cached writers are used to encode data
+   */
+  public WebsocketServiceMessageCodec(
+      boolean releaseDataOnEncode,
+      BufferSizePredictor sizePredictor,
+      ByteBufAllocator allocator,
+      JacksonCodec jacksonCodec) {
     this.releaseDataOnEncode = releaseDataOnEncode;
+    this.sizePredictor = Objects.requireNonNull(sizePredictor, "sizePredictor");
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.jacksonCodec = Objects.requireNonNull(jacksonCodec, "jacksonCodec");
+    this.jsonFactory = jacksonCodec.mapper().getFactory();
+  }
+
+  public BufferSizePredictor sizePredictor() {
+    return sizePredictor;
+  }
+
+  public ByteBufAllocator allocator() {
+    return allocator;
   }
 
   /**
@@ -48,7 +102,8 @@ public WebsocketServiceMessageCodec(boolean releaseDataOnEncode) {
    * @throws MessageCodecException in case of error during encoding
    */
   public ByteBuf encode(ServiceMessage message) throws MessageCodecException {
-    ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
+    final int predictedSize = sizePredictor.nextSize(message.qualifier());
+    ByteBuf byteBuf = allocator.buffer(predictedSize);
     try (JsonGenerator generator =
         jsonFactory.createGenerator(
             (OutputStream) new ByteBufOutputStream(byteBuf), JsonEncoding.UTF8)) {
@@ -88,7 +143,8 @@ public ByteBuf encode(ServiceMessage message) throws MessageCodecException {
             }
           }
         } else {
-          generator.writeObjectField(GatewayMessages.DATA_FIELD, data);
+          generator.writeFieldName(GatewayMessages.DATA_FIELD);
+          jacksonCodec.writer(data.getClass()).writeValue(generator, data);
         }
       }
 
@@ -100,6 +156,7 @@ public ByteBuf encode(ServiceMessage message) throws MessageCodecException {
       }
       throw new MessageCodecException("Failed to encode gateway service message", ex);
     }
+    sizePredictor.record(message.qualifier(), predictedSize, byteBuf.readableBytes());
     return byteBuf;
   }
 
@@ -111,8 +168,9 @@ public ByteBuf encode(ServiceMessage message) throws MessageCodecException {
    * @throws MessageCodecException - in case of issues during decoding
    */
   public ServiceMessage decode(ByteBuf byteBuf) throws MessageCodecException {
-    try (InputStream stream = new ByteBufInputStream(byteBuf, true)) {
-      JsonParser jp = jsonFactory.createParser(stream);
+    final int readerIndex = byteBuf.readerIndex();
+    final int length = byteBuf.readableBytes();
+    try (JsonParser jp = createParser(byteBuf, readerIndex, length)) {
       ServiceMessage.Builder result = ServiceMessage.builder();
 
       JsonToken current = jp.nextToken();
@@ -138,32 +196,36 @@ public ServiceMessage decode(ByteBuf byteBuf) throws MessageCodecException {
             jp.skipChildren();
           }
           dataEnd = jp.getCurrentLocation().getByteOffset();
-        } else {
-          // headers
+        } else if (!fieldName.equals(ServiceMessage.HEADER_PRIORITY)) {
+          // headers, except of priority which clients must not raise
           result.header(fieldName, jp.getValueAsString());
         }
       }
       // data
       if (dataEnd > dataStart) {
-        result.data(byteBuf.copy((int) dataStart, (int) (dataEnd - dataStart)));
+        result.data(byteBuf.copy(readerIndex + (int) dataStart, (int) (dataEnd - dataStart)));
       }
       return result.build();
     } catch (Throwable ex) {
       throw new MessageCodecException("Failed to decode gateway service message", ex);
+    } finally {
+      ReferenceCountUtil.safestRelease(byteBuf);
+    }
+  }
+
+  private JsonParser createParser(ByteBuf byteBuf, int index, int length) throws IOException {
+    if (byteBuf.hasArray()) {
+      return jsonFactory.createParser(byteBuf.array(), byteBuf.arrayOffset() + index, length);
     }
+    // direct (or composite) buffer is streamed to the parser, instead of being copied to heap array
+    final var duplicate = byteBuf.duplicate().setIndex(index, index + length);
+    return jsonFactory.createParser((InputStream) new ByteBufInputStream(duplicate));
   }
 
-  private static ObjectMapper objectMapper() {
-    ObjectMapper mapper = new ObjectMapper();
-    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-    mapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
-    mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-    mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-    mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-    mapper.configure(SerializationFeature.WRITE_ENUMS_USING_TO_STRING, true);
-    mapper.registerModule(new JavaTimeModule());
-    mapper.findAndRegisterModules();
-    return mapper;
+  private static JacksonCodec defaultJacksonCodec() {
+    if (DataCodec.INSTANCES.get(JacksonCodec.CONTENT_TYPE) instanceof JacksonCodec jacksonCodec) {
+      return jacksonCodec;
+    }
+    return new JacksonCodec(JacksonCodec.initMapper(new ObjectMapper()).findAndRegisterModules());
   }
 }
@@ -16,6 +16,7 @@
 import io.scalecube.services.examples.GreetingRequest;
 import io.scalecube.services.examples.GreetingService;
 import io.scalecube.services.examples.GreetingServiceImpl;
+import io.scalecube.services.exceptions.DeadlineExceededException;
 import io.scalecube.services.exceptions.InternalServiceException;
 import io.scalecube.services.gateway.ErrorService;
 import io.scalecube.services.gateway.ErrorServiceImpl;
@@ -158,6 +159,21 @@ void shouldReturnInternalServerErrorWhenServiceFails() {
         .verify(TIMEOUT);
   }
 
+  @Test
+  void shouldReturnGatewayTimeoutWhenDeadlineExceeded() {
+    // gateway derives deadline from client header (case-insensitive)
+    final var request =
+        ServiceMessage.builder()
+            .qualifier(GreetingService.NAMESPACE, "never/one")
+            .header("Timeout", "100")
+            .data("hello")
+            .build();
+
+    StepVerifier.create(serviceCall.requestOne(request, String.class))
+        .expectError(DeadlineExceededException.class)
+        .verify(TIMEOUT);
+  }
+
   @Test
   void shouldSuccessfullyReuseServiceProxy() {
     StepVerifier.create(greetingService.one("hello"))
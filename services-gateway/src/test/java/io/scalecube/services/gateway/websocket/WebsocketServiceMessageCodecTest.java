@@ -7,6 +7,7 @@
 import static io.scalecube.services.gateway.websocket.GatewayMessages.STREAM_ID_FIELD;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
@@ -14,13 +15,20 @@
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.transport.api.BufferSizePredictor;
+import io.scalecube.services.transport.api.DataCodec;
+import io.scalecube.services.transport.api.InstrumentedByteBufAllocator;
+import io.scalecube.services.transport.jackson.JacksonCodec;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -140,6 +148,67 @@ public void testDecodeStringData() {
     assertEquals(expectedData, ((ByteBuf) message.data()).toString(StandardCharsets.UTF_8));
   }
 
+  @Test
+  public void testDecodeHeapBufferWithReaderIndex() {
+    String expectedData = "{\"name\":\"test\"}";
+    String stringData =
+        String.format(
+            TestInputs.STRING_DATA_PATTERN_Q_SIG_SID_D,
+            TestInputs.Q,
+            TestInputs.SIG,
+            TestInputs.SID,
+            expectedData);
+
+    ByteBuf input = Unpooled.buffer();
+    input.writeBytes("garbage".getBytes());
+    input.writeBytes(stringData.getBytes());
+    input.readerIndex("garbage".length());
+
+    ServiceMessage message = codec.decode(input);
+
+    assertEquals(TestInputs.Q, message.qualifier());
+    assertEquals(TestInputs.SID, Long.parseLong(message.header(STREAM_ID_FIELD)));
+    assertEquals(expectedData, ((ByteBuf) message.data()).toString(StandardCharsets.UTF_8));
+    assertEquals(0, input.refCnt());
+  }
+
+  @Test
+  public void testDecodeDirectBufferWithReaderIndex() {
+    String expectedData = "{\"name\":\"test\"}";
+    String stringData =
+        String.format(
+            TestInputs.STRING_DATA_PATTERN_Q_SIG_SID_D,
+            TestInputs.Q,
+            TestInputs.SIG,
+            TestInputs.SID,
+            expectedData);
+
+    ByteBuf input = Unpooled.directBuffer();
+    input.writeBytes("garbage".getBytes());
+    input.writeBytes(stringData.getBytes());
+    input.readerIndex("garbage".length());
+
+    ServiceMessage message = codec.decode(input);
+
+    assertEquals(TestInputs.Q, message.qualifier());
+    assertEquals(TestInputs.SID, Long.parseLong(message.header(STREAM_ID_FIELD)));
+    assertEquals(expectedData, ((ByteBuf) message.data()).toString(StandardCharsets.UTF_8));
+    assertEquals(0, input.refCnt());
+  }
+
+  @Test
+  public void testDecodeIgnoresPriority() {
+    ByteBuf input =
+        toByteBuf(
+            "{\"q\":\"" + TestInputs.Q + "\",\"sid\":1,\"priority\":\"HIGH\",\"user\":\"joe\"}");
+
+    ServiceMessage message = codec.decode(input);
+
+    assertEquals(TestInputs.Q, message.qualifier());
+    assertEquals("joe", message.header("user"));
+    assertNull(message.header(ServiceMessage.HEADER_PRIORITY));
+  }
+
   @Test
   public void testDecodeBooleanData() {
     Boolean expectedData = Boolean.FALSE;
@@ -252,6 +321,54 @@ public void testEncodeNumberData() throws Exception {
     assertEquals(data, actual.data());
   }
 
+  @Test
+  public void testEncodeWithAllocator() throws Exception {
+    final var allocator =
+        new InstrumentedByteBufAllocator("websocket", new UnpooledByteBufAllocator(false));
+    final var codec = new WebsocketServiceMessageCodec(true, new BufferSizePredictor(), allocator);
+    ServiceMessage message =
+        ServiceMessage.builder()
+            .qualifier(TestInputs.Q)
+            .header(STREAM_ID_FIELD, TestInputs.SID)
+            .data(toByteBuf(42))
+            .build();
+
+    ByteBuf bb = codec.encode(message);
+    ServiceMessage actual = fromByteBuf(bb, Integer.class);
+
+    assertEquals(Integer.valueOf(42), actual.data());
+    assertEquals(1, allocator.allocations());
+  }
+
+  @Test
+  public void testDefaultJacksonCodecIsDataCodec() {
+    assertSame(
+        DataCodec.getInstance(JacksonCodec.CONTENT_TYPE),
+        WebsocketServiceMessageCodec.DEFAULT_JACKSON_CODEC);
+  }
+
+  @Test
+  public void testEncodeWithJacksonCodec() {
+    final var mapper = objectMapper();
+    mapper.setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE);
+    final var jacksonCodec = new JacksonCodec(mapper);
+    final var codec =
+        new WebsocketServiceMessageCodec(
+            true, new BufferSizePredictor(), ByteBufAllocator.DEFAULT, jacksonCodec);
+    TestInputs.Entity data = new TestInputs.Entity("test", 123, true);
+    ServiceMessage message =
+        ServiceMessage.builder()
+            .qualifier(TestInputs.Q)
+            .header(STREAM_ID_FIELD, TestInputs.SID)
+            .data(data)
+            .build();
+
+    ByteBuf bb = codec.encode(message);
+
+    assertTrue(bb.toString(StandardCharsets.UTF_8).contains("\"Text\":\"test\""));
+    bb.release();
+  }
+
   @Test
   public void testEncodeBooleanData() throws Exception {
     Boolean data = true;
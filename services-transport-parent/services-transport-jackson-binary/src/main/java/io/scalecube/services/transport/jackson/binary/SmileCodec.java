@@ -0,0 +1,57 @@
+package io.scalecube.services.transport.jackson.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.netty.buffer.ByteBuf;
+import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.transport.api.DataCodec;
+import io.scalecube.services.transport.jackson.JacksonCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * {@link DataCodec} for <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>
+ * (binary JSON). Mapper is configured the same way as in {@link JacksonCodec}, so DTOs don't need
+ * any changes, enable it with {@code ServiceCall.contentType(SmileCodec.CONTENT_TYPE)}.
+ */
+public final class SmileCodec implements DataCodec {
+
+  public static final String CONTENT_TYPE = "application/x-jackson-smile";
+
+  private final JacksonCodec delegate;
+
+  public SmileCodec() {
+    this(JacksonCodec.initMapper(new SmileMapper()));
+  }
+
+  public SmileCodec(ObjectMapper mapper) {
+    this.delegate = new JacksonCodec(mapper, CONTENT_TYPE);
+  }
+
+  @Override
+  public String contentType() {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public void encode(OutputStream stream, Object value) throws IOException {
+    delegate.encode(stream, value);
+  }
+
+  @Override
+  public Object decode(InputStream stream, Type type) throws IOException {
+    return delegate.decode(stream, type);
+  }
+
+  @Override
+  public Object decode(ByteBuf byteBuf, Type type) throws IOException {
+    return delegate.decode(byteBuf, type);
+  }
+
+  @Override
+  public void prewarm(MethodInfo methodInfo) {
+    delegate.prewarm(methodInfo);
+  }
+}
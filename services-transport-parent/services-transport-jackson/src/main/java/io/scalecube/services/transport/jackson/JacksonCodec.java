@@ -3,64 +3,251 @@
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.scalecube.services.methods.MethodInfo;
 import io.scalecube.services.transport.api.DataCodec;
 import io.scalecube.services.transport.api.HeadersCodec;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * JSON {@link DataCodec} and {@link HeadersCodec}. {@link ObjectReader} and {@link ObjectWriter}
+ * are resolved once per type and cached, types of service methods are resolved upfront (see {@link
+ * #prewarm(MethodInfo)}).
+ *
+ * <p>{@link ByteBuf} is encoded by generator writing straight into the buffer. Heap buffer is
+ * decoded from its array, direct buffer of JSON content through non-blocking parser fed with its
+ * nio buffer; composite buffers (and direct ones of other data formats) still go through {@link
+ * ByteBufInputStream}.
+ *
+ * <p>Instance created by {@link java.util.ServiceLoader} registers Jackson Blackbird module if
+ * system property {@value #BLACKBIRD_PROPERTY} is {@code true} ({@code
+ * com.fasterxml.jackson.module:jackson-module-blackbird} must be on the classpath then).
+ */
 public final class JacksonCodec implements DataCodec, HeadersCodec {
 
   public static final String CONTENT_TYPE = "application/json";
 
+  public static final String BLACKBIRD_PROPERTY = "io.scalecube.services.jackson.blackbird";
+
   private final ObjectMapper mapper;
+  private final String contentType;
+  private final boolean asyncByteBufferParsing;
+
+  private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
   public JacksonCodec() {
-    this(initMapper());
+    this(Boolean.getBoolean(BLACKBIRD_PROPERTY));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param blackbird whether to register Jackson Blackbird module
+   */
+  public JacksonCodec(boolean blackbird) {
+    this(initMapper(new ObjectMapper(), blackbird));
   }
 
   public JacksonCodec(ObjectMapper mapper) {
+    this(mapper, CONTENT_TYPE);
+  }
+
+  /**
+   * Constructor for codecs of other Jackson data formats (Smile, CBOR, etc.), where {@code mapper}
+   * is created on top of corresponding {@code JsonFactory}.
+   *
+   * @param mapper object mapper
+   * @param contentType content type
+   */
+  public JacksonCodec(ObjectMapper mapper, String contentType) {
     this.mapper = mapper;
+    this.contentType = contentType;
+    // only JSON factory parses from ByteBuffer in non-blocking mode
+    this.asyncByteBufferParsing =
+        JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName());
+  }
+
+  public ObjectMapper mapper() {
+    return mapper;
   }
 
   @Override
   public String contentType() {
-    return CONTENT_TYPE;
+    return contentType;
   }
 
   @Override
   public void encode(OutputStream stream, Map<String, String> headers) throws IOException {
-    mapper.writeValue(stream, headers);
+    writer(headers.getClass()).writeValue(stream, headers);
   }
 
   @Override
   public void encode(OutputStream stream, Object value) throws IOException {
-    mapper.writeValue(stream, value);
+    if (value == null) {
+      mapper.writeValue(stream, null);
+      return;
+    }
+    writer(value.getClass()).writeValue(stream, value);
+  }
+
+  @Override
+  public void encode(ByteBuf byteBuf, Map<String, String> headers) throws IOException {
+    writeValue(byteBuf, writer(headers.getClass()), headers);
+  }
+
+  @Override
+  public void encode(ByteBuf byteBuf, Object value) throws IOException {
+    writeValue(byteBuf, value != null ? writer(value.getClass()) : mapper.writer(), value);
   }
 
   @Override
   public Map<String, String> decode(InputStream stream) throws IOException {
-    //noinspection unchecked
     return stream.available() == 0
         ? Collections.emptyMap()
-        : mapper.readValue(stream, HashMap.class);
+        : reader(HashMap.class).readValue(stream);
   }
 
   @Override
   public Object decode(InputStream stream, Type type) throws IOException {
-    return mapper.readValue(stream, mapper.getTypeFactory().constructType(type));
+    return reader(type).readValue(stream);
+  }
+
+  @Override
+  public Map<String, String> decode(ByteBuf byteBuf) throws IOException {
+    return !byteBuf.isReadable() ? Collections.emptyMap() : readValue(byteBuf, HashMap.class);
+  }
+
+  @Override
+  public Object decode(ByteBuf byteBuf, Type type) throws IOException {
+    return readValue(byteBuf, type);
+  }
+
+  @Override
+  public void prewarm(MethodInfo methodInfo) {
+    prewarm(methodInfo.requestType());
+    prewarm(methodInfo.parameterizedReturnType());
+  }
+
+  private void prewarm(Type type) {
+    if (type == null || type == Void.TYPE || type == Object.class) {
+      return;
+    }
+    try {
+      reader(type);
+      if (type instanceof Class<?> clazz
+          && !clazz.isInterface()
+          && !Modifier.isAbstract(clazz.getModifiers())) {
+        writer(clazz);
+      }
+    } catch (Exception e) {
+      // will be reported on first encode/decode
+    }
   }
 
-  private static ObjectMapper initMapper() {
-    ObjectMapper mapper = new ObjectMapper();
+  /**
+   * Returns cached {@link ObjectReader} for given type.
+   *
+   * @param type type
+   * @return object reader
+   */
+  public ObjectReader reader(Type type) {
+    final var reader = readers.get(type);
+    if (reader != null) {
+      return reader;
+    }
+    return readers.computeIfAbsent(
+        type, key -> mapper.readerFor(mapper.getTypeFactory().constructType(key)));
+  }
+
+  /**
+   * Returns cached {@link ObjectWriter} for given (runtime) class of values.
+   *
+   * @param type class of values
+   * @return object writer
+   */
+  public ObjectWriter writer(Class<?> type) {
+    final var writer = writers.get(type);
+    if (writer != null) {
+      return writer;
+    }
+    return writers.computeIfAbsent(type, mapper::writerFor);
+  }
+
+  boolean hasReader(Type type) {
+    return readers.containsKey(type);
+  }
+
+  boolean hasWriter(Class<?> type) {
+    return writers.containsKey(type);
+  }
+
+  private void writeValue(ByteBuf byteBuf, ObjectWriter writer, Object value) throws IOException {
+    try (var generator = writer.createGenerator(new ByteBufWriter(byteBuf))) {
+      writer.writeValue(generator, value);
+    }
+  }
+
+  private <T> T readValue(ByteBuf byteBuf, Type type) throws IOException {
+    final var reader = reader(type);
+    final int index = byteBuf.readerIndex();
+    final int length = byteBuf.readableBytes();
+    final T value;
+    if (byteBuf.hasArray()) {
+      value = reader.readValue(byteBuf.array(), byteBuf.arrayOffset() + index, length);
+    } else if (asyncByteBufferParsing && byteBuf.nioBufferCount() == 1) {
+      // direct buffer is parsed from its nio buffer, without stream and parser input buffer
+      try (var parser = mapper.getFactory().createNonBlockingByteBufferParser()) {
+        final var feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        feeder.feedInput(byteBuf.nioBuffer(index, length));
+        feeder.endOfInput();
+        value = reader.readValue(parser);
+      }
+    } else {
+      // composite buffer (or data format without non-blocking parser) is read through stream
+      value = reader.readValue((InputStream) new ByteBufInputStream(byteBuf.duplicate()));
+    }
+    byteBuf.skipBytes(length);
+    return value;
+  }
+
+  /**
+   * Applies default configuration of this codec to the given mapper. Used by codecs of other
+   * Jackson data formats, so DTOs are (de)serialized the same way regardless of content type.
+   *
+   * @param mapper object mapper
+   * @return given mapper
+   */
+  public static ObjectMapper initMapper(ObjectMapper mapper) {
+    return initMapper(mapper, false);
+  }
+
+  /**
+   * Applies default configuration of this codec to the given mapper.
+   *
+   * @param mapper object mapper
+   * @param blackbird whether to register Jackson Blackbird module
+   * @return given mapper
+   */
+  public static ObjectMapper initMapper(ObjectMapper mapper, boolean blackbird) {
     mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
     mapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
@@ -69,6 +256,54 @@ private static ObjectMapper initMapper() {
     mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
     mapper.configure(SerializationFeature.WRITE_ENUMS_USING_TO_STRING, true);
     mapper.registerModule(new JavaTimeModule());
+    if (blackbird) {
+      registerBlackbird(mapper);
+    }
     return mapper;
   }
+
+  private static void registerBlackbird(ObjectMapper mapper) {
+    try {
+      Blackbird.register(mapper);
+    } catch (NoClassDefFoundError e) {
+      throw new IllegalStateException(
+          "Blackbird is enabled, but jackson-module-blackbird is not on the classpath", e);
+    }
+  }
+
+  // generator output goes straight to the buffer (its array, if any), see #writeValue
+  private static final class ByteBufWriter extends OutputStream {
+
+    private final ByteBuf byteBuf;
+
+    private ByteBufWriter(ByteBuf byteBuf) {
+      this.byteBuf = byteBuf;
+    }
+
+    @Override
+    public void write(int b) {
+      byteBuf.writeByte(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      byteBuf.ensureWritable(length);
+      final int writerIndex = byteBuf.writerIndex();
+      if (byteBuf.hasArray()) {
+        System.arraycopy(
+            bytes, offset, byteBuf.array(), byteBuf.arrayOffset() + writerIndex, length);
+      } else {
+        byteBuf.setBytes(writerIndex, bytes, offset, length);
+      }
+      byteBuf.writerIndex(writerIndex + length);
+    }
+  }
+
+  // keeps reference to optional dependency out of the codec class itself
+  private static final class Blackbird {
+
+    private static void register(ObjectMapper mapper) {
+      mapper.registerModule(new BlackbirdModule());
+    }
+  }
 }
@@ -0,0 +1,146 @@
+package io.scalecube.services.transport.protobuf;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.transport.api.DataCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link DataCodec} for generated Protocol Buffers messages ({@link MessageLite} subclasses). Only
+ * request/response types which are protobuf messages are supported, so service methods must be
+ * declared with generated types (or with {@code @RequestType} / {@code @ResponseType} pointing to
+ * them). Parser of every message type is resolved once and cached, types known from {@link
+ * MethodInfo} are resolved upfront (see {@link #prewarm(MethodInfo)}).
+ */
+public final class ProtobufCodec implements DataCodec {
+
+  public static final String CONTENT_TYPE = "application/protobuf";
+
+  private final Map<Class<?>, Parser<?>> parsers = new ConcurrentHashMap<>();
+
+  @Override
+  public String contentType() {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public void encode(OutputStream stream, Object value) throws IOException {
+    toMessage(value).writeTo(stream);
+  }
+
+  @Override
+  public Object decode(InputStream stream, Type type) throws IOException {
+    return parser(type).parseFrom(stream);
+  }
+
+  @Override
+  public void encode(ByteBuf byteBuf, Object value) throws IOException {
+    final var message = toMessage(value);
+    final int size = message.getSerializedSize();
+    byteBuf.ensureWritable(size);
+
+    final int writerIndex = byteBuf.writerIndex();
+    final CodedOutputStream output;
+    if (byteBuf.hasArray()) {
+      output =
+          CodedOutputStream.newInstance(byteBuf.array(), byteBuf.arrayOffset() + writerIndex, size);
+    } else if (byteBuf.nioBufferCount() == 1) {
+      // unlike nioBuffer(), internal nio buffer always shares content, so it can be written to
+      output = CodedOutputStream.newInstance(byteBuf.internalNioBuffer(writerIndex, size));
+    } else {
+      message.writeTo(new ByteBufOutputStream(byteBuf));
+      return;
+    }
+    message.writeTo(output);
+    output.checkNoSpaceLeft();
+    byteBuf.writerIndex(writerIndex + size);
+  }
+
+  @Override
+  public Object decode(ByteBuf byteBuf, Type type) throws IOException {
+    final var parser = parser(type);
+    final int index = byteBuf.readerIndex();
+    final int length = byteBuf.readableBytes();
+    final Object value;
+    if (byteBuf.hasArray()) {
+      value = parser.parseFrom(byteBuf.array(), byteBuf.arrayOffset() + index, length);
+    } else {
+      value = parser.parseFrom(byteBuf.nioBuffer(index, length));
+    }
+    byteBuf.skipBytes(length);
+    return value;
+  }
+
+  @Override
+  public void prewarm(MethodInfo methodInfo) {
+    prewarm(methodInfo.requestType());
+    prewarm(methodInfo.parameterizedReturnType());
+  }
+
+  private void prewarm(Type type) {
+    if (isMessageType(type)) {
+      try {
+        parser(type);
+      } catch (IOException e) {
+        // will be reported on first decode
+      }
+    }
+  }
+
+  /**
+   * Returns whether given type is generated protobuf message type.
+   *
+   * @param type type
+   * @return true if type is protobuf message type
+   */
+  public static boolean isMessageType(Type type) {
+    return type instanceof Class<?> clazz
+        && MessageLite.class.isAssignableFrom(clazz)
+        && clazz != MessageLite.class;
+  }
+
+  boolean hasParser(Class<?> type) {
+    return parsers.containsKey(type);
+  }
+
+  private Parser<?> parser(Type type) throws IOException {
+    final var parser = type instanceof Class<?> clazz ? parsers.get(clazz) : null;
+    if (parser != null) {
+      return parser;
+    }
+    if (!isMessageType(type)) {
+      throw new IOException("Not a protobuf message type: " + type);
+    }
+    try {
+      return parsers.computeIfAbsent((Class<?>) type, ProtobufCodec::newParser);
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e.getCause());
+    }
+  }
+
+  private static Parser<?> newParser(Class<?> type) {
+    try {
+      final var defaultInstance = (MessageLite) type.getMethod("getDefaultInstance").invoke(null);
+      return defaultInstance.getParserForType();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Failed to get parser of " + type.getName(), e);
+    }
+  }
+
+  private static MessageLite toMessage(Object value) throws IOException {
+    if (value instanceof MessageLite message) {
+      return message;
+    }
+    throw new IOException(
+        "Not a protobuf message: " + (value != null ? value.getClass().getName() : null));
+  }
+}
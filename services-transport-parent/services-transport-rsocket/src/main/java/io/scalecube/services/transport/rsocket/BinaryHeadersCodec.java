@@ -0,0 +1,273 @@
+package io.scalecube.services.transport.rsocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.transport.api.HeadersCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Compact binary {@link HeadersCodec}. Wire format of the headers block is:
+ *
+ * <pre>
+ * headers := count:varint (key value){count}
+ * key     := token:byte(1..N) | 0x00 length:varint utf8-bytes
+ * value   := length:varint utf8-bytes
+ * </pre>
+ *
+ * <p>Well-known header names (see {@link #KEYS}) are written as single-byte tokens. Headers with
+ * tokens unknown to this version (written by a newer peer) are skipped on decode. Values of
+ * well-known headers (qualifier, data format, etc.) and custom header names are interned on decode
+ * through a bounded direct-mapped cache, so repeated values don't allocate new strings.
+ */
+public final class BinaryHeadersCodec implements HeadersCodec {
+
+  public static final String CONTENT_TYPE = "application/x-scalecube-headers";
+
+  /** Well-known header names, token of the header is its index in this array plus one. */
+  static final String[] KEYS = {
+    ServiceMessage.HEADER_QUALIFIER,
+    ServiceMessage.HEADER_DATA_FORMAT,
+    ServiceMessage.HEADER_ERROR_TYPE,
+    ServiceMessage.HEADER_REQUEST_METHOD,
+    "sid",
+    RouteTable.HEADER_ROUTE_ID
+  };
+
+  /** Whether values of well-known header (by token) go through the intern cache. */
+  private static final boolean[] INTERN_VALUES = {true, true, true, true, false, true};
+
+  private static final int LITERAL_KEY = 0;
+  private static final int MIN_HEADER_LENGTH = 2;
+  private static final int DEFAULT_CACHE_SIZE = 1024;
+  private static final int MAX_CACHED_LENGTH = 256;
+
+  private final StringCache cache;
+
+  /** Constructor with default size of the intern cache. */
+  public BinaryHeadersCodec() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param cacheSize number of slots in the intern cache (rounded up to power of two), or {@code 0}
+   *     to disable interning
+   */
+  public BinaryHeadersCodec(int cacheSize) {
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException("cacheSize must be non-negative");
+    }
+    this.cache = cacheSize > 0 ? new StringCache(cacheSize) : null;
+  }
+
+  @Override
+  public String contentType() {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public void encode(OutputStream stream, Map<String, String> headers) throws IOException {
+    if (headers.isEmpty()) {
+      return;
+    }
+    final var byteBuf = ByteBufAllocator.DEFAULT.heapBuffer();
+    try {
+      encode(byteBuf, headers);
+      byteBuf.readBytes(stream, byteBuf.readableBytes());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Override
+  public Map<String, String> decode(InputStream stream) throws IOException {
+    if (stream.available() < 1) {
+      return Collections.emptyMap();
+    }
+    return decode(Unpooled.wrappedBuffer(stream.readAllBytes()));
+  }
+
+  @Override
+  public void encode(ByteBuf byteBuf, Map<String, String> headers) {
+    if (headers.isEmpty()) {
+      return;
+    }
+    writeVarInt(byteBuf, headers.size());
+    for (Entry<String, String> header : headers.entrySet()) {
+      final var name = header.getKey();
+      final var token = tokenOf(name);
+      if (token != LITERAL_KEY) {
+        byteBuf.writeByte(token);
+      } else {
+        byteBuf.writeByte(LITERAL_KEY);
+        writeString(byteBuf, name);
+      }
+      writeString(byteBuf, header.getValue());
+    }
+  }
+
+  @Override
+  public Map<String, String> decode(ByteBuf byteBuf) {
+    if (!byteBuf.isReadable()) {
+      return Collections.emptyMap();
+    }
+    final int size = readVarInt(byteBuf);
+    // Each header takes at least two bytes (token and empty value length)
+    if (size < 0 || size > byteBuf.readableBytes() / MIN_HEADER_LENGTH) {
+      throw new IllegalArgumentException(
+          "Headers count " + size + " exceeds readable bytes " + byteBuf.readableBytes());
+    }
+    final var headers = new HashMap<String, String>((int) (size / 0.75f) + 1);
+    for (int i = 0; i < size; i++) {
+      final int token = byteBuf.readUnsignedByte();
+      if (token == LITERAL_KEY) {
+        final var name = readString(byteBuf, true);
+        headers.put(name, readString(byteBuf, false));
+      } else if (token <= KEYS.length) {
+        headers.put(KEYS[token - 1], readString(byteBuf, INTERN_VALUES[token - 1]));
+      } else {
+        // Token of a newer peer, value is still length-prefixed so it can be skipped
+        byteBuf.skipBytes(readLength(byteBuf));
+      }
+    }
+    return headers;
+  }
+
+  private static int tokenOf(String name) {
+    switch (name) {
+      case ServiceMessage.HEADER_QUALIFIER:
+        return 1;
+      case ServiceMessage.HEADER_DATA_FORMAT:
+        return 2;
+      case ServiceMessage.HEADER_ERROR_TYPE:
+        return 3;
+      case ServiceMessage.HEADER_REQUEST_METHOD:
+        return 4;
+      case "sid":
+        return 5;
+      case RouteTable.HEADER_ROUTE_ID:
+        return 6;
+      default:
+        return LITERAL_KEY;
+    }
+  }
+
+  private static void writeString(ByteBuf byteBuf, String value) {
+    writeVarInt(byteBuf, ByteBufUtil.utf8Bytes(value));
+    byteBuf.writeCharSequence(value, UTF_8);
+  }
+
+  private String readString(ByteBuf byteBuf, boolean intern) {
+    final int length = readLength(byteBuf);
+    if (length == 0) {
+      return "";
+    }
+    final int index = byteBuf.readerIndex();
+    final String value =
+        intern && cache != null && length <= MAX_CACHED_LENGTH
+            ? cache.get(byteBuf, index, length)
+            : byteBuf.toString(index, length, UTF_8);
+    byteBuf.skipBytes(length);
+    return value;
+  }
+
+  private static int readLength(ByteBuf byteBuf) {
+    final int length = readVarInt(byteBuf);
+    if (length < 0 || length > byteBuf.readableBytes()) {
+      throw new IndexOutOfBoundsException(
+          "String length " + length + " exceeds readable bytes " + byteBuf.readableBytes());
+    }
+    return length;
+  }
+
+  static void writeVarInt(ByteBuf byteBuf, int value) {
+    while ((value & ~0x7F) != 0) {
+      byteBuf.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    byteBuf.writeByte(value);
+  }
+
+  static int readVarInt(ByteBuf byteBuf) {
+    int result = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      final byte b = byteBuf.readByte();
+      result |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  /**
+   * Bounded direct-mapped cache of decoded strings keyed by their utf-8 bytes. Slots are replaced
+   * on collision, entries are immutable so concurrent readers see either old or new entry.
+   */
+  private static final class StringCache {
+
+    private final Slot[] slots;
+    private final int mask;
+
+    private StringCache(int size) {
+      this.slots = new Slot[size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1];
+      this.mask = slots.length - 1;
+    }
+
+    private String get(ByteBuf byteBuf, int index, int length) {
+      int hash = 1;
+      for (int i = index, end = index + length; i < end; i++) {
+        hash = 31 * hash + byteBuf.getByte(i);
+      }
+      final int slot = (hash ^ (hash >>> 16)) & mask;
+
+      final var cached = slots[slot];
+      if (cached != null && cached.hash == hash && cached.matches(byteBuf, index, length)) {
+        return cached.value;
+      }
+
+      final var bytes = new byte[length];
+      byteBuf.getBytes(index, bytes);
+      final var value = new String(bytes, UTF_8);
+      slots[slot] = new Slot(hash, bytes, value);
+      return value;
+    }
+
+    private static final class Slot {
+
+      private final int hash;
+      private final byte[] bytes;
+      private final String value;
+
+      private Slot(int hash, byte[] bytes, String value) {
+        this.hash = hash;
+        this.bytes = bytes;
+        this.value = value;
+      }
+
+      private boolean matches(ByteBuf byteBuf, int index, int length) {
+        if (bytes.length != length) {
+          return false;
+        }
+        for (int i = 0; i < length; i++) {
+          if (bytes[i] != byteBuf.getByte(index + i)) {
+            return false;
+          }
+        }
+        return true;
+      }
+    }
+  }
+}
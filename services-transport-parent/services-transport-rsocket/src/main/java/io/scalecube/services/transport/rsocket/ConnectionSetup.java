@@ -1,20 +1,24 @@
 package io.scalecube.services.transport.rsocket;
 
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.OptionalDataException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.StringJoiner;
 
 public final class ConnectionSetup implements Externalizable {
 
   private static final long serialVersionUID = 1L;
 
   private Map<String, String> credentials = Collections.emptyMap();
+  private boolean routeIds;
 
   /**
    * Constructor for de/serialization purpose.
@@ -30,9 +34,20 @@ public ConnectionSetup() {}
    * @param credentials credentials (not null)
    */
   public ConnectionSetup(Map<String, String> credentials) {
+    this(credentials, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param credentials credentials (not null)
+   * @param routeIds whether client supports integer route ids instead of qualifiers
+   */
+  public ConnectionSetup(Map<String, String> credentials, boolean routeIds) {
     this.credentials =
         Collections.unmodifiableMap(
             new HashMap<>(Objects.requireNonNull(credentials, "ConnectionSetup.credentials")));
+    this.routeIds = routeIds;
   }
 
   public Map<String, String> credentials() {
@@ -43,6 +58,10 @@ public boolean hasCredentials() {
     return !credentials.isEmpty();
   }
 
+  public boolean routeIds() {
+    return routeIds;
+  }
+
   @Override
   public void writeExternal(ObjectOutput out) throws IOException {
     // credentials
@@ -51,6 +70,9 @@ public void writeExternal(ObjectOutput out) throws IOException {
       out.writeUTF(entry.getKey());
       out.writeObject(entry.getValue()); // value is nullable
     }
+
+    // routeIds (appended, peers which don't know about it skip it)
+    out.writeBoolean(routeIds);
   }
 
   @Override
@@ -64,5 +86,20 @@ public void readExternal(ObjectInput in) throws IOException, ClassNotFoundExcept
       creds.put(key, value);
     }
     this.credentials = Collections.unmodifiableMap(creds);
+
+    // routeIds (absent if written by older peer)
+    try {
+      this.routeIds = in.readBoolean();
+    } catch (EOFException | OptionalDataException e) {
+      this.routeIds = false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", ConnectionSetup.class.getSimpleName() + "[", "]")
+        .add("credentials(" + credentials.size() + ")")
+        .add("routeIds=" + routeIds)
+        .toString();
   }
 }
@@ -7,6 +7,8 @@
 import io.scalecube.services.exceptions.ConnectionClosedException;
 import io.scalecube.services.transport.api.ClientChannel;
 import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -25,17 +27,46 @@ public RSocketClientChannel(Mono<RSocket> rsocket, ServiceMessageCodec codec) {
   @Override
   public Mono<ServiceMessage> requestResponse(ServiceMessage message, Type responseType) {
     return rsocket
-        .flatMap(rsocket -> rsocket.requestResponse(toPayload(message)))
-        .map(this::toMessage)
+        .flatMap(
+            rsocket -> {
+              if (rsocket instanceof RoutingRSocket routingRSocket) {
+                final var headersWriter = routingRSocket.learn(message);
+                return routingRSocket
+                    .requestResponse(toPayload(routingRSocket.compact(message)))
+                    .map(payload -> toMessage(payload, headersWriter));
+              }
+              return rsocket.requestResponse(toPayload(message)).map(this::toMessage);
+            })
         .map(msg -> ServiceMessageCodec.decodeData(msg, responseType))
         .onErrorMap(RSocketClientChannel::mapConnectionAborted);
   }
 
+  @Override
+  public Mono<Void> fireAndForget(ServiceMessage message) {
+    return rsocket
+        .flatMap(
+            rsocket -> {
+              if (rsocket instanceof RoutingRSocket routingRSocket) {
+                return routingRSocket.fireAndForget(toPayload(routingRSocket.compact(message)));
+              }
+              return rsocket.fireAndForget(toPayload(message));
+            })
+        .onErrorMap(RSocketClientChannel::mapConnectionAborted);
+  }
+
   @Override
   public Flux<ServiceMessage> requestStream(ServiceMessage message, Type responseType) {
     return rsocket
-        .flatMapMany(rsocket -> rsocket.requestStream(toPayload(message)))
-        .map(this::toMessage)
+        .flatMapMany(
+            rsocket -> {
+              if (rsocket instanceof RoutingRSocket routingRSocket) {
+                final var headersWriter = routingRSocket.learn(message);
+                return routingRSocket
+                    .requestStream(toPayload(routingRSocket.compact(message)))
+                    .map(payload -> toMessage(payload, headersWriter));
+              }
+              return rsocket.requestStream(toPayload(message)).map(this::toMessage);
+            })
         .map(msg -> ServiceMessageCodec.decodeData(msg, responseType))
         .onErrorMap(RSocketClientChannel::mapConnectionAborted);
   }
@@ -62,6 +93,16 @@ private ServiceMessage toMessage(Payload payload) {
     }
   }
 
+  private ServiceMessage toMessage(
+      Payload payload, BiConsumer<Map<String, String>, ServiceMessage.Builder> headersWriter) {
+    try {
+      return messageCodec.decode(
+          payload.sliceData().retain(), payload.sliceMetadata().retain(), headersWriter);
+    } finally {
+      payload.release();
+    }
+  }
+
   private static Throwable mapConnectionAborted(Throwable t) {
     return AbortedException.isConnectionReset(t) || ConnectionClosedException.isConnectionClosed(t)
         ? new ConnectionClosedException(t)
@@ -1,7 +1,6 @@
 package io.scalecube.services.transport.rsocket;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
 import io.rsocket.Payload;
 import io.rsocket.RSocket;
@@ -34,9 +33,9 @@ public class RSocketClientTransport implements ClientTransport {
 
   private final CredentialsSupplier credentialsSupplier;
   private final ConnectionSetupCodec connectionSetupCodec;
-  private final HeadersCodec headersCodec;
-  private final Collection<DataCodec> dataCodecs;
+  private final ServiceMessageCodec messageCodec;
   private final RSocketClientTransportFactory clientTransportFactory;
+  private final boolean routeIds;
 
   /**
    * Constructor for this transport.
@@ -53,11 +52,49 @@ public RSocketClientTransport(
       HeadersCodec headersCodec,
       Collection<DataCodec> dataCodecs,
       RSocketClientTransportFactory clientTransportFactory) {
+    this(
+        credentialsSupplier,
+        connectionSetupCodec,
+        new ServiceMessageCodec(headersCodec, dataCodecs),
+        clientTransportFactory);
+  }
+
+  /**
+   * Constructor for this transport.
+   *
+   * @param credentialsSupplier credentialsSupplier
+   * @param connectionSetupCodec connectionSetupCodec
+   * @param messageCodec messageCodec
+   * @param clientTransportFactory clientTransportFactory
+   */
+  public RSocketClientTransport(
+      CredentialsSupplier credentialsSupplier,
+      ConnectionSetupCodec connectionSetupCodec,
+      ServiceMessageCodec messageCodec,
+      RSocketClientTransportFactory clientTransportFactory) {
+    this(credentialsSupplier, connectionSetupCodec, messageCodec, clientTransportFactory, false);
+  }
+
+  /**
+   * Constructor for this transport.
+   *
+   * @param credentialsSupplier credentialsSupplier
+   * @param connectionSetupCodec connectionSetupCodec
+   * @param messageCodec messageCodec
+   * @param clientTransportFactory clientTransportFactory
+   * @param routeIds whether to negotiate integer route ids with servers
+   */
+  RSocketClientTransport(
+      CredentialsSupplier credentialsSupplier,
+      ConnectionSetupCodec connectionSetupCodec,
+      ServiceMessageCodec messageCodec,
+      RSocketClientTransportFactory clientTransportFactory,
+      boolean routeIds) {
     this.credentialsSupplier = credentialsSupplier;
     this.connectionSetupCodec = connectionSetupCodec;
-    this.headersCodec = headersCodec;
-    this.dataCodecs = dataCodecs;
+    this.messageCodec = messageCodec;
     this.clientTransportFactory = clientTransportFactory;
+    this.routeIds = routeIds;
   }
 
   @Override
@@ -72,7 +109,7 @@ public ClientChannel create(ServiceReference serviceReference) {
                     .flatMap(creds -> connect(key, creds, monoMap))
                     .cacheInvalidateIf(RSocket::isDisposed)
                     .doOnError(ex -> monoMap.remove(key)));
-    return new RSocketClientChannel(mono, new ServiceMessageCodec(headersCodec, dataCodecs));
+    return new RSocketClientChannel(mono, messageCodec);
   }
 
   private Mono<Map<String, String>> getCredentials(ServiceReference serviceReference) {
@@ -104,7 +141,7 @@ private Mono<RSocket> connect(
       Address address, Map<String, String> creds, Map<Address, Mono<RSocket>> monoMap) {
     return RSocketConnector.create()
         .payloadDecoder(PayloadDecoder.DEFAULT)
-        .setupPayload(encodeConnectionSetup(new ConnectionSetup(creds)))
+        .setupPayload(encodeConnectionSetup(new ConnectionSetup(creds, routeIds)))
         .connect(() -> clientTransportFactory.clientTransport(address))
         .doOnSuccess(
             rsocket -> {
@@ -128,11 +165,12 @@ private Mono<RSocket> connect(
         .doOnError(
             th ->
                 LOGGER.warn(
-                    "[rsocket][client][{}] Failed to connect, cause: {}", address, th.toString()));
+                    "[rsocket][client][{}] Failed to connect, cause: {}", address, th.toString()))
+        .map(rsocket -> routeIds ? new RoutingRSocket(rsocket) : rsocket);
   }
 
   private Payload encodeConnectionSetup(ConnectionSetup connectionSetup) {
-    ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
+    ByteBuf byteBuf = messageCodec.allocator().buffer();
     try {
       connectionSetupCodec.encode(new ByteBufOutputStream(byteBuf), connectionSetup);
     } catch (Throwable ex) {
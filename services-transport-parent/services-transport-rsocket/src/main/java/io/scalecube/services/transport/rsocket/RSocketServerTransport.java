@@ -20,9 +20,9 @@ public class RSocketServerTransport implements ServerTransport {
   private final Authenticator<Object> authenticator;
   private final ServiceRegistry serviceRegistry;
   private final ConnectionSetupCodec connectionSetupCodec;
-  private final HeadersCodec headersCodec;
-  private final Collection<DataCodec> dataCodecs;
+  private final ServiceMessageCodec messageCodec;
   private final RSocketServerTransportFactory serverTransportFactory;
+  private final boolean routeIds;
 
   private CloseableChannel serverChannel; // calculated
 
@@ -43,12 +43,61 @@ public RSocketServerTransport(
       HeadersCodec headersCodec,
       Collection<DataCodec> dataCodecs,
       RSocketServerTransportFactory serverTransportFactory) {
+    this(
+        authenticator,
+        serviceRegistry,
+        connectionSetupCodec,
+        new ServiceMessageCodec(headersCodec, dataCodecs),
+        serverTransportFactory);
+  }
+
+  /**
+   * Constructor for this server transport.
+   *
+   * @param authenticator authenticator
+   * @param serviceRegistry serviceRegistry
+   * @param connectionSetupCodec connectionSetupCodec
+   * @param messageCodec messageCodec
+   * @param serverTransportFactory serverTransportFactory
+   */
+  public RSocketServerTransport(
+      Authenticator<Object> authenticator,
+      ServiceRegistry serviceRegistry,
+      ConnectionSetupCodec connectionSetupCodec,
+      ServiceMessageCodec messageCodec,
+      RSocketServerTransportFactory serverTransportFactory) {
+    this(
+        authenticator,
+        serviceRegistry,
+        connectionSetupCodec,
+        messageCodec,
+        serverTransportFactory,
+        false);
+  }
+
+  /**
+   * Constructor for this server transport.
+   *
+   * @param authenticator authenticator
+   * @param serviceRegistry serviceRegistry
+   * @param connectionSetupCodec connectionSetupCodec
+   * @param messageCodec messageCodec
+   * @param serverTransportFactory serverTransportFactory
+   * @param routeIds whether to assign integer route ids to clients which support them
+   */
+  RSocketServerTransport(
+      Authenticator<Object> authenticator,
+      ServiceRegistry serviceRegistry,
+      ConnectionSetupCodec connectionSetupCodec,
+      ServiceMessageCodec messageCodec,
+      RSocketServerTransportFactory serverTransportFactory,
+      boolean routeIds) {
     this.authenticator = authenticator;
     this.serviceRegistry = serviceRegistry;
     this.connectionSetupCodec = connectionSetupCodec;
-    this.headersCodec = headersCodec;
-    this.dataCodecs = dataCodecs;
+    this.messageCodec = messageCodec;
     this.serverTransportFactory = serverTransportFactory;
+    this.routeIds = routeIds;
   }
 
   @Override
@@ -64,7 +113,7 @@ public ServerTransport bind() {
       RSocketServer.create()
           .acceptor(
               new RSocketServiceAcceptor(
-                  connectionSetupCodec, headersCodec, dataCodecs, authenticator, serviceRegistry))
+                  connectionSetupCodec, messageCodec, authenticator, serviceRegistry, routeIds))
           .payloadDecoder(PayloadDecoder.DEFAULT)
           .bind(serverTransportFactory.serverTransport())
           .doOnSuccess(channel -> serverChannel = channel)
@@ -17,10 +17,13 @@
 import io.scalecube.services.exceptions.ServiceUnavailableException;
 import io.scalecube.services.exceptions.UnauthorizedException;
 import io.scalecube.services.methods.ServiceMethodInvoker;
+import io.scalecube.services.registry.api.RouteMatch;
 import io.scalecube.services.registry.api.ServiceRegistry;
 import io.scalecube.services.transport.api.DataCodec;
 import io.scalecube.services.transport.api.HeadersCodec;
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,10 +36,10 @@ public class RSocketServiceAcceptor implements SocketAcceptor {
   private static final Logger LOGGER = LoggerFactory.getLogger(RSocketServiceAcceptor.class);
 
   private final ConnectionSetupCodec connectionSetupCodec;
-  private final HeadersCodec headersCodec;
-  private final Collection<DataCodec> dataCodecs;
+  private final ServiceMessageCodec messageCodec;
   private final Authenticator<Object> authenticator;
   private final ServiceRegistry serviceRegistry;
+  private final RouteTable routeTable;
 
   /**
    * Constructor.
@@ -53,21 +56,62 @@ public RSocketServiceAcceptor(
       Collection<DataCodec> dataCodecs,
       Authenticator<Object> authenticator,
       ServiceRegistry serviceRegistry) {
+    this(
+        connectionSetupCodec,
+        new ServiceMessageCodec(headersCodec, dataCodecs),
+        authenticator,
+        serviceRegistry);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param connectionSetupCodec connectionSetupCodec
+   * @param messageCodec messageCodec
+   * @param authenticator authenticator
+   * @param serviceRegistry serviceRegistry
+   */
+  public RSocketServiceAcceptor(
+      ConnectionSetupCodec connectionSetupCodec,
+      ServiceMessageCodec messageCodec,
+      Authenticator<Object> authenticator,
+      ServiceRegistry serviceRegistry) {
+    this(connectionSetupCodec, messageCodec, authenticator, serviceRegistry, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param connectionSetupCodec connectionSetupCodec
+   * @param messageCodec messageCodec
+   * @param authenticator authenticator
+   * @param serviceRegistry serviceRegistry
+   * @param routeIds whether to assign integer route ids to clients which support them
+   */
+  RSocketServiceAcceptor(
+      ConnectionSetupCodec connectionSetupCodec,
+      ServiceMessageCodec messageCodec,
+      Authenticator<Object> authenticator,
+      ServiceRegistry serviceRegistry,
+      boolean routeIds) {
     this.connectionSetupCodec = connectionSetupCodec;
-    this.headersCodec = headersCodec;
-    this.dataCodecs = dataCodecs;
+    this.messageCodec = messageCodec;
     this.authenticator = authenticator;
     this.serviceRegistry = serviceRegistry;
+    this.routeTable = routeIds ? new RouteTable() : null;
   }
 
   @Override
   public Mono<RSocket> accept(ConnectionSetupPayload setupPayload, RSocket rsocket) {
     LOGGER.info("[rsocket][accept][{}] setup: {}", rsocket, setupPayload);
 
-    return Mono.justOrEmpty(decodeConnectionSetup(setupPayload.data()))
-        .flatMap(connectionSetup -> authenticate(rsocket, connectionSetup))
-        .flatMap(authData -> Mono.fromCallable(() -> newRSocket(authData)))
-        .switchIfEmpty(Mono.fromCallable(() -> newRSocket(null)))
+    final var connectionSetup = decodeConnectionSetup(setupPayload.data());
+    final var routeTable =
+        connectionSetup != null && connectionSetup.routeIds() ? this.routeTable : null;
+
+    return authenticate(rsocket, connectionSetup)
+        .flatMap(authData -> Mono.fromCallable(() -> newRSocket(authData, routeTable)))
+        .switchIfEmpty(Mono.fromCallable(() -> newRSocket(null, routeTable)))
         .cast(RSocket.class);
   }
 
@@ -97,9 +141,8 @@ private Mono<Object> authenticate(RSocket rsocket, ConnectionSetup connectionSet
         .onErrorMap(RSocketServiceAcceptor::toUnauthorizedException);
   }
 
-  private RSocket newRSocket(Object authData) {
-    return new RSocketImpl(
-        authData, new ServiceMessageCodec(headersCodec, dataCodecs), serviceRegistry);
+  private RSocket newRSocket(Object authData, RouteTable routeTable) {
+    return new RSocketImpl(authData, messageCodec, serviceRegistry, routeTable);
   }
 
   private static UnauthorizedException toUnauthorizedException(Throwable th) {
@@ -116,42 +159,88 @@ private static class RSocketImpl implements RSocket {
     private final Object authData;
     private final ServiceMessageCodec messageCodec;
     private final ServiceRegistry serviceRegistry;
+    private final RouteTable routeTable; // null if route ids were not negotiated
 
     private RSocketImpl(
-        Object authData, ServiceMessageCodec messageCodec, ServiceRegistry serviceRegistry) {
+        Object authData,
+        ServiceMessageCodec messageCodec,
+        ServiceRegistry serviceRegistry,
+        RouteTable routeTable) {
       this.authData = authData;
       this.messageCodec = messageCodec;
       this.serviceRegistry = serviceRegistry;
+      this.routeTable = routeTable;
     }
 
     @Override
     public Mono<Payload> requestResponse(Payload payload) {
-      return Mono.deferContextual(context -> Mono.just(toMessage(payload)))
-          .doOnNext(RSocketImpl::validateRequest)
+      return Mono.deferContextual(context -> Mono.just(toRequest(payload)))
           .flatMap(
-              message -> {
-                final var methodInvoker = serviceRegistry.lookupInvoker(message);
-                validateMethodInvoker(methodInvoker, message);
+              request -> {
+                final var message = request.message;
+                final var match = matchInvoker(request);
+                validateMethodInvoker(match, message);
+                final var methodInvoker = match.value();
+                final var routeId = assignRouteId(request, methodInvoker);
                 return methodInvoker
-                    .invokeOne(message)
-                    .doOnNext(response -> releaseRequestOnError(message, response));
+                    .invokeOne(message, match.pathVars())
+                    .doOnNext(response -> releaseRequestOnError(message, response))
+                    .map(response -> withRouteId(response, routeId));
               })
           .map(this::toPayload)
           .doOnError(ex -> LOGGER.error("[requestResponse][error] cause: {}", ex.toString()))
           .contextWrite(this::setupContext);
     }
 
+    @Override
+    public Mono<Void> fireAndForget(Payload payload) {
+      return Mono.deferContextual(context -> Mono.just(toRequest(payload)))
+          .flatMap(
+              request -> {
+                final var message = request.message;
+                final var match = matchInvoker(request);
+                validateMethodInvoker(match, message);
+                return match
+                    .value()
+                    .invokeOne(message, match.pathVars())
+                    .doOnNext(
+                        response -> {
+                          if (response.isError()) {
+                            releaseRequest(message);
+                            LOGGER.error(
+                                "[fireAndForget][error] qualifier: {}, response: {}",
+                                message.qualifier(),
+                                response);
+                          }
+                        });
+              })
+          .then()
+          .doOnError(ex -> LOGGER.error("[fireAndForget][error] cause: {}", ex.toString()))
+          .contextWrite(this::setupContext);
+    }
+
     @Override
     public Flux<Payload> requestStream(Payload payload) {
-      return Mono.deferContextual(context -> Mono.just(toMessage(payload)))
-          .doOnNext(RSocketImpl::validateRequest)
+      return Mono.deferContextual(context -> Mono.just(toRequest(payload)))
           .flatMapMany(
-              message -> {
-                final var methodInvoker = serviceRegistry.lookupInvoker(message);
-                validateMethodInvoker(methodInvoker, message);
-                return methodInvoker
-                    .invokeMany(message)
-                    .doOnNext(response -> releaseRequestOnError(message, response));
+              request -> {
+                final var message = request.message;
+                final var match = matchInvoker(request);
+                validateMethodInvoker(match, message);
+                final var methodInvoker = match.value();
+                final var routeId = assignRouteId(request, methodInvoker);
+                final var flux =
+                    methodInvoker
+                        .invokeMany(message, match.pathVars())
+                        .doOnNext(response -> releaseRequestOnError(message, response));
+                // send route id only with the first response
+                return routeId == null
+                    ? flux
+                    : flux.switchOnFirst(
+                        (first, responses) ->
+                            first.hasValue()
+                                ? responses.skip(1).startWith(withRouteId(first.get(), routeId))
+                                : responses);
               })
           .map(this::toPayload)
           .doOnError(ex -> LOGGER.error("[requestStream][error] cause: {}", ex.toString()))
@@ -167,9 +256,10 @@ public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
                 if (first.hasValue()) {
                   final var message = first.get();
                   validateRequest(message);
-                  final var methodInvoker = serviceRegistry.lookupInvoker(message);
-                  validateMethodInvoker(methodInvoker, message);
-                  return methodInvoker
+                  final var match = serviceRegistry.matchInvoker(message);
+                  validateMethodInvoker(match, message);
+                  return match
+                      .value()
                       .invokeBidirectional(messages)
                       .doOnNext(response -> releaseRequestOnError(message, response));
                 }
@@ -192,6 +282,54 @@ private ServiceMessage toMessage(Payload payload) {
       }
     }
 
+    private Request toRequest(Payload payload) {
+      final var request = new Request(routeTable);
+      try {
+        request.message =
+            messageCodec.decode(
+                payload.sliceData().retain(), payload.sliceMetadata().retain(), request);
+      } finally {
+        payload.release();
+      }
+      final var message = request.message;
+      if (request.routeId != null
+          && request.methodInvoker == null
+          && message.qualifier() == null) {
+        releaseRequest(message);
+        throw new BadRequestException("Unknown route id: " + request.routeId);
+      }
+      validateRequest(message);
+      return request;
+    }
+
+    private RouteMatch<ServiceMethodInvoker> matchInvoker(Request request) {
+      final var message = request.message;
+      final var methodInvoker = request.methodInvoker;
+      // route id may be stale if request was forwarded from another server
+      if (methodInvoker != null
+          && methodInvoker.methodInfo().qualifier().equals(message.qualifier())) {
+        return new RouteMatch<>(methodInvoker, null);
+      }
+      return serviceRegistry.matchInvoker(message);
+    }
+
+    private String assignRouteId(Request request, ServiceMethodInvoker methodInvoker) {
+      if (routeTable == null
+          || request.routeId != null
+          || request.message.requestMethod() != null) {
+        return null;
+      }
+      final var routeId = routeTable.routeId(methodInvoker);
+      return routeId >= 0 ? String.valueOf(routeId) : null;
+    }
+
+    private static ServiceMessage withRouteId(ServiceMessage response, String routeId) {
+      if (routeId == null) {
+        return response;
+      }
+      return ServiceMessage.from(response).header(RouteTable.HEADER_ROUTE_ID, routeId).build();
+    }
+
     private Context setupContext(Context context) {
       return authData != null ? Context.of(AUTH_CONTEXT_KEY, authData) : context;
     }
@@ -207,8 +345,8 @@ private static void validateRequest(ServiceMessage message) throws ServiceExcept
     }
 
     private static void validateMethodInvoker(
-        ServiceMethodInvoker methodInvoker, ServiceMessage message) {
-      if (methodInvoker == null) {
+        RouteMatch<ServiceMethodInvoker> match, ServiceMessage message) {
+      if (match == null) {
         releaseRequest(message);
         LOGGER.error("No service invoker found, invocation failed for {}", message);
         throw new ServiceUnavailableException("No service invoker found");
@@ -225,4 +363,41 @@ private static void releaseRequestOnError(ServiceMessage request, ServiceMessage
       }
     }
   }
+
+  /**
+   * Decoded request. Route id (if connection negotiated route ids) is resolved to method invoker
+   * while headers are written to the message, so that message is built only once: route id header
+   * is left out and qualifier of the method is put instead.
+   */
+  private static final class Request
+      implements BiConsumer<Map<String, String>, ServiceMessage.Builder> {
+
+    private final RouteTable routeTable; // null if route ids were not negotiated
+
+    private ServiceMessage message;
+    private String routeId;
+    private ServiceMethodInvoker methodInvoker;
+
+    private Request(RouteTable routeTable) {
+      this.routeTable = routeTable;
+    }
+
+    @Override
+    public void accept(Map<String, String> headers, ServiceMessage.Builder builder) {
+      final var routeId = headers.get(RouteTable.HEADER_ROUTE_ID);
+      if (routeId == null) {
+        builder.headers(headers);
+        return;
+      }
+      RouteTable.writeWithoutRouteId(headers, builder);
+      if (routeTable == null) {
+        return;
+      }
+      this.routeId = routeId;
+      this.methodInvoker = routeTable.invoker(RouteTable.parseRouteId(routeId));
+      if (methodInvoker != null && headers.get(ServiceMessage.HEADER_QUALIFIER) == null) {
+        builder.qualifier(methodInvoker.methodInfo().qualifier());
+      }
+    }
+  }
 }
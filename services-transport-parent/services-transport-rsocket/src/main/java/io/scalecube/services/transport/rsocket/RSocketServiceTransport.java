@@ -1,5 +1,6 @@
 package io.scalecube.services.transport.rsocket;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
@@ -8,12 +9,15 @@
 import io.scalecube.services.auth.Authenticator;
 import io.scalecube.services.exceptions.ConnectionClosedException;
 import io.scalecube.services.registry.api.ServiceRegistry;
+import io.scalecube.services.transport.api.BufferSizePredictor;
 import io.scalecube.services.transport.api.ClientTransport;
 import io.scalecube.services.transport.api.DataCodec;
 import io.scalecube.services.transport.api.HeadersCodec;
+import io.scalecube.services.transport.api.InstrumentedByteBufAllocator;
 import io.scalecube.services.transport.api.ServerTransport;
 import io.scalecube.services.transport.api.ServiceTransport;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -45,6 +49,10 @@ public class RSocketServiceTransport implements ServiceTransport {
   private HeadersCodec headersCodec = HeadersCodec.DEFAULT_INSTANCE;
   private Collection<DataCodec> dataCodecs = DataCodec.getAllInstances();
   private ConnectionSetupCodec connectionSetupCodec = ConnectionSetupCodec.DEFAULT_INSTANCE;
+  private BufferSizePredictor dataSizePredictor = new BufferSizePredictor();
+  private BufferSizePredictor headersSizePredictor = ServiceMessageCodec.newHeadersSizePredictor();
+  private boolean routeIds;
+  private ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
 
   private CredentialsSupplier credentialsSupplier;
   private Authenticator<Object> authenticator;
@@ -72,6 +80,10 @@ private RSocketServiceTransport(RSocketServiceTransport other) {
     this.headersCodec = other.headersCodec;
     this.dataCodecs = other.dataCodecs;
     this.connectionSetupCodec = other.connectionSetupCodec;
+    this.dataSizePredictor = other.dataSizePredictor;
+    this.headersSizePredictor = other.headersSizePredictor;
+    this.routeIds = other.routeIds;
+    this.allocator = other.allocator;
     this.credentialsSupplier = other.credentialsSupplier;
     this.authenticator = other.authenticator;
     this.eventLoopGroup = other.eventLoopGroup;
@@ -94,7 +106,8 @@ public RSocketServiceTransport numOfWorkers(int numOfWorkers) {
   }
 
   /**
-   * Setter for {@code headersCodec}.
+   * Setter for {@code headersCodec}. See {@link BinaryHeadersCodec} for compact binary encoding of
+   * headers.
    *
    * @param headersCodec headers codec
    * @return new {@code RSocketServiceTransport} instance
@@ -129,6 +142,59 @@ public RSocketServiceTransport connectionSetupCodec(ConnectionSetupCodec connect
     return rst;
   }
 
+  /**
+   * Setter for {@code dataSizePredictor}. Predictor is shared by all connections of this transport,
+   * keep reference to it in order to observe its statistics.
+   *
+   * @param dataSizePredictor size predictor of encoded data buffers
+   * @return new {@code RSocketServiceTransport} instance
+   */
+  public RSocketServiceTransport dataSizePredictor(BufferSizePredictor dataSizePredictor) {
+    RSocketServiceTransport rst = new RSocketServiceTransport(this);
+    rst.dataSizePredictor = dataSizePredictor;
+    return rst;
+  }
+
+  /**
+   * Setter for {@code headersSizePredictor}. Predictor is shared by all connections of this
+   * transport, keep reference to it in order to observe its statistics.
+   *
+   * @param headersSizePredictor size predictor of encoded headers buffers
+   * @return new {@code RSocketServiceTransport} instance
+   */
+  public RSocketServiceTransport headersSizePredictor(BufferSizePredictor headersSizePredictor) {
+    RSocketServiceTransport rst = new RSocketServiceTransport(this);
+    rst.headersSizePredictor = headersSizePredictor;
+    return rst;
+  }
+
+  /**
+   * Setter for {@code routeIds} (disabled by default). When enabled, server assigns integer route
+   * id to qualifier on its first invocation and client sends route id instead of qualifier
+   * afterwards. Route ids are used only if both sides of connection have them enabled.
+   *
+   * @param routeIds whether to use integer route ids
+   * @return new {@code RSocketServiceTransport} instance
+   */
+  public RSocketServiceTransport routeIds(boolean routeIds) {
+    RSocketServiceTransport rst = new RSocketServiceTransport(this);
+    rst.routeIds = routeIds;
+    return rst;
+  }
+
+  /**
+   * Setter for {@code allocator} of encode buffers (default is {@link ByteBufAllocator#DEFAULT}).
+   * See {@link InstrumentedByteBufAllocator} for accounting of allocations done by this transport.
+   *
+   * @param allocator allocator
+   * @return new {@code RSocketServiceTransport} instance
+   */
+  public RSocketServiceTransport allocator(ByteBufAllocator allocator) {
+    RSocketServiceTransport rst = new RSocketServiceTransport(this);
+    rst.allocator = Objects.requireNonNull(allocator, "allocator");
+    return rst;
+  }
+
   /**
    * Setter for {@code credentialsSupplier}.
    *
@@ -185,9 +251,9 @@ public ClientTransport clientTransport() {
     return new RSocketClientTransport(
         credentialsSupplier,
         connectionSetupCodec,
-        headersCodec,
-        dataCodecs,
-        clientTransportFactory.apply(clientLoopResources));
+        newMessageCodec(),
+        clientTransportFactory.apply(clientLoopResources),
+        routeIds);
   }
 
   @Override
@@ -196,9 +262,9 @@ public ServerTransport serverTransport(ServiceRegistry serviceRegistry) {
         authenticator,
         serviceRegistry,
         connectionSetupCodec,
-        headersCodec,
-        dataCodecs,
-        serverTransportFactory.apply(serverLoopResources));
+        newMessageCodec(),
+        serverTransportFactory.apply(serverLoopResources),
+        routeIds);
   }
 
   @Override
@@ -215,6 +281,11 @@ public void stop() {
     eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
   }
 
+  private ServiceMessageCodec newMessageCodec() {
+    return new ServiceMessageCodec(
+        headersCodec, dataCodecs, dataSizePredictor, headersSizePredictor, allocator);
+  }
+
   private EventLoopGroup newEventLoopGroup() {
     ThreadFactory threadFactory = new DefaultThreadFactory("rsocket-worker", true);
     EventLoopGroup eventLoopGroup =
@@ -231,6 +302,7 @@ public String toString() {
         .add("headersCodec=" + headersCodec)
         .add("dataCodecs=" + dataCodecs)
         .add("connectionSetupCodec=" + connectionSetupCodec)
+        .add("allocator=" + allocator)
         .add("serverTransportFactory=" + serverTransportFactory)
         .add("clientTransportFactory=" + clientTransportFactory)
         .toString();
@@ -0,0 +1,108 @@
+package io.scalecube.services.transport.rsocket;
+
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.methods.ServiceMethodInvoker;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side table of integer route ids. Route id is assigned to static qualifier on its first
+ * invocation and is sent back to the client in {@link #HEADER_ROUTE_ID} header of the response.
+ * Client (if it negotiated route ids in {@link ConnectionSetup}) then sends only route id instead
+ * of qualifier, and server dispatches it by array index. Route ids are never reassigned, so they
+ * stay valid for all connections to this server.
+ */
+final class RouteTable {
+
+  /** Route id header. */
+  static final String HEADER_ROUTE_ID = "rid";
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAX_ROUTES = 65536;
+
+  private final Map<String, Integer> routeIds = new ConcurrentHashMap<>();
+
+  // appended under lock, element is written before volatile write of the array reference
+  private volatile ServiceMethodInvoker[] invokers = new ServiceMethodInvoker[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Returns method invoker by route id.
+   *
+   * @param routeId route id
+   * @return method invoker, or null if route id is unknown
+   */
+  ServiceMethodInvoker invoker(int routeId) {
+    final var invokers = this.invokers;
+    return routeId >= 0 && routeId < invokers.length ? invokers[routeId] : null;
+  }
+
+  /**
+   * Returns route id of given method invoker, assigns new one if needed. Only invokers of static
+   * qualifiers (without dynamic qualifier and rest method) get route ids.
+   *
+   * @param invoker method invoker
+   * @return route id, or {@code -1} if route id can't be assigned
+   */
+  int routeId(ServiceMethodInvoker invoker) {
+    final var methodInfo = invoker.methodInfo();
+    if (methodInfo.dynamicQualifier() != null || methodInfo.restMethod() != null) {
+      return -1;
+    }
+
+    final var qualifier = methodInfo.qualifier();
+    final var routeId = routeIds.get(qualifier);
+    if (routeId != null) {
+      return routeId;
+    }
+
+    synchronized (this) {
+      final var existing = routeIds.get(qualifier);
+      if (existing != null) {
+        return existing;
+      }
+      if (size >= MAX_ROUTES) {
+        return -1;
+      }
+      var invokers = this.invokers;
+      if (size == invokers.length) {
+        invokers = Arrays.copyOf(invokers, size << 1);
+      }
+      invokers[size] = invoker;
+      this.invokers = invokers;
+      routeIds.put(qualifier, size);
+      return size++;
+    }
+  }
+
+  /**
+   * Parses value of {@link #HEADER_ROUTE_ID} header.
+   *
+   * @param value header value
+   * @return route id, or {@code -1} if value is malformed
+   */
+  static int parseRouteId(String value) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Writes headers to the builder, except {@link #HEADER_ROUTE_ID} header, so that route id (which
+   * is internal to the connection) reaches neither service nor caller.
+   *
+   * @param headers headers
+   * @param builder message builder
+   */
+  static void writeWithoutRouteId(Map<String, String> headers, ServiceMessage.Builder builder) {
+    for (Entry<String, String> header : headers.entrySet()) {
+      if (!HEADER_ROUTE_ID.equals(header.getKey())) {
+        builder.header(header.getKey(), header.getValue());
+      }
+    }
+  }
+}
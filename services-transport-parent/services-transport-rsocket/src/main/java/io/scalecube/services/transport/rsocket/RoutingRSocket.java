@@ -0,0 +1,71 @@
+package io.scalecube.services.transport.rsocket;
+
+import io.rsocket.RSocket;
+import io.rsocket.util.RSocketProxy;
+import io.scalecube.services.api.ServiceMessage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Client side {@link RSocket} which negotiated integer route ids with the server (see {@link
+ * RouteTable}). Keeps route ids learned from responses of this connection, and replaces qualifier
+ * of subsequent requests with route id.
+ */
+final class RoutingRSocket extends RSocketProxy {
+
+  private final Map<String, String> routeIds = new ConcurrentHashMap<>();
+
+  RoutingRSocket(RSocket source) {
+    super(source);
+  }
+
+  /**
+   * Replaces qualifier of the request with route id, if route id is known.
+   *
+   * @param request request
+   * @return request with route id instead of qualifier, or request as is
+   */
+  ServiceMessage compact(ServiceMessage request) {
+    final var qualifier = request.qualifier();
+    if (qualifier == null || request.requestMethod() != null) {
+      return request;
+    }
+    final var routeId = routeIds.get(qualifier);
+    if (routeId == null) {
+      return request;
+    }
+    final var builder = ServiceMessage.builder().data(request.data());
+    request
+        .headers()
+        .forEach(
+            (name, value) -> {
+              if (!ServiceMessage.HEADER_QUALIFIER.equals(name)) {
+                builder.header(name, value);
+              }
+            });
+    return builder.header(RouteTable.HEADER_ROUTE_ID, routeId).build();
+  }
+
+  /**
+   * Returns writer of response headers, which remembers route id sent by the server in response
+   * to given request and leaves it out of the response headers.
+   *
+   * @param request request
+   * @return writer of decoded response headers
+   */
+  BiConsumer<Map<String, String>, ServiceMessage.Builder> learn(ServiceMessage request) {
+    return (headers, builder) -> {
+      final var routeId = headers.get(RouteTable.HEADER_ROUTE_ID);
+      if (routeId == null) {
+        builder.headers(headers);
+        return;
+      }
+      final var qualifier = request.qualifier();
+      if (qualifier != null && request.header(RouteTable.HEADER_ROUTE_ID) == null) {
+        routeIds.putIfAbsent(qualifier, routeId);
+      }
+      RouteTable.writeWithoutRouteId(headers, builder);
+    };
+  }
+}
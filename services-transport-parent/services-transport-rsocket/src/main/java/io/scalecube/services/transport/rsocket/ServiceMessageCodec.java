@@ -6,12 +6,11 @@
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.scalecube.services.api.ErrorData;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.MessageCodecException;
+import io.scalecube.services.transport.api.BufferSizePredictor;
 import io.scalecube.services.transport.api.DataCodec;
 import io.scalecube.services.transport.api.HeadersCodec;
 import io.scalecube.services.transport.api.JdkCodec;
@@ -21,6 +20,7 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,8 +29,18 @@ public final class ServiceMessageCodec {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ServiceMessageCodec.class);
 
+  private static final int HEADERS_MINIMUM_SIZE = 16;
+  private static final int HEADERS_INITIAL_SIZE = 64;
+  private static final int HEADERS_MAXIMUM_SIZE = 4096;
+
+  private static final BiConsumer<Map<String, String>, ServiceMessage.Builder> COPY_HEADERS =
+      (headers, builder) -> builder.headers(headers);
+
   private final HeadersCodec headersCodec;
   private final Map<String, DataCodec> dataCodecs;
+  private final BufferSizePredictor dataSizePredictor;
+  private final BufferSizePredictor headersSizePredictor;
+  private final ByteBufAllocator allocator;
 
   /**
    * Message codec with default Headers/Data Codecs.
@@ -56,6 +66,56 @@ public ServiceMessageCodec() {
    *     DataCodec#INSTANCES} will be used.
    */
   public ServiceMessageCodec(HeadersCodec headersCodec, Collection<DataCodec> dataCodecs) {
+    this(headersCodec, dataCodecs, null, null);
+  }
+
+  /**
+   * Constructor. Creates instance out of {@link HeadersCodec} instance, {@link DataCodec}
+   * collection and size predictors of encode buffers.
+   *
+   * @param headersCodec codec for service message headers (optional), if not set then {@link
+   *     JdkCodec} will be used.
+   * @param dataCodecs codecs for service message data (optional), if not set then {@link
+   *     DataCodec#INSTANCES} will be used.
+   * @param dataSizePredictor size predictor of data buffers (optional), if not set then new one
+   *     with default settings will be used.
+   * @param headersSizePredictor size predictor of headers buffers (optional), if not set then new
+   *     one will be used.
+   */
+  public ServiceMessageCodec(
+      HeadersCodec headersCodec,
+      Collection<DataCodec> dataCodecs,
+      BufferSizePredictor dataSizePredictor,
+      BufferSizePredictor headersSizePredictor) {
+    this(headersCodec, dataCodecs, dataSizePredictor, headersSizePredictor, null);
+  }
+
+  /**
+   * Constructor. Creates instance out of {@link HeadersCodec} instance, {@link DataCodec}
+   * collection, size predictors of encode buffers and allocator of encode buffers.
+   *
+   * @param headersCodec codec for service message headers (optional), if not set then {@link
+   *     JdkCodec} will be used.
+   * @param dataCodecs codecs for service message data (optional), if not set then {@link
+   *     DataCodec#INSTANCES} will be used.
+   * @param dataSizePredictor size predictor of data buffers (optional), if not set then new one
+   *     with default settings will be used.
+   * @param headersSizePredictor size predictor of headers buffers (optional), if not set then new
+   *     one will be used.
+   * @param allocator allocator of encode buffers (optional), if not set then {@link
+   *     ByteBufAllocator#DEFAULT} will be used.
+   */
+  public ServiceMessageCodec(
+      HeadersCodec headersCodec,
+      Collection<DataCodec> dataCodecs,
+      BufferSizePredictor dataSizePredictor,
+      BufferSizePredictor headersSizePredictor,
+      ByteBufAllocator allocator) {
+    this.allocator = allocator != null ? allocator : ByteBufAllocator.DEFAULT;
+    this.dataSizePredictor =
+        dataSizePredictor != null ? dataSizePredictor : new BufferSizePredictor();
+    this.headersSizePredictor =
+        headersSizePredictor != null ? headersSizePredictor : newHeadersSizePredictor();
     this.headersCodec = headersCodec == null ? HeadersCodec.DEFAULT_INSTANCE : headersCodec;
     Map<String, DataCodec> defaultCodecs = DataCodec.INSTANCES;
     if (dataCodecs == null) {
@@ -74,6 +134,10 @@ public ServiceMessageCodec(HeadersCodec headersCodec, Collection<DataCodec> data
     }
   }
 
+  public ByteBufAllocator allocator() {
+    return allocator;
+  }
+
   /**
    * Encode a message, transform it to T.
    *
@@ -86,7 +150,7 @@ public ServiceMessageCodec(HeadersCodec headersCodec, Collection<DataCodec> data
   public <T> T encodeAndTransform(
       ServiceMessage message, BiFunction<ByteBuf, ByteBuf, T> transformer)
       throws MessageCodecException {
-    final var bufAllocator = ByteBufAllocator.DEFAULT;
+    final var bufAllocator = allocator;
     ByteBuf dataBuffer = Unpooled.EMPTY_BUFFER;
     ByteBuf headersBuffer = Unpooled.EMPTY_BUFFER;
 
@@ -97,10 +161,12 @@ public <T> T encodeAndTransform(
       dataBuffer = bufAllocator.buffer(bytes.length);
       dataBuffer.writeBytes(bytes);
     } else if (message.hasData()) {
-      dataBuffer = bufAllocator.buffer();
+      final int predictedSize = dataSizePredictor.nextSize(message.qualifier());
+      dataBuffer = bufAllocator.buffer(predictedSize);
       try {
         DataCodec dataCodec = getDataCodec(message.dataFormatOrDefault());
-        dataCodec.encode(new ByteBufOutputStream(dataBuffer), message.data());
+        dataCodec.encode(dataBuffer, message.data());
+        dataSizePredictor.record(message.qualifier(), predictedSize, dataBuffer.readableBytes());
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(dataBuffer);
         LOGGER.error(
@@ -110,9 +176,12 @@ public <T> T encodeAndTransform(
     }
 
     if (!message.headers().isEmpty()) {
-      headersBuffer = bufAllocator.buffer();
+      final int predictedSize = headersSizePredictor.nextSize(message.qualifier());
+      headersBuffer = bufAllocator.buffer(predictedSize);
       try {
-        headersCodec.encode(new ByteBufOutputStream(headersBuffer), message.headers());
+        headersCodec.encode(headersBuffer, message.headers());
+        headersSizePredictor.record(
+            message.qualifier(), predictedSize, headersBuffer.readableBytes());
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(headersBuffer);
         ReferenceCountUtil.safestRelease(dataBuffer); // release data buf as well
@@ -135,17 +204,37 @@ public <T> T encodeAndTransform(
    */
   public ServiceMessage decode(ByteBuf dataBuffer, ByteBuf headersBuffer)
       throws MessageCodecException {
+    return decode(dataBuffer, headersBuffer, COPY_HEADERS);
+  }
+
+  /**
+   * Decode buffers, decoded headers are written to the message by given function. Used by
+   * transport to rewrite connection specific headers without building the message twice.
+   *
+   * @param dataBuffer the buffer of the data (payload)
+   * @param headersBuffer the buffer of the headers
+   * @param headersWriter writes decoded headers to the message builder
+   * @return a new Service message with {@link ByteBuf} data and with parsed headers.
+   * @throws MessageCodecException when decode fails
+   */
+  ServiceMessage decode(
+      ByteBuf dataBuffer,
+      ByteBuf headersBuffer,
+      BiConsumer<Map<String, String>, ServiceMessage.Builder> headersWriter)
+      throws MessageCodecException {
     ServiceMessage.Builder builder = ServiceMessage.builder();
 
     if (dataBuffer.isReadable()) {
       builder.data(dataBuffer);
     }
     if (headersBuffer.isReadable()) {
-      try (ByteBufInputStream stream = new ByteBufInputStream(headersBuffer, true)) {
-        builder.headers(headersCodec.decode(stream));
+      try {
+        headersWriter.accept(headersCodec.decode(headersBuffer), builder);
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(dataBuffer); // release data buf as well
         throw new MessageCodecException("Failed to decode service message headers", ex);
+      } finally {
+        ReferenceCountUtil.safestRelease(headersBuffer);
       }
     }
 
@@ -174,16 +263,47 @@ public static ServiceMessage decodeData(ServiceMessage message, Type dataType)
     Type targetType = message.isError() ? ErrorData.class : dataType;
 
     ByteBuf dataBuffer = message.data();
-    try (ByteBufInputStream inputStream = new ByteBufInputStream(dataBuffer, true)) {
+    try {
       DataCodec dataCodec = DataCodec.getInstance(message.dataFormatOrDefault());
-      data = dataCodec.decode(inputStream, targetType);
+      data = dataCodec.decode(dataBuffer, targetType);
     } catch (Throwable ex) {
       throw new MessageCodecException("Failed to decode service message data", ex);
+    } finally {
+      ReferenceCountUtil.safestRelease(dataBuffer);
     }
 
     return ServiceMessage.from(message).data(data).build();
   }
 
+  /**
+   * Returns size predictor of data buffers.
+   *
+   * @return size predictor
+   */
+  public BufferSizePredictor dataSizePredictor() {
+    return dataSizePredictor;
+  }
+
+  /**
+   * Returns size predictor of headers buffers.
+   *
+   * @return size predictor
+   */
+  public BufferSizePredictor headersSizePredictor() {
+    return headersSizePredictor;
+  }
+
+  /**
+   * Creates size predictor with defaults suitable for headers buffers (which are usually much
+   * smaller than data buffers).
+   *
+   * @return size predictor
+   */
+  public static BufferSizePredictor newHeadersSizePredictor() {
+    return new BufferSizePredictor(
+        HEADERS_MINIMUM_SIZE, HEADERS_INITIAL_SIZE, HEADERS_MAXIMUM_SIZE);
+  }
+
   private DataCodec getDataCodec(String contentType) {
     Objects.requireNonNull(contentType, "contentType");
     DataCodec dataCodec = dataCodecs.get(contentType);
@@ -2,6 +2,7 @@
 
 import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
 
+import io.scalecube.services.annotations.ExecuteOn;
 import io.scalecube.services.auth.Authenticator;
 import io.scalecube.services.auth.PrincipalMapper;
 import io.scalecube.services.discovery.api.ServiceDiscovery;
@@ -25,11 +26,15 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -225,6 +230,7 @@ private ServiceEndpoint enhanceServiceEndpoint(ServiceEndpoint serviceEndpoint)
   }
 
   private void registerService(ServiceInfo serviceInfo) {
+    context.createSchedulersOnDemand(serviceInfo);
     context.serviceRegistry.registerService(
         ServiceInfo.from(serviceInfo)
             .errorMapperIfAbsent(context.defaultErrorMapper)
@@ -500,6 +506,7 @@ public static final class Context {
     private Map<String, String> tags;
     private final List<ServiceProvider> serviceProviders = new ArrayList<>();
     private ServiceRegistry serviceRegistry;
+    private Set<String> consumedNamespaces;
     private Authenticator<Object> defaultAuthenticator;
     private PrincipalMapper<Object, Object> defaultPrincipalMapper;
     private ServiceProviderErrorMapper defaultErrorMapper;
@@ -511,6 +518,7 @@ public static final class Context {
     private Supplier<ServiceTransport> transportSupplier;
     private final List<Supplier<Gateway>> gatewaySuppliers = new ArrayList<>();
     private final Map<String, Supplier<Scheduler>> schedulerSuppliers = new HashMap<>();
+    private final Map<String, Supplier<Scheduler>> onDemandSchedulerSuppliers = new HashMap<>();
     private final Map<String, Scheduler> schedulers = new ConcurrentHashMap<>();
 
     public Context() {}
@@ -603,6 +611,24 @@ public Context serviceRegistry(ServiceRegistry serviceRegistry) {
       return this;
     }
 
+    /**
+     * Enables interest-based service registry, which materialises service references only for
+     * namespaces consumed by this node: the given ones, ones collected from {@link
+     * ServiceCall#api(Class)} proxies (and {@link io.scalecube.services.annotations.Inject}
+     * fields), and ones requested by {@link ServiceCall} (indexed lazily on the first call). Has no
+     * effect if custom {@link ServiceRegistry} is set.
+     *
+     * @param namespaces consumed namespaces (can be empty)
+     * @return this
+     */
+    public Context consumes(String... namespaces) {
+      if (consumedNamespaces == null) {
+        consumedNamespaces = new HashSet<>();
+      }
+      consumedNamespaces.addAll(Arrays.asList(namespaces));
+      return this;
+    }
+
     /**
      * Setter for {@link ServiceDiscoveryFactory}.
      *
@@ -754,18 +780,81 @@ private Context conclude() {
       }
 
       if (serviceRegistry == null) {
-        serviceRegistry = new ServiceRegistryImpl();
+        serviceRegistry = new ServiceRegistryImpl(consumedNamespaces);
       }
 
       schedulers.put("parallel", Schedulers.parallel());
       schedulers.put("single", Schedulers.single());
       schedulers.put("boundedElastic", Schedulers.boundedElastic());
       schedulers.put("immediate", Schedulers.immediate());
+      if (!schedulerSuppliers.containsKey("virtual")) {
+        schedulers.put("virtual", newVirtualScheduler());
+      }
+      if (!schedulerSuppliers.containsKey("partitioned")) {
+        onDemandSchedulerSuppliers.put(
+            "partitioned",
+            () ->
+                new PartitionedScheduler(
+                    "partitioned", Runtime.getRuntime().availableProcessors()));
+      }
       schedulerSuppliers.forEach((s, supplier) -> schedulers.put(s, supplier.get()));
 
       return this;
     }
 
+    /**
+     * Creates built-in schedulers which are not created upfront (such as {@code partitioned} one),
+     * if service methods of the given service execute on them.
+     */
+    private void createSchedulersOnDemand(ServiceInfo serviceInfo) {
+      final var serviceInstance = serviceInfo.serviceInstance();
+      Reflect.serviceInterfaces(serviceInstance)
+          .flatMap(serviceInterface -> Reflect.serviceMethods(serviceInterface).values().stream())
+          .forEach(
+              method -> {
+                final ExecuteOn executeOn;
+                try {
+                  executeOn =
+                      Reflect.executeOn(
+                          serviceInstance
+                              .getClass()
+                              .getMethod(method.getName(), method.getParameterTypes()));
+                } catch (NoSuchMethodException e) {
+                  return; // rejected by service registry
+                }
+                if (executeOn != null) {
+                  final var supplier = onDemandSchedulerSuppliers.get(executeOn.value());
+                  if (supplier != null) {
+                    schedulers.computeIfAbsent(executeOn.value(), s -> supplier.get());
+                  }
+                }
+              });
+    }
+
+    /**
+     * Creates scheduler which runs every task on its own virtual thread. Virtual threads are
+     * available since JDK 21, on older JDKs dedicated bounded-elastic scheduler is created instead.
+     */
+    private static Scheduler newVirtualScheduler() {
+      try {
+        final var executor =
+            (ExecutorService)
+                Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        return Schedulers.fromExecutorService(executor, "virtual");
+      } catch (ReflectiveOperationException ex) {
+        LOGGER.warn(
+            "Virtual threads are not available (JDK 21+ is required), "
+                + "virtual scheduler is bounded-elastic one, limited to {} threads",
+            Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE);
+        return Schedulers.newBoundedElastic(
+            Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+            Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+            "virtual",
+            60,
+            true);
+      }
+    }
+
     private void close() {
       schedulers.values().forEach(Scheduler::dispose);
       schedulers.clear();
@@ -0,0 +1,154 @@
+package io.scalecube.services.registry;
+
+import io.scalecube.services.api.DynamicQualifier;
+import io.scalecube.services.registry.api.RouteMatch;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Segment trie of values by {@link DynamicQualifier}. Qualifier is matched segment by segment:
+ * static segment is tried first, then {@code :param} wildcard (with backtracking), so lookup costs
+ * O(segments) regardless of number of dynamic qualifiers, and path variables are extracted in the
+ * same pass.
+ *
+ * <p>Writes are serialized, lookups are lock-free. Nodes are not pruned on removal, as set of
+ * dynamic qualifiers is bounded by service definitions.
+ *
+ * @param <T> type of value
+ */
+final class QualifierTrie<T> {
+
+  private final Node<T> root = new Node<>();
+  private final Map<DynamicQualifier, T> values = new ConcurrentHashMap<>();
+
+  T get(DynamicQualifier dynamicQualifier) {
+    return values.get(dynamicQualifier);
+  }
+
+  Collection<T> values() {
+    return values.values();
+  }
+
+  synchronized T computeIfAbsent(
+      DynamicQualifier dynamicQualifier, Function<DynamicQualifier, T> mappingFunction) {
+    final var value = values.get(dynamicQualifier);
+    if (value != null) {
+      return value;
+    }
+    final var newValue = mappingFunction.apply(dynamicQualifier);
+    put(dynamicQualifier, newValue);
+    return newValue;
+  }
+
+  synchronized void compute(
+      DynamicQualifier dynamicQualifier, BiFunction<DynamicQualifier, T, T> remappingFunction) {
+    final var value = values.get(dynamicQualifier);
+    final var newValue = remappingFunction.apply(dynamicQualifier, value);
+    if (newValue != value) {
+      put(dynamicQualifier, newValue);
+    }
+  }
+
+  private void put(DynamicQualifier dynamicQualifier, T value) {
+    final var segments = split(dynamicQualifier.qualifier());
+    final var paramIndexes = new int[dynamicQualifier.pathVariables().size()];
+    var node = root;
+    for (int i = 0, p = 0; i < segments.length; i++) {
+      final var segment = segments[i];
+      if (segment.startsWith(":")) {
+        if (node.param == null) {
+          node.param = new Node<>();
+        }
+        node = node.param;
+        paramIndexes[p++] = i;
+      } else {
+        node = node.children.computeIfAbsent(segment, s -> new Node<>());
+      }
+    }
+
+    final var routes = new ArrayList<Route<T>>(node.routes);
+    routes.removeIf(route -> route.dynamicQualifier.equals(dynamicQualifier));
+    if (value != null) {
+      routes.add(new Route<>(dynamicQualifier, value, paramIndexes));
+      values.put(dynamicQualifier, value);
+    } else {
+      values.remove(dynamicQualifier);
+    }
+    node.routes = List.copyOf(routes);
+  }
+
+  /**
+   * Matches qualifier against dynamic qualifiers of this trie.
+   *
+   * @param qualifier qualifier
+   * @param filter filter of values
+   * @return value (which passes the filter) along with path variables, or null if nothing matched
+   */
+  RouteMatch<T> match(String qualifier, Predicate<T> filter) {
+    if (values.isEmpty()) {
+      return null;
+    }
+    final var segments = split(qualifier);
+    final var route = find(root, segments, 0, filter);
+    if (route == null) {
+      return null;
+    }
+    final var pathVariables = route.dynamicQualifier.pathVariables();
+    final var pathVars = new LinkedHashMap<String, String>(pathVariables.size() * 2);
+    for (int i = 0; i < route.paramIndexes.length; i++) {
+      pathVars.put(pathVariables.get(i), segments[route.paramIndexes[i]]);
+    }
+    return new RouteMatch<>(route.value, pathVars);
+  }
+
+  private static <T> Route<T> find(
+      Node<T> node, String[] segments, int index, Predicate<T> filter) {
+    if (index == segments.length) {
+      for (var route : node.routes) {
+        if (filter.test(route.value)) {
+          return route;
+        }
+      }
+      return null;
+    }
+
+    final var segment = segments[index];
+
+    // static segments first
+    final var child = node.children.get(segment);
+    if (child != null) {
+      final var route = find(child, segments, index + 1, filter);
+      if (route != null) {
+        return route;
+      }
+    }
+
+    // then path variable (which can't be empty)
+    final var param = node.param;
+    if (param != null && !segment.isEmpty()) {
+      return find(param, segments, index + 1, filter);
+    }
+
+    return null;
+  }
+
+  private static String[] split(String qualifier) {
+    return qualifier.split("/", -1);
+  }
+
+  private static final class Node<T> {
+
+    private final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+    private volatile Node<T> param;
+    private volatile List<Route<T>> routes = List.of();
+  }
+
+  private record Route<T>(DynamicQualifier dynamicQualifier, T value, int[] paramIndexes) {}
+}
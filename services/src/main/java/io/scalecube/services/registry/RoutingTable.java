@@ -0,0 +1,403 @@
+package io.scalecube.services.registry;
+
+import io.scalecube.services.ServiceReference;
+import io.scalecube.services.api.DynamicQualifier;
+import io.scalecube.services.registry.api.RouteMatch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Immutable snapshot of remote service references by static and dynamic qualifiers. For every
+ * qualifier, candidates are precomputed by (dataFormat, requestMethod), so lookup costs few map
+ * lookups and doesn't allocate. Changes produce new snapshot (with incremented version) where only
+ * touched qualifiers are recomputed, the rest is shared with previous snapshot.
+ */
+final class RoutingTable {
+
+  static final RoutingTable EMPTY = new RoutingTable(0, Map.of(), Map.of(), new QualifierTrie<>());
+
+  private final long version;
+  private final Map<String, Routes> routesByQualifier;
+  private final Map<DynamicQualifier, Routes> routesByPattern;
+  private final QualifierTrie<Routes> patternTrie;
+
+  private RoutingTable(
+      long version,
+      Map<String, Routes> routesByQualifier,
+      Map<DynamicQualifier, Routes> routesByPattern,
+      QualifierTrie<Routes> patternTrie) {
+    this.version = version;
+    this.routesByQualifier = routesByQualifier;
+    this.routesByPattern = routesByPattern;
+    this.patternTrie = patternTrie;
+  }
+
+  long version() {
+    return version;
+  }
+
+  List<ServiceReference> serviceReferences() {
+    return Stream.concat(routesByQualifier.values().stream(), routesByPattern.values().stream())
+        .flatMap(routes -> routes.all.stream())
+        .toList();
+  }
+
+  /**
+   * Looking up service references by static qualifier.
+   *
+   * @param qualifier qualifier
+   * @param dataFormat data format
+   * @param requestMethod request method (optional)
+   * @return service references, or null if there is no such static qualifier
+   */
+  List<ServiceReference> lookup(String qualifier, String dataFormat, String requestMethod) {
+    final var routes = routesByQualifier.get(qualifier);
+    return routes != null ? routes.lookup(dataFormat, requestMethod) : null;
+  }
+
+  /**
+   * Matching service references by dynamic qualifiers.
+   *
+   * @param qualifier qualifier
+   * @param dataFormat data format
+   * @param requestMethod request method (optional)
+   * @return service references along with path variables, or null if nothing matched
+   */
+  RouteMatch<List<ServiceReference>> match(
+      String qualifier, String dataFormat, String requestMethod) {
+    final var match =
+        patternTrie.match(qualifier, routes -> !routes.lookup(dataFormat, requestMethod).isEmpty());
+    return match != null
+        ? new RouteMatch<>(match.value().lookup(dataFormat, requestMethod), match.pathVars())
+        : null;
+  }
+
+  /**
+   * Returns new snapshot with added service references. Only qualifiers of these service references
+   * are recomputed, each one once.
+   *
+   * @param serviceReferences service references
+   * @return new snapshot
+   */
+  RoutingTable add(Collection<ServiceReference> serviceReferences) {
+    if (serviceReferences.isEmpty()) {
+      return this;
+    }
+
+    final var byQualifier = new HashMap<String, List<ServiceReference>>();
+    final var byPattern = new HashMap<DynamicQualifier, List<ServiceReference>>();
+    for (var sr : serviceReferences) {
+      if (sr.dynamicQualifier() == null) {
+        byQualifier.computeIfAbsent(sr.qualifier(), key -> new ArrayList<>()).add(sr);
+      } else {
+        byPattern.computeIfAbsent(sr.dynamicQualifier(), key -> new ArrayList<>()).add(sr);
+      }
+    }
+
+    final var qualifierChanges = new HashMap<String, Routes>();
+    byQualifier.forEach(
+        (qualifier, added) ->
+            qualifierChanges.put(qualifier, Routes.add(routesByQualifier.get(qualifier), added)));
+    final var patternChanges = new HashMap<DynamicQualifier, Routes>();
+    byPattern.forEach(
+        (pattern, added) ->
+            patternChanges.put(pattern, Routes.add(routesByPattern.get(pattern), added)));
+
+    return update(qualifierChanges, patternChanges);
+  }
+
+  /**
+   * Returns new snapshot without the given service references (as they were added). Only qualifiers
+   * of these service references are recomputed, each one once.
+   *
+   * @param serviceReferences service references
+   * @return new snapshot
+   */
+  RoutingTable remove(Collection<ServiceReference> serviceReferences) {
+    if (serviceReferences.isEmpty()) {
+      return this;
+    }
+
+    final var byQualifier = new HashMap<String, List<ServiceReference>>();
+    final var byPattern = new HashMap<DynamicQualifier, List<ServiceReference>>();
+    for (var sr : serviceReferences) {
+      if (sr.dynamicQualifier() == null) {
+        byQualifier.computeIfAbsent(sr.qualifier(), key -> new ArrayList<>()).add(sr);
+      } else {
+        byPattern.computeIfAbsent(sr.dynamicQualifier(), key -> new ArrayList<>()).add(sr);
+      }
+    }
+
+    // null routes mean that qualifier is removed
+    final var qualifierChanges = new HashMap<String, Routes>();
+    byQualifier.forEach(
+        (qualifier, removed) -> {
+          final var routes = routesByQualifier.get(qualifier);
+          if (routes != null) {
+            qualifierChanges.put(qualifier, routes.remove(removed));
+          }
+        });
+    final var patternChanges = new HashMap<DynamicQualifier, Routes>();
+    byPattern.forEach(
+        (pattern, removed) -> {
+          final var routes = routesByPattern.get(pattern);
+          if (routes != null) {
+            patternChanges.put(pattern, routes.remove(removed));
+          }
+        });
+
+    if (qualifierChanges.isEmpty() && patternChanges.isEmpty()) {
+      return this;
+    }
+
+    return update(qualifierChanges, patternChanges);
+  }
+
+  private RoutingTable update(
+      Map<String, Routes> qualifierChanges, Map<DynamicQualifier, Routes> patternChanges) {
+    var routesByQualifier = this.routesByQualifier;
+    if (!qualifierChanges.isEmpty()) {
+      routesByQualifier = apply(routesByQualifier, qualifierChanges);
+    }
+
+    var routesByPattern = this.routesByPattern;
+    var patternTrie = this.patternTrie;
+    if (!patternChanges.isEmpty()) {
+      routesByPattern = apply(routesByPattern, patternChanges);
+      patternTrie = new QualifierTrie<>();
+      for (var entry : routesByPattern.entrySet()) {
+        final var routes = entry.getValue();
+        patternTrie.computeIfAbsent(entry.getKey(), key -> routes);
+      }
+    }
+
+    return new RoutingTable(version + 1, routesByQualifier, routesByPattern, patternTrie);
+  }
+
+  private static <K> Map<K, Routes> apply(Map<K, Routes> routesByKey, Map<K, Routes> changes) {
+    final var result = new HashMap<>(routesByKey);
+    changes.forEach(
+        (key, routes) -> {
+          if (routes == null) {
+            result.remove(key);
+          } else {
+            result.put(key, routes);
+          }
+        });
+    return Map.copyOf(result);
+  }
+
+  /**
+   * Service references of the same qualifier along with candidates precomputed by (dataFormat,
+   * requestMethod). Every candidates list is filtered {@link #all} list (in the same order), which
+   * lets to update candidates incrementally: by appending added service references (or by filtering
+   * out removed ones), and to share {@link #all} list in common case when candidates list consists
+   * of all service references.
+   */
+  private static final class Routes {
+
+    private final List<ServiceReference> all;
+    private final Set<String> restMethods;
+    private final Map<String, Candidates> candidatesByDataFormat;
+
+    private Routes(
+        List<ServiceReference> all,
+        Set<String> restMethods,
+        Map<String, Candidates> candidatesByDataFormat) {
+      this.all = all;
+      this.restMethods = restMethods;
+      this.candidatesByDataFormat = candidatesByDataFormat;
+    }
+
+    private static Routes of(List<ServiceReference> serviceReferences) {
+      final var all = List.copyOf(serviceReferences);
+
+      final var dataFormats = new LinkedHashSet<String>();
+      final var restMethods = new LinkedHashSet<String>();
+      for (var sr : all) {
+        dataFormats.addAll(sr.contentTypes());
+        if (sr.restMethod() != null) {
+          restMethods.add(sr.restMethod());
+        }
+      }
+
+      final var candidatesByDataFormat = new HashMap<String, Candidates>();
+      for (var dataFormat : dataFormats) {
+        final var byDataFormat = filter(all, sr -> sr.contentTypes().contains(dataFormat));
+        final var byRequestMethod = new HashMap<String, List<ServiceReference>>();
+        for (var restMethod : restMethods) {
+          byRequestMethod.put(
+              restMethod, filter(byDataFormat, sr -> matchesRestMethod(sr, restMethod)));
+        }
+        candidatesByDataFormat.put(
+            dataFormat,
+            new Candidates(
+                filter(byDataFormat, sr -> sr.restMethod() == null), Map.copyOf(byRequestMethod)));
+      }
+
+      return new Routes(all, Set.copyOf(restMethods), Map.copyOf(candidatesByDataFormat));
+    }
+
+    private static Routes add(Routes routes, List<ServiceReference> added) {
+      if (routes == null) {
+        return of(added);
+      }
+      for (var sr : added) {
+        if (!routes.candidatesByDataFormat.keySet().containsAll(sr.contentTypes())
+            || (sr.restMethod() != null && !routes.restMethods.contains(sr.restMethod()))) {
+          // new data format or rest method, candidates lists are not known yet
+          return of(concat(routes.all, added));
+        }
+      }
+
+      final var all = concat(routes.all, added);
+      final var candidatesByDataFormat = new HashMap<String, Candidates>();
+      routes.candidatesByDataFormat.forEach(
+          (dataFormat, candidates) -> {
+            final var byDataFormat = filter(added, sr -> sr.contentTypes().contains(dataFormat));
+            final var byRequestMethod = new HashMap<String, List<ServiceReference>>();
+            candidates.byRequestMethod.forEach(
+                (restMethod, list) ->
+                    byRequestMethod.put(
+                        restMethod,
+                        routes.append(
+                            list,
+                            filter(byDataFormat, sr -> matchesRestMethod(sr, restMethod)),
+                            all)));
+            candidatesByDataFormat.put(
+                dataFormat,
+                new Candidates(
+                    routes.append(
+                        candidates.anyRequestMethod,
+                        filter(byDataFormat, sr -> sr.restMethod() == null),
+                        all),
+                    Map.copyOf(byRequestMethod)));
+          });
+
+      return new Routes(all, routes.restMethods, Map.copyOf(candidatesByDataFormat));
+    }
+
+    private Routes remove(List<ServiceReference> removed) {
+      final var all = without(this.all, removed);
+      if (all.isEmpty()) {
+        return null;
+      }
+      if (all == this.all) {
+        return this;
+      }
+
+      final var candidatesByDataFormat = new HashMap<String, Candidates>();
+      this.candidatesByDataFormat.forEach(
+          (dataFormat, candidates) -> {
+            final var byRequestMethod = new HashMap<String, List<ServiceReference>>();
+            candidates.byRequestMethod.forEach(
+                (restMethod, list) -> byRequestMethod.put(restMethod, remove(list, removed, all)));
+            candidatesByDataFormat.put(
+                dataFormat,
+                new Candidates(
+                    remove(candidates.anyRequestMethod, removed, all),
+                    Map.copyOf(byRequestMethod)));
+          });
+
+      return new Routes(all, restMethods, Map.copyOf(candidatesByDataFormat));
+    }
+
+    private List<ServiceReference> append(
+        List<ServiceReference> list, List<ServiceReference> added, List<ServiceReference> all) {
+      if (list == this.all && added.size() == all.size() - this.all.size()) {
+        return all;
+      }
+      return added.isEmpty() ? list : concat(list, added);
+    }
+
+    private List<ServiceReference> remove(
+        List<ServiceReference> list, List<ServiceReference> removed, List<ServiceReference> all) {
+      return list == this.all ? all : without(list, removed);
+    }
+
+    private List<ServiceReference> lookup(String dataFormat, String requestMethod) {
+      final var candidates = candidatesByDataFormat.get(dataFormat);
+      if (candidates == null) {
+        return List.of();
+      }
+      if (requestMethod == null) {
+        return candidates.anyRequestMethod;
+      }
+      final var list = candidates.byRequestMethod.get(requestMethod);
+      return list != null ? list : candidates.anyRequestMethod;
+    }
+
+    private static boolean matchesRestMethod(ServiceReference sr, String restMethod) {
+      return sr.restMethod() == null || sr.restMethod().equals(restMethod);
+    }
+
+    // returns the same list if all elements match, so candidates lists can be shared
+    private static List<ServiceReference> filter(
+        List<ServiceReference> list, Predicate<ServiceReference> predicate) {
+      int count = 0;
+      for (var sr : list) {
+        if (predicate.test(sr)) {
+          count++;
+        }
+      }
+      if (count == list.size()) {
+        return list;
+      }
+      final var array = new ServiceReference[count];
+      int i = 0;
+      for (var sr : list) {
+        if (predicate.test(sr)) {
+          array[i++] = sr;
+        }
+      }
+      return Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    // service references are compared by identity, few of them are removed at once
+    private static List<ServiceReference> without(
+        List<ServiceReference> list, List<ServiceReference> removed) {
+      final var array = list.toArray(new ServiceReference[0]);
+      int size = array.length;
+      for (var sr : removed) {
+        for (int i = 0; i < size; i++) {
+          if (array[i] == sr) {
+            System.arraycopy(array, i + 1, array, i, --size - i);
+            break;
+          }
+        }
+      }
+      if (size == array.length) {
+        return list;
+      }
+      return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(array, size)));
+    }
+
+    private static List<ServiceReference> concat(
+        List<ServiceReference> list, List<ServiceReference> added) {
+      final var array = list.toArray(new ServiceReference[list.size() + added.size()]);
+      for (int i = 0; i < added.size(); i++) {
+        array[list.size() + i] = added.get(i);
+      }
+      return Collections.unmodifiableList(Arrays.asList(array));
+    }
+  }
+
+  /**
+   * Candidates of the same data format.
+   *
+   * @param anyRequestMethod service references without rest method (match any request method)
+   * @param byRequestMethod service references by known rest methods
+   */
+  private record Candidates(
+      List<ServiceReference> anyRequestMethod,
+      Map<String, List<ServiceReference>> byRequestMethod) {}
+}
@@ -4,26 +4,29 @@
 import io.scalecube.services.ServiceEndpoint;
 import io.scalecube.services.ServiceInfo;
 import io.scalecube.services.ServiceReference;
-import io.scalecube.services.api.DynamicQualifier;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.methods.MethodInfo;
 import io.scalecube.services.methods.ServiceMethodInvoker;
+import io.scalecube.services.registry.api.RouteMatch;
 import io.scalecube.services.registry.api.ServiceRegistry;
+import io.scalecube.services.transport.api.DataCodec;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 public class ServiceRegistryImpl implements ServiceRegistry {
 
@@ -33,21 +36,42 @@ public class ServiceRegistryImpl implements ServiceRegistry {
   private final Map<String, ServiceEndpoint> serviceEndpoints = new ConcurrentHashMap<>();
   private final List<ServiceInfo> serviceInfos = new CopyOnWriteArrayList<>();
 
-  // remote service references by static and dynamic qualifiers
+  // remote service references by static and dynamic qualifiers (copy-on-write, changes are
+  // serialized by registerService/unregisterService)
 
-  private final Map<String, List<ServiceReference>> serviceReferencesByQualifier =
-      new ConcurrentHashMap<>();
-  private final Map<DynamicQualifier, List<ServiceReference>> serviceReferencesByPattern =
-      new ConcurrentHashMap<>();
+  private volatile RoutingTable routingTable = RoutingTable.EMPTY;
+  // service references (as added to routing table) by endpoint id, to remove them in one batch
+  private final Map<String, List<ServiceReference>> serviceReferencesByEndpoint = new HashMap<>();
+
+  // consumed namespaces (null if all namespaces are consumed), and endpoint ids by namespaces which
+  // are not consumed (yet), so that they can be indexed later
+
+  private final Set<String> consumedNamespaces;
+  private final Map<String, Set<String>> endpointIdsByNamespace = new ConcurrentHashMap<>();
 
   // local service method invokers by static and dynamic qualifiers
 
   private final Map<String, List<ServiceMethodInvoker>> methodInvokersByQualifier =
       new ConcurrentHashMap<>();
-  private final Map<DynamicQualifier, List<ServiceMethodInvoker>> methodInvokersByPattern =
-      new ConcurrentHashMap<>();
+  private final QualifierTrie<List<ServiceMethodInvoker>> methodInvokersByPattern =
+      new QualifierTrie<>();
 
-  public ServiceRegistryImpl() {}
+  public ServiceRegistryImpl() {
+    this(null);
+  }
+
+  /**
+   * Constructor of interest-based service registry. It materialises {@link ServiceReference}
+   * objects only for namespaces consumed by this node, for the rest of namespaces it keeps just
+   * endpoint ids. Namespace gets indexed when declared by {@link #consume(String)}, or lazily on
+   * the first lookup of its qualifier.
+   *
+   * @param consumedNamespaces consumed namespaces (nullable, null means all namespaces are
+   *     consumed)
+   */
+  public ServiceRegistryImpl(Collection<String> consumedNamespaces) {
+    this.consumedNamespaces = consumedNamespaces != null ? new HashSet<>(consumedNamespaces) : null;
+  }
 
   @Override
   public List<ServiceEndpoint> listServiceEndpoints() {
@@ -57,79 +81,148 @@ public List<ServiceEndpoint> listServiceEndpoints() {
 
   @Override
   public List<ServiceReference> listServiceReferences() {
-    return Stream.concat(
-            serviceReferencesByQualifier.values().stream().flatMap(Collection::stream),
-            serviceReferencesByPattern.values().stream().flatMap(Collection::stream))
-        .toList();
+    return routingTable.serviceReferences();
   }
 
   @Override
   public List<ServiceReference> lookupService(ServiceMessage request) {
+    final var routingTable = this.routingTable;
+    final var dataFormat = request.dataFormatOrDefault();
+    final var qualifier = request.qualifier();
+    final var requestMethod = request.requestMethod();
+
+    // Match by exact-match
+
+    final var list = routingTable.lookup(qualifier, dataFormat, requestMethod);
+    if (list != null) {
+      return list;
+    }
+
+    // Match by dynamic-qualifier
+
+    final var match = routingTable.match(qualifier, dataFormat, requestMethod);
+    if (match != null) {
+      return match.value();
+    }
+
+    return consumeByQualifier(qualifier) ? lookupService(request) : List.of();
+  }
+
+  @Override
+  public RouteMatch<List<ServiceReference>> matchService(ServiceMessage request) {
+    final var routingTable = this.routingTable;
     final var dataFormat = request.dataFormatOrDefault();
     final var qualifier = request.qualifier();
     final var requestMethod = request.requestMethod();
 
     // Match by exact-match
 
-    final var list = serviceReferencesByQualifier.get(qualifier);
+    final var list = routingTable.lookup(qualifier, dataFormat, requestMethod);
     if (list != null) {
-      return list.stream()
-          .filter(byDataFormat(dataFormat))
-          .filter(byRequestMethod(requestMethod))
-          .toList();
+      return new RouteMatch<>(list, null);
     }
 
     // Match by dynamic-qualifier
 
-    for (var entry : serviceReferencesByPattern.entrySet()) {
-      final var dynamicQualifier = entry.getKey();
-      final var serviceReferences = entry.getValue();
-      if (dynamicQualifier.matchQualifier(qualifier) != null) {
-        return serviceReferences.stream()
-            .filter(byDataFormat(dataFormat))
-            .filter(byRequestMethod(requestMethod))
-            .toList();
+    final var match = routingTable.match(qualifier, dataFormat, requestMethod);
+    if (match != null) {
+      return match;
+    }
+
+    return consumeByQualifier(qualifier)
+        ? matchService(request)
+        : new RouteMatch<>(List.of(), null);
+  }
+
+  @Override
+  public synchronized void consume(String namespace) {
+    if (consumedNamespaces == null || !consumedNamespaces.add(namespace)) {
+      return;
+    }
+
+    final var endpointIds = endpointIdsByNamespace.remove(namespace);
+    if (endpointIds == null) {
+      return;
+    }
+
+    final var serviceReferences = new ArrayList<ServiceReference>();
+    for (var endpointId : endpointIds) {
+      final var serviceEndpoint = serviceEndpoints.get(endpointId);
+      final var list = serviceReferences(serviceEndpoint, namespace::equals);
+      serviceReferencesByEndpoint.merge(endpointId, list, ServiceRegistryImpl::concat);
+      serviceReferences.addAll(list);
+    }
+    routingTable = routingTable.add(serviceReferences);
+
+    LOGGER.debug("Namespace consumed: {}, endpoints: {}", namespace, endpointIds.size());
+  }
+
+  /**
+   * Consumes (not yet consumed) namespace of the given qualifier, if there are endpoints which
+   * provide it.
+   *
+   * @param qualifier qualifier
+   * @return true if namespace was consumed, false otherwise
+   */
+  private boolean consumeByQualifier(String qualifier) {
+    if (endpointIdsByNamespace.isEmpty()) {
+      return false;
+    }
+    for (int i = qualifier.indexOf('/'); i > 0; i = qualifier.indexOf('/', i + 1)) {
+      final var namespace = qualifier.substring(0, i);
+      if (endpointIdsByNamespace.containsKey(namespace)) {
+        consume(namespace);
+        return true;
       }
     }
+    return false;
+  }
 
-    return Collections.emptyList();
+  @Override
+  public long version() {
+    return routingTable.version();
   }
 
   @Override
-  public void registerService(ServiceEndpoint serviceEndpoint) {
-    boolean putIfAbsent =
-        serviceEndpoints.putIfAbsent(serviceEndpoint.id(), serviceEndpoint) == null;
-    if (putIfAbsent) {
-      serviceEndpoint.serviceReferences().forEach(this::addServiceReference);
+  public synchronized void registerService(ServiceEndpoint serviceEndpoint) {
+    if (!serviceEndpoints.containsKey(serviceEndpoint.id())) {
+      final List<ServiceReference> serviceReferences;
+      if (consumedNamespaces == null) {
+        serviceReferences = List.copyOf(serviceEndpoint.serviceReferences());
+      } else {
+        serviceReferences = serviceReferences(serviceEndpoint, consumedNamespaces::contains);
+        for (var registration : serviceEndpoint.serviceRegistrations()) {
+          if (!consumedNamespaces.contains(registration.namespace())) {
+            endpointIdsByNamespace
+                .computeIfAbsent(registration.namespace(), key -> ConcurrentHashMap.newKeySet())
+                .add(serviceEndpoint.id());
+          }
+        }
+      }
+      serviceReferencesByEndpoint.put(serviceEndpoint.id(), serviceReferences);
+      routingTable = routingTable.add(serviceReferences);
+      // publish endpoint only after its routes, so that whoever sees it can also look it up
+      serviceEndpoints.put(serviceEndpoint.id(), serviceEndpoint);
       LOGGER.debug("ServiceEndpoint registered: {}", serviceEndpoint);
     }
   }
 
   @Override
-  public ServiceEndpoint unregisterService(String endpointId) {
+  public synchronized ServiceEndpoint unregisterService(String endpointId) {
     ServiceEndpoint serviceEndpoint = serviceEndpoints.remove(endpointId);
     if (serviceEndpoint != null) {
-      // Clean exact-match service references
-
-      serviceReferencesByQualifier.values().stream()
-          .flatMap(Collection::stream)
-          .filter(sr -> sr.endpointId().equals(endpointId))
-          .forEach(
-              value ->
-                  serviceReferencesByQualifier.compute(
-                      value.qualifier(), (key, list) -> removeServiceReference(value, list)));
-
-      // Clean dynamic-qualifier service references
-
-      serviceReferencesByPattern.values().stream()
-          .flatMap(Collection::stream)
-          .filter(sr -> sr.endpointId().equals(endpointId))
-          .forEach(
-              value ->
-                  serviceReferencesByPattern.compute(
-                      value.dynamicQualifier(),
-                      (key, list) -> removeServiceReference(value, list)));
-
+      final var serviceReferences = serviceReferencesByEndpoint.remove(endpointId);
+      if (serviceReferences != null) {
+        routingTable = routingTable.remove(serviceReferences);
+      }
+      for (var registration : serviceEndpoint.serviceRegistrations()) {
+        endpointIdsByNamespace.computeIfPresent(
+            registration.namespace(),
+            (namespace, endpointIds) -> {
+              endpointIds.remove(endpointId);
+              return endpointIds.isEmpty() ? null : endpointIds;
+            });
+      }
       LOGGER.debug("ServiceEndpoint unregistered: {}", serviceEndpoint);
     }
     return serviceEndpoint;
@@ -184,6 +277,8 @@ public void registerService(
                                   Reflect.restMethod(method));
 
                           checkMethodInfo(methodInfo);
+                          checkPlainMethod(method, methodInfo);
+                          DataCodec.prewarmAll(methodInfo);
 
                           final var methodInvoker =
                               new ServiceMethodInvoker(
@@ -194,7 +289,9 @@ public void registerService(
                                   serviceInfo.dataDecoder(),
                                   serviceInfo.authenticator(),
                                   serviceInfo.principalMapper(),
-                                  serviceInfo.logger());
+                                  serviceInfo.logger(),
+                                  serviceInfo.concurrencyLimits().get(Reflect.methodName(method)),
+                                  serviceInfo.partitionKeys().get(Reflect.methodName(method)));
 
                           final List<ServiceMethodInvoker> methodInvokers;
                           if (methodInfo.dynamicQualifier() == null) {
@@ -212,6 +309,16 @@ public void registerService(
     serviceInfos.add(serviceInfo);
   }
 
+  private static void checkPlainMethod(Method method, MethodInfo methodInfo) {
+    // plain (blocking) methods must not run on transport threads
+    if (Reflect.isReturnTypePlain(method) && methodInfo.scheduler() == Schedulers.immediate()) {
+      throw new IllegalArgumentException(
+          "Service method with plain return type must be executed on scheduler (e.g."
+              + " @ExecuteOn(\"virtual\")), method: "
+              + method);
+    }
+  }
+
   private void checkMethodInfo(MethodInfo methodInfo) {
     final var restMethod = methodInfo.restMethod(); // nullable
 
@@ -227,7 +334,10 @@ private void checkMethodInfo(MethodInfo methodInfo) {
 
     if (methodInfo.dynamicQualifier() != null) {
       final var hasMethodInvokerByDynamicQualifier =
-          methodInvokersByPattern.getOrDefault(methodInfo.dynamicQualifier(), List.of()).stream()
+          Objects.requireNonNullElse(
+                  methodInvokersByPattern.get(methodInfo.dynamicQualifier()),
+                  List.<ServiceMethodInvoker>of())
+              .stream()
               .filter(smi -> Objects.equals(smi.methodInfo().restMethod(), restMethod))
               .findAny();
       if (hasMethodInvokerByDynamicQualifier.isPresent()) {
@@ -238,6 +348,12 @@ private void checkMethodInfo(MethodInfo methodInfo) {
 
   @Override
   public ServiceMethodInvoker lookupInvoker(ServiceMessage request) {
+    final var match = matchInvoker(request);
+    return match != null ? match.value() : null;
+  }
+
+  @Override
+  public RouteMatch<ServiceMethodInvoker> matchInvoker(ServiceMessage request) {
     final var qualifier = request.qualifier();
     final var requestMethod = request.requestMethod();
 
@@ -245,65 +361,59 @@ public ServiceMethodInvoker lookupInvoker(ServiceMessage request) {
 
     final var methodInvokers = methodInvokersByQualifier.get(qualifier);
     if (methodInvokers != null) {
-      for (var methodInvoker : methodInvokers) {
-        final var restMethod = methodInvoker.methodInfo().restMethod();
-        if (restMethod == null || restMethod.equals(requestMethod)) {
-          return methodInvoker;
-        }
+      final var methodInvoker = findByRequestMethod(methodInvokers, requestMethod);
+      if (methodInvoker != null) {
+        return new RouteMatch<>(methodInvoker, null);
       }
     }
 
     // Match by dynamic-qualifier
 
-    for (var entry : methodInvokersByPattern.entrySet()) {
-      for (var methodInvoker : entry.getValue()) {
-        final var methodInfo = methodInvoker.methodInfo();
-        final var restMethod = methodInfo.restMethod();
-        if (restMethod == null || restMethod.equals(requestMethod)) {
-          if (methodInfo.dynamicQualifier().matchQualifier(qualifier) != null) {
-            return methodInvoker;
-          }
-        }
-      }
+    final var match =
+        methodInvokersByPattern.match(
+            qualifier, list -> findByRequestMethod(list, requestMethod) != null);
+    if (match != null) {
+      return new RouteMatch<>(findByRequestMethod(match.value(), requestMethod), match.pathVars());
     }
 
     return null;
   }
 
-  @Override
-  public List<ServiceInfo> listServices() {
-    return new ArrayList<>(serviceInfos);
-  }
-
-  private void addServiceReference(ServiceReference sr) {
-    if (sr.dynamicQualifier() == null) {
-      serviceReferencesByQualifier
-          .computeIfAbsent(sr.qualifier(), key -> new CopyOnWriteArrayList<>())
-          .add(sr);
-    } else {
-      serviceReferencesByPattern
-          .computeIfAbsent(sr.dynamicQualifier(), key -> new CopyOnWriteArrayList<>())
-          .add(sr);
+  private static ServiceMethodInvoker findByRequestMethod(
+      List<ServiceMethodInvoker> methodInvokers, String requestMethod) {
+    for (var methodInvoker : methodInvokers) {
+      final var restMethod = methodInvoker.methodInfo().restMethod();
+      if (restMethod == null || restMethod.equals(requestMethod)) {
+        return methodInvoker;
+      }
     }
+    return null;
   }
 
-  private static List<ServiceReference> removeServiceReference(
-      ServiceReference value, List<ServiceReference> list) {
-    if (list == null || list.isEmpty()) {
-      return null;
+  private static List<ServiceReference> serviceReferences(
+      ServiceEndpoint serviceEndpoint, Predicate<String> namespaceFilter) {
+    final var serviceReferences = new ArrayList<ServiceReference>();
+    for (var registration : serviceEndpoint.serviceRegistrations()) {
+      if (namespaceFilter.test(registration.namespace())) {
+        for (var methodDefinition : registration.methods()) {
+          serviceReferences.add(
+              new ServiceReference(methodDefinition, registration, serviceEndpoint));
+        }
+      }
     }
-    list.remove(value);
-    return list.isEmpty() ? null : list;
+    return List.copyOf(serviceReferences);
   }
 
-  private static Predicate<ServiceReference> byDataFormat(String dataFormat) {
-    return serviceReference -> serviceReference.contentTypes().contains(dataFormat);
+  private static List<ServiceReference> concat(
+      List<ServiceReference> list1, List<ServiceReference> list2) {
+    final var list = new ArrayList<ServiceReference>(list1.size() + list2.size());
+    list.addAll(list1);
+    list.addAll(list2);
+    return List.copyOf(list);
   }
 
-  private static Predicate<ServiceReference> byRequestMethod(String requestMethod) {
-    return serviceReference -> {
-      final var restMethod = serviceReference.restMethod();
-      return restMethod == null || restMethod.equals(requestMethod);
-    };
+  @Override
+  public List<ServiceInfo> listServices() {
+    return new ArrayList<>(serviceInfos);
   }
 }
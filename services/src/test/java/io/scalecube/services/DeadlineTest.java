@@ -0,0 +1,176 @@
+package io.scalecube.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.services.annotations.Inject;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.DeadlineExceededException;
+import io.scalecube.services.methods.RequestContext;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class DeadlineTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+  private static volatile CountDownLatch cancelled;
+
+  private static GatewayProviderFixture fixture;
+
+  private ServiceCall serviceCall;
+
+  @BeforeAll
+  public static void setup() {
+    fixture = GatewayProviderFixture.start(new SlowServiceImpl(), new NestedServiceImpl());
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    fixture.close();
+  }
+
+  @BeforeEach
+  public void setUp() {
+    INVOCATIONS.set(0);
+    cancelled = new CountDownLatch(1);
+    serviceCall = fixture.gateway().call();
+  }
+
+  @Test
+  public void testTimeoutCancelsRemoteWork() throws InterruptedException {
+    final var slowService = serviceCall.timeout(Duration.ofMillis(100)).api(SlowService.class);
+
+    assertThrows(DeadlineExceededException.class, () -> slowService.never().block(TIMEOUT));
+    assertTrue(cancelled.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    assertEquals(1, INVOCATIONS.get());
+  }
+
+  @Test
+  public void testStreamTimeout() {
+    StepVerifier.create(serviceCall.timeout(Duration.ofMillis(300)).api(SlowService.class).ticks())
+        .expectNext(0L)
+        .expectError(DeadlineExceededException.class)
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testExpiredRequestIsRejected() {
+    final var request =
+        ServiceMessage.builder()
+            .qualifier("slow/timeout")
+            .header(ServiceMessage.HEADER_TIMEOUT, 0)
+            .build();
+
+    assertThrows(
+        DeadlineExceededException.class, () -> serviceCall.requestOne(request).block(TIMEOUT));
+    assertEquals(0, INVOCATIONS.get());
+  }
+
+  @Test
+  public void testRemainingBudgetIsSent() {
+    final var timeout =
+        serviceCall.timeout(Duration.ofSeconds(2)).api(SlowService.class).timeout().block(TIMEOUT);
+
+    final var remaining = Long.parseLong(timeout);
+    assertTrue(remaining > 0 && remaining <= 2000, timeout);
+    assertEquals("none", serviceCall.api(SlowService.class).timeout().block(TIMEOUT));
+  }
+
+  @Test
+  public void testDeadlineIsPropagatedToNestedCall() {
+    final var timeout =
+        serviceCall
+            .timeout(Duration.ofSeconds(2))
+            .api(NestedService.class)
+            .timeout()
+            .block(TIMEOUT);
+
+    final var remaining = Long.parseLong(timeout);
+    assertTrue(remaining > 0 && remaining <= 2000, timeout);
+  }
+
+  @Test
+  public void testNestedCallIsCancelledWithOuterRequest() throws InterruptedException {
+    final var nestedService = serviceCall.timeout(Duration.ofMillis(100)).api(NestedService.class);
+
+    assertThrows(DeadlineExceededException.class, () -> nestedService.never().block(TIMEOUT));
+    assertTrue(cancelled.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  @Service("slow")
+  public interface SlowService {
+
+    @ServiceMethod
+    Mono<String> never();
+
+    @ServiceMethod
+    Flux<Long> ticks();
+
+    @ServiceMethod
+    Mono<String> timeout();
+  }
+
+  @Service("nested")
+  public interface NestedService {
+
+    @ServiceMethod
+    Mono<String> never();
+
+    @ServiceMethod
+    Mono<String> timeout();
+  }
+
+  public static class SlowServiceImpl implements SlowService {
+
+    @Override
+    public Mono<String> never() {
+      INVOCATIONS.incrementAndGet();
+      return Mono.<String>never().doOnCancel(() -> cancelled.countDown());
+    }
+
+    @Override
+    public Flux<Long> ticks() {
+      return Flux.interval(Duration.ofMillis(200));
+    }
+
+    @Override
+    public Mono<String> timeout() {
+      INVOCATIONS.incrementAndGet();
+      return RequestContext.deferContextual()
+          .map(
+              context -> {
+                final var timeout = context.header(ServiceMessage.HEADER_TIMEOUT);
+                return timeout != null ? timeout : "none";
+              });
+    }
+  }
+
+  public static class NestedServiceImpl implements NestedService {
+
+    @Inject private SlowService slowService;
+
+    @Override
+    public Mono<String> never() {
+      return slowService.never();
+    }
+
+    @Override
+    public Mono<String> timeout() {
+      return slowService.timeout();
+    }
+  }
+}
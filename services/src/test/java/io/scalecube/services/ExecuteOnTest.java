@@ -1,28 +1,46 @@
 package io.scalecube.services;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.scalecube.services.Microservices.Context;
 import io.scalecube.services.annotations.ExecuteOn;
 import io.scalecube.services.annotations.Service;
 import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.BadRequestException;
+import io.scalecube.services.exceptions.ServiceUnavailableException;
+import io.scalecube.services.methods.RequestContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
 public class ExecuteOnTest {
 
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
   private static final String SCHEDULER1_NAME = "scheduler@1";
   private static final String SCHEDULER2_NAME = "scheduler@2";
   private static final String SCHEDULER3_NAME = "scheduler@3@that-was-not-declared";
@@ -188,6 +206,226 @@ void testDefaultSchedulersOnService() {
     }
   }
 
+  @Test
+  void testPlainMethodsOnVirtualScheduler() {
+    final var service = new BlockingServiceImpl();
+    try (final var microservices = Microservices.start(new Context().services(service))) {
+
+      final var api = microservices.call().api(BlockingService.class);
+
+      assertEquals("hello joe", api.hello("joe"));
+      assertThat(service.threadName.get(), not(startsWith("main")));
+
+      assertEquals(List.of("joe", "joe"), api.repeat(new RepeatRequest("joe", 2)));
+      assertEquals(3, api.length("joe"));
+
+      // plain methods can be mixed with reactive ones
+      assertEquals("hello joe", api.helloMono("joe").block());
+    }
+  }
+
+  @Test
+  void testPlainMethodMustBeExecutedOnScheduler() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> {
+          //noinspection unused,EmptyTryBlock
+          try (final var microservices =
+              Microservices.start(new Context().services(new ImmediateBlockingServiceImpl()))) {}
+        });
+  }
+
+  @Test
+  void testPartitionedExecution() {
+    final var service = new LedgerServiceImpl();
+    try (final var microservices = Microservices.start(new Context().services(service))) {
+
+      final var serviceCall = microservices.call();
+      Flux.range(0, 200)
+          .flatMap(
+              i ->
+                  serviceCall.requestOne(
+                      ServiceMessage.builder()
+                          .qualifier("v1/ledger/deposit")
+                          .header("accountId", "account-" + (i % 4))
+                          .data(i)
+                          .build(),
+                      Integer.class))
+          .blockLast(TIMEOUT);
+
+      assertEquals(4, service.deposits.size());
+      service.deposits.forEach(
+          (accountId, deposits) -> {
+            assertEquals(50, deposits.size(), accountId);
+            assertEquals(deposits.stream().sorted().toList(), deposits, "arrival order");
+          });
+      service.threadNames.forEach(
+          (accountId, threadNames) -> {
+            assertEquals(1, threadNames.size(), accountId);
+            assertThat(threadNames.iterator().next(), startsWith("partitioned-"));
+          });
+    }
+  }
+
+  @Test
+  void testPartitionedExecutionOfAsyncMethod() {
+    final var service = new LedgerServiceImpl();
+    try (final var microservices = Microservices.start(new Context().services(service))) {
+
+      final var serviceCall = microservices.call();
+      Flux.range(0, 100)
+          .flatMap(
+              i ->
+                  serviceCall.requestOne(
+                      ServiceMessage.builder()
+                          .qualifier("v1/ledger/transfer")
+                          .header("accountId", "account-" + (i % 4))
+                          .data(i)
+                          .build(),
+                      Integer.class))
+          .blockLast(TIMEOUT);
+
+      // next invocation of the same key starts only after previous one has completed
+      assertFalse(service.overlapped.get(), "overlapped");
+      assertEquals(4, service.transfers.size());
+      service.transfers.forEach(
+          (accountId, transfers) -> {
+            assertEquals(25, transfers.size(), accountId);
+            assertEquals(transfers.stream().sorted().toList(), transfers, "arrival order");
+          });
+    }
+  }
+
+  @Test
+  void testRequestWithoutPartitionKeyIsRejected() {
+    final var service = new LedgerServiceImpl();
+    try (final var microservices = Microservices.start(new Context().services(service))) {
+
+      StepVerifier.create(
+              microservices
+                  .call()
+                  .requestOne(
+                      ServiceMessage.builder().qualifier("v1/ledger/deposit").data(1).build(),
+                      Integer.class))
+          .expectError(BadRequestException.class)
+          .verify(TIMEOUT);
+
+      assertTrue(service.deposits.isEmpty(), "deposits: " + service.deposits);
+    }
+  }
+
+  @Test
+  void testPartitionKeyOnServiceInfo() {
+    final var service = new GreetingServiceImpl();
+    try (final var microservices =
+        Microservices.start(
+            new Context()
+                .scheduler("greetings", () -> new PartitionedScheduler("greetings", 2))
+                .services(
+                    ServiceInfo.fromServiceInstance(service)
+                        .partitionKey("hello", ServiceMessage::data)
+                        .build()))) {
+
+      final var api = microservices.call().api(GreetingService.class);
+
+      assertEquals("hello joe", api.hello("joe").block(TIMEOUT));
+      final var threadName = service.threadName.get();
+      assertThat(threadName, startsWith("greetings-"));
+
+      api.hello("joe").block(TIMEOUT);
+      assertEquals(threadName, service.threadName.get(), "same key, same partition");
+    }
+  }
+
+  @Test
+  void testPartitionKeyRequiresPartitionedScheduler() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> {
+          //noinspection unused,EmptyTryBlock
+          try (final var microservices =
+              Microservices.start(new Context().services(new SinglePartitionedServiceImpl()))) {}
+        });
+  }
+
+  @Test
+  void testDataPartitionKeyIsRejected() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> {
+          //noinspection unused,EmptyTryBlock
+          try (final var microservices =
+              Microservices.start(new Context().services(new DataPartitionedServiceImpl()))) {}
+        });
+  }
+
+  @Test
+  void testPartitionKeyOfStreamIsRejected() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> {
+          //noinspection unused,EmptyTryBlock
+          try (final var microservices =
+              Microservices.start(new Context().services(new StreamPartitionedServiceImpl()))) {}
+        });
+  }
+
+  @Test
+  void testPartitionQueueIsBounded() {
+    final var scheduler = new PartitionedScheduler("test", 1, 1);
+    try {
+      final var running = scheduler.execute("key", Mono.never()).subscribe();
+      final var queued = scheduler.execute("key", Mono.just(1)).subscribe();
+
+      StepVerifier.create(scheduler.execute("key", Mono.just(2)))
+          .expectError(ServiceUnavailableException.class)
+          .verify(TIMEOUT);
+
+      running.dispose();
+      queued.dispose();
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+  @Test
+  void testPartitionQueueDepth() throws InterruptedException {
+    final var scheduler = new PartitionedScheduler("test", 2);
+    try {
+      final var started = new CountDownLatch(1);
+      final var latch = new CountDownLatch(1);
+      final var partition = scheduler.partitionOf("hot");
+      scheduler
+          .partition("hot")
+          .schedule(
+              () -> {
+                started.countDown();
+                awaitUninterruptibly(latch);
+              });
+      started.await();
+      for (int i = 0; i < 3; i++) {
+        scheduler.partition("hot").schedule(() -> {});
+      }
+
+      assertEquals(3, scheduler.queueDepth(partition));
+      assertEquals(0, scheduler.queueDepth(1 - partition));
+      assertEquals(3, scheduler.queueDepths()[partition]);
+
+      latch.countDown();
+    } finally {
+      scheduler.dispose();
+    }
+    assertTrue(scheduler.isDisposed());
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   @Service("v1/greeting")
   public interface HelloService {
 
@@ -375,4 +613,178 @@ public Mono<String> hello() {
       return Mono.just("hello | " + System.currentTimeMillis());
     }
   }
+
+  public record RepeatRequest(String value, int times) {}
+
+  @Service("v1/blocking")
+  public interface BlockingService {
+
+    @ServiceMethod
+    String hello(String name);
+
+    @ServiceMethod
+    List<String> repeat(RepeatRequest request);
+
+    @ServiceMethod
+    int length(String value);
+
+    @ServiceMethod
+    Mono<String> helloMono(String name);
+  }
+
+  @ExecuteOn("virtual")
+  public static class BlockingServiceImpl implements BlockingService {
+
+    final AtomicReference<String> threadName = new AtomicReference<>();
+
+    @Override
+    public String hello(String name) {
+      threadName.set(Thread.currentThread().getName());
+      return "hello " + name;
+    }
+
+    @Override
+    public List<String> repeat(RepeatRequest request) {
+      return Collections.nCopies(request.times(), request.value());
+    }
+
+    @Override
+    public int length(String value) {
+      return value.length();
+    }
+
+    @Override
+    public Mono<String> helloMono(String name) {
+      return Mono.just("hello " + name);
+    }
+  }
+
+  @Service("v1/ledger")
+  public interface LedgerService {
+
+    @ServiceMethod
+    Mono<Integer> deposit(Integer amount);
+
+    @ServiceMethod
+    Mono<Integer> transfer(Integer amount);
+  }
+
+  public static class LedgerServiceImpl implements LedgerService {
+
+    final Map<String, List<Integer>> deposits = new ConcurrentHashMap<>();
+    final Map<String, Set<String>> threadNames = new ConcurrentHashMap<>();
+    final Map<String, List<Integer>> transfers = new ConcurrentHashMap<>();
+    final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    final AtomicBoolean overlapped = new AtomicBoolean();
+
+    // No locking, requests of the same account are executed one after another
+    @ExecuteOn(value = "partitioned", key = "header:accountId")
+    @Override
+    public Mono<Integer> deposit(Integer amount) {
+      return RequestContext.deferContextual()
+          .map(
+              context -> {
+                final var accountId = context.header("accountId");
+                deposits.computeIfAbsent(accountId, k -> new ArrayList<>()).add(amount);
+                threadNames
+                    .computeIfAbsent(accountId, k -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+                return amount;
+              });
+    }
+
+    // Completes asynchronously, still requests of the same account don't overlap
+    @ExecuteOn(value = "partitioned", key = "header:accountId")
+    @Override
+    public Mono<Integer> transfer(Integer amount) {
+      return RequestContext.deferContextual()
+          .flatMap(
+              context -> {
+                final var accountId = context.header("accountId");
+                final var counter = inFlight.computeIfAbsent(accountId, k -> new AtomicInteger());
+                if (counter.incrementAndGet() > 1) {
+                  overlapped.set(true);
+                }
+                return Mono.delay(Duration.ofMillis(5))
+                    .map(
+                        l -> {
+                          transfers.computeIfAbsent(accountId, k -> new ArrayList<>()).add(amount);
+                          counter.decrementAndGet();
+                          return amount;
+                        });
+              });
+    }
+  }
+
+  @Service("v1/partitionedGreeting")
+  public interface GreetingService {
+
+    @ServiceMethod
+    Mono<String> hello(String name);
+  }
+
+  @ExecuteOn("greetings")
+  public static class GreetingServiceImpl implements GreetingService {
+
+    final AtomicReference<String> threadName = new AtomicReference<>();
+
+    @Override
+    public Mono<String> hello(String name) {
+      threadName.set(Thread.currentThread().getName());
+      return Mono.just("hello " + name);
+    }
+  }
+
+  // This service will not be registered, partition key requires partitioned scheduler
+  @ExecuteOn(value = "single", key = "header:name")
+  public static class SinglePartitionedServiceImpl implements GreetingService {
+
+    @Override
+    public Mono<String> hello(String name) {
+      return Mono.just("hello " + name);
+    }
+  }
+
+  // This service will not be registered, data can't be partition key
+  @ExecuteOn(value = "partitioned", key = "data")
+  public static class DataPartitionedServiceImpl implements GreetingService {
+
+    @Override
+    public Mono<String> hello(String name) {
+      return Mono.just("hello " + name);
+    }
+  }
+
+  @Service("v1/partitionedStream")
+  public interface StreamService {
+
+    @ServiceMethod
+    Flux<String> ticks(String name);
+  }
+
+  // This service will not be registered, stream would hold its partition
+  @ExecuteOn(value = "partitioned", key = "header:name")
+  public static class StreamPartitionedServiceImpl implements StreamService {
+
+    @Override
+    public Flux<String> ticks(String name) {
+      return Flux.never();
+    }
+  }
+
+  @Service("v1/immediateBlocking")
+  public interface ImmediateBlockingService {
+
+    @ServiceMethod
+    String hello(String name);
+  }
+
+  // This service will not be registered, blocking methods are not allowed on immediate scheduler
+  public static class ImmediateBlockingServiceImpl implements ImmediateBlockingService {
+
+    @Override
+    public String hello(String name) {
+      return "hello " + name;
+    }
+  }
 }
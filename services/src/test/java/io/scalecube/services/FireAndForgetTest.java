@@ -0,0 +1,113 @@
+package io.scalecube.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.services.annotations.FireAndForget;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.ServiceException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+public class FireAndForgetTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+  private static volatile CountDownLatch latch;
+
+  private static GatewayProviderFixture fixture;
+
+  private ServiceCall serviceCall;
+
+  @BeforeAll
+  public static void setup() {
+    fixture = GatewayProviderFixture.start(new EventServiceImpl());
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    fixture.close();
+  }
+
+  @BeforeEach
+  public void setUp() {
+    EVENTS.clear();
+    latch = new CountDownLatch(1);
+    serviceCall = fixture.gateway().call();
+  }
+
+  @Test
+  public void testRemoteFireAndForget() throws InterruptedException {
+    serviceCall.api(EventService.class).publish("login").block(TIMEOUT);
+
+    assertTrue(latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    assertEquals(List.of("login"), EVENTS);
+  }
+
+  @Test
+  public void testRemoteErrorIsNotPropagated() throws InterruptedException {
+    serviceCall.api(EventService.class).publish("error").block(TIMEOUT);
+
+    assertTrue(latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    assertEquals(List.of("error"), EVENTS);
+  }
+
+  @Test
+  public void testServiceCallFireAndForget() throws InterruptedException {
+    serviceCall
+        .fireAndForget(ServiceMessage.builder().qualifier("events/publish").data("logout").build())
+        .block(TIMEOUT);
+
+    assertTrue(latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    assertEquals(List.of("logout"), EVENTS);
+  }
+
+  @Test
+  public void testLocalFireAndForget() {
+    final var localCall = fixture.provider().call();
+
+    localCall.api(EventService.class).publish("error").block(TIMEOUT);
+    assertEquals(List.of("error"), EVENTS);
+
+    // one-way request waits for completion and propagates error
+    assertThrows(
+        ServiceException.class,
+        () ->
+            localCall
+                .oneWay(ServiceMessage.builder().qualifier("events/publish").data("error").build())
+                .block(TIMEOUT));
+  }
+
+  @Service("events")
+  public interface EventService {
+
+    @ServiceMethod
+    @FireAndForget
+    Mono<Void> publish(String event);
+  }
+
+  public static class EventServiceImpl implements EventService {
+
+    @Override
+    public Mono<Void> publish(String event) {
+      EVENTS.add(event);
+      latch.countDown();
+      if ("error".equals(event)) {
+        return Mono.error(new IllegalArgumentException("Wrong event: " + event));
+      }
+      return Mono.empty();
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package io.scalecube.services;
+
+import io.scalecube.services.Microservices.Context;
+import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
+import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
+import io.scalecube.transport.netty.websocket.WebsocketTransportFactory;
+
+/**
+ * Two nodes joined by discovery: gateway without services, and provider of the given services, so
+ * that calls made through gateway always go over remote transport.
+ */
+public final class GatewayProviderFixture implements AutoCloseable {
+
+  private final Microservices gateway;
+  private final Microservices provider;
+
+  private GatewayProviderFixture(Microservices gateway, Microservices provider) {
+    this.gateway = gateway;
+    this.provider = provider;
+  }
+
+  /**
+   * Starts gateway, and then provider which joins it.
+   *
+   * @param services services of provider
+   * @return fixture
+   */
+  public static GatewayProviderFixture start(Object... services) {
+    final var gateway =
+        Microservices.start(
+            new Context()
+                .discovery(
+                    endpoint ->
+                        new ScalecubeServiceDiscovery()
+                            .transport(cfg -> cfg.transportFactory(new WebsocketTransportFactory()))
+                            .options(opts -> opts.metadata(endpoint)))
+                .transport(RSocketServiceTransport::new));
+
+    final var provider =
+        Microservices.start(
+            new Context()
+                .discovery(
+                    endpoint ->
+                        new ScalecubeServiceDiscovery()
+                            .transport(cfg -> cfg.transportFactory(new WebsocketTransportFactory()))
+                            .options(opts -> opts.metadata(endpoint))
+                            .membership(
+                                cfg -> cfg.seedMembers(gateway.discoveryAddress().toString())))
+                .transport(RSocketServiceTransport::new)
+                .services(services));
+
+    return new GatewayProviderFixture(gateway, provider);
+  }
+
+  public Microservices gateway() {
+    return gateway;
+  }
+
+  public Microservices provider() {
+    return provider;
+  }
+
+  @Override
+  public void close() {
+    try {
+      gateway.close();
+    } catch (Exception ignore) {
+      // no-op
+    }
+
+    try {
+      provider.close();
+    } catch (Exception ignore) {
+      // no-op
+    }
+  }
+}
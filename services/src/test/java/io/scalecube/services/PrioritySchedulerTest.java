@@ -0,0 +1,186 @@
+package io.scalecube.services;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.services.Microservices.Context;
+import io.scalecube.services.annotations.ExecuteOn;
+import io.scalecube.services.annotations.RequestPriority;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.methods.RequestContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+public class PrioritySchedulerTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  private final PriorityScheduler scheduler =
+      new PriorityScheduler("lanes", Schedulers.newSingle("lanes-delegate"), 1, 3);
+
+  @AfterEach
+  void afterEach() {
+    scheduler.dispose();
+  }
+
+  @Test
+  void testHighPriorityIsDequeuedFirst() throws InterruptedException {
+    final var executed = new CopyOnWriteArrayList<String>();
+    final var latch = block();
+
+    schedule(Priority.BULK, "bulk", executed);
+    schedule(Priority.NORMAL, "normal", executed);
+    schedule(Priority.HIGH, "high", executed);
+    assertEquals(1, scheduler.queued(Priority.HIGH));
+
+    final var done = new CountDownLatch(1);
+    scheduler.lane(Priority.BULK).schedule(done::countDown);
+    latch.countDown();
+    assertTrue(done.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    assertEquals(List.of("high", "normal", "bulk"), executed);
+    assertEquals(0, scheduler.queued(Priority.BULK));
+  }
+
+  @Test
+  void testBulkIsNotStarved() throws InterruptedException {
+    final var executed = new CopyOnWriteArrayList<String>();
+    final var latch = block();
+
+    schedule(Priority.BULK, "bulk", executed);
+    for (int i = 0; i < 5; i++) {
+      schedule(Priority.HIGH, "high", executed);
+    }
+
+    final var done = new CountDownLatch(1);
+    scheduler.lane(Priority.HIGH).schedule(done::countDown);
+    latch.countDown();
+    assertTrue(done.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    // every 3rd task is taken from bulk lane
+    assertEquals(List.of("high", "high", "bulk", "high", "high", "high"), executed);
+  }
+
+  @Test
+  void testDisposeQueuedTask() throws InterruptedException {
+    final var executed = new CopyOnWriteArrayList<String>();
+    final var latch = block();
+
+    schedule(Priority.NORMAL, "normal", executed).dispose();
+    assertEquals(0, scheduler.queued(Priority.NORMAL));
+
+    final var done = new CountDownLatch(1);
+    scheduler.lane(Priority.NORMAL).schedule(done::countDown);
+    latch.countDown();
+    assertTrue(done.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    assertEquals(List.of(), executed);
+  }
+
+  @Test
+  void testQueueTimeHistogram() throws InterruptedException {
+    final var latch = block();
+    final var done = new CountDownLatch(1);
+    scheduler.lane(Priority.BULK).schedule(done::countDown);
+    final var queuedAt = System.nanoTime();
+    assertEquals(1, scheduler.queued(Priority.BULK));
+
+    // task waits in the lane at least until the running one is released
+    final var waited = System.nanoTime() - queuedAt;
+    latch.countDown();
+    assertTrue(done.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    final var queueTime = scheduler.queueTime(Priority.BULK);
+    assertEquals(1, queueTime.count());
+    assertTrue(queueTime.mean(TimeUnit.NANOSECONDS) >= waited, queueTime.toString());
+    assertTrue(
+        queueTime.percentile(0.99, TimeUnit.MICROSECONDS) >= queueTime.mean(TimeUnit.MICROSECONDS),
+        queueTime.toString());
+    assertEquals(0, scheduler.queueTime(Priority.NORMAL).count());
+  }
+
+  @Test
+  void testServiceMethodOnPriorityScheduler() {
+    final var service = new ReportServiceImpl();
+    final var lanes = new PriorityScheduler("lanes", Schedulers.newParallel("lanes", 2), 2, 4);
+    try (final var microservices =
+        Microservices.start(new Context().scheduler("lanes", () -> lanes).services(service))) {
+
+      final var serviceCall = microservices.call();
+
+      // priority of service method
+      assertEquals("report", serviceCall.api(ReportService.class).report().block(TIMEOUT));
+      assertEquals(Priority.BULK.name(), service.priority.get());
+      assertThat(service.threadName.get(), startsWith("lanes"));
+
+      // priority of service call overrides priority of service method
+      serviceCall.priority(Priority.HIGH).api(ReportService.class).report().block(TIMEOUT);
+      assertEquals(Priority.HIGH.name(), service.priority.get());
+
+      assertEquals(1, lanes.queueTime(Priority.BULK).count());
+      assertEquals(1, lanes.queueTime(Priority.HIGH).count());
+    }
+    assertTrue(lanes.isDisposed());
+  }
+
+  private CountDownLatch block() throws InterruptedException {
+    final var started = new CountDownLatch(1);
+    final var latch = new CountDownLatch(1);
+    scheduler
+        .lane(Priority.HIGH)
+        .schedule(
+            () -> {
+              started.countDown();
+              try {
+                latch.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    started.await();
+    return latch;
+  }
+
+  private Disposable schedule(Priority priority, String name, List<String> executed) {
+    return scheduler.lane(priority).schedule(() -> executed.add(name));
+  }
+
+  @Service("v1/reports")
+  public interface ReportService {
+
+    @ServiceMethod
+    @RequestPriority(Priority.BULK)
+    Mono<String> report();
+  }
+
+  @ExecuteOn("lanes")
+  public static class ReportServiceImpl implements ReportService {
+
+    final AtomicReference<String> priority = new AtomicReference<>();
+    final AtomicReference<String> threadName = new AtomicReference<>();
+
+    @Override
+    public Mono<String> report() {
+      threadName.set(Thread.currentThread().getName());
+      return RequestContext.deferContextual()
+          .map(
+              context -> {
+                priority.set(context.header(ServiceMessage.HEADER_PRIORITY));
+                return "report";
+              });
+    }
+  }
+}
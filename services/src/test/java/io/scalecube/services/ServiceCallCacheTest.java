@@ -0,0 +1,207 @@
+package io.scalecube.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.scalecube.services.annotations.Cacheable;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.exceptions.ServiceException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+public class ServiceCallCacheTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+  private static final AtomicReference<Sinks.Empty<Void>> RELEASE =
+      new AtomicReference<>(Sinks.empty());
+
+  private static GatewayProviderFixture fixture;
+
+  private ServiceCall serviceCall;
+  private CurrencyService currencyService;
+
+  @BeforeAll
+  public static void setup() {
+    fixture = GatewayProviderFixture.start(new CurrencyServiceImpl());
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    fixture.close();
+  }
+
+  @BeforeEach
+  public void setUp() {
+    INVOCATIONS.set(0);
+    serviceCall = fixture.gateway().call();
+    currencyService = serviceCall.api(CurrencyService.class);
+  }
+
+  @Test
+  public void testCachedResponse() {
+    final var first = currencyService.currency("EUR").block(TIMEOUT);
+    final var second = currencyService.currency("EUR").block(TIMEOUT);
+
+    assertEquals(new Currency("EUR", 2), first);
+    assertEquals(first, second);
+    assertNotSame(first, second, "every hit gets its own copy of response");
+    assertEquals(1, INVOCATIONS.get());
+
+    final var responseCache = serviceCall.responseCache();
+    assertEquals(1, responseCache.hits());
+    assertEquals(1, responseCache.misses());
+    assertEquals(1, responseCache.size());
+  }
+
+  @Test
+  public void testCacheKeyedByRequest() {
+    currencyService.currency("EUR").block(TIMEOUT);
+    currencyService.currency("USD").block(TIMEOUT);
+    serviceCall
+        .credentials(Map.of("token", "123"))
+        .api(CurrencyService.class)
+        .currency("EUR")
+        .block(TIMEOUT);
+
+    assertEquals(3, INVOCATIONS.get());
+    assertEquals(0, serviceCall.responseCache().hits());
+  }
+
+  @Test
+  public void testInvalidate() {
+    currencyService.currency("EUR").block(TIMEOUT);
+    serviceCall.responseCache().invalidate("currency/currency");
+    currencyService.currency("EUR").block(TIMEOUT);
+
+    assertEquals(2, INVOCATIONS.get());
+    assertEquals(0, serviceCall.responseCache().hits());
+  }
+
+  @Test
+  public void testInvalidateWhileRequestInFlight() {
+    final Sinks.Empty<Void> release = Sinks.empty();
+    RELEASE.set(release);
+
+    // cache miss is taken on subscription, before invalidation
+    final var inFlight = currencyService.pendingCurrency("EUR").cache();
+    inFlight.subscribe();
+    serviceCall.responseCache().invalidate("currency/pendingCurrency");
+    release.tryEmitEmpty();
+    assertEquals(new Currency("EUR", 2), inFlight.block(TIMEOUT));
+
+    // response requested before invalidation was not cached
+    assertEquals(0, serviceCall.responseCache().size());
+    currencyService.pendingCurrency("EUR").block(TIMEOUT);
+    assertEquals(2, INVOCATIONS.get());
+    assertEquals(0, serviceCall.responseCache().hits());
+  }
+
+  @Test
+  public void testExpiration() {
+    final var ticker = new AtomicLong();
+    final var responseCache = new ResponseCache(ticker::get);
+    final var api = serviceCall.responseCache(responseCache).api(CurrencyService.class);
+
+    api.rate("EUR").block(TIMEOUT);
+    ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(499));
+    api.rate("EUR").block(TIMEOUT);
+    ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    api.rate("EUR").block(TIMEOUT);
+
+    // ttl is 500 millis
+    assertEquals(2, INVOCATIONS.get());
+    assertEquals(1, responseCache.hits());
+  }
+
+  @Test
+  public void testEviction() {
+    currencyService.rate("EUR").block(TIMEOUT);
+    currencyService.rate("USD").block(TIMEOUT);
+    currencyService.rate("GBP").block(TIMEOUT);
+    currencyService.rate("EUR").block(TIMEOUT);
+
+    // max entries is 2, so least recently used EUR was evicted
+    assertEquals(4, INVOCATIONS.get());
+    assertEquals(2, serviceCall.responseCache().evictions());
+    assertEquals(2, serviceCall.responseCache().size());
+  }
+
+  @Test
+  public void testErrorIsNotCached() {
+    assertThrows(ServiceException.class, () -> currencyService.currency("XXX").block(TIMEOUT));
+    assertThrows(ServiceException.class, () -> currencyService.currency("XXX").block(TIMEOUT));
+
+    assertEquals(2, INVOCATIONS.get());
+    assertEquals(0, serviceCall.responseCache().size());
+  }
+
+  @Test
+  public void testWrongDefinition() {
+    assertThrows(IllegalArgumentException.class, () -> serviceCall.api(WrongService.class));
+  }
+
+  public record Currency(String code, int digits) {}
+
+  @Service("currency")
+  public interface CurrencyService {
+
+    @ServiceMethod
+    @Cacheable(ttl = 60_000)
+    Mono<Currency> currency(String code);
+
+    @ServiceMethod
+    @Cacheable(ttl = 500, maxEntries = 2)
+    Mono<Double> rate(String code);
+
+    @ServiceMethod
+    @Cacheable(ttl = 60_000)
+    Mono<Currency> pendingCurrency(String code);
+  }
+
+  public static class CurrencyServiceImpl implements CurrencyService {
+
+    @Override
+    public Mono<Currency> currency(String code) {
+      INVOCATIONS.incrementAndGet();
+      if ("XXX".equals(code)) {
+        return Mono.error(new IllegalArgumentException("Unknown currency: " + code));
+      }
+      return Mono.just(new Currency(code, 2));
+    }
+
+    @Override
+    public Mono<Double> rate(String code) {
+      INVOCATIONS.incrementAndGet();
+      return Mono.just(1.0);
+    }
+
+    @Override
+    public Mono<Currency> pendingCurrency(String code) {
+      INVOCATIONS.incrementAndGet();
+      return Mono.just(new Currency(code, 2)).delayUntil(currency -> RELEASE.get().asMono());
+    }
+  }
+
+  @Service("wrong")
+  public interface WrongService {
+
+    @ServiceMethod
+    @Cacheable(ttl = 1000)
+    Flux<String> hello(String name);
+  }
+}
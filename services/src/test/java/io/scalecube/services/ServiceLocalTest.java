@@ -6,12 +6,17 @@
 import static reactor.core.publisher.Sinks.EmitFailureHandler.FAIL_FAST;
 
 import io.scalecube.services.Microservices.Context;
+import io.scalecube.services.annotations.FireAndForget;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.sut.GreetingRequest;
 import io.scalecube.services.sut.GreetingResponse;
 import io.scalecube.services.sut.GreetingService;
 import io.scalecube.services.sut.GreetingServiceImpl;
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -392,7 +397,50 @@ public void test_dynamic_qualifier() {
         .verifyComplete();
   }
 
+  @Test
+  public void test_local_void_method_is_invoked() throws InterruptedException {
+    final var service = new NotifyServiceImpl();
+    try (final var ms = Microservices.start(new Context().services(service))) {
+      final var api = ms.call().api(NotifyService.class);
+
+      // void method has no result to subscribe, so proxy returns once the call completed
+      api.notifyName("joe");
+      assertEquals("joe", service.notified.get());
+
+      // fire-and-forget void method returns once the request was sent
+      api.notifyNameAndForget("bob");
+      assertTrue(service.forgotten.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    }
+  }
+
   private static GreetingService createProxy(Microservices gateway) {
     return gateway.call().api(GreetingService.class); // create proxy for GreetingService API
   }
+
+  @Service("v1/notify")
+  public interface NotifyService {
+
+    @ServiceMethod
+    void notifyName(String name);
+
+    @FireAndForget
+    @ServiceMethod
+    void notifyNameAndForget(String name);
+  }
+
+  public static class NotifyServiceImpl implements NotifyService {
+
+    final AtomicReference<String> notified = new AtomicReference<>();
+    final CountDownLatch forgotten = new CountDownLatch(1);
+
+    @Override
+    public void notifyName(String name) {
+      notified.set(name);
+    }
+
+    @Override
+    public void notifyNameAndForget(String name) {
+      forgotten.countDown();
+    }
+  }
 }
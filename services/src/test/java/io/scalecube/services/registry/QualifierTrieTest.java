@@ -0,0 +1,80 @@
+package io.scalecube.services.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.scalecube.services.api.DynamicQualifier;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class QualifierTrieTest {
+
+  private final QualifierTrie<String> trie = new QualifierTrie<>();
+
+  @Test
+  void testMatchPathVariables() {
+    put("v1/api/users/:userId");
+    put("v1/api/categories/:categoryId/products/:productId");
+
+    final var match = trie.match("v1/api/categories/10/products/20", value -> true);
+
+    assertEquals("v1/api/categories/:categoryId/products/:productId", match.value());
+    assertEquals(Map.of("categoryId", "10", "productId", "20"), match.pathVars());
+    assertEquals(Map.of("userId", "42"), trie.match("v1/api/users/42", value -> true).pathVars());
+  }
+
+  @Test
+  void testNoMatch() {
+    put("v1/api/users/:userId");
+
+    assertNull(trie.match("v1/api/users", value -> true));
+    assertNull(trie.match("v1/api/users/", value -> true));
+    assertNull(trie.match("v1/api/users/42/orders", value -> true));
+    assertNull(trie.match("v1/api/orders/42", value -> true));
+  }
+
+  @Test
+  void testStaticSegmentFirst() {
+    put("v1/:version/users/:userId");
+    put("v1/api/:resource/me");
+
+    assertEquals("v1/api/:resource/me", trie.match("v1/api/users/me", value -> true).value());
+    // static branch doesn't match till the end, so path variable branch is taken
+    assertEquals("v1/:version/users/:userId", trie.match("v1/api/users/42", value -> true).value());
+  }
+
+  @Test
+  void testFilter() {
+    put("v1/api/:resource/me");
+    put("v1/:version/users/:userId");
+
+    final var match = trie.match("v1/api/users/me", value -> value.startsWith("v1/:version"));
+
+    assertEquals("v1/:version/users/:userId", match.value());
+    assertEquals(Map.of("version", "api", "userId", "me"), match.pathVars());
+  }
+
+  @Test
+  void testTrailingSlash() {
+    put("v1/api/orders/:orderId/");
+
+    assertEquals(Map.of("orderId", "1"), trie.match("v1/api/orders/1/", value -> true).pathVars());
+    assertNull(trie.match("v1/api/orders/1", value -> true));
+  }
+
+  @Test
+  void testRemove() {
+    final var dynamicQualifier = DynamicQualifier.from("v1/api/users/:userId");
+    trie.computeIfAbsent(dynamicQualifier, DynamicQualifier::qualifier);
+
+    trie.compute(dynamicQualifier, (key, value) -> null);
+
+    assertNull(trie.get(dynamicQualifier));
+    assertNull(trie.match("v1/api/users/42", value -> true));
+    assertEquals(0, trie.values().size());
+  }
+
+  private void put(String qualifier) {
+    trie.computeIfAbsent(DynamicQualifier.from(qualifier), DynamicQualifier::qualifier);
+  }
+}
@@ -5,9 +5,11 @@
 import static org.mockito.Mockito.mock;
 
 import io.scalecube.services.Address;
+import io.scalecube.services.ServiceCall;
 import io.scalecube.services.ServiceEndpoint;
 import io.scalecube.services.ServiceInfo;
 import io.scalecube.services.ServiceMethodDefinition;
+import io.scalecube.services.ServiceReference;
 import io.scalecube.services.ServiceRegistration;
 import io.scalecube.services.annotations.RestMethod;
 import io.scalecube.services.annotations.Service;
@@ -17,6 +19,7 @@
 import io.scalecube.services.transport.api.ServiceMessageDataDecoder;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
@@ -118,6 +121,31 @@ void testLookupInvoker() {
             ServiceMessage.builder().qualifier("greeting/hola/that/not/exist").build()));
   }
 
+  @Test
+  void testMatchInvoker() {
+    serviceRegistry.registerService(
+        ServiceInfo.fromServiceInstance(new HelloOneImpl())
+            .errorMapper(errorMapper)
+            .dataDecoder(dataDecoder)
+            .build());
+    serviceRegistry.registerService(
+        ServiceInfo.fromServiceInstance(new HelloTwoImpl())
+            .errorMapper(errorMapper)
+            .dataDecoder(dataDecoder)
+            .build());
+
+    final var staticMatch =
+        serviceRegistry.matchInvoker(ServiceMessage.builder().qualifier("greeting/hello").build());
+    assertEquals("greeting/hello", staticMatch.value().methodInfo().qualifier());
+    assertNull(staticMatch.pathVars());
+
+    final var dynamicMatch =
+        serviceRegistry.matchInvoker(
+            ServiceMessage.builder().qualifier("greeting/hello/12345").build());
+    assertEquals("greeting/hello/:pathVar", dynamicMatch.value().methodInfo().qualifier());
+    assertEquals(Map.of("pathVar", "12345"), dynamicMatch.pathVars());
+  }
+
   @Test
   void testLookupService() {
     final var n = 10;
@@ -160,6 +188,151 @@ void testLookupService() {
             .size());
   }
 
+  @Test
+  void testLookupServiceByDataFormatAndRequestMethod() {
+    serviceRegistry.registerService(restEndpoint("endpoint1", Set.of(CONTENT_TYPE), "POST"));
+    serviceRegistry.registerService(restEndpoint("endpoint2", Set.of(CONTENT_TYPE), "PUT"));
+    serviceRegistry.registerService(restEndpoint("endpoint3", Set.of("application/sbe"), "POST"));
+    serviceRegistry.registerService(restEndpoint("endpoint4", Set.of(CONTENT_TYPE), null));
+
+    assertEquals(
+        List.of("endpoint1", "endpoint4"), lookupEndpointIds("v1/api/foo/update", null, "POST"));
+    assertEquals(
+        List.of("endpoint2", "endpoint4"), lookupEndpointIds("v1/api/foo/update", null, "PUT"));
+    assertEquals(List.of("endpoint4"), lookupEndpointIds("v1/api/foo/update", null, "GET"));
+    assertEquals(List.of("endpoint4"), lookupEndpointIds("v1/api/foo/update", null, null));
+    assertEquals(
+        List.of("endpoint3"), lookupEndpointIds("v1/api/foo/update", "application/sbe", "POST"));
+    assertEquals(List.of(), lookupEndpointIds("v1/api/foo/update", "application/sbe", "PUT"));
+    assertEquals(
+        List.of("endpoint1", "endpoint4"), lookupEndpointIds("v1/api/foo/12345", null, "POST"));
+
+    final var request =
+        ServiceMessage.builder()
+            .qualifier("v1/api/foo/update")
+            .header(ServiceMessage.HEADER_REQUEST_METHOD, "POST")
+            .build();
+    assertSame(serviceRegistry.lookupService(request), serviceRegistry.lookupService(request));
+  }
+
+  @Test
+  void testUnregisterServiceEndpoint() {
+    serviceRegistry.registerService(restEndpoint("endpoint1", Set.of(CONTENT_TYPE), "POST"));
+    serviceRegistry.registerService(restEndpoint("endpoint2", Set.of(CONTENT_TYPE), null));
+    serviceRegistry.registerService(restEndpoint("endpoint3", Set.of("application/sbe"), "PUT"));
+    serviceRegistry.registerService(restEndpoint("endpoint4", Set.of(CONTENT_TYPE), "POST"));
+
+    assertNotNull(serviceRegistry.unregisterService("endpoint2"));
+    assertNotNull(serviceRegistry.unregisterService("endpoint3"));
+
+    assertEquals(
+        List.of("endpoint1", "endpoint4"), lookupEndpointIds("v1/api/foo/update", null, "POST"));
+    assertEquals(
+        List.of("endpoint1", "endpoint4"), lookupEndpointIds("v1/api/foo/12345", null, "POST"));
+    assertEquals(List.of(), lookupEndpointIds("v1/api/foo/update", null, null));
+    assertEquals(List.of(), lookupEndpointIds("v1/api/foo/update", "application/sbe", "PUT"));
+    assertEquals(4, serviceRegistry.listServiceReferences().size());
+
+    serviceRegistry.registerService(restEndpoint("endpoint2", Set.of(CONTENT_TYPE), null));
+    assertEquals(
+        List.of("endpoint1", "endpoint4", "endpoint2"),
+        lookupEndpointIds("v1/api/foo/update", null, "POST"));
+
+    assertNotNull(serviceRegistry.unregisterService("endpoint1"));
+    assertNotNull(serviceRegistry.unregisterService("endpoint2"));
+    assertNotNull(serviceRegistry.unregisterService("endpoint4"));
+    assertEquals(List.of(), lookupEndpointIds("v1/api/foo/update", null, "POST"));
+    assertEquals(List.of(), lookupEndpointIds("v1/api/foo/12345", null, "POST"));
+    assertEquals(0, serviceRegistry.listServiceReferences().size());
+  }
+
+  @Test
+  void testVersion() {
+    final var version = serviceRegistry.version();
+
+    serviceRegistry.registerService(restEndpoint("endpoint1", Set.of(CONTENT_TYPE), "POST"));
+    assertEquals(version + 1, serviceRegistry.version());
+
+    final var request =
+        ServiceMessage.builder()
+            .qualifier("v1/api/foo/update")
+            .header(ServiceMessage.HEADER_REQUEST_METHOD, "POST")
+            .build();
+    final var serviceReferences = serviceRegistry.lookupService(request);
+
+    serviceRegistry.registerService(restEndpoint("endpoint2", Set.of(CONTENT_TYPE), "POST"));
+    assertEquals(version + 2, serviceRegistry.version());
+    assertEquals(1, serviceReferences.size(), "snapshot must not change");
+    assertEquals(2, serviceRegistry.lookupService(request).size());
+
+    assertNotNull(serviceRegistry.unregisterService("endpoint1"));
+    assertEquals(version + 3, serviceRegistry.version());
+    assertNull(serviceRegistry.unregisterService("endpoint1"));
+    assertEquals(version + 3, serviceRegistry.version());
+    assertEquals(1, serviceRegistry.lookupService(request).size());
+  }
+
+  @Test
+  void testConsumedNamespaces() {
+    final var serviceRegistry = new ServiceRegistryImpl(Set.of("v1/api"));
+    final var n = 10;
+    for (int i = 0; i < n; i++) {
+      serviceRegistry.registerService(
+          ServiceEndpoint.builder()
+              .id("endpoint" + i)
+              .address(Address.create("endpoint" + i, 4848))
+              .contentTypes(Set.of(CONTENT_TYPE))
+              .serviceRegistrations(
+                  List.of(
+                      new ServiceRegistration(
+                          "v1/api", new HashMap<>(), List.of(new ServiceMethodDefinition("foo"))),
+                      new ServiceRegistration(
+                          "greeting",
+                          new HashMap<>(),
+                          List.of(
+                              new ServiceMethodDefinition("hello"),
+                              new ServiceMethodDefinition("hello/:pathVar"))),
+                      new ServiceRegistration(
+                          "other", new HashMap<>(), List.of(new ServiceMethodDefinition("bar")))))
+              .build());
+    }
+
+    // only consumed namespace is indexed
+    assertEquals(n, serviceRegistry.listServiceEndpoints().size());
+    assertEquals(n, serviceRegistry.listServiceReferences().size());
+
+    // namespace is indexed when declared by service proxy
+    new ServiceCall().serviceRegistry(serviceRegistry).api(HelloOne.class);
+    assertEquals(3 * n, serviceRegistry.listServiceReferences().size());
+    assertEquals(
+        n,
+        serviceRegistry
+            .lookupService(ServiceMessage.builder().qualifier("greeting/hello/12345").build())
+            .size());
+
+    // namespace is indexed lazily on the first lookup
+    final var version = serviceRegistry.version();
+    assertEquals(
+        n,
+        serviceRegistry
+            .lookupService(ServiceMessage.builder().qualifier("other/bar").build())
+            .size());
+    assertEquals(version + 1, serviceRegistry.version());
+    assertEquals(4 * n, serviceRegistry.listServiceReferences().size());
+    assertEquals(
+        0,
+        serviceRegistry
+            .lookupService(ServiceMessage.builder().qualifier("unknown/bar").build())
+            .size());
+    assertEquals(version + 1, serviceRegistry.version());
+
+    for (int i = 0; i < n; i++) {
+      assertNotNull(serviceRegistry.unregisterService("endpoint" + i));
+    }
+    assertEquals(0, serviceRegistry.listServiceEndpoints().size());
+    assertEquals(0, serviceRegistry.listServiceReferences().size());
+  }
+
   @Test
   void testRegisterRestMethodsWithDifferentMethods() {
     final var restOne =
@@ -176,6 +349,37 @@ void testRegisterRestMethodsWithDifferentMethods() {
     serviceRegistry.registerService(restTwo);
   }
 
+  private List<String> lookupEndpointIds(
+      String qualifier, String dataFormat, String requestMethod) {
+    final var builder = ServiceMessage.builder().qualifier(qualifier);
+    if (dataFormat != null) {
+      builder.dataFormat(dataFormat);
+    }
+    if (requestMethod != null) {
+      builder.header(ServiceMessage.HEADER_REQUEST_METHOD, requestMethod);
+    }
+    return serviceRegistry.lookupService(builder.build()).stream()
+        .map(ServiceReference::endpointId)
+        .toList();
+  }
+
+  private static ServiceEndpoint restEndpoint(
+      String id, Set<String> contentTypes, String restMethod) {
+    return ServiceEndpoint.builder()
+        .id(id)
+        .address(Address.create(id, 4848))
+        .contentTypes(contentTypes)
+        .serviceRegistrations(
+            List.of(
+                new ServiceRegistration(
+                    "v1/api",
+                    new HashMap<>(),
+                    List.of(
+                        new ServiceMethodDefinition("foo/update", Map.of(), false, restMethod),
+                        new ServiceMethodDefinition("foo/:pathVar", Map.of(), false, restMethod)))))
+        .build();
+  }
+
   @Service(HelloOne.NAMESPACE)
   interface HelloOne {
 
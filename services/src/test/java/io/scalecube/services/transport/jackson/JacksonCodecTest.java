@@ -0,0 +1,154 @@
+package io.scalecube.services.transport.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.CommunicationMode;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.methods.MethodInfo;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class JacksonCodecTest {
+
+  private final JacksonCodec codec = new JacksonCodec();
+
+  @ParameterizedTest
+  @MethodSource("provider")
+  void testDecodeData(Supplier<ByteBuf> bufferSupplier) throws IOException {
+    final var expected = new Greeting("joe", 42);
+    final ByteBuf byteBuf = bufferSupplier.get();
+    try {
+      codec.encode(byteBuf, expected);
+      assertEquals(expected, codec.decode(byteBuf, Greeting.class));
+      assertFalse(byteBuf.isReadable());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("provider")
+  void testDecodeHeaders(Supplier<ByteBuf> bufferSupplier) throws IOException {
+    final var expected = Map.of(ServiceMessage.HEADER_QUALIFIER, "greeting/one", "userId", "1");
+    final ByteBuf byteBuf = bufferSupplier.get();
+    try {
+      codec.encode(byteBuf, expected);
+      assertEquals(expected, codec.decode(byteBuf));
+      assertFalse(byteBuf.isReadable());
+      assertTrue(codec.decode(byteBuf).isEmpty());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  void testByteBufAndStreamAreCompatible() throws IOException {
+    final var expected = new Greeting("joe", 42);
+
+    final var os = new ByteArrayOutputStream();
+    codec.encode(os, expected);
+
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      codec.encode(byteBuf, expected);
+      assertEquals(os.toString(StandardCharsets.UTF_8), byteBuf.toString(StandardCharsets.UTF_8));
+      assertEquals(
+          expected, codec.decode(new ByteArrayInputStream(os.toByteArray()), Greeting.class));
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  void testDecodeCompositeBuffer() throws IOException {
+    final var expected = new Greeting("joe", 42);
+    final ByteBuf encoded = Unpooled.buffer();
+    codec.encode(encoded, expected);
+    final int half = encoded.readableBytes() / 2;
+
+    final CompositeByteBuf byteBuf =
+        Unpooled.compositeBuffer()
+            .addComponent(true, Unpooled.directBuffer().writeBytes(encoded, half))
+            .addComponent(true, Unpooled.directBuffer().writeBytes(encoded));
+    try {
+      assertEquals(expected, codec.decode(byteBuf, Greeting.class));
+      assertFalse(byteBuf.isReadable());
+    } finally {
+      byteBuf.release();
+      encoded.release();
+    }
+  }
+
+  @Test
+  void testReadersAndWritersAreCached() {
+    assertSame(codec.reader(Greeting.class), codec.reader(Greeting.class));
+    assertSame(codec.writer(Greeting.class), codec.writer(Greeting.class));
+  }
+
+  @Test
+  void testPrewarm() {
+    final var codec = new JacksonCodec();
+    final var methodInfo =
+        new MethodInfo(
+            "greetings",
+            "greeting",
+            Greeting.class,
+            false,
+            CommunicationMode.REQUEST_RESPONSE,
+            1,
+            Greeting.class,
+            false,
+            false,
+            null,
+            null);
+    codec.prewarm(methodInfo);
+
+    assertTrue(codec.hasReader(Greeting.class));
+    assertTrue(codec.hasWriter(Greeting.class));
+  }
+
+  @Test
+  void testBlackbird() throws IOException {
+    final var codec = new JacksonCodec(true);
+    final var expected = new Greeting("joe", 42);
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      codec.encode(byteBuf, expected);
+      assertEquals(
+          this.codec.mapper().writeValueAsString(expected),
+          byteBuf.toString(StandardCharsets.UTF_8));
+      assertEquals(expected, codec.decode(byteBuf, Greeting.class));
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  static Stream<Supplier<ByteBuf>> provider() {
+    return Stream.of(
+        Unpooled::buffer,
+        Unpooled::directBuffer,
+        () -> {
+          // heap buffer with non-zero array offset and reader index
+          final ByteBuf byteBuf = Unpooled.buffer(256).slice(16, 200);
+          return byteBuf.setIndex(8, 8);
+        },
+        () -> PooledByteBufAllocator.DEFAULT.directBuffer(256).setIndex(8, 8));
+  }
+
+  record Greeting(String name, int age) {}
+}
@@ -0,0 +1,83 @@
+package io.scalecube.services.transport.jackson.binary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.transport.api.DataCodec;
+import io.scalecube.services.transport.jackson.JacksonCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BinaryJacksonCodecTest {
+
+  private static final Greeting GREETING =
+      new Greeting(
+          "joe",
+          42,
+          Instant.parse("2024-01-01T10:15:30Z"),
+          List.of("first greeting", "second greeting", "third greeting"),
+          null,
+          Mood.HAPPY);
+
+  @ParameterizedTest
+  @ValueSource(strings = {SmileCodec.CONTENT_TYPE, CborCodec.CONTENT_TYPE})
+  void testServiceLoader(String contentType) {
+    final var codec = DataCodec.getInstance(contentType);
+    assertEquals(contentType, codec.contentType());
+    assertTrue(codec instanceof SmileCodec || codec instanceof CborCodec, codec.toString());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {SmileCodec.CONTENT_TYPE, CborCodec.CONTENT_TYPE})
+  void testByteBuf(String contentType) throws IOException {
+    final var codec = DataCodec.getInstance(contentType);
+    for (ByteBuf byteBuf : List.of(Unpooled.buffer(), Unpooled.directBuffer())) {
+      try {
+        codec.encode(byteBuf, GREETING);
+        assertEquals(GREETING, codec.decode(byteBuf, Greeting.class));
+        assertFalse(byteBuf.isReadable());
+      } finally {
+        byteBuf.release();
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {SmileCodec.CONTENT_TYPE, CborCodec.CONTENT_TYPE})
+  void testStream(String contentType) throws IOException {
+    final var codec = DataCodec.getInstance(contentType);
+    final var os = new ByteArrayOutputStream();
+    codec.encode(os, GREETING);
+
+    assertEquals(
+        GREETING, codec.decode(new ByteArrayInputStream(os.toByteArray()), Greeting.class));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {SmileCodec.CONTENT_TYPE, CborCodec.CONTENT_TYPE})
+  void testSmallerThanJson(String contentType) throws IOException {
+    final var json = new ByteArrayOutputStream();
+    new JacksonCodec().encode(json, GREETING);
+
+    final var binary = new ByteArrayOutputStream();
+    DataCodec.getInstance(contentType).encode(binary, GREETING);
+
+    assertTrue(binary.size() < json.size(), "binary: " + binary.size() + ", json: " + json.size());
+  }
+
+  enum Mood {
+    HAPPY,
+    SAD
+  }
+
+  record Greeting(
+      String name, int age, Instant time, List<String> texts, String comment, Mood mood) {}
+}
@@ -0,0 +1,196 @@
+package io.scalecube.services.transport.protobuf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.protobuf.ListValue;
+import com.google.protobuf.StringValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.Value;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.Microservices;
+import io.scalecube.services.Microservices.Context;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
+import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.transport.api.DataCodec;
+import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
+import io.scalecube.transport.netty.websocket.WebsocketTransportFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ProtobufCodecTest {
+
+  private static final Struct STRUCT =
+      Struct.newBuilder()
+          .putFields("name", Value.newBuilder().setStringValue("joe").build())
+          .putFields("age", Value.newBuilder().setNumberValue(42).build())
+          .putFields(
+              "tags",
+              Value.newBuilder()
+                  .setListValue(
+                      ListValue.newBuilder()
+                          .addValues(Value.newBuilder().setStringValue("a"))
+                          .addValues(Value.newBuilder().setBoolValue(true)))
+                  .build())
+          .build();
+
+  private final ProtobufCodec codec = new ProtobufCodec();
+
+  @Test
+  void testServiceLoader() {
+    assertTrue(DataCodec.getInstance(ProtobufCodec.CONTENT_TYPE) instanceof ProtobufCodec);
+  }
+
+  @ParameterizedTest
+  @MethodSource("provider")
+  void testByteBuf(Supplier<ByteBuf> bufferSupplier) throws IOException {
+    final ByteBuf byteBuf = bufferSupplier.get();
+    try {
+      codec.encode(byteBuf, STRUCT);
+      assertEquals(STRUCT.getSerializedSize(), byteBuf.readableBytes());
+      assertEquals(STRUCT, codec.decode(byteBuf, Struct.class));
+      assertFalse(byteBuf.isReadable());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  void testStream() throws IOException {
+    final var expected = Timestamp.newBuilder().setSeconds(1700000000).setNanos(42).build();
+    final var os = new ByteArrayOutputStream();
+    codec.encode(os, expected);
+
+    assertEquals(
+        expected, codec.decode(new ByteArrayInputStream(os.toByteArray()), Timestamp.class));
+  }
+
+  @Test
+  void testNotMessage() {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      assertThrows(IOException.class, () -> codec.encode(byteBuf, "not a message"));
+      assertThrows(IOException.class, () -> codec.decode(byteBuf, String.class));
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  void testPrewarm() {
+    final var methodInfo =
+        new MethodInfo(
+            EchoService.NAME,
+            "echo",
+            Timestamp.class,
+            false,
+            null,
+            1,
+            StringValue.class,
+            false,
+            false,
+            null,
+            null);
+    codec.prewarm(methodInfo);
+
+    assertTrue(codec.hasParser(StringValue.class));
+    assertTrue(codec.hasParser(Timestamp.class));
+    assertFalse(ProtobufCodec.isMessageType(String.class));
+  }
+
+  @Test
+  void testRemoteCall() {
+    final var provider =
+        Microservices.start(
+            new Context()
+                .discovery(
+                    endpoint ->
+                        new ScalecubeServiceDiscovery()
+                            .transport(cfg -> cfg.transportFactory(new WebsocketTransportFactory()))
+                            .options(opts -> opts.metadata(endpoint)))
+                .transport(RSocketServiceTransport::new)
+                .services(new EchoServiceImpl()));
+    final var consumer =
+        Microservices.start(
+            new Context()
+                .discovery(
+                    endpoint ->
+                        new ScalecubeServiceDiscovery()
+                            .transport(cfg -> cfg.transportFactory(new WebsocketTransportFactory()))
+                            .options(opts -> opts.metadata(endpoint))
+                            .membership(
+                                cfg -> cfg.seedMembers(provider.discoveryAddress().toString())))
+                .transport(RSocketServiceTransport::new));
+    try {
+      Mono.fromCallable(() -> consumer.serviceRegistry().listServiceReferences())
+          .filter(serviceReferences -> !serviceReferences.isEmpty())
+          .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(100)))
+          .block(Duration.ofSeconds(10));
+
+      final var service =
+          consumer.call().contentType(ProtobufCodec.CONTENT_TYPE).api(EchoService.class);
+
+      assertEquals(
+          StringValue.of("echo: joe"),
+          service.echo(StringValue.of("joe")).block(Duration.ofSeconds(10)));
+      assertEquals(
+          3L, service.echoMany(StringValue.of("joe")).count().block(Duration.ofSeconds(10)));
+    } finally {
+      consumer.close();
+      provider.close();
+    }
+  }
+
+  static Stream<Supplier<ByteBuf>> provider() {
+    return Stream.of(
+        Unpooled::buffer,
+        Unpooled::directBuffer,
+        () -> Unpooled.buffer(1).capacity(1),
+        () -> {
+          // heap buffer with non-zero array offset and reader index
+          final ByteBuf byteBuf = Unpooled.buffer(256).slice(16, 200);
+          return byteBuf.setIndex(8, 8);
+        },
+        () -> Unpooled.compositeBuffer().addComponent(true, Unpooled.directBuffer(4)));
+  }
+
+  @Service(EchoService.NAME)
+  public interface EchoService {
+
+    String NAME = "protobuf-echo";
+
+    @ServiceMethod
+    Mono<StringValue> echo(StringValue request);
+
+    @ServiceMethod
+    Flux<StringValue> echoMany(StringValue request);
+  }
+
+  public static class EchoServiceImpl implements EchoService {
+
+    @Override
+    public Mono<StringValue> echo(StringValue request) {
+      return Mono.just(StringValue.of("echo: " + request.getValue()));
+    }
+
+    @Override
+    public Flux<StringValue> echoMany(StringValue request) {
+      return Flux.range(0, 3).map(i -> StringValue.of(i + ": " + request.getValue()));
+    }
+  }
+}
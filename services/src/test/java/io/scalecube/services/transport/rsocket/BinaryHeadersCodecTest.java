@@ -0,0 +1,181 @@
+package io.scalecube.services.transport.rsocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.transport.api.JdkCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class BinaryHeadersCodecTest {
+
+  private final BinaryHeadersCodec codec = new BinaryHeadersCodec();
+
+  @ParameterizedTest
+  @MethodSource("provider")
+  void testStream(Map<String, String> headers) throws IOException {
+    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+      codec.encode(os, headers);
+      try (ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray())) {
+        assertEquals(headers, codec.decode(is));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("provider")
+  void testByteBuf(Map<String, String> headers) {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      codec.encode(byteBuf, headers);
+      assertEquals(headers, codec.decode(byteBuf));
+      assertFalse(byteBuf.isReadable());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  void testWellKnownValuesAreInterned() {
+    final var headers = sampleHeaders();
+    final var first = encodeAndDecode(headers);
+    final var second = encodeAndDecode(headers);
+
+    assertEquals(headers, first);
+    assertEquals(headers, second);
+    assertSame(
+        first.get(ServiceMessage.HEADER_QUALIFIER), second.get(ServiceMessage.HEADER_QUALIFIER));
+    assertSame(
+        first.get(ServiceMessage.HEADER_DATA_FORMAT),
+        second.get(ServiceMessage.HEADER_DATA_FORMAT));
+  }
+
+  @Test
+  void testEncodedSizeIsSmallerThanJdkCodec() throws IOException {
+    final var headers = sampleHeaders();
+
+    final var jdkStream = new ByteArrayOutputStream();
+    new JdkCodec().encode(jdkStream, headers);
+
+    final var binaryStream = new ByteArrayOutputStream();
+    codec.encode(binaryStream, headers);
+
+    assertTrue(
+        binaryStream.size() < jdkStream.size(),
+        "binary: " + binaryStream.size() + ", jdk: " + jdkStream.size());
+  }
+
+  @Test
+  void testServiceMessageCodec() {
+    final var messageCodec = new ServiceMessageCodec(codec, null);
+    final var message = ServiceMessage.builder().headers(sampleHeaders()).build();
+
+    final var decoded =
+        messageCodec.encodeAndTransform(
+            message, (data, headers) -> messageCodec.decode(data, headers));
+
+    assertEquals(message.headers(), decoded.headers());
+  }
+
+  @Test
+  void testVarInt() {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      for (int value : new int[] {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1}) {
+        BinaryHeadersCodec.writeVarInt(byteBuf, value);
+        assertEquals(value, BinaryHeadersCodec.readVarInt(byteBuf));
+      }
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  void testHeadersCountExceedingReadableBytesIsRejected() {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      BinaryHeadersCodec.writeVarInt(byteBuf, Integer.MAX_VALUE);
+      byteBuf.writeByte(1);
+      byteBuf.writeByte(0);
+      assertThrows(IllegalArgumentException.class, () -> codec.decode(byteBuf));
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  void testUnknownTokenIsSkipped() {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      BinaryHeadersCodec.writeVarInt(byteBuf, 2);
+      byteBuf.writeByte(BinaryHeadersCodec.KEYS.length + 1);
+      BinaryHeadersCodec.writeVarInt(byteBuf, 5);
+      byteBuf.writeCharSequence("value", UTF_8);
+      byteBuf.writeByte(1);
+      BinaryHeadersCodec.writeVarInt(byteBuf, 1);
+      byteBuf.writeCharSequence("q", UTF_8);
+
+      assertEquals(
+          Collections.singletonMap(ServiceMessage.HEADER_QUALIFIER, "q"), codec.decode(byteBuf));
+      assertFalse(byteBuf.isReadable());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  private Map<String, String> encodeAndDecode(Map<String, String> headers) {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      codec.encode(byteBuf, headers);
+      return codec.decode(byteBuf);
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  private static Map<String, String> sampleHeaders() {
+    final var headers = new HashMap<String, String>();
+    headers.put(ServiceMessage.HEADER_QUALIFIER, "io.scalecube.Greetings/sayHello");
+    headers.put(ServiceMessage.HEADER_DATA_FORMAT, "application/json");
+    headers.put(ServiceMessage.HEADER_REQUEST_METHOD, "POST");
+    headers.put("sid", "42");
+    headers.put("userId", "u-1");
+    return headers;
+  }
+
+  static Stream<Map<String, String>> provider() {
+    Map<String, String> unicode = new HashMap<>();
+    unicode.put("ключ", "значение");
+    unicode.put(ServiceMessage.HEADER_QUALIFIER, "сервис/метод");
+
+    Map<String, String> longValue = new HashMap<>();
+    longValue.put(ServiceMessage.HEADER_QUALIFIER, "q".repeat(1000));
+    longValue.put("header", "v".repeat(300));
+
+    return Stream.of(
+        sampleHeaders(),
+        unicode,
+        longValue,
+        Collections.singletonMap("header", String.valueOf(Integer.MAX_VALUE)),
+        Collections.emptyMap(),
+        Collections.singletonMap("", ""),
+        Collections.singletonMap("header", ""),
+        Collections.singletonMap("", "value"),
+        Collections.singletonMap(ServiceMessage.HEADER_ERROR_TYPE, "500"));
+  }
+}
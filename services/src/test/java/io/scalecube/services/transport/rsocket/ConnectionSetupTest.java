@@ -0,0 +1,47 @@
+package io.scalecube.services.transport.rsocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConnectionSetupTest {
+
+  @Test
+  void testEncodeDecode() throws Exception {
+    final var codec = ConnectionSetupCodec.DEFAULT_INSTANCE;
+    final var output = new ByteArrayOutputStream();
+    codec.encode(output, new ConnectionSetup(Map.of("user", "alice"), true));
+
+    final var setup = codec.decode(new ByteArrayInputStream(output.toByteArray()));
+
+    assertEquals(Map.of("user", "alice"), setup.credentials());
+    assertTrue(setup.routeIds());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void testDecodeWithoutRouteIds() throws Exception {
+    // format written by peers which don't know about route ids
+    final var output = new ByteArrayOutputStream();
+    try (var oos = new ObjectOutputStream(output)) {
+      oos.writeInt(1);
+      oos.writeUTF("user");
+      oos.writeObject("alice");
+    }
+
+    final var setup = new ConnectionSetup();
+    try (var ois = new ObjectInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+      setup.readExternal(ois);
+    }
+
+    assertEquals(Map.of("user", "alice"), setup.credentials());
+    assertFalse(setup.routeIds());
+  }
+}
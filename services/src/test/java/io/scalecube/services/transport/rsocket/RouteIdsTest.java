@@ -0,0 +1,196 @@
+package io.scalecube.services.transport.rsocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.netty.buffer.Unpooled;
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.util.ByteBufPayload;
+import io.scalecube.services.Address;
+import io.scalecube.services.Microservices;
+import io.scalecube.services.Microservices.Context;
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
+import io.scalecube.services.discovery.api.ServiceDiscovery;
+import io.scalecube.services.sut.GreetingService;
+import io.scalecube.services.sut.GreetingServiceImpl;
+import io.scalecube.transport.netty.websocket.WebsocketTransportFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class RouteIdsTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private static Microservices provider;
+  private static Microservices gateway;
+  private static Microservices legacyGateway;
+
+  @BeforeAll
+  static void setUp() {
+    provider =
+        Microservices.start(
+            new Context()
+                .discovery(RouteIdsTest::serviceDiscovery)
+                .transport(() -> new RSocketServiceTransport().routeIds(true))
+                .services(new GreetingServiceImpl()));
+
+    final Address seed = provider.discoveryAddress();
+    gateway = gateway(seed, () -> new RSocketServiceTransport().routeIds(true));
+    legacyGateway = gateway(seed, RSocketServiceTransport::new);
+
+    awaitProvider(gateway);
+    awaitProvider(legacyGateway);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    gateway.close();
+    legacyGateway.close();
+    provider.close();
+  }
+
+  @Test
+  void testRequestResponse() {
+    final var request =
+        ServiceMessage.builder()
+            .qualifier(GreetingService.SERVICE_NAME, "greeting")
+            .data("joe")
+            .build();
+
+    final var first = gateway.call().requestOne(request, String.class).block(TIMEOUT);
+    assertNotNull(first);
+    assertNull(first.header(RouteTable.HEADER_ROUTE_ID), "route id must not leak to caller");
+
+    // following requests are sent with route id instead of qualifier
+    for (int i = 0; i < 3; i++) {
+      final var response = gateway.call().requestOne(request, String.class).block(TIMEOUT);
+      assertNotNull(response);
+      assertEquals(first.<String>data(), response.data());
+      assertNull(response.header(RouteTable.HEADER_ROUTE_ID));
+    }
+  }
+
+  @Test
+  void testRequestStream() {
+    final var request =
+        ServiceMessage.builder()
+            .qualifier(GreetingService.SERVICE_NAME, "manyStream")
+            .data(5L)
+            .build();
+
+    for (int i = 0; i < 3; i++) {
+      final List<Long> result =
+          gateway
+              .call()
+              .requestMany(request, Long.class)
+              .map(ServiceMessage::<Long>data)
+              .collectList()
+              .block(TIMEOUT);
+      assertEquals(List.of(0L, 1L, 2L, 3L, 4L), result);
+    }
+  }
+
+  @Test
+  void testRouteIdsDisabledOnClient() {
+    final var request =
+        ServiceMessage.builder()
+            .qualifier(GreetingService.SERVICE_NAME, "greeting")
+            .data("joe")
+            .build();
+
+    final var responses =
+        legacyGateway
+            .call()
+            .requestOne(request, String.class)
+            .repeat(2)
+            .collect(Collectors.toList())
+            .block(TIMEOUT);
+
+    assertNotNull(responses);
+    assertEquals(3, responses.size());
+    responses.forEach(response -> assertNull(response.header(RouteTable.HEADER_ROUTE_ID)));
+  }
+
+  @Test
+  void testRouteIdReplacesQualifierInSentFrame() {
+    final var messageCodec = new ServiceMessageCodec();
+    final var sentHeaders = new ArrayList<Map<String, String>>();
+    final var rsocket =
+        new RSocket() {
+          @Override
+          public Mono<Payload> requestResponse(Payload payload) {
+            try {
+              sentHeaders.add(
+                  messageCodec.decode(Unpooled.EMPTY_BUFFER, payload.sliceMetadata().retain())
+                      .headers());
+            } finally {
+              payload.release();
+            }
+            final var response =
+                ServiceMessage.builder()
+                    .header(RouteTable.HEADER_ROUTE_ID, "7")
+                    .data("hello")
+                    .build();
+            return Mono.just(messageCodec.encodeAndTransform(response, ByteBufPayload::create));
+          }
+        };
+    final var channel =
+        new RSocketClientChannel(Mono.just(new RoutingRSocket(rsocket)), messageCodec);
+    final var request =
+        ServiceMessage.builder()
+            .qualifier(GreetingService.SERVICE_NAME, "greeting")
+            .data("joe")
+            .build();
+
+    for (int i = 0; i < 2; i++) {
+      final var response = channel.requestResponse(request, String.class).block(TIMEOUT);
+      assertNotNull(response);
+      assertEquals("hello", response.data());
+      assertNull(response.header(RouteTable.HEADER_ROUTE_ID), "route id must not leak to caller");
+    }
+
+    assertEquals(2, sentHeaders.size());
+    assertEquals(request.qualifier(), sentHeaders.get(0).get(ServiceMessage.HEADER_QUALIFIER));
+    assertNull(sentHeaders.get(0).get(RouteTable.HEADER_ROUTE_ID));
+    assertNull(sentHeaders.get(1).get(ServiceMessage.HEADER_QUALIFIER));
+    assertEquals("7", sentHeaders.get(1).get(RouteTable.HEADER_ROUTE_ID));
+  }
+
+  private static Microservices gateway(
+      Address seed, Supplier<RSocketServiceTransport> transportSupplier) {
+    return Microservices.start(
+        new Context()
+            .discovery(
+                endpoint ->
+                    new ScalecubeServiceDiscovery()
+                        .transport(cfg -> cfg.transportFactory(new WebsocketTransportFactory()))
+                        .options(opts -> opts.metadata(endpoint))
+                        .membership(cfg -> cfg.seedMembers(seed.toString())))
+            .transport(transportSupplier::get));
+  }
+
+  private static void awaitProvider(Microservices gateway) {
+    Mono.fromCallable(() -> gateway.serviceRegistry().listServiceReferences())
+        .filter(serviceReferences -> !serviceReferences.isEmpty())
+        .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(100)))
+        .block(TIMEOUT);
+  }
+
+  private static ServiceDiscovery serviceDiscovery(ServiceEndpoint endpoint) {
+    return new ScalecubeServiceDiscovery()
+        .transport(cfg -> cfg.transportFactory(new WebsocketTransportFactory()))
+        .options(opts -> opts.metadata(endpoint));
+  }
+}